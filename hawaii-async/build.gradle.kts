@@ -1,5 +1,10 @@
 description = "Hawaii Async"
 
+plugins {
+    // Micro benchmarks, run with ./gradlew :hawaii-async:jmh
+    id("me.champeau.jmh") version ("0.7.2")
+}
+
 dependencies {
     api(project(":hawaii-logging"))
     implementation("org.apache.commons:commons-lang3")
@@ -13,10 +18,36 @@ dependencies {
     compileOnly("org.apache.httpcomponents.client5:httpclient5:${project.extra["httpcomponentsClient5Version"]}")
 
     compileOnly("org.springframework:spring-web")
+    compileOnly("org.springframework:spring-webflux")
+    compileOnly("org.springframework.boot:spring-boot-actuator")
+    compileOnly("org.springframework.security:spring-security-core")
+    compileOnly("io.projectreactor:reactor-core")
+    compileOnly("jakarta.servlet:jakarta.servlet-api")
+    compileOnly("io.micrometer:micrometer-core")
 
     testImplementation("org.springframework:spring-context")
+    testImplementation("org.springframework:spring-web")
+    testImplementation("org.springframework:spring-webflux")
+    testImplementation("org.apache.httpcomponents.client5:httpclient5:${project.extra["httpcomponentsClient5Version"]}")
+    testImplementation("io.projectreactor:reactor-core")
+    testImplementation("io.micrometer:micrometer-core")
+    testImplementation("jakarta.servlet:jakarta.servlet-api")
+
+    jmh("org.slf4j:slf4j-api")
+    jmh("org.slf4j:slf4j-nop")
 }
 
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    // Report the allocations per operation, see gc.alloc.rate.norm.
+    profilers.add("gc")
+}
+
+project.tasks["pmdJmh"].enabled = false
+project.tasks["checkstyleJmh"].enabled = false
+
 tasks.withType<JavaCompile> {
     options.isDeprecation = true
 
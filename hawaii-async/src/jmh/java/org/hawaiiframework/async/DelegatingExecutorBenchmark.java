@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.executor.HawaiiThreadPoolTaskExecutor;
+import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import org.hawaiiframework.async.model.SystemProperties;
+import org.hawaiiframework.async.model.TaskProperties;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.async.timeout.ScheduledExecutorTimeoutScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the cost of submitting a task through a {@link DelegatingExecutor}.
+ *
+ * <p>The {@code taskTimeoutFromProperties} benchmark is the per-submit timeout lookup as it was
+ * done before the {@link TaskRoutingTable}, {@code taskTimeoutFromRoute} is the lookup as it is
+ * done now. The {@code submit} benchmark measures a complete submit, including the task listeners
+ * and the timeout guard, of a task that does nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DelegatingExecutorBenchmark {
+
+  @Param({"10", "50"})
+  private int systemCount;
+
+  private static final int TASKS_PER_SYSTEM = 20;
+
+  private ExecutorConfigurationProperties properties;
+
+  private String taskName;
+
+  private TaskRoute route;
+
+  private ScheduledThreadPoolExecutor timeoutExecutor;
+
+  private HawaiiThreadPoolTaskExecutor taskExecutor;
+
+  private DelegatingExecutor delegatingExecutor;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    properties = new ExecutorConfigurationProperties();
+    properties.setDefaultExecutor("default");
+    for (int system = 0; system < systemCount; system++) {
+      SystemProperties systemProperties = new SystemProperties();
+      systemProperties.setName("system" + system);
+      for (int task = 0; task < TASKS_PER_SYSTEM; task++) {
+        TaskProperties taskProperties = new TaskProperties();
+        taskProperties.setMethod("task" + task);
+        systemProperties.addTask(taskProperties);
+      }
+      properties.addSystem(systemProperties);
+    }
+    // The worst case for the linear scan: the last task of the last system.
+    taskName = String.format("system%d.task%d", systemCount - 1, TASKS_PER_SYSTEM - 1);
+    route = new TaskRoutingTable(properties).getRoute(taskName);
+
+    timeoutExecutor = new ScheduledThreadPoolExecutor(1);
+    taskExecutor = new HawaiiThreadPoolTaskExecutor();
+    taskExecutor.setCorePoolSize(4);
+    taskExecutor.setMaxPoolSize(4);
+    taskExecutor.setQueueCapacity(1000);
+    taskExecutor.setTaskDecorator(
+        new AbortableTaskDecorator(
+            taskExecutor, new ScheduledExecutorTimeoutScheduler(timeoutExecutor)));
+    taskExecutor.initialize();
+    delegatingExecutor = new DelegatingExecutor(taskExecutor, List.of(), route);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    taskExecutor.shutdown();
+    timeoutExecutor.shutdown();
+  }
+
+  @Benchmark
+  public Duration taskTimeoutFromProperties() {
+    return properties.getTaskTimeout(taskName);
+  }
+
+  @Benchmark
+  public Duration taskTimeoutFromRoute() {
+    return route.getTimeout();
+  }
+
+  @Benchmark
+  public Object submit() throws InterruptedException, ExecutionException {
+    return delegatingExecutor.submit(() -> {}).get();
+  }
+}
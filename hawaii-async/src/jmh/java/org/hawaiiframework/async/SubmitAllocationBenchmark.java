@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.task.listener.LoggingTaskListenerFactory;
+import org.hawaiiframework.async.task.listener.TaskListenerFactory;
+import org.hawaiiframework.async.timeout.ScheduledExecutorTimeoutScheduler;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.lang.NonNull;
+
+/**
+ * Measures the allocations of the submit path of a {@link DelegatingExecutor}.
+ *
+ * <p>The task is run on the calling thread, so the measurement covers the shared task context, the
+ * task listeners, the decoration and the arming and cancelling of the timeout guard, without the
+ * hand-over to a pool thread. The benchmarks run with the GC profiler ({@code -prof gc}), the
+ * allocations per submit are reported as {@code gc.alloc.rate.norm}.
+ *
+ * <p>No baseline is recorded. The benchmark only uses API that predates the allocation changes of
+ * the submit path, so the before and after figures are obtained by running it, with {@code
+ * ./gradlew :hawaii-async:jmh}, on both revisions and comparing their {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SubmitAllocationBenchmark {
+
+  private static final Runnable NOOP = () -> {};
+
+  private ScheduledThreadPoolExecutor timeoutExecutor;
+
+  private DelegatingExecutor delegatingExecutor;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    timeoutExecutor = new ScheduledThreadPoolExecutor(1);
+    CallerRunsTaskExecutor taskExecutor =
+        new CallerRunsTaskExecutor(new ScheduledExecutorTimeoutScheduler(timeoutExecutor));
+    List<TaskListenerFactory> taskListenerFactories = List.of(new LoggingTaskListenerFactory());
+    delegatingExecutor =
+        new DelegatingExecutor(
+            taskExecutor,
+            taskListenerFactories,
+            TaskRoute.builder("system.task", "default", Duration.ofSeconds(10)).build());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    timeoutExecutor.shutdown();
+  }
+
+  @Benchmark
+  public void execute() {
+    delegatingExecutor.execute(NOOP);
+  }
+
+  /** Executor that decorates the task and runs it on the calling thread. */
+  private static final class CallerRunsTaskExecutor implements HawaiiTaskExecutor {
+
+    private final AbortableTaskDecorator taskDecorator;
+
+    private CallerRunsTaskExecutor(TimeoutScheduler timeoutScheduler) {
+      this.taskDecorator = new AbortableTaskDecorator(this, timeoutScheduler);
+    }
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+      taskDecorator.decorate(task).run();
+    }
+
+    @Override
+    public Future<?> submit(@NonNull Runnable task) {
+      FutureTask<Object> future = new FutureTask<>(task, null);
+      execute(future);
+      return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(@NonNull Callable<T> task) {
+      FutureTask<T> future = new FutureTask<>(task);
+      execute(future);
+      return future;
+    }
+
+    @Override
+    public int getPoolSize() {
+      return 0;
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+      return 1;
+    }
+
+    @Override
+    public int getActiveCount() {
+      return 0;
+    }
+
+    @Override
+    public int getQueueSize() {
+      return 0;
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+      return 0;
+    }
+
+    @Override
+    public boolean remove(Runnable task) {
+      return false;
+    }
+  }
+}
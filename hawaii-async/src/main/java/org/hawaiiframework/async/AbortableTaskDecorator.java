@@ -16,17 +16,18 @@
 
 package org.hawaiiframework.async;
 
-import java.util.concurrent.RunnableScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.timeout.ScheduledTimeout;
 import org.hawaiiframework.async.timeout.SharedTaskContext;
 import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
 import org.hawaiiframework.async.timeout.TaskRemoveStrategy;
 import org.hawaiiframework.async.timeout.TimeoutGuardTask;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.task.TaskDecorator;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Task decorator to copy the MDC from the calling thread to the executing thread..
@@ -41,27 +42,27 @@ public class AbortableTaskDecorator implements TaskDecorator {
   private static final Logger LOGGER = LoggerFactory.getLogger(AbortableTaskDecorator.class);
 
   /** The executor that will execute the runnable we're decorating. */
-  private final ThreadPoolTaskExecutor taskExecutor;
+  private final HawaiiTaskExecutor taskExecutor;
 
   /**
-   * The executor aborts tasks that have timed-out.
+   * The scheduler aborts tasks that have timed-out.
    *
    * <p>That is, it is fed with tasks with a timeout / delay, after which these tasks will abort the
    * "guarded" task. The guarded task is the task that actually does something. this is the runnable
    * we're decorating.
    */
-  private final ScheduledThreadPoolExecutor timeoutExecutor;
+  private final TimeoutScheduler timeoutScheduler;
 
   /**
    * Construct an instance.
    *
    * @param taskExecutor The executor that will execute the runnable we're decorating.
-   * @param timeoutExecutor The executor aborts tasks that have timed-out.
+   * @param timeoutScheduler The scheduler aborts tasks that have timed-out.
    */
   public AbortableTaskDecorator(
-      ThreadPoolTaskExecutor taskExecutor, ScheduledThreadPoolExecutor timeoutExecutor) {
+      HawaiiTaskExecutor taskExecutor, TimeoutScheduler timeoutScheduler) {
     this.taskExecutor = taskExecutor;
-    this.timeoutExecutor = timeoutExecutor;
+    this.timeoutScheduler = timeoutScheduler;
   }
 
   /**
@@ -86,7 +87,7 @@ public class AbortableTaskDecorator implements TaskDecorator {
     try {
       return getRunnable(runnable, sharedTaskContext);
     } finally {
-      SharedTaskContextHolder.remove();
+      SharedTaskContextHolder.unregister(sharedTaskContext);
     }
   }
 
@@ -108,37 +109,39 @@ public class AbortableTaskDecorator implements TaskDecorator {
 
     sharedTaskContext.setTaskRemoveStrategy(
         new TaskRemoveStrategy(
-            taskExecutor.getThreadPoolExecutor(),
-            guardedTask,
-            "guarded",
-            sharedTaskContext.getTaskId()));
+            taskExecutor, guardedTask, "guarded", sharedTaskContext.getTaskId()));
 
     return guardedTask;
   }
 
   /**
-   * Creates a timeout guard task for the current task. It will retrieve the timeout and schedule a
-   * guard task with this timeout.
+   * Creates a timeout guard task for the current task. It will retrieve the time left until the
+   * task's deadline and schedule a guard task with this delay. For a task submitted from within
+   * another task, this is at most the time the submitting task has left.
    *
    * <p>Next to this it will register it's removal strategy in the {@link SharedTaskContext}. This
    * allows the guarded task, after completion, to remove the timeout guard task.
    */
   private void createTimeoutGuardTask(SharedTaskContext sharedTaskContext) {
-    Integer timeout = sharedTaskContext.getTimeout();
+    Duration timeout = sharedTaskContext.getTimeout();
     String taskId = sharedTaskContext.getTaskId();
-    LOGGER.debug(
-        "Setting timeout of '{}' second(s) for task '{}' with id '{}'.",
-        timeout,
-        sharedTaskContext.getTaskName(),
-        taskId);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Setting timeout of '{}' for task '{}' with id '{}'.",
+          timeout,
+          sharedTaskContext.getTaskName(),
+          taskId);
+    }
 
     TimeoutGuardTask timeoutGuardTask = new TimeoutGuardTask(sharedTaskContext);
-    RunnableScheduledFuture<?> scheduledTimeoutGuardTask =
-        (RunnableScheduledFuture)
-            timeoutExecutor.schedule(timeoutGuardTask, timeout, TimeUnit.SECONDS);
+    ScheduledTimeout scheduledTimeout =
+        timeoutScheduler.schedule(
+            timeoutGuardTask,
+            Math.max(0, sharedTaskContext.getRemainingNanos()),
+            TimeUnit.NANOSECONDS);
 
     sharedTaskContext.setTimeoutGuardTaskRemoveStrategy(
         new TaskRemoveStrategy(
-            timeoutExecutor, scheduledTimeoutGuardTask, "timeout guard", taskId));
+            task -> scheduledTimeout.cancel(), timeoutGuardTask, "timeout guard", taskId));
   }
 }
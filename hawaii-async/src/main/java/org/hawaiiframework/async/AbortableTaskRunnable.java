@@ -18,17 +18,20 @@ package org.hawaiiframework.async;
 
 import static java.util.Objects.requireNonNull;
 
+import org.hawaiiframework.async.executor.PrioritizedTask;
 import org.hawaiiframework.async.timeout.SharedTaskContext;
 import org.springframework.lang.NonNull;
 
 /**
  * Delegating Runnable that copies the MDC to the executing thread before running the delegate.
  *
+ * <p>The runnable has the priority of its task, so a prioritized executor queue can order it.
+ *
  * @author Rutger Lubbers
  * @author Paul Klos
  * @since 2.0.0
  */
-public class AbortableTaskRunnable extends HawaiiAsyncRunnable {
+public class AbortableTaskRunnable extends HawaiiAsyncRunnable implements PrioritizedTask {
 
   /** The delegate. */
   private final Runnable delegate;
@@ -49,4 +52,9 @@ public class AbortableTaskRunnable extends HawaiiAsyncRunnable {
   protected void doRun() {
     delegate.run();
   }
+
+  @Override
+  public int getPriority() {
+    return sharedTaskContext.getPriority();
+  }
 }
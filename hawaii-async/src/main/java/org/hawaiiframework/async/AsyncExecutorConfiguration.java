@@ -16,14 +16,27 @@
 
 package org.hawaiiframework.async;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import org.hawaiiframework.async.coalesce.SingleFlightInterceptor;
+import org.hawaiiframework.async.config.AsyncConfigurationReloader;
+import org.hawaiiframework.async.config.AsyncConfigurationWatcher;
 import org.hawaiiframework.async.config.AsyncExecutorFactory;
 import org.hawaiiframework.async.config.AsyncExecutorInitializer;
+import org.hawaiiframework.async.config.AsyncInterceptorBeanPostProcessor;
 import org.hawaiiframework.async.config.BeanRegistrar;
 import org.hawaiiframework.async.config.DelegatingExecutorFactory;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.hedge.HedgingInterceptor;
+import org.hawaiiframework.async.inflight.InFlightTaskRegistry;
 import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.async.retry.RetryInterceptor;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.hawaiiframework.async.tuning.ExecutorAutoTuner;
 import org.hawaiiframework.async.task.listener.TaskListenerFactoryConfiguration;
 import org.hawaiiframework.sql.DataSourceProxyConfiguration;
 import org.slf4j.Logger;
@@ -36,6 +49,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.lang.NonNull;
@@ -56,6 +70,24 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * its full task name, i.e. <code>{system_name}.{task_name}</code> as the annotation value. The
  * corresponding delegating executor bean will be retrieved by this name.
  *
+ * <p>If a task is configured as {@code singleFlight}, with a {@code retry} or with a {@code hedge},
+ * the {@link SingleFlightInterceptor}, {@link RetryInterceptor} or {@link HedgingInterceptor} is
+ * added to the beans with {@code @Async} methods, see {@link AsyncInterceptorBeanPostProcessor}.
+ * Spring's async annotation post processor is ordered to run before these post processors, so the
+ * interceptors wrap Spring's async interceptor. Single flight wraps retries, which wrap hedging: so
+ * coalesced invocations are retried once, and each attempt is hedged.
+ *
+ * <p>The configuration can be reloaded at runtime with the {@link AsyncConfigurationReloader},
+ * registered as {@link #ASYNC_CONFIGURATION_RELOADER}. If {@code hawaii.async.reload.watch} is
+ * {@code true}, the configuration file is reloaded when it is modified.
+ *
+ * <p>If an executor is configured with {@code autoTune}, the {@link ExecutorAutoTuner} is
+ * registered as task listener factory, it tunes the executor's pool size from the observed load.
+ *
+ * <p>The tasks in flight are kept in the {@link InFlightTaskRegistry}, registered as {@link
+ * #IN_FLIGHT_TASK_REGISTRY}. If {@code hawaii.async.in-flight.long-running-threshold} is set, tasks
+ * running longer are logged, checked every {@code hawaii.async.in-flight.check-interval}.
+ *
  * <p><b>NOTE:</b> each async task <b>MUST</b> be specified in the configuration, otherwise an
  * exception will be raised.
  *
@@ -67,16 +99,40 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @Configuration
 @ConditionalOnProperty(prefix = "hawaii.async", name = "enabled", matchIfMissing = true)
 @Import({DataSourceProxyConfiguration.class, TaskListenerFactoryConfiguration.class})
-@EnableAsync
+@EnableAsync(order = Ordered.LOWEST_PRECEDENCE - 3)
 public class AsyncExecutorConfiguration
     implements BeanDefinitionRegistryPostProcessor, AsyncConfigurer, EnvironmentAware {
 
   /** Async (task) timeout executor bean name. */
   public static final String ASYNC_TIMEOUT_EXECUTOR = "asyncTimeoutExecutor";
 
+  /** Async (task) timeout scheduler bean name. */
+  public static final String ASYNC_TIMEOUT_SCHEDULER = "asyncTimeoutScheduler";
+
+  /** Async configuration reloader bean name. */
+  public static final String ASYNC_CONFIGURATION_RELOADER = "asyncConfigurationReloader";
+
+  /** In-flight task registry bean name. */
+  public static final String IN_FLIGHT_TASK_REGISTRY = "inFlightTaskRegistry";
+
   /** Logger for this class. */
   private static final Logger LOGGER = LoggerFactory.getLogger(AsyncExecutorConfiguration.class);
 
+  /** Single flight bean post processor bean name. */
+  private static final String SINGLE_FLIGHT_BEAN_POST_PROCESSOR = "singleFlightBeanPostProcessor";
+
+  /** Hedging bean post processor bean name. */
+  private static final String HEDGING_BEAN_POST_PROCESSOR = "hedgingBeanPostProcessor";
+
+  /** Retry bean post processor bean name. */
+  private static final String RETRY_BEAN_POST_PROCESSOR = "retryBeanPostProcessor";
+
+  /** Executor auto tuner bean name. */
+  private static final String EXECUTOR_AUTO_TUNER = "executorAutoTuner";
+
+  /** Async configuration watcher bean name. */
+  private static final String ASYNC_CONFIGURATION_WATCHER = "asyncConfigurationWatcher";
+
   /** Async configuration bean name. */
   private static final String EXECUTOR_CONFIGURATION_PROPERTIES = "executorConfigurationProperties";
 
@@ -102,6 +158,15 @@ public class AsyncExecutorConfiguration
   /** Utility to add beans to Spring's bean definition registry. */
   private BeanRegistrar registrar;
 
+  /** Flag to indicate the configuration file is watched for modifications. */
+  private boolean watchConfiguration;
+
+  /** The running time after which an in-flight task is logged, {@code null} to not log. */
+  private Duration longRunningThreshold;
+
+  /** The interval of the check for long-running tasks. */
+  private Duration longRunningCheckInterval;
+
   @Override
   public void postProcessBeanDefinitionRegistry(@NonNull BeanDefinitionRegistry registry) {
     LOGGER.trace("Creating beans for async executors.");
@@ -130,14 +195,84 @@ public class AsyncExecutorConfiguration
     properties = getProperties();
     beanFactory.initializeBean(properties, EXECUTOR_CONFIGURATION_PROPERTIES);
 
+    TaskRoutingTable routingTable = new TaskRoutingTable(properties);
+
+    // Registered before the executors are created, so these are picked up as task listener
+    // factories.
+    beanFactory.registerSingleton(
+        IN_FLIGHT_TASK_REGISTRY,
+        new InFlightTaskRegistry(beanFactory, longRunningThreshold, longRunningCheckInterval));
+    if (ExecutorAutoTuner.hasAutoTunedExecutors(properties.getExecutors())) {
+      beanFactory.registerSingleton(
+          EXECUTOR_AUTO_TUNER, new ExecutorAutoTuner(beanFactory, properties.getExecutors()));
+    }
+
     AsyncExecutorInitializer executorInitializer =
-        new AsyncExecutorInitializer(beanFactory, properties);
+        new AsyncExecutorInitializer(beanFactory, properties, routingTable);
     executorInitializer.initializeExecutors();
     defaultExecutor = executorInitializer.getDefaultExecutor();
 
     DelegatingExecutorFactory delegatingExecutorFactory =
-        new DelegatingExecutorFactory(beanFactory, registrar, properties, executorNames);
+        new DelegatingExecutorFactory(
+            beanFactory, registrar, properties, executorNames, routingTable);
     delegatingExecutorFactory.createDelegatingExecutors();
+
+    registerAsyncInterceptors(beanFactory, routingTable);
+    registerReloader(beanFactory);
+  }
+
+  private void registerReloader(ConfigurableListableBeanFactory beanFactory) {
+    AsyncConfigurationReloader reloader =
+        new AsyncConfigurationReloader(
+            asyncPropertiesLoader, beanFactory, properties, (DelegatingExecutor) defaultExecutor);
+    beanFactory.registerSingleton(ASYNC_CONFIGURATION_RELOADER, reloader);
+    if (watchConfiguration) {
+      beanFactory.registerSingleton(
+          ASYNC_CONFIGURATION_WATCHER, new AsyncConfigurationWatcher(reloader));
+    }
+  }
+
+  /**
+   * Register the post processors for the interceptors of the configured tasks.
+   *
+   * <p>The post processor with the highest order runs last, and so adds the outermost interceptor.
+   */
+  private static void registerAsyncInterceptors(
+      ConfigurableListableBeanFactory beanFactory, TaskRoutingTable routingTable) {
+    TimeoutScheduler timeoutScheduler =
+        beanFactory.getBean(ASYNC_TIMEOUT_SCHEDULER, TimeoutScheduler.class);
+    if (routingTable.hasHedgedRoutes()) {
+      beanFactory.registerSingleton(
+          HEDGING_BEAN_POST_PROCESSOR,
+          new AsyncInterceptorBeanPostProcessor(
+              new HedgingInterceptor(
+                  routingTable, timeoutScheduler, getContextPropagators(beanFactory)),
+              Ordered.LOWEST_PRECEDENCE - 2));
+    }
+    if (routingTable.hasRetriedRoutes()) {
+      beanFactory.registerSingleton(
+          RETRY_BEAN_POST_PROCESSOR,
+          new AsyncInterceptorBeanPostProcessor(
+              new RetryInterceptor(
+                  routingTable, timeoutScheduler, getContextPropagators(beanFactory)),
+              Ordered.LOWEST_PRECEDENCE - 1));
+    }
+    if (routingTable.hasSingleFlightRoutes()) {
+      beanFactory.registerSingleton(
+          SINGLE_FLIGHT_BEAN_POST_PROCESSOR,
+          new AsyncInterceptorBeanPostProcessor(
+              new SingleFlightInterceptor(routingTable), Ordered.LOWEST_PRECEDENCE));
+    }
+  }
+
+  /** The propagators of the contexts of the caller, for the attempts submitted later. */
+  private static List<ContextPropagator<?>> getContextPropagators(
+      ConfigurableListableBeanFactory beanFactory) {
+    return beanFactory
+        .getBeanProvider(ContextPropagator.class)
+        .orderedStream()
+        .<ContextPropagator<?>>map(propagator -> propagator)
+        .toList();
   }
 
   /**
@@ -169,6 +304,13 @@ public class AsyncExecutorConfiguration
   public void setEnvironment(@NonNull Environment environment) {
     setAsyncPropertiesLoader(
         new AsyncPropertiesLoader(environment.getProperty("hawaii.async.configuration")));
+    watchConfiguration =
+        environment.getProperty("hawaii.async.reload.watch", Boolean.class, Boolean.FALSE);
+    longRunningThreshold =
+        environment.getProperty("hawaii.async.in-flight.long-running-threshold", Duration.class);
+    longRunningCheckInterval =
+        environment.getProperty(
+            "hawaii.async.in-flight.check-interval", Duration.class, Duration.ofSeconds(10));
   }
 
   /**
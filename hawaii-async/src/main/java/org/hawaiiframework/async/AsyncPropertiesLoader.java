@@ -49,21 +49,39 @@ public class AsyncPropertiesLoader {
     this.configFile = configFile;
   }
 
+  /**
+   * Get the configuration file path.
+   *
+   * @return the configuration file path
+   */
+  public String getConfigFile() {
+    return configFile;
+  }
+
   /**
    * Load the properties from the configuration file.
    *
    * @return the properties
+   * @throws HawaiiException if the file cannot be read or parsed, or is empty
    */
   // getObject() throws Exception
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   public ExecutorConfigurationProperties loadProperties() {
+    ExecutorConfigurationProperties properties;
     try {
-      return loadYamlExecutorConfigurationProperties(
-          new String(Files.readAllBytes(Paths.get(configFile)), "UTF-8"));
+      properties =
+          loadYamlExecutorConfigurationProperties(
+              new String(Files.readAllBytes(Paths.get(configFile)), "UTF-8"));
     } catch (Exception exception) {
       LOGGER.error("Unable to load async configuration file '{}'.", configFile);
       throw new HawaiiException(exception);
     }
+    if (properties == null) {
+      // An empty document, e.g. a file that is being rewritten.
+      throw new HawaiiException(
+          String.format("Async configuration file '%s' is empty.", configFile));
+    }
+    return properties;
   }
 
   private static ExecutorConfigurationProperties loadYamlExecutorConfigurationProperties(
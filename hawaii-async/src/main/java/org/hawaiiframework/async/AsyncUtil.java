@@ -6,14 +6,27 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.hawaiiframework.async.exception.HawaiiTaskExecutionException;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.task.TaskScope;
 import org.hawaiiframework.exception.HawaiiException;
 import org.hawaiiframework.util.Void;
 import org.slf4j.Logger;
@@ -251,6 +264,145 @@ public final class AsyncUtil {
     return inputs.stream().map(function).collect(toList());
   }
 
+  /**
+   * Applies the asynchronous {@code function} to each element of {@code inputs}, with at most
+   * {@code maxInFlight} calls in flight, and returns the function's returns in completion order.
+   *
+   * <p>Unlike {@link #asyncStreamAndMap(Collection, Function)}, the answers are not in the order
+   * of the inputs. See {@link #asyncStreamAndMapInCompletionOrder(Collection, Function, int,
+   * Consumer)}.
+   *
+   * @param inputs The collection of input objects.
+   * @param function The function to apply
+   * @param maxInFlight The maximum number of calls in flight.
+   * @param <I> The input object's type.
+   * @param <T> The return types.
+   * @return The list of the calls' answers, in completion order.
+   */
+  @SuppressWarnings("unchecked")
+  public static <I, T> List<T> asyncStreamAndMapInCompletionOrder(
+      Collection<I> inputs, Function<I, CompletableFuture<T>> function, int maxInFlight) {
+    if (inputs == null || inputs.isEmpty()) {
+      return EMPTY_LIST;
+    }
+    List<T> results = new ArrayList<>(inputs.size());
+    asyncStreamAndMapInCompletionOrder(inputs, function, maxInFlight, results::add);
+    return results;
+  }
+
+  /**
+   * Applies the asynchronous {@code function} to each element of {@code inputs}, with at most
+   * {@code maxInFlight} calls in flight, and hands the function's returns to the {@code
+   * resultConsumer} in completion order.
+   *
+   * <p>Unlike {@link #asyncMap(Collection, Function)}, the inputs are not all submitted at once. A
+   * new call is only submitted when a call in flight completes, so a large collection of inputs
+   * does not flood the executor's queue. The {@code resultConsumer} is called on the calling
+   * thread.
+   *
+   * <p>If a call fails, no new calls are submitted and the calls in flight are cancelled, see
+   * {@link TaskScope}.
+   *
+   * @param inputs The collection of input objects.
+   * @param function The function to apply
+   * @param maxInFlight The maximum number of calls in flight.
+   * @param resultConsumer The consumer of the calls' answers.
+   * @param <I> The input object's type.
+   * @param <T> The return types.
+   */
+  public static <I, T> void asyncStreamAndMapInCompletionOrder(
+      Collection<I> inputs,
+      Function<I, CompletableFuture<T>> function,
+      int maxInFlight,
+      @NonNull Consumer<T> resultConsumer) {
+    requireNonNull(function);
+    requireNonNull(resultConsumer);
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException(
+          String.format("Max in flight '%s' must be positive.", maxInFlight));
+    }
+    if (inputs == null || inputs.isEmpty()) {
+      return;
+    }
+
+    Iterator<I> iterator = inputs.iterator();
+    try (TaskScope scope = TaskScope.open()) {
+      CompletionOrderIterator<T> inFlight = new CompletionOrderIterator<>(scope, null, null, null);
+      try {
+        while (iterator.hasNext() || inFlight.hasNext()) {
+          while (iterator.hasNext() && inFlight.remaining < maxInFlight) {
+            inFlight.add(function.apply(iterator.next()));
+          }
+          resultConsumer.accept(inFlight.next());
+        }
+      } catch (RuntimeException exception) {
+        inFlight.cancel();
+        throw exception;
+      }
+    }
+  }
+
+  /**
+   * Applies the asynchronous {@code function} to batches of {@code batchSize} elements of {@code
+   * inputs}, with at most {@code maxInFlight} calls in flight, and returns the function's returns
+   * in one list, in completion order of the batches.
+   *
+   * <p>See {@link #asyncStreamAndMapInCompletionOrder(Collection, Function, int, Consumer)}.
+   *
+   * @param inputs The collection of input objects.
+   * @param batchSize The maximum number of input objects per call.
+   * @param function The function to apply to a batch.
+   * @param maxInFlight The maximum number of calls in flight.
+   * @param <I> The input object's type.
+   * @param <T> The return types.
+   * @return A list of type {@code <T>}.
+   */
+  @SuppressWarnings("unchecked")
+  public static <I, T> List<T> asyncStreamAndMapInBatches(
+      Collection<I> inputs,
+      int batchSize,
+      Function<List<I>, CompletableFuture<List<T>>> function,
+      int maxInFlight) {
+    List<List<I>> batches = batches(inputs, batchSize);
+    if (batches.isEmpty()) {
+      return EMPTY_LIST;
+    }
+    List<T> results = new ArrayList<>(inputs.size());
+    asyncStreamAndMapInCompletionOrder(
+        batches,
+        function,
+        maxInFlight,
+        batchResults -> {
+          if (batchResults != null) {
+            results.addAll(batchResults);
+          }
+        });
+    return results;
+  }
+
+  private static <I> List<List<I>> batches(Collection<I> inputs, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException(
+          String.format("Batch size '%s' must be positive.", batchSize));
+    }
+    List<List<I>> batches = new ArrayList<>();
+    if (inputs == null) {
+      return batches;
+    }
+    List<I> batch = new ArrayList<>(batchSize);
+    for (I input : inputs) {
+      batch.add(input);
+      if (batch.size() == batchSize) {
+        batches.add(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
   /**
    * Await the completion of all futures and return the futures' answers.
    *
@@ -270,6 +422,245 @@ public final class AsyncUtil {
     return results;
   }
 
+  /**
+   * Return the futures' answers in completion order, as a lazy stream.
+   *
+   * <p>Unlike {@link #awaitAndGet(List)}, a slow future does not hold back the answers of the
+   * futures that have already completed. These can be processed, for instance serialized or
+   * aggregated, while the slow ones are still running, and need not be kept in memory.
+   *
+   * <p>Taking the next element blocks until the next future completes, the answer of a failed
+   * future is thrown as in {@link #get(CompletableFuture)}. Closing the stream cancels the futures
+   * that have not completed, for instance after a short-circuiting operation. This does not stop
+   * the tasks behind the futures, to remove these from their executor's queue or abort them, use
+   * {@link #inCompletionOrder(TaskScope, List)}.
+   *
+   * @param futures The list of completable futures.
+   * @param <T> The return types.
+   * @return The stream of the futures' answers, in completion order.
+   */
+  public static <T> Stream<T> inCompletionOrder(List<CompletableFuture<T>> futures) {
+    return stream(new CompletionOrderIterator<>(null, futures, null, null));
+  }
+
+  /**
+   * Return the futures' answers in completion order, as a lazy stream, cancelling the tasks of the
+   * {@code scope} when the stream is closed.
+   *
+   * <p>See {@link #inCompletionOrder(List)}. Closing the stream cancels the tasks registered with
+   * the {@code scope} that have not finished, see {@link TaskScope#cancelAll()}, and the futures
+   * that have not completed.
+   *
+   * @param scope The scope the tasks have been submitted in.
+   * @param futures The list of completable futures.
+   * @param <T> The return types.
+   * @return The stream of the futures' answers, in completion order.
+   */
+  public static <T> Stream<T> inCompletionOrder(
+      @NonNull TaskScope scope, List<CompletableFuture<T>> futures) {
+    requireNonNull(scope);
+    return stream(new CompletionOrderIterator<>(scope, futures, null, null));
+  }
+
+  /**
+   * Return the futures' answers in completion order, as a lazy stream, waiting at most the {@code
+   * timeout} for all futures.
+   *
+   * <p>See {@link #inCompletionOrder(List)}. If the futures do not all complete within the timeout,
+   * taking the next element throws a {@link TaskTimeoutException} and the futures that have not
+   * completed are cancelled.
+   *
+   * @param futures The list of completable futures.
+   * @param timeout the maximum time to wait for all futures.
+   * @param unit the time unit of the timeout argument.
+   * @param <T> The return types.
+   * @return The stream of the futures' answers, in completion order.
+   */
+  public static <T> Stream<T> inCompletionOrder(
+      List<CompletableFuture<T>> futures, @NonNull Long timeout, @NonNull TimeUnit unit) {
+    requireNonNull(timeout);
+    requireNonNull(unit);
+    return stream(new CompletionOrderIterator<>(null, futures, timeout, unit));
+  }
+
+  /**
+   * Return the futures' answers in completion order, as a lazy stream, waiting at most the {@code
+   * timeout} for all futures and cancelling the tasks of the {@code scope} on a timeout or when the
+   * stream is closed.
+   *
+   * <p>See {@link #inCompletionOrder(TaskScope, List)} and {@link #inCompletionOrder(List, Long,
+   * TimeUnit)}.
+   *
+   * @param scope The scope the tasks have been submitted in.
+   * @param futures The list of completable futures.
+   * @param timeout the maximum time to wait for all futures.
+   * @param unit the time unit of the timeout argument.
+   * @param <T> The return types.
+   * @return The stream of the futures' answers, in completion order.
+   */
+  public static <T> Stream<T> inCompletionOrder(
+      @NonNull TaskScope scope,
+      List<CompletableFuture<T>> futures,
+      @NonNull Long timeout,
+      @NonNull TimeUnit unit) {
+    requireNonNull(scope);
+    requireNonNull(timeout);
+    requireNonNull(unit);
+    return stream(new CompletionOrderIterator<>(scope, futures, timeout, unit));
+  }
+
+  private static <T> Stream<T> stream(CompletionOrderIterator<T> iterator) {
+    // Not sized, so a terminal operation like count() waits for the futures as well.
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+        .onClose(iterator::cancel);
+  }
+
+  /**
+   * Await the completion of the futures and hand their answers to the {@code resultConsumer} in
+   * completion order.
+   *
+   * <p>See {@link #inCompletionOrder(List)}. The {@code resultConsumer} is called on the calling
+   * thread. If a future fails, or the consumer throws, the futures that have not completed are
+   * cancelled. This does not stop the tasks behind the futures, see {@link
+   * #awaitInCompletionOrder(TaskScope, List, Consumer)}.
+   *
+   * @param futures The list of completable futures.
+   * @param resultConsumer The consumer of the futures' answers.
+   * @param <T> The return types.
+   */
+  public static <T> void awaitInCompletionOrder(
+      List<CompletableFuture<T>> futures, @NonNull Consumer<T> resultConsumer) {
+    requireNonNull(resultConsumer);
+    awaitInCompletionOrder(
+        new CompletionOrderIterator<>(null, futures, null, null), resultConsumer);
+  }
+
+  /**
+   * Await the completion of the futures and hand their answers to the {@code resultConsumer} in
+   * completion order, cancelling the tasks of the {@code scope} on the first failure.
+   *
+   * <p>See {@link #awaitInCompletionOrder(List, Consumer)}. If a future fails, or the consumer
+   * throws, the tasks registered with the {@code scope} that have not finished are cancelled, see
+   * {@link TaskScope#cancelAll()}, and the futures that have not completed.
+   *
+   * @param scope The scope the tasks have been submitted in.
+   * @param futures The list of completable futures.
+   * @param resultConsumer The consumer of the futures' answers.
+   * @param <T> The return types.
+   */
+  public static <T> void awaitInCompletionOrder(
+      @NonNull TaskScope scope,
+      List<CompletableFuture<T>> futures,
+      @NonNull Consumer<T> resultConsumer) {
+    requireNonNull(scope);
+    requireNonNull(resultConsumer);
+    awaitInCompletionOrder(
+        new CompletionOrderIterator<>(scope, futures, null, null), resultConsumer);
+  }
+
+  private static <T> void awaitInCompletionOrder(
+      CompletionOrderIterator<T> iterator, Consumer<T> resultConsumer) {
+    try {
+      iterator.forEachRemaining(resultConsumer);
+    } catch (RuntimeException exception) {
+      iterator.cancel();
+      throw exception;
+    }
+  }
+
+  /**
+   * Applies the asynchronous {@code function} to each element of {@code inputs} and awaits the
+   * results, failing fast.
+   *
+   * <p>If one of the calls fails, or the calls do not complete within the timeout, the remaining
+   * calls are cancelled: they are removed from their executor's queue or aborted, so they release
+   * their threads, connections and statements immediately. See {@link #awaitAllOrCancel(TaskScope,
+   * List, Long, TimeUnit)}.
+   *
+   * @param inputs The collection of input objects.
+   * @param function The function to apply
+   * @param timeout the maximum time to wait for all calls.
+   * @param unit the time unit of the timeout argument.
+   * @param <I> The input object's type.
+   * @param <T> The return types.
+   * @return The list of the calls' answers, in the order of the inputs.
+   */
+  public static <I, T> List<T> asyncStreamAndMapFailFast(
+      Collection<I> inputs,
+      Function<I, CompletableFuture<T>> function,
+      @NonNull Long timeout,
+      @NonNull TimeUnit unit) {
+    try (TaskScope scope = TaskScope.open()) {
+      return awaitAllOrCancel(scope, asyncMap(inputs, function), timeout, unit);
+    }
+  }
+
+  /**
+   * Await the completion of all futures and return the futures' answers, failing fast.
+   *
+   * <p>Unlike {@link #awaitAndGet(List)}, this does not wait for the futures one by one. As soon
+   * as one of the futures fails, or the timeout lapses, all tasks registered with the {@code scope}
+   * are cancelled and the futures are cancelled.
+   *
+   * @param scope The scope the tasks have been submitted in.
+   * @param futures The list of completable futures.
+   * @param timeout the maximum time to wait for all futures.
+   * @param unit the time unit of the timeout argument.
+   * @param <T> The return types.
+   * @return The list of the futures' answers.
+   * @throws TaskTimeoutException if the futures did not complete within the timeout.
+   */
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public static <T> List<T> awaitAllOrCancel(
+      @NonNull TaskScope scope,
+      List<CompletableFuture<T>> futures,
+      @NonNull Long timeout,
+      @NonNull TimeUnit unit) {
+    requireNonNull(scope);
+    requireNonNull(timeout);
+    requireNonNull(unit);
+    List<T> results = new ArrayList<>();
+    if (futures == null || futures.isEmpty()) {
+      return results;
+    }
+
+    CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+    for (CompletableFuture<T> future : futures) {
+      future.whenComplete(
+          (result, throwable) -> {
+            if (throwable != null) {
+              firstFailure.completeExceptionally(throwable);
+            }
+          });
+    }
+    CompletableFuture<?> all =
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[] {}));
+    try {
+      CompletableFuture.anyOf(all, firstFailure).get(timeout, unit);
+    } catch (InterruptedException | ExecutionException exception) {
+      cancel(scope, futures);
+      throw handleException(exception);
+    } catch (TimeoutException exception) {
+      cancel(scope, futures);
+      throw new TaskTimeoutException(
+          String.format("Tasks did not complete within '%s %s'.", timeout, unit), exception);
+    }
+
+    for (CompletableFuture<T> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  private static <T> void cancel(TaskScope scope, Collection<CompletableFuture<T>> futures) {
+    int cancelled = scope == null ? 0 : scope.cancelAll();
+    for (CompletableFuture<T> future : futures) {
+      future.cancel(true);
+    }
+    LOGGER.debug("Cancelled '{}' task(s) after the first failure or timeout.", cancelled);
+  }
+
   /**
    * Await completion of the set of futures.
    *
@@ -290,6 +681,100 @@ public final class AsyncUtil {
     return futures;
   }
 
+  /**
+   * Iterates over the answers of futures, in completion order.
+   *
+   * <p>Futures can be added while iterating. The iterator is not thread-safe, it must be used by
+   * one thread.
+   */
+  private static final class CompletionOrderIterator<T> implements Iterator<T> {
+
+    /** The scope the tasks have been submitted in, {@code null} if not known. */
+    private final TaskScope scope;
+
+    /** The futures whose answers have not been returned yet. */
+    private final Set<CompletableFuture<T>> pending = new HashSet<>();
+
+    /** The futures that have completed, but have not been returned yet. */
+    private final BlockingQueue<CompletableFuture<T>> completed = new LinkedBlockingQueue<>();
+
+    /** The timeout, {@code null} to wait without a timeout. */
+    private final Long timeout;
+
+    /** The unit of the timeout. */
+    private final TimeUnit unit;
+
+    /** The deadline of the futures, in {@link System#nanoTime()} nanoseconds. */
+    private final long deadline;
+
+    /** The number of answers that have not been returned yet. */
+    private int remaining;
+
+    private CompletionOrderIterator(
+        TaskScope scope, List<CompletableFuture<T>> futures, Long timeout, TimeUnit unit) {
+      this.scope = scope;
+      this.timeout = timeout;
+      this.unit = unit;
+      this.deadline = timeout == null ? 0L : System.nanoTime() + unit.toNanos(timeout);
+      if (futures != null) {
+        for (CompletableFuture<T> future : futures) {
+          add(future);
+        }
+      }
+    }
+
+    /**
+     * Add a future whose answer is to be returned.
+     *
+     * @param future the future
+     */
+    private void add(CompletableFuture<T> future) {
+      remaining++;
+      pending.add(future);
+      future.whenComplete((result, throwable) -> completed.add(future));
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      CompletableFuture<T> future = take();
+      remaining--;
+      pending.remove(future);
+      return get(future);
+    }
+
+    private CompletableFuture<T> take() {
+      try {
+        if (timeout == null) {
+          return completed.take();
+        }
+        CompletableFuture<T> future =
+            completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (future == null) {
+          cancel();
+          throw new TaskTimeoutException(
+              String.format("Tasks did not complete within '%s %s'.", timeout, unit));
+        }
+        return future;
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw handleException(exception);
+      }
+    }
+
+    /** Cancel the tasks of the scope, if any, and the futures that have not completed. */
+    private void cancel() {
+      AsyncUtil.cancel(scope, pending);
+    }
+  }
+
   private static HawaiiException handleException(Exception exception) {
     if (exception instanceof ExecutionException) {
       return handleExecutionException(exception);
@@ -16,15 +16,24 @@
 
 package org.hawaiiframework.async;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.Objects.requireNonNull;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
-import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.exception.ConcurrencyLimitExceededException;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.limit.ConcurrencyLimiter;
+import org.hawaiiframework.async.limit.ConcurrencyLimiterFactory;
+import org.hawaiiframework.async.limit.ConcurrencyLimiterTaskListener;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.resilience.CircuitBreaker;
+import org.hawaiiframework.async.resilience.SystemGuard;
+import org.hawaiiframework.async.resilience.SystemGuardTaskListener;
 import org.hawaiiframework.async.statistics.ExecutorStatistics;
 import org.hawaiiframework.async.statistics.ExecutorStatisticsView;
+import org.hawaiiframework.async.task.TaskScope;
 import org.hawaiiframework.async.task.listener.TaskListener;
 import org.hawaiiframework.async.task.listener.TaskListenerFactory;
 import org.hawaiiframework.async.timeout.SharedTaskContext;
@@ -32,15 +41,28 @@ import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.SchedulingTaskExecutor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Task executor that delegates to the task executor configured for a task.
  *
- * <p>In addition to the delegate, the async configuration properties and the task name is stored,
- * so we know which task this executor is for and we are able to determine the timeout.
+ * <p>In addition to the delegate, the task's route is stored, so we know which task this executor
+ * is for and what its timeout is.
+ *
+ * <p>If the route configures a concurrency limiter, tasks submitted beyond the limit are rejected
+ * with a {@link ConcurrencyLimitExceededException}, without being handed to the delegate. In the
+ * same way, tasks are rejected while the bulkhead of the task's system is full or its circuit
+ * breaker is open, see {@link SystemGuard}.
+ *
+ * <p>The delegate and the route can be replaced at runtime, when the async configuration is
+ * reloaded, see {@link #reroute(HawaiiTaskExecutor, TaskRoute)}. Tasks already submitted keep the
+ * route they were submitted with and run to completion on their executor.
+ *
+ * <p>A task can be executed with a listener of its own, next to the listeners of the task listener
+ * factories, see {@link #execute(Runnable, TaskListener)}.
  *
  * @author Rutger Lubbers
  * @author Paul Klos
@@ -54,39 +76,33 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
   /** Logger for this class. */
   private static final Logger LOGGER = LoggerFactory.getLogger(DelegatingExecutor.class);
 
-  /** The delegate {@link ThreadPoolTaskExecutor}. */
-  private final ThreadPoolTaskExecutor delegate;
-
-  /** The configuration properties. */
-  private final ExecutorConfigurationProperties executorConfigurationProperties;
+  /** The delegate, its statistics and the task's route. */
+  private final AtomicReference<Delegation> delegation;
 
-  /** The name of the task that will be run by the {@link #delegate}. */
-  private final String taskName;
+  /** The TaskListener factories. */
+  private final TaskListenerFactory[] taskListenerFactories;
 
-  /** This executor's statistics. */
-  private final ExecutorStatistics executorStatistics;
+  /** The concurrency limiter of the task, {@code null} if the task is not limited. */
+  private final ConcurrencyLimiter concurrencyLimiter;
 
-  /** The TaskListener factories. */
-  private final Collection<TaskListenerFactory> taskListenerFactories;
+  /** The bulkhead and circuit breaker of the task's system, {@code null} if not guarded. */
+  private final SystemGuard systemGuard;
 
   /**
    * Constructor.
    *
    * @param delegate the delegate
-   * @param executorConfigurationProperties the configuration properties
    * @param taskListenerFactories The task context providers.
-   * @param taskName the task name
+   * @param taskRoute the task's route
    */
   public DelegatingExecutor(
-      ThreadPoolTaskExecutor delegate,
-      ExecutorConfigurationProperties executorConfigurationProperties,
+      HawaiiTaskExecutor delegate,
       Collection<TaskListenerFactory> taskListenerFactories,
-      String taskName) {
-    this.delegate = delegate;
-    this.executorConfigurationProperties = executorConfigurationProperties;
-    this.executorStatistics = new ExecutorStatistics(delegate);
-    this.taskListenerFactories = taskListenerFactories;
-    this.taskName = taskName;
+      TaskRoute taskRoute) {
+    this.delegation = new AtomicReference<>(new Delegation(delegate, taskRoute));
+    this.taskListenerFactories = taskListenerFactories.toArray(new TaskListenerFactory[0]);
+    this.concurrencyLimiter = ConcurrencyLimiterFactory.create(taskRoute.getLimiter());
+    this.systemGuard = taskRoute.getSystemGuard();
   }
 
   /**
@@ -96,8 +112,37 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
    */
   @Override
   public void execute(@NonNull Runnable task) {
-    initializeTask();
-    delegate.execute(task);
+    Delegation current = delegation.get();
+    SharedTaskContext sharedTaskContext = initializeTask(current, null);
+    try {
+      current.delegate.execute(task);
+    } catch (TaskRejectedException e) {
+      rejected(sharedTaskContext);
+      throw e;
+    }
+  }
+
+  /**
+   * Execute the {@code task}, with a listener for this task only.
+   *
+   * <p>The {@code taskListener} is informed about the task's lifecycle like the listeners of the
+   * task listener factories, also if the task is rejected. This allows the caller to learn that
+   * the task has timed out or has been cancelled, even if it was removed from the queue and never
+   * runs.
+   *
+   * @param task The task to execute.
+   * @param taskListener The listener for this task.
+   */
+  public void execute(@NonNull Runnable task, @NonNull TaskListener taskListener) {
+    requireNonNull(taskListener);
+    Delegation current = delegation.get();
+    SharedTaskContext sharedTaskContext = initializeTask(current, taskListener);
+    try {
+      current.delegate.execute(task);
+    } catch (TaskRejectedException e) {
+      rejected(sharedTaskContext);
+      throw e;
+    }
   }
 
   /**
@@ -109,8 +154,14 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
   @Deprecated
   @Override
   public void execute(@NonNull Runnable task, long startTimeout) {
-    initializeTask();
-    delegate.execute(task, startTimeout);
+    Delegation current = delegation.get();
+    SharedTaskContext sharedTaskContext = initializeTask(current, null);
+    try {
+      current.delegate.execute(task, startTimeout);
+    } catch (TaskRejectedException e) {
+      rejected(sharedTaskContext);
+      throw e;
+    }
   }
 
   /**
@@ -120,8 +171,14 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
    */
   @Override
   public Future<?> submit(@NonNull Runnable task) {
-    initializeTask();
-    return delegate.submit(task);
+    Delegation current = delegation.get();
+    SharedTaskContext sharedTaskContext = initializeTask(current, null);
+    try {
+      return current.delegate.submit(task);
+    } catch (TaskRejectedException e) {
+      rejected(sharedTaskContext);
+      throw e;
+    }
   }
 
   /**
@@ -135,32 +192,111 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
    */
   @Override
   public <T> Future<T> submit(@NonNull Callable<T> task) {
-    initializeTask();
-    return delegate.submit(task);
+    Delegation current = delegation.get();
+    SharedTaskContext sharedTaskContext = initializeTask(current, null);
+    try {
+      return current.delegate.submit(task);
+    } catch (TaskRejectedException e) {
+      rejected(sharedTaskContext);
+      throw e;
+    }
   }
 
-  private void initializeTask() {
+  private static void rejected(SharedTaskContext sharedTaskContext) {
+    SharedTaskContextHolder.unregister(sharedTaskContext);
+    sharedTaskContext.rejected();
+  }
+
+  private SharedTaskContext initializeTask(Delegation current, TaskListener taskListener) {
+    TaskRoute taskRoute = current.taskRoute;
+    boolean guarded = systemGuard != null;
+    CircuitBreaker.Permit permit = guarded ? acquireSystemGuard(current, taskListener) : null;
+    boolean limited = concurrencyLimiter != null;
+    if (limited && !concurrencyLimiter.tryAcquire()) {
+      if (guarded) {
+        systemGuard.onIgnore(permit);
+      }
+      reject(
+          current,
+          taskListener,
+          new ConcurrencyLimitExceededException(
+              String.format(
+                  "Task '%s' rejected, concurrency limit '%s' reached.",
+                  taskRoute.getTaskName(), concurrencyLimiter.getLimit())));
+    }
     SharedTaskContext sharedTaskContext =
         new SharedTaskContext(
-            taskName, executorConfigurationProperties, executorStatistics, createTaskListeners());
-    LOGGER.info(
+            taskRoute,
+            current.executorStatistics,
+            createTaskListeners(guarded, permit, limited, taskListener));
+    if (LOGGER.isDebugEnabled()) {
+      logStatistics(sharedTaskContext, current.executorStatistics);
+    }
+
+    SharedTaskContextHolder.register(sharedTaskContext);
+    TaskScope.register(sharedTaskContext);
+    return sharedTaskContext;
+  }
+
+  private static void logStatistics(
+      SharedTaskContext sharedTaskContext, ExecutorStatistics executorStatistics) {
+    LOGGER.debug(
         "Scheduling task '{}' with id '{}'.",
         sharedTaskContext.getTaskName(),
         sharedTaskContext.getTaskId());
-    LOGGER.info(
+    LOGGER.debug(
         "Executor '{}' has '{}/{}' threads, '{}' queued entries, '{}' total executions and '{}' aborted executions.",
-        taskName,
+        sharedTaskContext.getTaskName(),
         executorStatistics.getPoolSize(),
         executorStatistics.getMaxPoolSize(),
         executorStatistics.getQueueSize(),
         executorStatistics.getCompletedTaskCount(),
         executorStatistics.getAbortedTaskCount());
+  }
 
-    SharedTaskContextHolder.register(sharedTaskContext);
+  private CircuitBreaker.Permit acquireSystemGuard(
+      Delegation current, TaskListener taskListener) {
+    try {
+      return systemGuard.acquire(current.taskRoute.getTaskName());
+    } catch (TaskRejectedException e) {
+      reject(current, taskListener, e);
+      return null;
+    }
+  }
+
+  private void reject(
+      Delegation current, TaskListener taskListener, TaskRejectedException exception) {
+    // The listeners are still informed, so the rejection shows up in the metrics.
+    SharedTaskContext sharedTaskContext =
+        new SharedTaskContext(
+            current.taskRoute,
+            current.executorStatistics,
+            createTaskListeners(false, null, false, taskListener));
+    sharedTaskContext.rejected();
+    throw exception;
   }
 
-  private List<TaskListener> createTaskListeners() {
-    return taskListenerFactories.stream().map(TaskListenerFactory::create).collect(toList());
+  private TaskListener[] createTaskListeners(
+      boolean guarded,
+      CircuitBreaker.Permit permit,
+      boolean limited,
+      TaskListener taskListener) {
+    int count = taskListenerFactories.length;
+    int size = count + (guarded ? 1 : 0) + (limited ? 1 : 0) + (taskListener == null ? 0 : 1);
+    TaskListener[] taskListeners = new TaskListener[size];
+    for (int i = 0; i < count; i++) {
+      taskListeners[i] = taskListenerFactories[i].create();
+    }
+    if (guarded) {
+      taskListeners[count++] = new SystemGuardTaskListener(systemGuard, permit);
+    }
+    if (limited) {
+      taskListeners[count++] = new ConcurrencyLimiterTaskListener(concurrencyLimiter);
+    }
+    if (taskListener != null) {
+      taskListeners[count] = taskListener;
+    }
+    return taskListeners;
   }
 
   /**
@@ -169,7 +305,44 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
    * @return A view on the executor's statistics.
    */
   public ExecutorStatisticsView getExecutorStatistics() {
-    return new ExecutorStatisticsView(executorStatistics);
+    return new ExecutorStatisticsView(delegation.get().executorStatistics);
+  }
+
+  /**
+   * Return the task's current route.
+   *
+   * @return the route
+   */
+  public TaskRoute getTaskRoute() {
+    return delegation.get().taskRoute;
+  }
+
+  /**
+   * Route the tasks submitted from now on to another delegate and/or with another route.
+   *
+   * <p>Tasks that have already been submitted are not affected. The concurrency limiter and the
+   * system guard are not replaced, these keep their state.
+   *
+   * @param delegate the delegate for new tasks
+   * @param taskRoute the route for new tasks
+   */
+  public void reroute(HawaiiTaskExecutor delegate, TaskRoute taskRoute) {
+    Delegation previous =
+        delegation.getAndUpdate(
+            current ->
+                current.delegate.equals(delegate)
+                    ? new Delegation(current.delegate, current.executorStatistics, taskRoute)
+                    : new Delegation(delegate, taskRoute));
+    LOGGER.info("Rerouted task from '{}' to '{}'.", previous, taskRoute);
+  }
+
+  /**
+   * Return the concurrency limiter of the task.
+   *
+   * @return the limiter, or {@code null} if the task is not limited
+   */
+  public ConcurrencyLimiter getConcurrencyLimiter() {
+    return concurrencyLimiter;
   }
 
   /**
@@ -178,8 +351,8 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
    * @param executor The executor to check this delegate against.
    * @return {@code true} if this delegating executor has the given {@code executor}.
    */
-  public boolean hasDelegate(ThreadPoolTaskExecutor executor) {
-    return delegate.equals(executor);
+  public boolean hasDelegate(TaskExecutor executor) {
+    return delegation.get().delegate.equals(executor);
   }
 
   /**
@@ -189,11 +362,40 @@ public class DelegatingExecutor implements AsyncTaskExecutor, SchedulingTaskExec
    * @see java.util.concurrent.ThreadPoolExecutor#getActiveCount()
    */
   public int getActiveCount() {
-    return delegate.getActiveCount();
+    return delegation.get().delegate.getActiveCount();
   }
 
   @Override
   public boolean prefersShortLivedTasks() {
-    return delegate.prefersShortLivedTasks();
+    return delegation.get().delegate.prefersShortLivedTasks();
+  }
+
+  /** The delegate, its statistics and the route of the tasks handed to the delegate. */
+  private static final class Delegation {
+
+    /** The delegate {@link HawaiiTaskExecutor}. */
+    private final HawaiiTaskExecutor delegate;
+
+    /** The delegate's statistics, for this task. */
+    private final ExecutorStatistics executorStatistics;
+
+    /** The route of the task that will be run by the {@link #delegate}. */
+    private final TaskRoute taskRoute;
+
+    private Delegation(HawaiiTaskExecutor delegate, TaskRoute taskRoute) {
+      this(delegate, new ExecutorStatistics(delegate), taskRoute);
+    }
+
+    private Delegation(
+        HawaiiTaskExecutor delegate, ExecutorStatistics executorStatistics, TaskRoute taskRoute) {
+      this.delegate = delegate;
+      this.executorStatistics = executorStatistics;
+      this.taskRoute = taskRoute;
+    }
+
+    @Override
+    public String toString() {
+      return taskRoute.toString();
+    }
   }
 }
@@ -1,12 +1,17 @@
 package org.hawaiiframework.async;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.introspector.Property;
 import org.yaml.snakeyaml.introspector.PropertyUtils;
+import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
 
 /**
  * Extended version of snakeyaml's Constructor class to facilitate mapping custom YAML keys to
@@ -29,6 +34,7 @@ public class YamlJavaBeanPropertyConstructor extends Constructor {
   public YamlJavaBeanPropertyConstructor(Class<?> theRoot) {
     super(theRoot, new LoaderOptions());
     this.yamlClassConstructors.put(NodeId.mapping, new CustomPropertyConstructMapping());
+    this.yamlClassConstructors.put(NodeId.scalar, new DurationConstructScalar());
   }
 
   /**
@@ -63,6 +69,23 @@ public class YamlJavaBeanPropertyConstructor extends Constructor {
     typeMap.put(alias, this.propertyUtils.getProperty(type, name));
   }
 
+  /**
+   * Custom {@code ConstructScalar} to construct {@link Duration} properties.
+   *
+   * <p>Durations are written like {@code 250ms}, {@code 2s} or {@code PT0.25S}, a plain number is
+   * in seconds.
+   */
+  private class DurationConstructScalar extends ConstructScalar {
+
+    @Override
+    public Object construct(Node node) {
+      if (Duration.class.equals(node.getType())) {
+        return DurationStyle.detectAndParse(((ScalarNode) node).getValue(), ChronoUnit.SECONDS);
+      }
+      return super.construct(node);
+    }
+  }
+
   /** Custom {@code ConstructMapping} to resolve properties. */
   private class CustomPropertyConstructMapping extends ConstructMapping {
 
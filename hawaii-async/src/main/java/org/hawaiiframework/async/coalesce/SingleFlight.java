@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.coalesce;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.hawaiiframework.async.task.TaskScope;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent calls with an equal key into a single call.
+ *
+ * <p>The first caller for a key starts the call, callers arriving while that call is in flight
+ * share its result. Each caller gets its own future, so a caller can cancel (or time out) its
+ * future without affecting the other callers. Once the last caller has gone away, the tasks
+ * submitted by the call are cancelled through their {@link SharedTaskContext}, which removes them
+ * from their executor's queue or aborts them.
+ *
+ * <p>A key is in flight until the call completes, results are not cached beyond that.
+ *
+ * @param <K> the key type
+ * @param <T> the result type
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class SingleFlight<K, T> {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlight.class);
+
+  /** The calls in flight, keyed by the call's key. */
+  private final Map<K, Flight> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Execute the call for the key, or join the call for the key that is already in flight.
+   *
+   * <p>If the {@code call} throws an exception while submitting, it is rethrown to the caller
+   * that started the call, callers that joined in the meantime get an exceptionally completed
+   * future.
+   *
+   * @param key the key of the call
+   * @param call the call, for instance an invocation of an {@code @Async} method
+   * @return a future with the result of the (shared) call
+   */
+  public CompletableFuture<T> execute(K key, Supplier<? extends CompletableFuture<T>> call) {
+    while (true) {
+      Flight flight = flights.get(key);
+      if (flight == null) {
+        Flight created = new Flight(key);
+        flight = flights.putIfAbsent(key, created);
+        if (flight == null) {
+          return created.start(call);
+        }
+      }
+      CompletableFuture<T> waiter = flight.join();
+      if (waiter != null) {
+        LOGGER.trace("Joined call '{}' that is in flight.", key);
+        return waiter;
+      }
+      // The flight completed or was abandoned, start a new one.
+      flights.remove(key, flight);
+    }
+  }
+
+  /**
+   * Get the number of calls in flight.
+   *
+   * @return the number of distinct keys in flight
+   */
+  public int getInFlightCount() {
+    return flights.size();
+  }
+
+  /** A call in flight, with the number of callers waiting for its result. */
+  private final class Flight {
+
+    /** The key of the call. */
+    private final K key;
+
+    /** The result of the call, shared by all callers. */
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    /** The number of callers waiting for the result, zero once the flight is abandoned. */
+    private final AtomicInteger waiters = new AtomicInteger(1);
+
+    /** The contexts of the tasks submitted by the call. */
+    private final Queue<SharedTaskContext> taskContexts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Construct an instance, for the caller that starts the call.
+     *
+     * @param key the key of the call
+     */
+    private Flight(K key) {
+      this.key = key;
+    }
+
+    /**
+     * Start the call and return the starting caller's future.
+     *
+     * @param call the call
+     * @return the future of the caller that started the call
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private CompletableFuture<T> start(Supplier<? extends CompletableFuture<T>> call) {
+      result.whenComplete((value, throwable) -> flights.remove(key, this));
+      CompletableFuture<T> future;
+      try (TaskScope scope = TaskScope.open()) {
+        future = call.get();
+        taskContexts.addAll(scope.getTaskContexts());
+      } catch (RuntimeException exception) {
+        result.completeExceptionally(exception);
+        throw exception;
+      }
+      future.whenComplete(
+          (value, throwable) -> {
+            if (throwable == null) {
+              result.complete(value);
+            } else {
+              result.completeExceptionally(throwable);
+            }
+          });
+      return newWaiter();
+    }
+
+    /**
+     * Join the flight.
+     *
+     * @return the joining caller's future, or {@code null} if the flight has completed or has been
+     *     abandoned.
+     */
+    private CompletableFuture<T> join() {
+      int count = waiters.get();
+      while (count > 0 && !result.isDone()) {
+        if (waiters.compareAndSet(count, count + 1)) {
+          return newWaiter();
+        }
+        count = waiters.get();
+      }
+      return null;
+    }
+
+    private CompletableFuture<T> newWaiter() {
+      CompletableFuture<T> waiter = new CompletableFuture<>();
+      result.whenComplete(
+          (value, throwable) -> {
+            if (throwable == null) {
+              waiter.complete(value);
+            } else {
+              waiter.completeExceptionally(throwable);
+            }
+          });
+      waiter.whenComplete(
+          (value, throwable) -> {
+            if (!result.isDone()) {
+              // The caller cancelled or timed out its future before the call completed.
+              leave();
+            }
+          });
+      return waiter;
+    }
+
+    private void leave() {
+      if (waiters.decrementAndGet() == 0) {
+        LOGGER.debug("Last caller of '{}' went away, cancelling the call.", key);
+        flights.remove(key, this);
+        for (SharedTaskContext taskContext : taskContexts) {
+          taskContext.cancel();
+        }
+        result.cancel(false);
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.coalesce;
+
+import static org.hawaiiframework.async.config.AsyncTaskNameResolver.getMostSpecificMethod;
+import static org.hawaiiframework.async.config.AsyncTaskNameResolver.resolveCompletableRoute;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.exception.HawaiiException;
+import org.springframework.lang.NonNull;
+
+/**
+ * Interceptor that coalesces concurrent invocations of a single flight task with equal arguments.
+ *
+ * <p>The interceptor must wrap Spring's async interceptor, so the first invocation submits the
+ * task and concurrent invocations with equal arguments share its {@link CompletableFuture}, see
+ * {@link SingleFlight}. It only applies to {@code @Async("system.task")} methods that return a
+ * {@link CompletableFuture} and of which the task is configured with {@code singleFlight: true}.
+ * Other invocations proceed as usual.
+ *
+ * <p>The shared task runs with the timeout of the invocation that submitted it, including a
+ * {@link org.hawaiiframework.async.timeout.TaskTimeoutOverride}, if any.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class SingleFlightInterceptor implements MethodInterceptor {
+
+  /** Marker for methods that are not coalesced, the map does not allow {@code null} values. */
+  private static final String NOT_COALESCED = "";
+
+  /** The routing table. */
+  private final TaskRoutingTable routingTable;
+
+  /** The resolved task names, keyed by method. */
+  private final Map<Method, String> taskNames = new ConcurrentHashMap<>();
+
+  /** The calls in flight. */
+  private final SingleFlight<SingleFlightKey, Object> singleFlight = new SingleFlight<>();
+
+  /**
+   * Construct an instance.
+   *
+   * @param routingTable the routing table, to look up the task's configuration
+   */
+  public SingleFlightInterceptor(TaskRoutingTable routingTable) {
+    this.routingTable = routingTable;
+  }
+
+  @Override
+  public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+    String taskName =
+        taskNames.computeIfAbsent(
+            getMostSpecificMethod(invocation), this::resolveSingleFlightTaskName);
+    if (NOT_COALESCED.equals(taskName)) {
+      return invocation.proceed();
+    }
+    return singleFlight.execute(
+        new SingleFlightKey(taskName, invocation.getArguments()), () -> proceed(invocation));
+  }
+
+  /**
+   * Get the number of calls in flight.
+   *
+   * @return the number of distinct task invocations in flight
+   */
+  public int getInFlightCount() {
+    return singleFlight.getInFlightCount();
+  }
+
+  private String resolveSingleFlightTaskName(Method method) {
+    TaskRoute route = resolveCompletableRoute(method, routingTable);
+    return route != null && route.isSingleFlight() ? route.getTaskName() : NOT_COALESCED;
+  }
+
+  @SuppressWarnings({
+    "unchecked",
+    "PMD.AvoidCatchingGenericException",
+    "PMD.AvoidCatchingThrowable"
+  })
+  private static CompletableFuture<Object> proceed(MethodInvocation invocation) {
+    try {
+      return (CompletableFuture<Object>) invocation.proceed();
+    } catch (RuntimeException rethrown) {
+      throw rethrown;
+    } catch (Throwable throwable) {
+      throw new HawaiiException(throwable);
+    }
+  }
+}
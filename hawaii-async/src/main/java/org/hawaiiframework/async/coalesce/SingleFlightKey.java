@@ -0,0 +1,73 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.coalesce;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The key of a single flight call: the task name and the arguments of the invocation.
+ *
+ * <p>Arguments are compared with {@link Object#equals(Object)}, so they must implement {@code
+ * equals()} and {@code hashCode()} for calls to be coalesced.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+final class SingleFlightKey {
+
+  /** The task name. */
+  private final String taskName;
+
+  /** The arguments of the invocation. */
+  private final List<Object> arguments;
+
+  /**
+   * Construct an instance.
+   *
+   * @param taskName the task name
+   * @param arguments the arguments of the invocation
+   */
+  SingleFlightKey(String taskName, Object... arguments) {
+    this.taskName = taskName;
+    this.arguments = Arrays.asList(arguments.clone());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SingleFlightKey)) {
+      return false;
+    }
+    SingleFlightKey that = (SingleFlightKey) other;
+    return taskName.equals(that.taskName) && arguments.equals(that.arguments);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(taskName, arguments);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s%s", taskName, arguments);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint to reload the async configuration, see {@link AsyncConfigurationReloader}.
+ *
+ * <p>A {@code POST} to {@code /actuator/asyncconfiguration} reloads the configuration file and
+ * responds with the changes that have been applied and the changes that require a restart.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+@Endpoint(id = "asyncconfiguration")
+public class AsyncConfigurationEndpoint {
+
+  /** The reloader. */
+  private final AsyncConfigurationReloader reloader;
+
+  /**
+   * The constructor.
+   *
+   * @param reloader The reloader.
+   */
+  public AsyncConfigurationEndpoint(AsyncConfigurationReloader reloader) {
+    this.reloader = reloader;
+  }
+
+  /**
+   * Reload the async configuration.
+   *
+   * @return the changes
+   */
+  @WriteOperation
+  public List<String> reload() {
+    return reloader.reload();
+  }
+}
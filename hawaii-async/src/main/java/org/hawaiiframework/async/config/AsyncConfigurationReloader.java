@@ -0,0 +1,348 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.hawaiiframework.async.AsyncPropertiesLoader;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiThreadPoolTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiVirtualThreadTaskExecutor;
+import org.hawaiiframework.async.model.AutoTuneProperties;
+import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import org.hawaiiframework.async.model.ExecutorProperties;
+import org.hawaiiframework.async.model.ExecutorType;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.exception.HawaiiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+
+/**
+ * Reloads the async configuration file and applies it to the running executors.
+ *
+ * <p>A reload resizes the existing executors (pool sizes, keep-alive time, queue capacity and
+ * concurrency limit) and routes the configured tasks to their (new) executor with their (new)
+ * timeout, see {@link DelegatingExecutor#reroute(HawaiiTaskExecutor, TaskRoute)}. Tasks already
+ * submitted, queued or running, are not affected.
+ *
+ * <p>Changes that need new beans are not applied, but reported: added or removed executors and
+ * tasks, a changed executor type and switching a thread pool between a queue and no queue. Neither
+ * are changes to the limiters, system guards, single flight, hedging and retries; these keep
+ * state and require a restart. The pool size of an executor with {@code autoTune} is owned by its
+ * tuner, which keeps the bounds it was started with, so a new pool size or a change to {@code
+ * autoTune} is reported as requiring a restart as well.
+ *
+ * <p>The new configuration is validated before any change is applied, so an invalid file leaves
+ * the executors as they are.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class AsyncConfigurationReloader {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncConfigurationReloader.class);
+
+  /** The loader for the async configuration. */
+  private final AsyncPropertiesLoader asyncPropertiesLoader;
+
+  /** Spring's bean factory, holding the executors. */
+  private final ListableBeanFactory beanFactory;
+
+  /** The default executor, may be {@code null}. */
+  private final DelegatingExecutor defaultExecutor;
+
+  /** The configuration that has been applied last. */
+  private final AtomicReference<ExecutorConfigurationProperties> configuration;
+
+  /** Lock to apply one reload at a time. */
+  private final Lock lock = new ReentrantLock();
+
+  /**
+   * The constructor.
+   *
+   * @param asyncPropertiesLoader The loader for the async configuration.
+   * @param beanFactory Spring's bean factory, holding the executors.
+   * @param configuration The configuration the executors have been created with.
+   * @param defaultExecutor The default executor, may be {@code null}.
+   */
+  public AsyncConfigurationReloader(
+      AsyncPropertiesLoader asyncPropertiesLoader,
+      ListableBeanFactory beanFactory,
+      ExecutorConfigurationProperties configuration,
+      DelegatingExecutor defaultExecutor) {
+    this.asyncPropertiesLoader = asyncPropertiesLoader;
+    this.beanFactory = beanFactory;
+    this.configuration = new AtomicReference<>(configuration);
+    this.defaultExecutor = defaultExecutor;
+  }
+
+  /**
+   * Get the configuration file.
+   *
+   * @return the configuration file
+   */
+  public String getConfigFile() {
+    return asyncPropertiesLoader.getConfigFile();
+  }
+
+  /**
+   * Reload the configuration file and apply it.
+   *
+   * @return the changes applied, and the changes that require a restart
+   * @throws HawaiiException if the configuration cannot be loaded or is invalid
+   */
+  public List<String> reload() {
+    lock.lock();
+    try {
+      ExecutorConfigurationProperties reloaded = asyncPropertiesLoader.loadProperties();
+      TaskRoutingTable routingTable = new TaskRoutingTable(reloaded);
+      validate(reloaded, routingTable);
+
+      List<String> changes = new ArrayList<>();
+      resizeExecutors(configuration.get(), reloaded, changes);
+      rerouteTasks(reloaded, routingTable, changes);
+      configuration.set(reloaded);
+
+      LOGGER.info("Reloaded async configuration '{}': {}.", getConfigFile(), changes);
+      return changes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void validate(ExecutorConfigurationProperties reloaded, TaskRoutingTable routingTable) {
+    for (ExecutorProperties executorProperties : reloaded.getExecutors()) {
+      validateSize(executorProperties);
+    }
+    for (TaskRoute route : routingTable.getRoutes()) {
+      validateExecutor(route.getExecutorName(), "task " + route.getTaskName());
+    }
+    if (defaultExecutor != null) {
+      validateExecutor(reloaded.getDefaultExecutor(), "default executor");
+    }
+  }
+
+  private static void validateSize(ExecutorProperties executorProperties) {
+    if (executorProperties.getExecutorType() != ExecutorType.THREAD_POOL) {
+      return;
+    }
+    Integer corePoolSize = executorProperties.getCorePoolSize();
+    Integer maxPoolSize = executorProperties.getMaxPoolSize();
+    if (corePoolSize == null
+        || maxPoolSize == null
+        || corePoolSize > maxPoolSize
+        || executorProperties.getMaxPendingRequests() == null
+        || executorProperties.getKeepAliveTime() == null) {
+      throw new HawaiiException(
+          String.format("Executor '%s' has an invalid size.", executorProperties.getName()));
+    }
+  }
+
+  private void validateExecutor(String executorName, String usage) {
+    if (executorName == null || !beanFactory.containsBean(executorName)) {
+      throw new HawaiiException(
+          String.format(
+              "Executor '%s' of '%s' does not exist, it can only be added on a restart.",
+              executorName, usage));
+    }
+  }
+
+  @SuppressWarnings("PMD.LawOfDemeter")
+  private void resizeExecutors(
+      ExecutorConfigurationProperties current,
+      ExecutorConfigurationProperties reloaded,
+      List<String> changes) {
+    Map<String, ExecutorProperties> currentExecutors = new HashMap<>();
+    for (ExecutorProperties executorProperties : current.getExecutors()) {
+      currentExecutors.putIfAbsent(executorProperties.getName(), executorProperties);
+    }
+    for (ExecutorProperties executorProperties : reloaded.getExecutors()) {
+      String name = executorProperties.getName();
+      ExecutorProperties previous = currentExecutors.remove(name);
+      if (previous == null) {
+        changes.add(String.format("Executor '%s' is added, this requires a restart.", name));
+      } else if (previous.getExecutorType() != executorProperties.getExecutorType()) {
+        changes.add(
+            String.format("Type of executor '%s' is changed, this requires a restart.", name));
+      } else {
+        if (!isSameAutoTune(previous.getAutoTune(), executorProperties.getAutoTune())) {
+          changes.add(
+              String.format(
+                  "Auto-tuning of executor '%s' is changed, this requires a restart.", name));
+        }
+        if (!isSameSize(previous, executorProperties)) {
+          resizeExecutor(previous, executorProperties, changes);
+        }
+      }
+    }
+    for (String name : currentExecutors.keySet()) {
+      changes.add(String.format("Executor '%s' is removed, this requires a restart.", name));
+    }
+  }
+
+  private static boolean isSameSize(ExecutorProperties previous, ExecutorProperties reloaded) {
+    return isSamePoolSize(previous, reloaded)
+        && Objects.equals(previous.getMaxPendingRequests(), reloaded.getMaxPendingRequests())
+        && Objects.equals(previous.getKeepAliveTime(), reloaded.getKeepAliveTime());
+  }
+
+  private static boolean isSamePoolSize(ExecutorProperties previous, ExecutorProperties reloaded) {
+    return Objects.equals(previous.getCorePoolSize(), reloaded.getCorePoolSize())
+        && Objects.equals(previous.getMaxPoolSize(), reloaded.getMaxPoolSize());
+  }
+
+  private static boolean isSameAutoTune(AutoTuneProperties previous, AutoTuneProperties reloaded) {
+    if (previous == null || reloaded == null) {
+      return previous == reloaded;
+    }
+    return Objects.equals(previous.getInterval(), reloaded.getInterval())
+        && Objects.equals(previous.getMinPoolSize(), reloaded.getMinPoolSize())
+        && Objects.equals(previous.getMaxPoolSize(), reloaded.getMaxPoolSize())
+        && Objects.equals(previous.getTargetUtilization(), reloaded.getTargetUtilization());
+  }
+
+  private static boolean applyPoolSize(
+      ExecutorProperties previous, ExecutorProperties reloaded, List<String> changes) {
+    if (isSamePoolSize(previous, reloaded)) {
+      return false;
+    }
+    // The tuner owns the pool size, it would overwrite a new size on its next interval.
+    if (previous.getAutoTune() != null) {
+      changes.add(
+          String.format(
+              "Pool size of executor '%s' is auto-tuned, a new size requires a restart.",
+              reloaded.getName()));
+      return false;
+    }
+    return true;
+  }
+
+  private void resizeExecutor(
+      ExecutorProperties previous, ExecutorProperties reloaded, List<String> changes) {
+    Object executor = beanFactory.getBean(reloaded.getName());
+    if (executor instanceof HawaiiThreadPoolTaskExecutor threadPoolTaskExecutor) {
+      resizeThreadPoolExecutor(threadPoolTaskExecutor, previous, reloaded, changes);
+    } else if (executor instanceof HawaiiVirtualThreadTaskExecutor virtualThreadTaskExecutor) {
+      resizeVirtualThreadExecutor(virtualThreadTaskExecutor, previous, reloaded, changes);
+    }
+  }
+
+  private static void resizeThreadPoolExecutor(
+      HawaiiThreadPoolTaskExecutor executor,
+      ExecutorProperties previous,
+      ExecutorProperties reloaded,
+      List<String> changes) {
+    boolean resized = false;
+    if (applyPoolSize(previous, reloaded, changes)) {
+      executor.setPoolSizes(reloaded.getCorePoolSize(), reloaded.getMaxPoolSize());
+      resized = true;
+    }
+    if (!Objects.equals(previous.getKeepAliveTime(), reloaded.getKeepAliveTime())) {
+      executor.setKeepAliveSeconds(reloaded.getKeepAliveTime());
+      resized = true;
+    }
+    if (!Objects.equals(previous.getMaxPendingRequests(), reloaded.getMaxPendingRequests())) {
+      boolean queued = previous.getMaxPendingRequests() > 0;
+      if (queued == (reloaded.getMaxPendingRequests() > 0)) {
+        executor.setQueueCapacity(reloaded.getMaxPendingRequests());
+        resized = true;
+      } else {
+        changes.add(
+            String.format(
+                "Queue of executor '%s' is added or removed, this requires a restart.",
+                reloaded.getName()));
+      }
+    }
+    if (resized) {
+      changes.add(String.format("Executor '%s' is resized: %s.", reloaded.getName(), reloaded));
+    }
+  }
+
+  private static void resizeVirtualThreadExecutor(
+      HawaiiVirtualThreadTaskExecutor executor,
+      ExecutorProperties previous,
+      ExecutorProperties reloaded,
+      List<String> changes) {
+    boolean resized = false;
+    if (applyPoolSize(previous, reloaded, changes)) {
+      executor.setConcurrencyLimit(
+          Objects.requireNonNullElse(reloaded.getMaxPoolSize(), Integer.MAX_VALUE));
+      resized = true;
+    }
+    if (!Objects.equals(previous.getMaxPendingRequests(), reloaded.getMaxPendingRequests())) {
+      executor.setQueueCapacity(
+          Objects.requireNonNullElse(reloaded.getMaxPendingRequests(), Integer.MAX_VALUE));
+      resized = true;
+    }
+    if (resized) {
+      changes.add(String.format("Executor '%s' is resized: %s.", reloaded.getName(), reloaded));
+    }
+  }
+
+  private void rerouteTasks(
+      ExecutorConfigurationProperties reloaded,
+      TaskRoutingTable routingTable,
+      List<String> changes) {
+    Map<String, TaskRoute> routes = new HashMap<>();
+    for (TaskRoute route : routingTable.getRoutes()) {
+      routes.put(route.getTaskName(), route);
+    }
+    Map<String, DelegatingExecutor> executors =
+        beanFactory.getBeansOfType(DelegatingExecutor.class);
+    for (DelegatingExecutor executor : executors.values()) {
+      String taskName = executor.getTaskRoute().getTaskName();
+      TaskRoute route = routes.remove(taskName);
+      if (route == null) {
+        changes.add(String.format("Task '%s' is removed, this requires a restart.", taskName));
+      } else {
+        reroute(executor, route, changes);
+      }
+    }
+    for (String taskName : routes.keySet()) {
+      changes.add(String.format("Task '%s' is added, this requires a restart.", taskName));
+    }
+    if (defaultExecutor != null) {
+      reroute(defaultExecutor, routingTable.getRoute(reloaded.getDefaultExecutor()), changes);
+    }
+  }
+
+  private void reroute(DelegatingExecutor executor, TaskRoute route, List<String> changes) {
+    TaskRoute current = executor.getTaskRoute();
+    if (Objects.equals(current.getExecutorName(), route.getExecutorName())
+        && Objects.equals(current.getTimeout(), route.getTimeout())) {
+      return;
+    }
+    executor.reroute(
+        beanFactory.getBean(route.getExecutorName(), HawaiiTaskExecutor.class),
+        current.withExecutorAndTimeout(route.getExecutorName(), route.getTimeout()));
+    changes.add(
+        String.format(
+            "Task '%s' is routed to executor '%s' with timeout '%s'.",
+            route.getTaskName(), route.getExecutorName(), route.getTimeout()));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.hawaiiframework.exception.HawaiiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Watches the async configuration file and reloads it when it is modified, see {@link
+ * AsyncConfigurationReloader}.
+ *
+ * <p>The directory of the file is watched by a daemon thread. A configuration that cannot be
+ * loaded or is invalid is logged and ignored, the executors keep their current configuration.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class AsyncConfigurationWatcher implements SmartLifecycle {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncConfigurationWatcher.class);
+
+  /** The reloader to apply the modified configuration. */
+  private final AsyncConfigurationReloader reloader;
+
+  /** The configuration file. */
+  private final Path configFile;
+
+  /** The watch service, {@code null} while the watcher is not running. */
+  private final AtomicReference<WatchService> watchService = new AtomicReference<>();
+
+  /**
+   * The constructor.
+   *
+   * @param reloader The reloader to apply the modified configuration.
+   */
+  public AsyncConfigurationWatcher(AsyncConfigurationReloader reloader) {
+    this.reloader = reloader;
+    this.configFile = Paths.get(reloader.getConfigFile()).toAbsolutePath();
+  }
+
+  @Override
+  @SuppressWarnings("PMD.CloseResource")
+  public void start() {
+    try {
+      WatchService service = configFile.getFileSystem().newWatchService();
+      configFile.getParent().register(service, ENTRY_CREATE, ENTRY_MODIFY);
+      if (watchService.compareAndSet(null, service)) {
+        new BasicThreadFactory.Builder()
+            .namingPattern("async-configuration-watcher")
+            .daemon(true)
+            .build()
+            .newThread(() -> watch(service))
+            .start();
+        LOGGER.info("Watching async configuration '{}'.", configFile);
+      } else {
+        service.close();
+      }
+    } catch (IOException exception) {
+      throw new HawaiiException(
+          String.format("Unable to watch async configuration '%s'.", configFile), exception);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("PMD.CloseResource")
+  public void stop() {
+    WatchService service = watchService.getAndSet(null);
+    if (service != null) {
+      try {
+        service.close();
+      } catch (IOException exception) {
+        LOGGER.warn("Unable to stop watching async configuration '{}'.", configFile, exception);
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return watchService.get() != null;
+  }
+
+  private void watch(WatchService service) {
+    try {
+      while (true) {
+        WatchKey key = service.take();
+        boolean modified = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          modified |= configFile.getFileName().equals(event.context());
+        }
+        key.reset();
+        if (modified) {
+          reload();
+        }
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException exception) {
+      LOGGER.debug("Stopped watching async configuration '{}'.", configFile);
+    }
+  }
+
+  // Any exception would stop the watcher thread, and with it all later reloads.
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private void reload() {
+    try {
+      reloader.reload();
+    } catch (RuntimeException exception) {
+      LOGGER.error("Ignoring modified async configuration '{}'.", configFile, exception);
+    }
+  }
+}
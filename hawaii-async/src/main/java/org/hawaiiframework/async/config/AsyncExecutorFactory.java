@@ -17,17 +17,25 @@
 package org.hawaiiframework.async.config;
 
 import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_EXECUTOR;
+import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_SCHEDULER;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.hawaiiframework.async.executor.HawaiiThreadPoolTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiVirtualThreadTaskExecutor;
 import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
 import org.hawaiiframework.async.model.ExecutorProperties;
+import org.hawaiiframework.async.model.ExecutorType;
+import org.hawaiiframework.async.model.TimeoutSchedulerType;
+import org.hawaiiframework.async.timeout.HashedWheelTimeoutScheduler;
+import org.hawaiiframework.async.timeout.ScheduledExecutorTimeoutScheduler;
 import org.hawaiiframework.exception.HawaiiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 
 /**
  * Factory to create executors for the asynchronous execution of methods using the {@link
@@ -70,6 +78,7 @@ public class AsyncExecutorFactory {
         0, properties.getAsyncTimeoutExecutorPoolSize());
     registrar.registerBean(
         ASYNC_TIMEOUT_EXECUTOR, ScheduledThreadPoolExecutor.class, taskExecutorConstructorValues);
+    createTimeoutScheduler();
 
     for (ExecutorProperties executorProperties : properties.getExecutors()) {
       if (!executorNames.add(executorProperties.getName())) {
@@ -80,10 +89,47 @@ public class AsyncExecutorFactory {
       }
 
       LOGGER.info("Registering executor '{}'.", executorProperties);
-      registrar.registerBean(executorProperties.getName(), ThreadPoolTaskExecutor.class);
+      registrar.registerBean(
+          executorProperties.getName(), getExecutorClass(executorProperties.getExecutorType()));
     }
   }
 
+  /**
+   * Register the scheduler for the timeout guard tasks. Both schedulers run the timed-out guard
+   * tasks on the async timeout executor.
+   */
+  private void createTimeoutScheduler() {
+    TimeoutSchedulerType timeoutSchedulerType = properties.getTimeoutSchedulerType();
+    LOGGER.info("Registering timeout scheduler of type '{}'.", timeoutSchedulerType);
+
+    ConstructorArgumentValues schedulerConstructorValues = new ConstructorArgumentValues();
+    schedulerConstructorValues.addIndexedArgumentValue(
+        0, new RuntimeBeanReference(ASYNC_TIMEOUT_EXECUTOR));
+    if (timeoutSchedulerType == TimeoutSchedulerType.HASHED_WHEEL) {
+      schedulerConstructorValues.addIndexedArgumentValue(
+          1, Duration.ofMillis(properties.getAsyncTimeoutWheelTickDuration()));
+      schedulerConstructorValues.addIndexedArgumentValue(2, properties.getAsyncTimeoutWheelSize());
+    }
+    registrar.registerBean(
+        ASYNC_TIMEOUT_SCHEDULER,
+        getTimeoutSchedulerClass(timeoutSchedulerType),
+        schedulerConstructorValues);
+  }
+
+  private static Class<?> getTimeoutSchedulerClass(TimeoutSchedulerType timeoutSchedulerType) {
+    return switch (timeoutSchedulerType) {
+      case HASHED_WHEEL -> HashedWheelTimeoutScheduler.class;
+      case EXECUTOR -> ScheduledExecutorTimeoutScheduler.class;
+    };
+  }
+
+  private static Class<?> getExecutorClass(ExecutorType executorType) {
+    return switch (executorType) {
+      case VIRTUAL -> HawaiiVirtualThreadTaskExecutor.class;
+      case THREAD_POOL -> HawaiiThreadPoolTaskExecutor.class;
+    };
+  }
+
   /**
    * Get the executor names.
    *
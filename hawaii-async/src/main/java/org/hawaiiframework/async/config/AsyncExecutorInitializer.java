@@ -17,6 +17,7 @@
 package org.hawaiiframework.async.config;
 
 import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_EXECUTOR;
+import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_SCHEDULER;
 
 import java.util.Map;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -24,15 +25,20 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.hawaiiframework.async.AbortableTaskDecorator;
 import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiThreadPoolTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiVirtualThreadTaskExecutor;
 import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
 import org.hawaiiframework.async.model.ExecutorProperties;
+import org.hawaiiframework.async.model.ExecutorType;
+import org.hawaiiframework.async.model.TaskRoutingTable;
 import org.hawaiiframework.async.task.listener.TaskListenerFactory;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Utility to initialize executors for the asynchronous execution of methods using the @{@link
@@ -62,16 +68,23 @@ public class AsyncExecutorInitializer {
   /** The executor configuration. */
   private final ExecutorConfigurationProperties configuration;
 
+  /** The compiled routing table. */
+  private final TaskRoutingTable routingTable;
+
   /**
    * The constructor.
    *
    * @param beanFactory Spring's bean factory.
    * @param configuration The executor configuration.
+   * @param routingTable The compiled routing table.
    */
   public AsyncExecutorInitializer(
-      ConfigurableListableBeanFactory beanFactory, ExecutorConfigurationProperties configuration) {
+      ConfigurableListableBeanFactory beanFactory,
+      ExecutorConfigurationProperties configuration,
+      TaskRoutingTable routingTable) {
     this.beanFactory = beanFactory;
     this.configuration = configuration;
+    this.routingTable = routingTable;
   }
 
   /** Initialize all configured executors in the bean factory and determine the default executor. */
@@ -82,22 +95,25 @@ public class AsyncExecutorInitializer {
     asyncTimeoutExecutor.setThreadFactory(
         new BasicThreadFactory.Builder().namingPattern("async-timeout-%d").daemon(true).build());
     beanFactory.initializeBean(asyncTimeoutExecutor, ASYNC_TIMEOUT_EXECUTOR);
+    TimeoutScheduler timeoutScheduler =
+        beanFactory.getBean(ASYNC_TIMEOUT_SCHEDULER, TimeoutScheduler.class);
 
     for (ExecutorProperties executorConfiguration : configuration.getExecutors()) {
-      ThreadPoolTaskExecutor executor =
-          initializeExecutor(executorConfiguration, asyncTimeoutExecutor);
+      HawaiiTaskExecutor executor = initializeExecutor(executorConfiguration, timeoutScheduler);
       if (isDefaultExecutor(executorConfiguration)) {
         registerDefaultExecutor(executor);
       }
     }
   }
 
-  private void registerDefaultExecutor(ThreadPoolTaskExecutor executor) {
+  private void registerDefaultExecutor(HawaiiTaskExecutor executor) {
     Map<String, TaskListenerFactory> beansOfType =
         beanFactory.getBeansOfType(TaskListenerFactory.class);
     defaultExecutor =
         new DelegatingExecutor(
-            executor, configuration, beansOfType.values(), configuration.getDefaultExecutor());
+            executor,
+            beansOfType.values(),
+            routingTable.getRoute(configuration.getDefaultExecutor()));
   }
 
   /**
@@ -114,21 +130,65 @@ public class AsyncExecutorInitializer {
    * Configure a task executor from its configuration properties.
    *
    * @param executorConfiguration the executor's configuration.
-   * @param timeoutExecutor the timeout executor.
+   * @param timeoutScheduler the timeout scheduler.
    */
-  private ThreadPoolTaskExecutor initializeExecutor(
-      ExecutorProperties executorConfiguration, ScheduledThreadPoolExecutor timeoutExecutor) {
+  private HawaiiTaskExecutor initializeExecutor(
+      ExecutorProperties executorConfiguration, TimeoutScheduler timeoutScheduler) {
     LOGGER.info("Creating executor '{}'.", executorConfiguration);
-    ThreadPoolTaskExecutor taskExecutor =
-        (ThreadPoolTaskExecutor) beanFactory.getBean(executorConfiguration.getName());
+    if (executorConfiguration.getExecutorType() == ExecutorType.VIRTUAL) {
+      return initializeVirtualThreadExecutor(executorConfiguration, timeoutScheduler);
+    }
+    return initializeThreadPoolExecutor(executorConfiguration, timeoutScheduler);
+  }
+
+  /**
+   * Configure a thread pool task executor from its configuration properties.
+   *
+   * @param executorConfiguration the executor's configuration.
+   * @param timeoutScheduler the timeout scheduler.
+   */
+  private HawaiiTaskExecutor initializeThreadPoolExecutor(
+      ExecutorProperties executorConfiguration, TimeoutScheduler timeoutScheduler) {
+    HawaiiThreadPoolTaskExecutor taskExecutor =
+        (HawaiiThreadPoolTaskExecutor) beanFactory.getBean(executorConfiguration.getName());
     taskExecutor.setThreadFactory(null);
     taskExecutor.setThreadNamePrefix(executorConfiguration.getName() + "-");
     taskExecutor.setCorePoolSize(executorConfiguration.getCorePoolSize());
     taskExecutor.setMaxPoolSize(executorConfiguration.getMaxPoolSize());
     taskExecutor.setQueueCapacity(executorConfiguration.getMaxPendingRequests());
     taskExecutor.setKeepAliveSeconds(executorConfiguration.getKeepAliveTime());
+    if (Boolean.TRUE.equals(executorConfiguration.getPrioritized())) {
+      taskExecutor.setPriorityAging(executorConfiguration.getPriorityAging());
+    }
+
+    taskExecutor.setTaskDecorator(new AbortableTaskDecorator(taskExecutor, timeoutScheduler));
+
+    taskExecutor.initialize();
+    return taskExecutor;
+  }
+
+  /**
+   * Configure a virtual thread task executor from its configuration properties.
+   *
+   * <p>The max pool size is used as the concurrency limit and the max pending requests as the
+   * maximum number of tasks waiting for a permit.
+   *
+   * @param executorConfiguration the executor's configuration.
+   * @param timeoutScheduler the timeout scheduler.
+   */
+  private HawaiiTaskExecutor initializeVirtualThreadExecutor(
+      ExecutorProperties executorConfiguration, TimeoutScheduler timeoutScheduler) {
+    HawaiiVirtualThreadTaskExecutor taskExecutor =
+        (HawaiiVirtualThreadTaskExecutor) beanFactory.getBean(executorConfiguration.getName());
+    taskExecutor.setThreadNamePrefix(executorConfiguration.getName() + "-");
+    if (executorConfiguration.getMaxPoolSize() != null) {
+      taskExecutor.setConcurrencyLimit(executorConfiguration.getMaxPoolSize());
+    }
+    if (executorConfiguration.getMaxPendingRequests() != null) {
+      taskExecutor.setQueueCapacity(executorConfiguration.getMaxPendingRequests());
+    }
 
-    taskExecutor.setTaskDecorator(new AbortableTaskDecorator(taskExecutor, timeoutExecutor));
+    taskExecutor.setTaskDecorator(new AbortableTaskDecorator(taskExecutor, timeoutScheduler));
 
     taskExecutor.initialize();
     return taskExecutor;
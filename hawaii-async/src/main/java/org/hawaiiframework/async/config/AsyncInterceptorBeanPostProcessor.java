@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.scheduling.annotation.Async;
+
+/**
+ * Bean post processor that adds an interceptor to beans with {@code @Async} methods, in front of
+ * Spring's async interceptor.
+ *
+ * <p>The advisor is added in front of the existing advisors. Post processors with a higher order
+ * run later, so their interceptor ends up in front of the interceptors of post processors with a
+ * lower order. Spring's {@link
+ * org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor} must have a lower
+ * order than all of these post processors, so the interceptors run before the task is submitted,
+ * see {@link org.hawaiiframework.async.AsyncExecutorConfiguration}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class AsyncInterceptorBeanPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  /** The serial version UID. */
+  private static final long serialVersionUID = 4061327485326612307L;
+
+  /**
+   * Construct an instance.
+   *
+   * @param interceptor the interceptor to add
+   * @param order the order of this post processor
+   */
+  public AsyncInterceptorBeanPostProcessor(MethodInterceptor interceptor, int order) {
+    super();
+    Pointcut pointcut =
+        new ComposablePointcut(new AnnotationMatchingPointcut(Async.class, true))
+            .union(new AnnotationMatchingPointcut(null, Async.class, true));
+    this.advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+    setBeforeExistingAdvisors(true);
+    setOrder(order);
+  }
+}
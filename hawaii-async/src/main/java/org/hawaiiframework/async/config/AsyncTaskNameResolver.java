@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
+
+/**
+ * Resolves the task name of an {@code @Async} method, the same way Spring resolves the executor
+ * qualifier.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class AsyncTaskNameResolver {
+
+  private AsyncTaskNameResolver() {
+    // Utility class.
+  }
+
+  /**
+   * Get the most specific method of an invocation, as declared by the target class.
+   *
+   * @param invocation the invocation
+   * @return the most specific method
+   */
+  public static Method getMostSpecificMethod(MethodInvocation invocation) {
+    Object target = invocation.getThis();
+    if (target == null) {
+      return invocation.getMethod();
+    }
+    return AopUtils.getMostSpecificMethod(invocation.getMethod(), AopUtils.getTargetClass(target));
+  }
+
+  /**
+   * Resolve the task name of an {@code @Async} method.
+   *
+   * <p>The annotation on the method takes precedence over the annotation on the class.
+   *
+   * @param method the method
+   * @return the task name, or {@code null} if the method is not annotated with a task name
+   */
+  public static String resolveTaskName(Method method) {
+    Async async = AnnotatedElementUtils.findMergedAnnotation(method, Async.class);
+    if (async == null) {
+      async = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), Async.class);
+    }
+    if (async == null || async.value().isEmpty()) {
+      return null;
+    }
+    return async.value();
+  }
+
+  /**
+   * Resolve the route of an {@code @Async} method that returns a {@link CompletableFuture}.
+   *
+   * <p>The interceptors that submit, join or resubmit tasks only apply to these methods, since
+   * they need a future they can complete themselves.
+   *
+   * @param method the method
+   * @param routingTable the routing table
+   * @return the route, or {@code null} if the method does not return a {@link CompletableFuture}
+   *     or is not annotated with a task name
+   */
+  public static TaskRoute resolveCompletableRoute(Method method, TaskRoutingTable routingTable) {
+    if (!CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+      return null;
+    }
+    String taskName = resolveTaskName(method);
+    return taskName == null ? null : routingTable.getRoute(taskName);
+  }
+}
@@ -16,8 +16,6 @@
 
 package org.hawaiiframework.async.config;
 
-import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
-
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +23,8 @@ import org.hawaiiframework.async.DelegatingExecutor;
 import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
 import org.hawaiiframework.async.model.SystemProperties;
 import org.hawaiiframework.async.model.TaskProperties;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
 import org.hawaiiframework.async.task.listener.TaskListenerFactory;
 import org.hawaiiframework.exception.HawaiiException;
 import org.slf4j.Logger;
@@ -61,6 +61,9 @@ public class DelegatingExecutorFactory {
   /** The set of executor names. */
   private final Set<String> executorNames;
 
+  /** The compiled routing table. */
+  private final TaskRoutingTable routingTable;
+
   /**
    * The constructor.
    *
@@ -68,16 +71,19 @@ public class DelegatingExecutorFactory {
    * @param registrar Utility to register beans in Spring.
    * @param configuration The executor configuration.
    * @param executorNames The set of executor names.
+   * @param routingTable The compiled routing table.
    */
   public DelegatingExecutorFactory(
       ConfigurableListableBeanFactory beanFactory,
       BeanRegistrar registrar,
       ExecutorConfigurationProperties configuration,
-      Set<String> executorNames) {
+      Set<String> executorNames,
+      TaskRoutingTable routingTable) {
     this.beanFactory = beanFactory;
     this.registrar = registrar;
     this.configuration = configuration;
     this.executorNames = executorNames;
+    this.routingTable = routingTable;
   }
 
   /**
@@ -120,24 +126,22 @@ public class DelegatingExecutorFactory {
               systemExecutor);
         }
 
-        String executor =
-            defaultIfBlank(
-                executorName, defaultIfBlank(systemExecutor, configuration.getDefaultExecutor()));
-        createTaskExecutorDelegate(taskName, executor);
+        createTaskExecutorDelegate(routingTable.getRoute(taskName));
       }
     }
   }
 
-  /** Creates a delegating executor for the given task name. */
-  private void createTaskExecutorDelegate(String taskName, String executor) {
+  /** Creates a delegating executor for the given task route. */
+  private void createTaskExecutorDelegate(TaskRoute route) {
+    String taskName = route.getTaskName();
+    String executor = route.getExecutorName();
     Map<String, TaskListenerFactory> beansOfType =
         beanFactory.getBeansOfType(TaskListenerFactory.class);
     TaskExecutor delegate = (TaskExecutor) beanFactory.getBean(executor);
     ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
     constructorArgumentValues.addIndexedArgumentValue(0, delegate);
-    constructorArgumentValues.addIndexedArgumentValue(1, configuration);
-    constructorArgumentValues.addIndexedArgumentValue(2, beansOfType.values());
-    constructorArgumentValues.addIndexedArgumentValue(3, taskName);
+    constructorArgumentValues.addIndexedArgumentValue(1, beansOfType.values());
+    constructorArgumentValues.addIndexedArgumentValue(2, route);
     LOGGER.debug("Registering delegate '{}' to for executor '{}'.", taskName, executor);
     registrar.registerBean(taskName, DelegatingExecutor.class, constructorArgumentValues);
   }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config.filter;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+import static org.hawaiiframework.async.config.filter.AdmissionControlProperties.CONFIG_PREFIX;
+import static org.hawaiiframework.logging.config.filter.FilterRegistrationBeanUtil.createFilterRegistrationBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.web.filter.AdmissionControlFilter;
+import org.hawaiiframework.async.web.filter.AdmissionRule;
+import org.hawaiiframework.exception.HawaiiException;
+import org.hawaiiframework.logging.model.PathDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the {@link AdmissionControlFilter}.
+ *
+ * <p>The filter is disabled by default. For every configured endpoint the executors of the tasks of
+ * the endpoint's systems are looked up, a system without tasks is a configuration error.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = CONFIG_PREFIX, name = "enabled")
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlFilterConfiguration {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AdmissionControlFilterConfiguration.class);
+
+  /**
+   * Create the {@link AdmissionControlFilter} bean.
+   *
+   * @param properties The admission control properties.
+   * @param beanFactory The bean factory holding the task executors.
+   * @return the {@link AdmissionControlFilter} bean
+   */
+  @Bean
+  public AdmissionControlFilter admissionControlFilter(
+      AdmissionControlProperties properties, ListableBeanFactory beanFactory) {
+    Map<String, DelegatingExecutor> executors =
+        beanFactory.getBeansOfType(DelegatingExecutor.class);
+    List<AdmissionRule> rules = new ArrayList<>();
+    for (AdmissionControlProperties.Endpoint endpoint : properties.getEndpoints()) {
+      AdmissionRule rule =
+          new AdmissionRule(
+              new PathDefinition(endpoint.getMethod(), endpoint.getPattern()),
+              getExecutors(endpoint, executors),
+              defaultIfNull(endpoint.getMaxQueueSize(), properties.getMaxQueueSize()),
+              defaultIfNull(endpoint.getMaxQueueTime(), properties.getMaxQueueTime()));
+      LOGGER.debug("Configured admission rule '{}'.", rule);
+      rules.add(rule);
+    }
+    return new AdmissionControlFilter(rules, properties.getRetryAfter());
+  }
+
+  private static List<DelegatingExecutor> getExecutors(
+      AdmissionControlProperties.Endpoint endpoint, Map<String, DelegatingExecutor> executors) {
+    List<DelegatingExecutor> result = new ArrayList<>();
+    for (String system : endpoint.getSystems()) {
+      String prefix = system + ".";
+      int count = result.size();
+      executors.forEach(
+          (taskName, executor) -> {
+            if (taskName.startsWith(prefix)) {
+              result.add(executor);
+            }
+          });
+      if (result.size() == count) {
+        throw new HawaiiException(
+            String.format(
+                "System '%s' of endpoint '%s' has no tasks.", system, endpoint.getPattern()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Register the {@link #admissionControlFilter(AdmissionControlProperties, ListableBeanFactory)}
+   * bean.
+   *
+   * @param admissionControlFilter the admission control filter
+   * @param properties The admission control properties.
+   * @return the filter, wrapped in a {@link FilterRegistrationBean}
+   */
+  @Bean
+  public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+      AdmissionControlFilter admissionControlFilter, AdmissionControlProperties properties) {
+    return createFilterRegistrationBean(admissionControlFilter, properties.getOrder());
+  }
+}
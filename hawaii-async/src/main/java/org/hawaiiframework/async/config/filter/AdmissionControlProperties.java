@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config.filter;
+
+import static org.hawaiiframework.async.config.filter.AdmissionControlProperties.CONFIG_PREFIX;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the {@link org.hawaiiframework.async.web.filter.AdmissionControlFilter}.
+ *
+ * <p>The thresholds configured here are the defaults for the endpoints, an endpoint can override
+ * them.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+@ConfigurationProperties(prefix = CONFIG_PREFIX)
+@SuppressWarnings("PMD.DataClass")
+public class AdmissionControlProperties {
+
+  /** The configuration properties' prefix. */
+  public static final String CONFIG_PREFIX = "hawaii.async.filters.admission-control";
+
+  /** Whether the filter is enabled. */
+  private boolean enabled;
+
+  /** The filter's order. */
+  private int order = -300;
+
+  /** The maximum number of queued tasks of an executor. */
+  private Integer maxQueueSize;
+
+  /** The maximum average queue time of an executor, for instance {@code 200ms}. */
+  private Duration maxQueueTime;
+
+  /** The time after which a client may retry a rejected request. */
+  private Duration retryAfter = Duration.ofSeconds(1);
+
+  /** The endpoints and the systems they depend on. */
+  private List<Endpoint> endpoints = new ArrayList<>();
+
+  /**
+   * Whether the filter is enabled.
+   *
+   * @return whether the filter is enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Whether the filter is enabled.
+   *
+   * @param enabled The flag to set.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Get the filter's order.
+   *
+   * @return the order.
+   */
+  public int getOrder() {
+    return order;
+  }
+
+  /**
+   * Set the filter's order.
+   *
+   * @param order the order.
+   */
+  public void setOrder(int order) {
+    this.order = order;
+  }
+
+  /**
+   * Get the maximum number of queued tasks of an executor.
+   *
+   * @return the maximum queue size, or {@code null} if not configured.
+   */
+  public Integer getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Set the maximum number of queued tasks of an executor.
+   *
+   * @param maxQueueSize the maximum queue size.
+   */
+  public void setMaxQueueSize(Integer maxQueueSize) {
+    this.maxQueueSize = maxQueueSize;
+  }
+
+  /**
+   * Get the maximum average queue time of an executor.
+   *
+   * @return the maximum queue time, or {@code null} if not configured.
+   */
+  public Duration getMaxQueueTime() {
+    return maxQueueTime;
+  }
+
+  /**
+   * Set the maximum average queue time of an executor.
+   *
+   * @param maxQueueTime the maximum queue time.
+   */
+  public void setMaxQueueTime(Duration maxQueueTime) {
+    this.maxQueueTime = maxQueueTime;
+  }
+
+  /**
+   * Get the time after which a client may retry a rejected request.
+   *
+   * @return the retry after duration.
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  /**
+   * Set the time after which a client may retry a rejected request.
+   *
+   * @param retryAfter the retry after duration.
+   */
+  public void setRetryAfter(Duration retryAfter) {
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Get the endpoints.
+   *
+   * @return the endpoints.
+   */
+  public List<Endpoint> getEndpoints() {
+    return endpoints;
+  }
+
+  /**
+   * Set the endpoints.
+   *
+   * @param endpoints the endpoints.
+   */
+  public void setEndpoints(List<Endpoint> endpoints) {
+    this.endpoints = endpoints;
+  }
+
+  /** An endpoint and the async systems it depends on. */
+  @SuppressWarnings("PMD.DataClass")
+  public static class Endpoint {
+
+    /** The path pattern, for instance {@code /orders/**}. */
+    private String pattern;
+
+    /** The HTTP method, {@code null} for all methods. */
+    private String method;
+
+    /** The names of the async systems the endpoint depends on. */
+    private List<String> systems = new ArrayList<>();
+
+    /** The maximum number of queued tasks, overrides the default. */
+    private Integer maxQueueSize;
+
+    /** The maximum average queue time, overrides the default. */
+    private Duration maxQueueTime;
+
+    /**
+     * Get the path pattern.
+     *
+     * @return the pattern.
+     */
+    public String getPattern() {
+      return pattern;
+    }
+
+    /**
+     * Set the path pattern.
+     *
+     * @param pattern the pattern.
+     */
+    public void setPattern(String pattern) {
+      this.pattern = pattern;
+    }
+
+    /**
+     * Get the HTTP method.
+     *
+     * @return the method, or {@code null} for all methods.
+     */
+    public String getMethod() {
+      return method;
+    }
+
+    /**
+     * Set the HTTP method.
+     *
+     * @param method the method.
+     */
+    public void setMethod(String method) {
+      this.method = method;
+    }
+
+    /**
+     * Get the names of the async systems the endpoint depends on.
+     *
+     * @return the system names.
+     */
+    public List<String> getSystems() {
+      return systems;
+    }
+
+    /**
+     * Set the names of the async systems the endpoint depends on.
+     *
+     * @param systems the system names.
+     */
+    public void setSystems(List<String> systems) {
+      this.systems = systems;
+    }
+
+    /**
+     * Get the maximum number of queued tasks.
+     *
+     * @return the maximum queue size, or {@code null} to use the default.
+     */
+    public Integer getMaxQueueSize() {
+      return maxQueueSize;
+    }
+
+    /**
+     * Set the maximum number of queued tasks.
+     *
+     * @param maxQueueSize the maximum queue size.
+     */
+    public void setMaxQueueSize(Integer maxQueueSize) {
+      this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Get the maximum average queue time.
+     *
+     * @return the maximum queue time, or {@code null} to use the default.
+     */
+    public Duration getMaxQueueTime() {
+      return maxQueueTime;
+    }
+
+    /**
+     * Set the maximum average queue time.
+     *
+     * @param maxQueueTime the maximum queue time.
+     */
+    public void setMaxQueueTime(Duration maxQueueTime) {
+      this.maxQueueTime = maxQueueTime;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.context;
+
+import java.util.List;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.logging.model.KibanaLogContext;
+import org.hawaiiframework.logging.model.KibanaLogFields;
+
+/**
+ * The contexts of a thread that submits tasks: the log fields, the contexts of the {@link
+ * ContextPropagator}s and the task context of the task the thread is running, if any.
+ *
+ * <p>The task listeners capture these contexts from the thread that submits a task. Retries and
+ * hedged attempts are submitted from the timeout scheduler's thread, so the contexts of the
+ * caller are captured when the task is invoked, and restored on the scheduler's thread while an
+ * attempt is submitted. Like the first attempt, the attempt then runs with the caller's log fields
+ * and security context, and within the deadline of the caller's task.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class CallerContext {
+
+  /** The log fields. */
+  private final KibanaLogContext logContext;
+
+  /** The contexts of the propagators. */
+  private final ContextSnapshot snapshot;
+
+  /** The context of the task the thread is running, {@code null} if none. */
+  private final SharedTaskContext taskContext;
+
+  private CallerContext(
+      KibanaLogContext logContext, ContextSnapshot snapshot, SharedTaskContext taskContext) {
+    this.logContext = logContext;
+    this.snapshot = snapshot;
+    this.taskContext = taskContext;
+  }
+
+  /**
+   * Capture the current thread's contexts.
+   *
+   * @param propagators The propagators.
+   * @return The caller's contexts.
+   */
+  public static CallerContext capture(List<ContextPropagator<?>> propagators) {
+    return new CallerContext(
+        KibanaLogFields.getContext(),
+        ContextSnapshot.capture(propagators),
+        SharedTaskContextHolder.get());
+  }
+
+  /**
+   * Bind the captured contexts to the current thread.
+   *
+   * @return The contexts the current thread had before, to restore when done.
+   */
+  public CallerContext restore() {
+    CallerContext previous =
+        new CallerContext(
+            KibanaLogFields.getContext(), snapshot.restore(), SharedTaskContextHolder.get());
+    KibanaLogFields.populateFromContext(logContext);
+    if (taskContext == null) {
+      SharedTaskContextHolder.remove();
+    } else {
+      SharedTaskContextHolder.register(taskContext);
+    }
+    return previous;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.context;
+
+import java.util.List;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.task.listener.TaskListenerFactory;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+
+/**
+ * Propagates the contexts of the registered {@link ContextPropagator}s to the async tasks.
+ *
+ * <p>The contexts are captured in a {@link ContextSnapshot} when the task is submitted, restored
+ * just before the task starts and replaced by the running thread's previous contexts when the task
+ * finishes.
+ *
+ * <p>The timeout guard task runs the task's lifecycle on the timeout thread, while the task may
+ * still be running. The contexts are only restored on the thread that runs the task, the shared
+ * timeout thread never holds the contexts of a task.
+ *
+ * <p>Ordered at -200, so the contexts are in place for the other listeners.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class ContextPropagationTaskListenerFactory implements TaskListenerFactory {
+
+  /** The listener used if there are no propagators. */
+  private static final TaskListener NO_OP_LISTENER = () -> -200;
+
+  /** The propagators. */
+  private final ContextPropagator<?>[] propagators;
+
+  /**
+   * The constructor.
+   *
+   * @param propagators The propagators.
+   */
+  public ContextPropagationTaskListenerFactory(List<ContextPropagator<?>> propagators) {
+    this.propagators = propagators.toArray(new ContextPropagator<?>[0]);
+  }
+
+  @Override
+  public TaskListener create() {
+    if (propagators.length == 0) {
+      return NO_OP_LISTENER;
+    }
+    return new ContextPropagationTaskListener(ContextSnapshot.capture(propagators));
+  }
+
+  /** Restores the captured contexts while the task runs. */
+  private static final class ContextPropagationTaskListener implements TaskListener {
+
+    /** The contexts of the submitting thread. */
+    private final ContextSnapshot snapshot;
+
+    /** The contexts of the running thread, {@code null} until the task has started. */
+    private ContextSnapshot previous;
+
+    /** The shared task context. */
+    private SharedTaskContext sharedTaskContext;
+
+    private ContextPropagationTaskListener(ContextSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    @Override
+    public int getOrder() {
+      return -200;
+    }
+
+    @Override
+    public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+      this.sharedTaskContext = sharedTaskContext;
+    }
+
+    @Override
+    public void startExecution() {
+      if (!isTimeoutGuardThread()) {
+        previous = snapshot.restore();
+      }
+    }
+
+    @Override
+    public void finish() {
+      if (!isTimeoutGuardThread() && previous != null) {
+        previous.restore();
+        previous = null;
+      }
+    }
+
+    private boolean isTimeoutGuardThread() {
+      return sharedTaskContext != null && sharedTaskContext.isTimeoutGuardThread();
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.context;
+
+/**
+ * Propagates a thread-bound context, for instance the security context or the current trace, from
+ * the thread submitting a task to the thread running it.
+ *
+ * <p>The context is captured when the task is submitted and restored just before the task runs.
+ * After the task has finished, the context the running thread had before is restored, so a task
+ * that runs on the submitting thread does not lose its context.
+ *
+ * <p>The captured value is shared, by all tasks submitted with the same context and by the {@link
+ * ContextSnapshot}s holding it. It must not be changed after it has been captured, preferably it
+ * is an immutable value that is only replaced when the context changes.
+ *
+ * <p>Propagators are registered as Spring beans, see {@link
+ * ContextPropagationTaskListenerFactory}.
+ *
+ * @param <T> the type of the captured context.
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public interface ContextPropagator<T> {
+
+  /**
+   * Capture the current thread's context.
+   *
+   * @return the context, or {@code null} if there is none
+   */
+  T capture();
+
+  /**
+   * Bind the {@code context} to the current thread.
+   *
+   * @param context the context, as returned by {@link #capture()}, {@code null} to clear the
+   *     current thread's context
+   */
+  void restore(T context);
+}
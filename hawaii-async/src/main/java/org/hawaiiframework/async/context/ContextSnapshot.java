@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.context;
+
+import java.util.List;
+
+/**
+ * An immutable snapshot of the contexts captured by a set of {@link ContextPropagator}s.
+ *
+ * <p>The snapshot only holds references to the captured contexts, it does not copy them. Many
+ * snapshots taken from an unchanged context share the captured values, so a fan-out of many tasks
+ * does not multiply copies of, for instance, the security context.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class ContextSnapshot {
+
+  /** The propagators. */
+  private final ContextPropagator<?>[] propagators;
+
+  /** The captured contexts, one per propagator. */
+  private final Object[] contexts;
+
+  private ContextSnapshot(ContextPropagator<?>[] propagators, Object[] contexts) {
+    this.propagators = propagators;
+    this.contexts = contexts;
+  }
+
+  /**
+   * Capture the current thread's contexts.
+   *
+   * @param propagators The propagators.
+   * @return The snapshot.
+   */
+  public static ContextSnapshot capture(List<ContextPropagator<?>> propagators) {
+    return capture(propagators.toArray(new ContextPropagator<?>[0]));
+  }
+
+  /**
+   * Capture the current thread's contexts.
+   *
+   * <p>The array is not copied, it must not be changed afterwards.
+   *
+   * @param propagators The propagators.
+   * @return The snapshot.
+   */
+  static ContextSnapshot capture(ContextPropagator<?>[] propagators) {
+    Object[] contexts = new Object[propagators.length];
+    for (int i = 0; i < propagators.length; i++) {
+      contexts[i] = propagators[i].capture();
+    }
+    return new ContextSnapshot(propagators, contexts);
+  }
+
+  /**
+   * Bind the captured contexts to the current thread.
+   *
+   * @return A snapshot of the contexts the current thread had before, to restore when done.
+   */
+  public ContextSnapshot restore() {
+    ContextSnapshot previous = capture(propagators);
+    for (int i = 0; i < propagators.length; i++) {
+      restore(propagators[i], contexts[i]);
+    }
+    return previous;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void restore(ContextPropagator<T> propagator, Object context) {
+    propagator.restore((T) context);
+  }
+}
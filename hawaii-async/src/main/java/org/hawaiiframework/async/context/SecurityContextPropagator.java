@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.context;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Propagates Spring Security's {@link SecurityContext} to the async tasks.
+ *
+ * <p>The submitting thread's security context is shared with the task, not copied.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class SecurityContextPropagator implements ContextPropagator<SecurityContext> {
+
+  @Override
+  public SecurityContext capture() {
+    SecurityContext context = SecurityContextHolder.getContext();
+    return context.getAuthentication() == null ? null : context;
+  }
+
+  @Override
+  public void restore(SecurityContext context) {
+    if (context == null) {
+      SecurityContextHolder.clearContext();
+    } else {
+      SecurityContextHolder.setContext(context);
+    }
+  }
+}
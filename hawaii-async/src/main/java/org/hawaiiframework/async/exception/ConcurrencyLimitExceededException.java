@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.exception;
+
+import java.io.Serial;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Exception thrown when a task is rejected because its concurrency limit has been reached.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class ConcurrencyLimitExceededException extends TaskRejectedException {
+
+  /** The serial version UID. */
+  @Serial private static final long serialVersionUID = -3920518640125503471L;
+
+  /**
+   * Constructs a new {@code ConcurrencyLimitExceededException} with the supplied {@code message}.
+   *
+   * @param message The exception message.
+   */
+  public ConcurrencyLimitExceededException(String message) {
+    super(message);
+  }
+}
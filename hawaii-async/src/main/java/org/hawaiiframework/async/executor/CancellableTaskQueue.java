@@ -0,0 +1,431 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.executor;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.lang.NonNull;
+
+/**
+ * A blocking task queue in which queued tasks can be removed in constant time.
+ *
+ * <p>The {@link java.util.concurrent.ThreadPoolExecutor#remove(Runnable)} of a thread pool backed
+ * by a {@link LinkedBlockingQueue} scans the queue while holding the queue's lock. Under overload,
+ * when a lot of queued tasks time out at once, this results in quadratic work and blocks the
+ * threads submitting new tasks.
+ *
+ * <p>This queue indexes each queued task. Removing a task marks its entry as claimed, the entry
+ * itself stays in the underlying queue and is skipped when it is taken from the queue. Both the
+ * size and the capacity of the queue only count the entries that are not claimed. Once the
+ * underlying queue holds more removed entries than queued tasks, the removed entries are purged,
+ * so the purge is amortized over the removals.
+ *
+ * <p>The capacity can be changed while tasks are queued, see {@link #setCapacity(int)}.
+ *
+ * <p>By default the queue is FIFO. A prioritized queue orders the tasks by their {@link
+ * PrioritizedTask#getPriority() priority}, with aging: a task is queued as if it arrived {@code
+ * priority * priorityAging} earlier. So a task overtakes the queued tasks with a lower priority
+ * that arrived less than the difference in priority times the aging before it, and a task with a
+ * low priority is never overtaken by tasks that arrive long after it. Tasks with the same priority
+ * keep their order. The iterator does not return the tasks in priority order.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class CancellableTaskQueue extends AbstractQueue<Runnable>
+    implements BlockingQueue<Runnable> {
+
+  /** The minimum number of removed entries before these are purged. */
+  private static final int PURGE_THRESHOLD = 64;
+
+  /** The order of the entries of a prioritized queue, their sort key and arrival. */
+  private static final Comparator<Entry> PRIORITY_ORDER =
+      Comparator.comparingLong((Entry entry) -> entry.sortKey)
+          .thenComparingLong(entry -> entry.sequence);
+
+  /** The queued entries, including entries that have been removed but not yet skipped. */
+  private final BlockingQueue<Entry> entries;
+
+  /** The aging of a prioritized queue in nanoseconds per priority, {@code 0} for a FIFO queue. */
+  private final long priorityAging;
+
+  /** The arrival sequence of the entries, keeps the order of entries with the same sort key. */
+  private final AtomicLong sequence = new AtomicLong();
+
+  /** The queued entries, keyed by their task. */
+  private final Map<Runnable, Entry> index = new ConcurrentHashMap<>();
+
+  /** The number of queued entries that are not in the index, since their task is queued twice. */
+  private final AtomicInteger unindexedCount = new AtomicInteger();
+
+  /** The number of queued entries that have not been claimed. */
+  private final AtomicInteger count = new AtomicInteger();
+
+  /** Flag to indicate a purge of removed entries is in progress. */
+  private final AtomicBoolean purging = new AtomicBoolean();
+
+  /** The remaining capacity. */
+  private final ResizableSemaphore capacity;
+
+  /** Construct an unbounded queue. */
+  public CancellableTaskQueue() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Construct a queue with the given capacity.
+   *
+   * @param capacity the maximum number of queued tasks.
+   */
+  public CancellableTaskQueue(int capacity) {
+    this(capacity, null);
+  }
+
+  /**
+   * Construct a queue with the given capacity.
+   *
+   * @param capacity the maximum number of queued tasks.
+   * @param priorityAging the time a queued task is moved ahead per priority, or {@code null} for
+   *     a FIFO queue.
+   */
+  public CancellableTaskQueue(int capacity, Duration priorityAging) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The capacity must be positive.");
+    }
+    if (priorityAging != null && (priorityAging.isNegative() || priorityAging.isZero())) {
+      throw new IllegalArgumentException("The priority aging must be positive.");
+    }
+    this.capacity = new ResizableSemaphore(capacity, false);
+    this.priorityAging = priorityAging == null ? 0L : priorityAging.toNanos();
+    this.entries =
+        priorityAging == null
+            ? new LinkedBlockingQueue<>()
+            : new PriorityBlockingQueue<>(16, PRIORITY_ORDER);
+  }
+
+  /**
+   * Change the capacity of the queue.
+   *
+   * <p>Lowering the capacity does not drop queued tasks, new tasks are refused until the number of
+   * queued tasks is below the new capacity.
+   *
+   * @param capacity the maximum number of queued tasks.
+   */
+  public void setCapacity(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The capacity must be positive.");
+    }
+    this.capacity.resize(capacity);
+  }
+
+  @Override
+  public boolean offer(@NonNull Runnable task) {
+    requireNonNull(task);
+    if (!capacity.tryAcquire()) {
+      return false;
+    }
+    enqueue(task);
+    return true;
+  }
+
+  @Override
+  public boolean offer(Runnable task, long timeout, @NonNull TimeUnit unit)
+      throws InterruptedException {
+    requireNonNull(task);
+    if (!capacity.tryAcquire(timeout, unit)) {
+      return false;
+    }
+    enqueue(task);
+    return true;
+  }
+
+  @Override
+  public void put(@NonNull Runnable task) throws InterruptedException {
+    requireNonNull(task);
+    capacity.acquire();
+    enqueue(task);
+  }
+
+  private void enqueue(Runnable task) {
+    Entry entry = new Entry(task);
+    if (index.putIfAbsent(task, entry) != null) {
+      entry.indexed = false;
+      unindexedCount.incrementAndGet();
+    }
+    count.incrementAndGet();
+    entries.add(entry);
+  }
+
+  @Override
+  public Runnable poll() {
+    Entry entry = entries.poll();
+    while (entry != null) {
+      if (entry.claim()) {
+        return entry.task;
+      }
+      entry = entries.poll();
+    }
+    return null;
+  }
+
+  @Override
+  public Runnable poll(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    Entry entry = entries.poll(timeout, unit);
+    while (entry != null) {
+      if (entry.claim()) {
+        return entry.task;
+      }
+      entry = entries.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+    return null;
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    Entry entry = entries.take();
+    while (!entry.claim()) {
+      entry = entries.take();
+    }
+    return entry.task;
+  }
+
+  @Override
+  public Runnable peek() {
+    Entry entry = entries.peek();
+    // Removed entries at the head are skipped, like they would be when taken.
+    while (entry != null && entry.isClaimed()) {
+      entries.remove(entry);
+      entry = entries.peek();
+    }
+    return entry == null ? null : entry.task;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Removing a task that is queued once is a constant time operation.
+   */
+  @Override
+  public boolean remove(Object task) {
+    boolean removed = removeEntry(task);
+    if (removed) {
+      purgeIfNeeded();
+    }
+    return removed;
+  }
+
+  private boolean removeEntry(Object task) {
+    Entry entry = index.get(task);
+    if (entry != null && entry.claim()) {
+      return true;
+    }
+    if (unindexedCount.get() > 0) {
+      for (Entry candidate : entries) {
+        if (!candidate.indexed && candidate.task.equals(task) && candidate.claim()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void purgeIfNeeded() {
+    if (entries.size() > 2 * count.get() + PURGE_THRESHOLD && purging.compareAndSet(false, true)) {
+      try {
+        entries.removeIf(Entry::isClaimed);
+      } finally {
+        purging.set(false);
+      }
+    }
+  }
+
+  @Override
+  public boolean contains(Object task) {
+    Entry entry = index.get(task);
+    return (entry != null && !entry.isClaimed()) || super.contains(task);
+  }
+
+  @Override
+  public int size() {
+    return Math.max(0, count.get());
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return Math.max(0, capacity.availablePermits());
+  }
+
+  @Override
+  public int drainTo(@NonNull Collection<? super Runnable> collection) {
+    return drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(@NonNull Collection<? super Runnable> collection, int maxElements) {
+    requireNonNull(collection);
+    if (collection == this) {
+      throw new IllegalArgumentException("Cannot drain a queue into itself.");
+    }
+    int drained = 0;
+    while (drained < maxElements) {
+      Runnable task = poll();
+      if (task == null) {
+        break;
+      }
+      collection.add(task);
+      drained++;
+    }
+    return drained;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The iterator is weakly consistent, it skips the removed tasks.
+   */
+  @Override
+  @NonNull
+  public Iterator<Runnable> iterator() {
+    return new TaskIterator(entries.iterator());
+  }
+
+  private static long getPriority(Runnable task) {
+    return task instanceof PrioritizedTask prioritizedTask ? prioritizedTask.getPriority() : 0L;
+  }
+
+  /** A queued task. */
+  private final class Entry {
+
+    /** The task. */
+    private final Runnable task;
+
+    /** Flag to indicate the task has left the queue, either to run or because it was removed. */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    /** Flag to indicate the entry is in the index. */
+    private boolean indexed = true;
+
+    /** The sort key in a prioritized queue, the arrival time moved ahead by the priority. */
+    private final long sortKey;
+
+    /** The arrival sequence. */
+    private final long sequence;
+
+    private Entry(Runnable task) {
+      this.task = task;
+      this.sequence = CancellableTaskQueue.this.sequence.getAndIncrement();
+      this.sortKey =
+          priorityAging == 0 ? 0L : System.nanoTime() - getPriority(task) * priorityAging;
+    }
+
+    /**
+     * Claim the entry.
+     *
+     * @return {@code true} if this call claimed the entry.
+     */
+    private boolean claim() {
+      if (!claimed.compareAndSet(false, true)) {
+        return false;
+      }
+      if (indexed) {
+        index.remove(task, this);
+      } else {
+        unindexedCount.decrementAndGet();
+      }
+      count.decrementAndGet();
+      capacity.release();
+      return true;
+    }
+
+    private boolean isClaimed() {
+      return claimed.get();
+    }
+  }
+
+  /** Iterator over the tasks that have not been claimed. */
+  private static final class TaskIterator implements Iterator<Runnable> {
+
+    /** The iterator of the underlying queue. */
+    private final Iterator<Entry> delegate;
+
+    /** The next entry to return. */
+    private Entry next;
+
+    /** The last entry returned. */
+    private Entry last;
+
+    private TaskIterator(Iterator<Entry> delegate) {
+      this.delegate = delegate;
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (next == null && delegate.hasNext()) {
+        Entry candidate = delegate.next();
+        if (!candidate.isClaimed()) {
+          next = candidate;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Runnable next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      advance();
+      return last.task;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      last.claim();
+      last = null;
+    }
+  }
+}
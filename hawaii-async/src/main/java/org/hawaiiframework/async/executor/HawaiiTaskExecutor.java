@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.executor;
+
+import org.springframework.scheduling.SchedulingTaskExecutor;
+
+/**
+ * An executor that can be used as delegate of a {@link
+ * org.hawaiiframework.async.DelegatingExecutor}.
+ *
+ * <p>Next to executing tasks, the executor exposes the figures used for the {@link
+ * org.hawaiiframework.async.statistics.ExecutorStatistics} and allows a queued task to be removed
+ * before it starts, which is what the {@link org.hawaiiframework.async.timeout.TimeoutGuardTask}
+ * does on a timeout.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public interface HawaiiTaskExecutor extends SchedulingTaskExecutor {
+
+  /**
+   * Get the number of threads currently in use by the executor.
+   *
+   * @return the pool size
+   */
+  int getPoolSize();
+
+  /**
+   * Get the maximum number of tasks the executor runs concurrently.
+   *
+   * @return the max pool size
+   */
+  int getMaxPoolSize();
+
+  /**
+   * Get the number of tasks currently running.
+   *
+   * @return the number of active tasks
+   */
+  int getActiveCount();
+
+  /**
+   * Get the number of tasks waiting to be run.
+   *
+   * @return the number of queued tasks
+   */
+  int getQueueSize();
+
+  /**
+   * Get the number of tasks that have been run to completion.
+   *
+   * @return the completed task count
+   */
+  long getCompletedTaskCount();
+
+  /**
+   * Remove a task that has not been started yet.
+   *
+   * <p>The {@code task} is the (decorated) runnable as it was handed over to the executor.
+   *
+   * @param task the task to remove
+   * @return {@code true} if the task was removed, in which case it will never run
+   */
+  boolean remove(Runnable task);
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.executor;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * A {@link ThreadPoolTaskExecutor} that can be used as delegate of a {@link
+ * org.hawaiiframework.async.DelegatingExecutor}.
+ *
+ * <p>This is the executor created for the {@code thread-pool} executor type. Queued tasks are held
+ * in a {@link CancellableTaskQueue}, so removing a task that timed out before it started does not
+ * require a scan of the queue.
+ *
+ * <p>With a priority aging, see {@link #setPriorityAging(Duration)}, the queue is ordered by the
+ * priority of the tasks instead of FIFO.
+ *
+ * <p>The pool sizes and the queue capacity can be changed while the executor is running, see
+ * {@link #setPoolSizes(int, int)} and {@link #setQueueCapacity(int)}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HawaiiThreadPoolTaskExecutor extends ThreadPoolTaskExecutor
+    implements HawaiiTaskExecutor {
+
+  /** The serial version UID. */
+  private static final long serialVersionUID = 2912468431436712271L;
+
+  /** The queue created for a positive capacity, {@code null} otherwise. */
+  private final AtomicReference<CancellableTaskQueue> queue = new AtomicReference<>();
+
+  /** The aging of the priority queue, {@code null} for a FIFO queue. */
+  private Duration priorityAging;
+
+  /**
+   * Order the queued tasks by their priority, see {@link CancellableTaskQueue}.
+   *
+   * <p>Must be set before the executor is initialized.
+   *
+   * @param priorityAging the time a queued task is moved ahead per priority, or {@code null} for a
+   *     FIFO queue
+   */
+  public void setPriorityAging(Duration priorityAging) {
+    this.priorityAging = priorityAging;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Creates a {@link CancellableTaskQueue} for a positive capacity.
+   */
+  @Override
+  protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+    if (queueCapacity > 0) {
+      CancellableTaskQueue cancellableTaskQueue =
+          new CancellableTaskQueue(queueCapacity, priorityAging);
+      queue.set(cancellableTaskQueue);
+      return cancellableTaskQueue;
+    }
+    return super.createQueue(queueCapacity);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If the executor is running with a {@link CancellableTaskQueue}, the capacity of the queue is
+   * changed, queued tasks are kept. The capacity of an executor without a queue cannot be changed.
+   */
+  @Override
+  public void setQueueCapacity(int queueCapacity) {
+    super.setQueueCapacity(queueCapacity);
+    CancellableTaskQueue cancellableTaskQueue = queue.get();
+    if (cancellableTaskQueue != null) {
+      cancellableTaskQueue.setCapacity(queueCapacity);
+    }
+  }
+
+  /**
+   * Change the core and max pool size.
+   *
+   * <p>The sizes are set in the order that keeps the core pool size at most the max pool size, so
+   * the executor accepts the change while it is running.
+   *
+   * @param corePoolSize the new core pool size
+   * @param maxPoolSize the new max pool size
+   */
+  public void setPoolSizes(int corePoolSize, int maxPoolSize) {
+    if (corePoolSize > getMaxPoolSize()) {
+      setMaxPoolSize(maxPoolSize);
+      setCorePoolSize(corePoolSize);
+    } else {
+      setCorePoolSize(corePoolSize);
+      setMaxPoolSize(maxPoolSize);
+    }
+  }
+
+  @Override
+  public int getQueueSize() {
+    return getThreadPoolExecutor().getQueue().size();
+  }
+
+  @Override
+  public long getCompletedTaskCount() {
+    return getThreadPoolExecutor().getCompletedTaskCount();
+  }
+
+  @Override
+  public boolean remove(Runnable task) {
+    return getThreadPoolExecutor().remove(task);
+  }
+}
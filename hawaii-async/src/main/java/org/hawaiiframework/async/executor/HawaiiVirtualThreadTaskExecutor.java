@@ -0,0 +1,315 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.executor;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.hawaiiframework.exception.HawaiiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.lang.NonNull;
+
+/**
+ * An executor that runs each task on its own virtual thread.
+ *
+ * <p>Instead of a pool size, the number of concurrently running tasks is limited by a semaphore.
+ * Tasks that cannot acquire a permit wait (on their virtual thread) until a running task finishes,
+ * these tasks are considered to be queued. A queued task can still be removed, in which case it
+ * will never run.
+ *
+ * <p>The concurrency limit and queue capacity can be changed while the executor is running.
+ *
+ * <p>Virtual threads require Java 21 or newer, {@link #initialize()} fails on older runtimes. The
+ * executor does not accept tasks before it is initialized.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HawaiiVirtualThreadTaskExecutor implements HawaiiTaskExecutor, DisposableBean {
+
+  /** The logger to use. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(HawaiiVirtualThreadTaskExecutor.class);
+
+  /** The tasks that wait for a permit, keyed by the (decorated) runnable. */
+  private final Map<Runnable, VirtualThreadTask> queuedTasks = new ConcurrentHashMap<>();
+
+  /** The number of tasks that wait for a permit. */
+  private final AtomicInteger queueSize = new AtomicInteger();
+
+  /** The number of running tasks. */
+  private final AtomicInteger activeCount = new AtomicInteger();
+
+  /** The number of completed tasks. */
+  private final LongAdder completedTaskCount = new LongAdder();
+
+  /** Flag to indicate the executor no longer accepts tasks. */
+  private final AtomicBoolean shutdown = new AtomicBoolean();
+
+  /** The prefix for the names of the virtual threads. */
+  private String threadNamePrefix = "virtual-";
+
+  /** The maximum number of tasks running concurrently. */
+  private final AtomicInteger concurrencyLimit = new AtomicInteger(Integer.MAX_VALUE);
+
+  /** The maximum number of tasks waiting for a permit. */
+  private final AtomicInteger queueCapacity = new AtomicInteger(Integer.MAX_VALUE);
+
+  /** The (optional) task decorator. */
+  private TaskDecorator taskDecorator;
+
+  /** The factory for the virtual threads. */
+  private ThreadFactory threadFactory;
+
+  /** The permits for running tasks. */
+  private ResizableSemaphore permits;
+
+  /**
+   * Set the prefix for the names of the virtual threads.
+   *
+   * @param threadNamePrefix the prefix
+   */
+  public void setThreadNamePrefix(String threadNamePrefix) {
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  /**
+   * Set the maximum number of tasks running concurrently.
+   *
+   * <p>If the executor is running, lowering the limit does not affect running tasks, queued tasks
+   * wait until the number of running tasks is below the new limit.
+   *
+   * @param concurrencyLimit the limit
+   */
+  public void setConcurrencyLimit(int concurrencyLimit) {
+    this.concurrencyLimit.set(concurrencyLimit);
+    if (permits != null) {
+      permits.resize(concurrencyLimit);
+    }
+  }
+
+  /**
+   * Set the maximum number of tasks waiting for a permit, tasks beyond this number are rejected.
+   *
+   * @param queueCapacity the capacity
+   */
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity.set(queueCapacity);
+  }
+
+  /**
+   * Set the decorator to apply to each task.
+   *
+   * @param taskDecorator the task decorator
+   */
+  public void setTaskDecorator(TaskDecorator taskDecorator) {
+    this.taskDecorator = taskDecorator;
+  }
+
+  /** Create the virtual thread factory and the permits. */
+  public void initialize() {
+    initialize(createThreadFactory(threadNamePrefix));
+  }
+
+  /**
+   * Create the permits, the tasks are started with the given thread factory.
+   *
+   * @param threadFactory the factory for the threads that run the tasks
+   */
+  void initialize(ThreadFactory threadFactory) {
+    LOGGER.debug(
+        "Initializing virtual thread executor '{}' with concurrency limit '{}'.",
+        threadNamePrefix,
+        concurrencyLimit);
+    this.threadFactory = threadFactory;
+    permits = new ResizableSemaphore(concurrencyLimit.get(), true);
+  }
+
+  private static ThreadFactory createThreadFactory(String threadNamePrefix) {
+    try {
+      return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+    } catch (UnsupportedOperationException exception) {
+      throw new HawaiiException("Virtual thread executors require Java 21 or newer.", exception);
+    }
+  }
+
+  @Override
+  public void execute(@NonNull Runnable task) {
+    requireNonNull(task);
+    if (threadFactory == null) {
+      throw new IllegalStateException(
+          String.format("Executor '%s' has not been initialized.", threadNamePrefix));
+    }
+    Runnable runnable = taskDecorator == null ? task : taskDecorator.decorate(task);
+    if (shutdown.get()) {
+      throw new TaskRejectedException(
+          String.format("Executor '%s' has been shut down.", threadNamePrefix));
+    }
+    int capacity = queueCapacity.get();
+    if (queueSize.incrementAndGet() > capacity) {
+      queueSize.decrementAndGet();
+      throw new TaskRejectedException(
+          String.format(
+              "Executor '%s' did not accept task, '%s' tasks are queued.",
+              threadNamePrefix, capacity));
+    }
+
+    VirtualThreadTask virtualThreadTask = new VirtualThreadTask(runnable);
+    queuedTasks.put(runnable, virtualThreadTask);
+    try {
+      threadFactory.newThread(virtualThreadTask).start();
+    } catch (RuntimeException exception) {
+      virtualThreadTask.dequeue();
+      throw new TaskRejectedException(
+          String.format("Executor '%s' could not start a virtual thread.", threadNamePrefix),
+          exception);
+    }
+  }
+
+  @Override
+  public Future<?> submit(@NonNull Runnable task) {
+    FutureTask<Object> future = new FutureTask<>(task, null);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public <T> Future<T> submit(@NonNull Callable<T> task) {
+    FutureTask<T> future = new FutureTask<>(task);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public boolean remove(Runnable task) {
+    VirtualThreadTask virtualThreadTask = queuedTasks.get(task);
+    return virtualThreadTask != null && virtualThreadTask.dequeue();
+  }
+
+  @Override
+  public int getPoolSize() {
+    return activeCount.get();
+  }
+
+  @Override
+  public int getMaxPoolSize() {
+    return concurrencyLimit.get();
+  }
+
+  @Override
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  @Override
+  public int getQueueSize() {
+    return queueSize.get();
+  }
+
+  @Override
+  public long getCompletedTaskCount() {
+    return completedTaskCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Stops accepting new tasks, tasks already started run to completion.
+   */
+  @Override
+  public void destroy() {
+    shutdown.set(true);
+  }
+
+  /** The runnable executed by a virtual thread, it runs the task once a permit is acquired. */
+  private final class VirtualThreadTask implements Runnable {
+
+    /** The (decorated) task. */
+    private final Runnable task;
+
+    /** Flag to indicate the task has left the queue, either to run or because it was removed. */
+    private final AtomicBoolean dequeued = new AtomicBoolean();
+
+    /**
+     * Construct an instance.
+     *
+     * @param task the task to run.
+     */
+    private VirtualThreadTask(Runnable task) {
+      this.task = task;
+    }
+
+    /**
+     * Take the task out of the queue.
+     *
+     * @return {@code true} if this call removed the task from the queue.
+     */
+    private boolean dequeue() {
+      if (dequeued.compareAndSet(false, true)) {
+        queuedTasks.remove(task, this);
+        queueSize.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void run() {
+      if (dequeued.get()) {
+        // Removed before the virtual thread started.
+        return;
+      }
+      try {
+        permits.acquire();
+      } catch (InterruptedException exception) {
+        dequeue();
+        Thread.currentThread().interrupt();
+        return;
+      }
+      try {
+        if (dequeue()) {
+          runTask();
+        }
+      } finally {
+        permits.release();
+      }
+    }
+
+    private void runTask() {
+      activeCount.incrementAndGet();
+      try {
+        task.run();
+      } finally {
+        activeCount.decrementAndGet();
+        completedTaskCount.increment();
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.executor;
+
+/**
+ * A task with a priority, used by a prioritized {@link CancellableTaskQueue} to order the queued
+ * tasks.
+ *
+ * <p>Tasks that do not implement this interface have priority {@code 0}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public interface PrioritizedTask {
+
+  /**
+   * Get the task's priority, higher priorities are run first.
+   *
+   * @return the priority
+   */
+  int getPriority();
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.executor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A semaphore of which the number of permits can be changed while permits are held.
+ *
+ * <p>Lowering the number of permits does not wait for the permits that are held, the available
+ * permits may become negative until enough permits have been released.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+class ResizableSemaphore extends Semaphore {
+
+  /** The serial version UID. */
+  private static final long serialVersionUID = 4273029218410938207L;
+
+  /** The configured number of permits. */
+  private final AtomicInteger size;
+
+  /**
+   * Construct an instance.
+   *
+   * @param size the number of permits
+   * @param fair whether the semaphore is fair
+   */
+  ResizableSemaphore(int size, boolean fair) {
+    super(size, fair);
+    this.size = new AtomicInteger(size);
+  }
+
+  /**
+   * Change the number of permits.
+   *
+   * @param newSize the new number of permits
+   */
+  void resize(int newSize) {
+    int delta = newSize - size.getAndSet(newSize);
+    if (delta > 0) {
+      release(delta);
+    } else if (delta < 0) {
+      reducePermits(-delta);
+    }
+  }
+
+  /**
+   * Get the configured number of permits.
+   *
+   * @return the number of permits
+   */
+  int getSize() {
+    return size.get();
+  }
+}
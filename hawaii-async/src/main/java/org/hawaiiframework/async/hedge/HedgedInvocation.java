@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.hedge;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.context.CallerContext;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.task.TaskScope;
+import org.hawaiiframework.async.timeout.ScheduledTimeout;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.TaskTimeoutOverride;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+
+/**
+ * A single invocation of a hedged task, with all its attempts.
+ *
+ * <p>The first attempt to complete successfully completes the result, the other attempts are then
+ * cancelled through their {@link SharedTaskContext}, which removes them from their executor's
+ * queue or aborts them with their {@link org.hawaiiframework.async.timeout.TaskAbortStrategy}. An
+ * attempt that fails does not fail the result while other attempts are still running. Cancelling
+ * the result cancels all attempts.
+ *
+ * <p>Later attempts get the time left of the first attempt as timeout, so hedging does not extend
+ * the deadline of the invocation.
+ *
+ * <p>The next attempts are submitted from the timeout scheduler's thread, with the {@link
+ * CallerContext} of the thread that invoked the task.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+final class HedgedInvocation {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(HedgedInvocation.class);
+
+  /** The invocation, cloned for every attempt. */
+  private final ProxyMethodInvocation invocation;
+
+  /** The hedging policy of the task. */
+  private final HedgingPolicy policy;
+
+  /** The scheduler for the next attempt. */
+  private final TimeoutScheduler scheduler;
+
+  /** The propagators of the caller's contexts. */
+  private final List<ContextPropagator<?>> propagators;
+
+  /** The contexts of the thread that invoked the task, captured by {@link #start(long)}. */
+  private CallerContext callerContext;
+
+  /** The result, completed by the first attempt that completes successfully. */
+  private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+  /** The contexts of the tasks submitted by the attempts. */
+  private final Queue<SharedTaskContext> taskContexts = new ConcurrentLinkedQueue<>();
+
+  /** The contexts of the tasks submitted by the winning attempt. */
+  private final AtomicReference<List<SharedTaskContext>> winner = new AtomicReference<>();
+
+  /** The number of attempts submitted. */
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  /** The number of attempts submitted that have not completed yet. */
+  private final AtomicInteger outstanding = new AtomicInteger();
+
+  /** The next scheduled attempt. */
+  private final AtomicReference<ScheduledTimeout> nextAttempt = new AtomicReference<>();
+
+  /**
+   * Construct an instance.
+   *
+   * <p>The {@code invocation} must not have proceeded yet, it is cloned for each attempt.
+   *
+   * @param invocation the invocation of the {@code @Async} method
+   * @param policy the hedging policy of the task
+   * @param scheduler the scheduler for the next attempt
+   * @param propagators the propagators of the caller's contexts
+   */
+  HedgedInvocation(
+      ProxyMethodInvocation invocation,
+      HedgingPolicy policy,
+      TimeoutScheduler scheduler,
+      List<ContextPropagator<?>> propagators) {
+    this.invocation = invocation;
+    this.policy = policy;
+    this.scheduler = scheduler;
+    this.propagators = propagators;
+  }
+
+  /**
+   * Submit the first attempt and schedule the next.
+   *
+   * @param delayNanos the delay after which the next attempt is submitted
+   * @return the result
+   * @throws Throwable if the first attempt could not be submitted
+   */
+  @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+  CompletableFuture<Object> start(long delayNanos) throws Throwable {
+    callerContext = CallerContext.capture(propagators);
+    result.whenComplete((value, throwable) -> cancelLosers());
+    submit();
+    scheduleNextAttempt(delayNanos);
+    return result;
+  }
+
+  private void submit() throws Throwable {
+    long attemptStart = System.nanoTime();
+    attempts.incrementAndGet();
+    CompletableFuture<?> future;
+    List<SharedTaskContext> attemptContexts;
+    try (TaskScope scope = TaskScope.open()) {
+      future = (CompletableFuture<?>) invocation.invocableClone().proceed();
+      attemptContexts = scope.getTaskContexts();
+    }
+    taskContexts.addAll(attemptContexts);
+    outstanding.incrementAndGet();
+    if (result.isDone()) {
+      // Completed while this attempt was submitted.
+      attemptContexts.forEach(SharedTaskContext::cancel);
+    }
+    future.whenComplete(
+        (value, throwable) -> complete(value, throwable, attemptStart, attemptContexts));
+  }
+
+  private void complete(
+      Object value,
+      Throwable throwable,
+      long attemptStart,
+      List<SharedTaskContext> attemptContexts) {
+    boolean last = outstanding.decrementAndGet() == 0;
+    if (throwable == null) {
+      if (!result.isDone() && winner.compareAndSet(null, attemptContexts)) {
+        policy.recordLatency(System.nanoTime() - attemptStart);
+        result.complete(value);
+      }
+    } else if (last) {
+      // Hedging is about latency, an attempt that fails does not wait for the next attempt.
+      result.completeExceptionally(throwable);
+    } else {
+      LOGGER.debug("Attempt failed, waiting for the other attempts.", throwable);
+    }
+  }
+
+  private void scheduleNextAttempt(long delayNanos) {
+    if (attempts.get() >= policy.getMaxAttempts() || result.isDone()) {
+      nextAttempt.set(null);
+      return;
+    }
+    nextAttempt.set(scheduler.schedule(this::submitNextAttempt, delayNanos, NANOSECONDS));
+  }
+
+  @SuppressWarnings({"PMD.AvoidCatchingThrowable", "java:S1181"})
+  private void submitNextAttempt() {
+    if (result.isDone()) {
+      return;
+    }
+    SharedTaskContext first = taskContexts.peek();
+    Duration remaining = first == null ? null : first.getRemainingTime();
+    if (remaining != null && remaining.isZero()) {
+      return;
+    }
+    LOGGER.debug("Submitting attempt '{}', '{}' left.", attempts.get() + 1, remaining);
+    CallerContext previous = callerContext.restore();
+    // Without a task context there is no deadline to keep, the task's own timeout applies.
+    TaskTimeoutOverride override = remaining == null ? null : TaskTimeoutOverride.of(remaining);
+    try {
+      submit();
+    } catch (Throwable throwable) {
+      // For instance rejected by a bulkhead, the running attempts may still complete.
+      LOGGER.debug("Could not submit attempt.", throwable);
+    } finally {
+      if (override != null) {
+        override.close();
+      }
+      previous.restore();
+    }
+    long delayNanos = policy.getDelayNanos();
+    if (delayNanos >= 0) {
+      scheduleNextAttempt(delayNanos);
+    } else {
+      nextAttempt.set(null);
+    }
+  }
+
+  /** Cancel the next attempt and the tasks of all attempts, except those of the winner. */
+  private void cancelLosers() {
+    ScheduledTimeout scheduled = nextAttempt.get();
+    if (scheduled != null) {
+      scheduled.cancel();
+    }
+    List<SharedTaskContext> winnerContexts = winner.get();
+    for (SharedTaskContext taskContext : taskContexts) {
+      if (winnerContexts == null || !winnerContexts.contains(taskContext)) {
+        taskContext.cancel();
+      }
+    }
+  }
+}
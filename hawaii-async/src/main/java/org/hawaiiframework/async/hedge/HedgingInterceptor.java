@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.hedge;
+
+import static org.hawaiiframework.async.config.AsyncTaskNameResolver.getMostSpecificMethod;
+import static org.hawaiiframework.async.config.AsyncTaskNameResolver.resolveCompletableRoute;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.lang.NonNull;
+
+/**
+ * Interceptor that hedges invocations of tasks with a hedging policy.
+ *
+ * <p>If the task has not completed after the hedge delay, the invocation is submitted again, see
+ * {@link HedgedInvocation}. The interceptor must wrap Spring's async interceptor, so each attempt
+ * submits its own task. It only applies to {@code @Async("system.task")} methods that return a
+ * {@link CompletableFuture} and of which the task is configured with a {@code hedge}. Other
+ * invocations proceed as usual.
+ *
+ * <p>The next attempts are submitted from the timeout scheduler's thread, with the log fields and
+ * the contexts of the {@link ContextPropagator}s of the thread that invoked the task. The latency
+ * of an invocation that is not hedged, because the policy has not observed enough latencies yet,
+ * is recorded as well.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HedgingInterceptor implements MethodInterceptor {
+
+  /** The routing table. */
+  private final TaskRoutingTable routingTable;
+
+  /** The scheduler for the next attempts. */
+  private final TimeoutScheduler scheduler;
+
+  /** The propagators of the caller's contexts. */
+  private final List<ContextPropagator<?>> propagators;
+
+  /**
+   * The hedging policy per task name, created at startup to validate the configuration. Methods of
+   * the same task share the policy, and so the observed latencies.
+   */
+  private final Map<String, HedgingPolicy> policies = new HashMap<>();
+
+  /** The hedging policy per method, empty if the method is not hedged. */
+  private final Map<Method, Optional<HedgingPolicy>> methodPolicies = new ConcurrentHashMap<>();
+
+  /**
+   * Construct an instance.
+   *
+   * @param routingTable the routing table, to look up the task's configuration
+   * @param scheduler the scheduler for the next attempts
+   * @param propagators the propagators of the caller's contexts
+   */
+  public HedgingInterceptor(
+      TaskRoutingTable routingTable,
+      TimeoutScheduler scheduler,
+      List<ContextPropagator<?>> propagators) {
+    this.routingTable = routingTable;
+    this.scheduler = scheduler;
+    this.propagators = propagators;
+    for (TaskRoute route : routingTable.getRoutes()) {
+      if (route.getHedge() != null) {
+        policies.put(route.getTaskName(), new HedgingPolicy(route.getHedge()));
+      }
+    }
+  }
+
+  @Override
+  public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+    Optional<HedgingPolicy> policy =
+        methodPolicies.computeIfAbsent(getMostSpecificMethod(invocation), this::resolvePolicy);
+    if (policy.isEmpty() || !(invocation instanceof ProxyMethodInvocation)) {
+      return invocation.proceed();
+    }
+    long delayNanos = policy.get().getDelayNanos();
+    if (delayNanos < 0) {
+      return proceedAndRecordLatency(invocation, policy.get());
+    }
+    return new HedgedInvocation(
+            (ProxyMethodInvocation) invocation, policy.get(), scheduler, propagators)
+        .start(delayNanos);
+  }
+
+  @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+  private static Object proceedAndRecordLatency(MethodInvocation invocation, HedgingPolicy policy)
+      throws Throwable {
+    long start = System.nanoTime();
+    Object result = invocation.proceed();
+    if (result instanceof CompletableFuture<?> future) {
+      // Without these latencies, a policy with only a percentile would never start hedging.
+      future.whenComplete(
+          (value, throwable) -> {
+            if (throwable == null) {
+              policy.recordLatency(System.nanoTime() - start);
+            }
+          });
+    }
+    return result;
+  }
+
+  private Optional<HedgingPolicy> resolvePolicy(Method method) {
+    TaskRoute route = resolveCompletableRoute(method, routingTable);
+    return route == null
+        ? Optional.empty()
+        : Optional.ofNullable(policies.get(route.getTaskName()));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.hedge;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+import java.time.Duration;
+import org.hawaiiframework.async.model.HedgeProperties;
+import org.hawaiiframework.async.statistics.LatencyWindow;
+import org.hawaiiframework.exception.HawaiiException;
+
+/**
+ * The hedging policy of a task: when to submit another attempt, and how many.
+ *
+ * <p>The latencies of the winning attempts, and of the invocations that are not hedged, are
+ * recorded, so the hedge delay can follow the observed latency percentile of the task.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HedgingPolicy {
+
+  /** The fixed delay, in nanoseconds, {@code -1} if not configured. */
+  private final long delayNanos;
+
+  /** The percentile of the observed latencies, {@code null} if not configured. */
+  private final Double percentile;
+
+  /** The minimum number of observed latencies before the percentile is used. */
+  private final int minimumNumberOfCalls;
+
+  /** The maximum number of attempts, including the first. */
+  private final int maxAttempts;
+
+  /** The observed latencies. */
+  private final LatencyWindow latencies;
+
+  /**
+   * Construct an instance.
+   *
+   * @param properties the hedge configuration
+   * @throws HawaiiException if the percentile is not between 0 (exclusive) and 100 (inclusive)
+   */
+  public HedgingPolicy(HedgeProperties properties) {
+    Duration delay = properties.getDelay();
+    this.delayNanos = delay == null ? -1L : delay.toNanos();
+    this.percentile = properties.getPercentile();
+    if (percentile != null && (percentile.isNaN() || percentile <= 0 || percentile > 100)) {
+      throw new HawaiiException(
+          String.format("Hedge percentile '%s' is not between 0 and 100.", percentile));
+    }
+    this.minimumNumberOfCalls = defaultIfNull(properties.getMinimumNumberOfCalls(), 20);
+    this.maxAttempts = defaultIfNull(properties.getMaxAttempts(), 2);
+    this.latencies = new LatencyWindow(defaultIfNull(properties.getSlidingWindowSize(), 100));
+  }
+
+  /**
+   * Get the delay after which another attempt is submitted.
+   *
+   * @return the delay, in nanoseconds, or {@code -1} if no attempt should be submitted
+   */
+  public long getDelayNanos() {
+    if (maxAttempts < 2) {
+      return -1L;
+    }
+    if (percentile != null && latencies.getSampleCount() >= minimumNumberOfCalls) {
+      return latencies.getPercentile(percentile);
+    }
+    return delayNanos;
+  }
+
+  /**
+   * Get the maximum number of attempts.
+   *
+   * @return the maximum number of attempts, including the first
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Record the latency of a winning attempt, or of an invocation that was not hedged.
+   *
+   * @param nanos the latency, in nanoseconds, from submitting the attempt until its completion
+   */
+  public void recordLatency(long nanos) {
+    latencies.record(nanos);
+  }
+}
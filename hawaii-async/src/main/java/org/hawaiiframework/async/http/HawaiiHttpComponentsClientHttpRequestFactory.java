@@ -18,10 +18,20 @@ package org.hawaiiframework.async.http;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.Timeout;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
 import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
 import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.lang.NonNull;
 
@@ -29,7 +39,13 @@ import org.springframework.lang.NonNull;
  * An HTTP request factory that sets the {@link TaskAbortStrategy} for the request.
  *
  * <p>It extends the (default) {@link HttpComponentsClientHttpRequestFactory} and uses the
- * postProcessHttpRequest method to register the {@link TaskAbortStrategy}.
+ * postProcessHttpRequest method to register the {@link TaskAbortStrategy}. The strategy is
+ * unregistered once the call has completed, that is if the execution of the request fails or once
+ * the response is closed.
+ *
+ * <p>If the request is made from within an async task, the connection request and response
+ * timeouts of the request are limited to the time left until the task's deadline. A request is not
+ * sent at all if the deadline has already passed.
  *
  * @author Rutger Lubbers
  * @author Paul Klos
@@ -38,10 +54,45 @@ import org.springframework.lang.NonNull;
 public class HawaiiHttpComponentsClientHttpRequestFactory
     extends HttpComponentsClientHttpRequestFactory {
 
+  /** The abort strategy registered while creating a request on this thread. */
+  private static final ThreadLocal<TaskAbortStrategy> REGISTERED_TASK_ABORT_STRATEGY =
+      new ThreadLocal<>();
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If an abort strategy has been registered for the request, the request unregisters it once
+   * the call has completed.
+   */
+  @Override
+  @NonNull
+  public ClientHttpRequest createRequest(@NonNull URI uri, @NonNull HttpMethod httpMethod)
+      throws IOException {
+    ClientHttpRequest request;
+    try {
+      request = super.createRequest(uri, httpMethod);
+    } catch (IOException | RuntimeException e) {
+      SharedTaskContextHolder.unregisterTaskAbortStrategy(takeRegisteredTaskAbortStrategy());
+      throw e;
+    }
+    TaskAbortStrategy taskAbortStrategy = takeRegisteredTaskAbortStrategy();
+    if (taskAbortStrategy == null) {
+      return request;
+    }
+    return new TaskAbortClientHttpRequest(
+        request, SharedTaskContextHolder.get(), taskAbortStrategy);
+  }
+
+  private static TaskAbortStrategy takeRegisteredTaskAbortStrategy() {
+    TaskAbortStrategy taskAbortStrategy = REGISTERED_TASK_ABORT_STRATEGY.get();
+    REGISTERED_TASK_ABORT_STRATEGY.remove();
+    return taskAbortStrategy;
+  }
+
   /**
    * {@inheritDoc}
    *
-   * <p>Register the abort strategy for this request.
+   * <p>Register the abort strategy for this request and apply the task's deadline.
    *
    * @param request The request to register.
    */
@@ -50,10 +101,50 @@ public class HawaiiHttpComponentsClientHttpRequestFactory
     requireNonNull(request);
     if (request instanceof HttpUriRequest httpUriRequest) {
       super.postProcessHttpRequest(request);
-      SharedTaskContextHolder.setTaskAbortStrategy(
-          new HttpComponentHttpRequestTaskAbortStrategy(httpUriRequest));
+      applyDeadline(request);
+      SharedTaskContext sharedTaskContext = SharedTaskContextHolder.get();
+      if (sharedTaskContext != null) {
+        TaskAbortStrategy taskAbortStrategy =
+            new HttpComponentHttpRequestTaskAbortStrategy(httpUriRequest);
+        sharedTaskContext.registerTaskAbortStrategy(taskAbortStrategy);
+        REGISTERED_TASK_ABORT_STRATEGY.set(taskAbortStrategy);
+      }
     } else {
       throw new IllegalArgumentException("Request not supported.");
     }
   }
+
+  private void applyDeadline(ClassicHttpRequest request) {
+    Duration remaining = SharedTaskContextHolder.getRemainingTime();
+    if (remaining == null || !(request instanceof HttpUriRequestBase requestBase)) {
+      return;
+    }
+    if (remaining.isZero()) {
+      throw new TaskTimeoutException(
+          String.format(
+              "Task '%s' has passed its deadline, not sending request.",
+              SharedTaskContextHolder.getTaskId()));
+    }
+
+    Timeout timeout = Timeout.ofMilliseconds(Math.max(1, remaining.toMillis()));
+    RequestConfig config = requestBase.getConfig();
+    if (config == null) {
+      config = createRequestConfig(getHttpClient());
+    }
+    RequestConfig.Builder builder =
+        config == null ? RequestConfig.custom() : RequestConfig.copy(config);
+    requestBase.setConfig(
+        builder
+            .setConnectionRequestTimeout(
+                min(config == null ? null : config.getConnectionRequestTimeout(), timeout))
+            .setResponseTimeout(min(config == null ? null : config.getResponseTimeout(), timeout))
+            .build());
+  }
+
+  private static Timeout min(Timeout configured, Timeout remaining) {
+    if (configured == null || configured.isDisabled() || configured.compareTo(remaining) > 0) {
+      return remaining;
+    }
+    return configured;
+  }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.http;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.PushPromiseHandler;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.timeout.FutureTaskAbortStrategy;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.springframework.lang.NonNull;
+
+/**
+ * A JDK {@link HttpClient} that registers a {@link TaskAbortStrategy} for each request sent from
+ * within an async task.
+ *
+ * <p>The requests are sent asynchronously by the delegate, the abort strategy cancels the
+ * request's future, which aborts the exchange and releases its connection. The strategy is
+ * unregistered once the response has been received. The request's timeout
+ * is limited to the time left until the task's deadline, a request is not sent at all if the
+ * deadline has already passed. Requests sent outside of an async task are passed to the delegate
+ * as is.
+ *
+ * <p>To use it with Spring's {@code RestClient}, pass it to a {@code JdkClientHttpRequestFactory}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+@SuppressWarnings("PMD.ExcessivePublicCount")
+public class HawaiiJdkHttpClient extends HttpClient {
+
+  /** The client that sends the requests. */
+  private final HttpClient delegate;
+
+  /**
+   * Construct an instance.
+   *
+   * @param delegate the client that sends the requests
+   */
+  public HawaiiJdkHttpClient(@NonNull HttpClient delegate) {
+    super();
+    this.delegate = requireNonNull(delegate);
+  }
+
+  @Override
+  public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> responseBodyHandler)
+      throws IOException, InterruptedException {
+    if (SharedTaskContextHolder.get() == null) {
+      return delegate.send(request, responseBodyHandler);
+    }
+    CompletableFuture<HttpResponse<T>> future = sendAsync(request, responseBodyHandler);
+    try {
+      return future.get();
+    } catch (CancellationException exception) {
+      throw new TaskTimeoutException("Task timed out.", exception);
+    } catch (ExecutionException exception) {
+      throw unwrap(exception);
+    } catch (InterruptedException exception) {
+      future.cancel(true);
+      throw exception;
+    }
+  }
+
+  private static IOException unwrap(ExecutionException exception) {
+    Throwable cause = exception.getCause();
+    if (cause instanceof CancellationException) {
+      throw new TaskTimeoutException("Task timed out.", cause);
+    }
+    if (cause instanceof IOException ioException) {
+      return ioException;
+    }
+    if (cause instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+    return new IOException(cause);
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      HttpRequest request, BodyHandler<T> responseBodyHandler) {
+    return sendAsync(request, responseBodyHandler, null);
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      HttpRequest request,
+      BodyHandler<T> responseBodyHandler,
+      PushPromiseHandler<T> pushPromiseHandler) {
+    SharedTaskContext sharedTaskContext = SharedTaskContextHolder.get();
+    if (sharedTaskContext == null) {
+      return delegate.sendAsync(request, responseBodyHandler, pushPromiseHandler);
+    }
+    CompletableFuture<HttpResponse<T>> future =
+        delegate.sendAsync(applyDeadline(request), responseBodyHandler, pushPromiseHandler);
+    TaskAbortStrategy taskAbortStrategy = new FutureTaskAbortStrategy(future);
+    sharedTaskContext.registerTaskAbortStrategy(taskAbortStrategy);
+    future.whenComplete(
+        (response, throwable) -> sharedTaskContext.unregisterTaskAbortStrategy(taskAbortStrategy));
+    return future;
+  }
+
+  private static HttpRequest applyDeadline(HttpRequest request) {
+    Duration remaining = SharedTaskContextHolder.getRemainingTime();
+    if (remaining == null) {
+      return request;
+    }
+    if (remaining.isZero()) {
+      throw new TaskTimeoutException(
+          String.format(
+              "Task '%s' has passed its deadline, not sending request.",
+              SharedTaskContextHolder.getTaskId()));
+    }
+    Optional<Duration> configured = request.timeout();
+    if (configured.isPresent() && configured.get().compareTo(remaining) <= 0) {
+      return request;
+    }
+    return HttpRequest.newBuilder(request, (name, value) -> true).timeout(remaining).build();
+  }
+
+  @Override
+  public Optional<CookieHandler> cookieHandler() {
+    return delegate.cookieHandler();
+  }
+
+  @Override
+  public Optional<Duration> connectTimeout() {
+    return delegate.connectTimeout();
+  }
+
+  @Override
+  public Redirect followRedirects() {
+    return delegate.followRedirects();
+  }
+
+  @Override
+  public Optional<ProxySelector> proxy() {
+    return delegate.proxy();
+  }
+
+  @Override
+  public SSLContext sslContext() {
+    return delegate.sslContext();
+  }
+
+  @Override
+  public SSLParameters sslParameters() {
+    return delegate.sslParameters();
+  }
+
+  @Override
+  public Optional<Authenticator> authenticator() {
+    return delegate.authenticator();
+  }
+
+  @Override
+  public Version version() {
+    return delegate.version();
+  }
+
+  @Override
+  public Optional<Executor> executor() {
+    return delegate.executor();
+  }
+
+  @Override
+  public WebSocket.Builder newWebSocketBuilder() {
+    return delegate.newWebSocketBuilder();
+  }
+}
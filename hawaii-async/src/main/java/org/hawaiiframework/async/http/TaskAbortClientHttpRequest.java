@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link ClientHttpRequest} that unregisters the {@link TaskAbortStrategy} of the request once
+ * the call has completed.
+ *
+ * <p>The call has completed if the execution of the request fails, or if the response is closed.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+class TaskAbortClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+  /** The request to execute. */
+  private final ClientHttpRequest delegate;
+
+  /** The task context the abort strategy is registered in. */
+  private final SharedTaskContext sharedTaskContext;
+
+  /** The abort strategy of the request. */
+  private final TaskAbortStrategy taskAbortStrategy;
+
+  /**
+   * Construct an instance.
+   *
+   * @param delegate the request to execute
+   * @param sharedTaskContext the task context the abort strategy is registered in
+   * @param taskAbortStrategy the abort strategy of the request
+   */
+  TaskAbortClientHttpRequest(
+      ClientHttpRequest delegate,
+      SharedTaskContext sharedTaskContext,
+      TaskAbortStrategy taskAbortStrategy) {
+    this.delegate = delegate;
+    this.sharedTaskContext = sharedTaskContext;
+    this.taskAbortStrategy = taskAbortStrategy;
+  }
+
+  @Override
+  @NonNull
+  public ClientHttpResponse execute() throws IOException {
+    try {
+      return new TaskAbortClientHttpResponse(delegate.execute());
+    } catch (IOException | RuntimeException e) {
+      completed();
+      throw e;
+    }
+  }
+
+  @Override
+  @NonNull
+  public OutputStream getBody() throws IOException {
+    return delegate.getBody();
+  }
+
+  @Override
+  public void setBody(@NonNull Body body) {
+    if (delegate instanceof StreamingHttpOutputMessage streamingHttpOutputMessage) {
+      streamingHttpOutputMessage.setBody(body);
+    } else {
+      try {
+        body.writeTo(delegate.getBody());
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not write the request body.", e);
+      }
+    }
+  }
+
+  @Override
+  @NonNull
+  public HttpHeaders getHeaders() {
+    return delegate.getHeaders();
+  }
+
+  @Override
+  @NonNull
+  public HttpMethod getMethod() {
+    return delegate.getMethod();
+  }
+
+  @Override
+  @NonNull
+  public URI getURI() {
+    return delegate.getURI();
+  }
+
+  private void completed() {
+    sharedTaskContext.unregisterTaskAbortStrategy(taskAbortStrategy);
+  }
+
+  /** The response, which unregisters the abort strategy once closed. */
+  private final class TaskAbortClientHttpResponse implements ClientHttpResponse {
+
+    /** The response of the delegate. */
+    private final ClientHttpResponse response;
+
+    private TaskAbortClientHttpResponse(ClientHttpResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    @NonNull
+    public HttpStatusCode getStatusCode() throws IOException {
+      return response.getStatusCode();
+    }
+
+    @Override
+    @NonNull
+    public String getStatusText() throws IOException {
+      return response.getStatusText();
+    }
+
+    @Override
+    @NonNull
+    public InputStream getBody() throws IOException {
+      return response.getBody();
+    }
+
+    @Override
+    @NonNull
+    public HttpHeaders getHeaders() {
+      return response.getHeaders();
+    }
+
+    @Override
+    public void close() {
+      try {
+        response.close();
+      } finally {
+        completed();
+      }
+    }
+  }
+}
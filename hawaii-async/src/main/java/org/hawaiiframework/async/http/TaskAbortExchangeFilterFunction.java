@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.http;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * A {@code WebClient} filter that registers a {@link TaskAbortStrategy} for each exchange started
+ * from within an async task.
+ *
+ * <p>The abort strategy fails the exchange with a {@link TaskTimeoutException}, which cancels the
+ * underlying request and releases a caller that blocks on the response. The strategy is
+ * unregistered once the exchange has completed. The exchange is also
+ * limited to the time left until the task's deadline, it is not started at all if the deadline has
+ * already passed. Exchanges started outside of an async task are passed on as is.
+ *
+ * <p>The task is determined when the exchange is subscribed to, so the exchange must be subscribed
+ * to on the task's thread, for instance by calling {@code block()}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class TaskAbortExchangeFilterFunction implements ExchangeFilterFunction {
+
+  @Override
+  public @NonNull Mono<ClientResponse> filter(
+      @NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+    return Mono.defer(
+        () -> {
+          SharedTaskContext sharedTaskContext = SharedTaskContextHolder.get();
+          if (sharedTaskContext == null) {
+            return next.exchange(request);
+          }
+          return exchange(sharedTaskContext, request, next);
+        });
+  }
+
+  private static Mono<ClientResponse> exchange(
+      SharedTaskContext sharedTaskContext, ClientRequest request, ExchangeFunction next) {
+    Duration remaining = sharedTaskContext.getRemainingTime();
+    if (remaining != null && remaining.isZero()) {
+      return Mono.error(
+          new TaskTimeoutException(
+              String.format(
+                  "Task '%s' has passed its deadline, not sending request.",
+                  sharedTaskContext.getTaskId())));
+    }
+
+    Sinks.One<Boolean> abort = Sinks.one();
+    TaskAbortStrategy taskAbortStrategy = () -> abort.tryEmitValue(Boolean.TRUE).isSuccess();
+    sharedTaskContext.registerTaskAbortStrategy(taskAbortStrategy);
+
+    Mono<ClientResponse> response =
+        next.exchange(request)
+            .timeout(abort.asMono())
+            .doFinally(signal -> sharedTaskContext.unregisterTaskAbortStrategy(taskAbortStrategy));
+    if (remaining != null) {
+      response = response.timeout(remaining);
+    }
+    return response.onErrorMap(
+        TimeoutException.class,
+        exception -> new TaskTimeoutException("Task timed out.", exception));
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.inflight;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A snapshot of a task that has been submitted and has not completed yet, see {@link
+ * InFlightTaskRegistry}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+@SuppressWarnings("PMD.DataClass")
+public class InFlightTask {
+
+  /** The state of an in-flight task. */
+  public enum State {
+
+    /** The task waits in the executor's queue. */
+    QUEUED,
+
+    /** The task is running. */
+    RUNNING
+  }
+
+  /** The task's id. */
+  private final String taskId;
+
+  /** The task's name. */
+  private final String taskName;
+
+  /** The name of the executor the task is submitted to. */
+  private final String executorName;
+
+  /** The task's state. */
+  private final State state;
+
+  /** The time since the task was submitted. */
+  private final Duration age;
+
+  /** The time since the task started, {@code null} while queued. */
+  private final Duration runningTime;
+
+  /** The name of the thread running the task, {@code null} while queued. */
+  private final String threadName;
+
+  /** The types of the task abort strategies of the calls in progress. */
+  private final List<String> taskAbortStrategies;
+
+  /**
+   * The constructor.
+   *
+   * @param taskId The task's id.
+   * @param taskName The task's name.
+   * @param executorName The name of the executor the task is submitted to.
+   * @param state The task's state.
+   * @param age The time since the task was submitted.
+   * @param runningTime The time since the task started, {@code null} while queued.
+   * @param threadName The name of the thread running the task, {@code null} while queued.
+   * @param taskAbortStrategies The types of the task abort strategies of the calls in progress.
+   */
+  public InFlightTask(
+      String taskId,
+      String taskName,
+      String executorName,
+      State state,
+      Duration age,
+      Duration runningTime,
+      String threadName,
+      List<String> taskAbortStrategies) {
+    this.taskId = taskId;
+    this.taskName = taskName;
+    this.executorName = executorName;
+    this.state = state;
+    this.age = age;
+    this.runningTime = runningTime;
+    this.threadName = threadName;
+    this.taskAbortStrategies = taskAbortStrategies;
+  }
+
+  /**
+   * Get the task's id.
+   *
+   * @return The task's id.
+   */
+  public String getTaskId() {
+    return taskId;
+  }
+
+  /**
+   * Get the task's name.
+   *
+   * @return The task's name.
+   */
+  public String getTaskName() {
+    return taskName;
+  }
+
+  /**
+   * Get the name of the executor the task is submitted to.
+   *
+   * @return The executor's name.
+   */
+  public String getExecutorName() {
+    return executorName;
+  }
+
+  /**
+   * Get the task's state.
+   *
+   * @return The task's state.
+   */
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Get the time since the task was submitted.
+   *
+   * @return The task's age.
+   */
+  public Duration getAge() {
+    return age;
+  }
+
+  /**
+   * Get the time since the task started.
+   *
+   * @return The running time, {@code null} while queued.
+   */
+  public Duration getRunningTime() {
+    return runningTime;
+  }
+
+  /**
+   * Get the name of the thread running the task.
+   *
+   * @return The thread's name, {@code null} while queued.
+   */
+  public String getThreadName() {
+    return threadName;
+  }
+
+  /**
+   * Get the types of the task abort strategies of the calls in progress.
+   *
+   * @return The simple class names of the task abort strategies.
+   */
+  public List<String> getTaskAbortStrategies() {
+    return taskAbortStrategies;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "InFlightTask{taskId='%s', taskName='%s', executorName='%s', state='%s', age='%s', "
+            + "runningTime='%s', threadName='%s', taskAbortStrategies='%s'}",
+        taskId,
+        taskName,
+        executorName,
+        state,
+        age,
+        runningTime,
+        threadName,
+        taskAbortStrategies);
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.inflight;
+
+import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_EXECUTOR;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import org.hawaiiframework.async.inflight.InFlightTask.State;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.task.listener.TaskListenerFactory;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Registry of the tasks that have been submitted and have not completed yet.
+ *
+ * <p>As a {@link TaskListenerFactory} it registers each task when it is submitted, and removes it
+ * when it finishes, or is rejected or removed from the executor's queue. The tasks are held in a
+ * {@link ConcurrentHashMap}, so registering a task does not contend with other tasks or with
+ * taking a snapshot, see {@link #getInFlightTasks()}.
+ *
+ * <p>With a long-running threshold, the running tasks are checked periodically on the async
+ * timeout executor, a task running longer than the threshold is logged once as a warning.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class InFlightTaskRegistry implements TaskListenerFactory, SmartLifecycle {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(InFlightTaskRegistry.class);
+
+  /** Spring's bean factory, holding the async timeout executor. */
+  private final ListableBeanFactory beanFactory;
+
+  /** The running time after which a task is logged, {@code null} to not check. */
+  private final Duration longRunningThreshold;
+
+  /** The interval of the check for long-running tasks. */
+  private final Duration checkInterval;
+
+  /** The clock, in nanoseconds. */
+  private final LongSupplier clock;
+
+  /** The in-flight tasks, keyed by task id. */
+  private final Map<String, InFlightTaskListener> tasks = new ConcurrentHashMap<>();
+
+  /** The scheduled check for long-running tasks, {@code null} while not running. */
+  private final AtomicReference<ScheduledFuture<?>> scheduled = new AtomicReference<>();
+
+  /** Flag to indicate the registry has been started. */
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * The constructor.
+   *
+   * @param beanFactory Spring's bean factory, holding the async timeout executor.
+   * @param longRunningThreshold The running time after which a task is logged, {@code null} to
+   *     not check for long-running tasks.
+   * @param checkInterval The interval of the check for long-running tasks.
+   */
+  public InFlightTaskRegistry(
+      ListableBeanFactory beanFactory, Duration longRunningThreshold, Duration checkInterval) {
+    this(beanFactory, longRunningThreshold, checkInterval, System::nanoTime);
+  }
+
+  InFlightTaskRegistry(
+      ListableBeanFactory beanFactory,
+      Duration longRunningThreshold,
+      Duration checkInterval,
+      LongSupplier clock) {
+    this.beanFactory = beanFactory;
+    this.longRunningThreshold = longRunningThreshold;
+    this.checkInterval = checkInterval;
+    this.clock = clock;
+  }
+
+  @Override
+  public TaskListener create() {
+    return new InFlightTaskListener();
+  }
+
+  /**
+   * Take a snapshot of the in-flight tasks.
+   *
+   * @return The in-flight tasks, the oldest first.
+   */
+  public List<InFlightTask> getInFlightTasks() {
+    long now = clock.getAsLong();
+    List<InFlightTask> snapshot = new ArrayList<>(tasks.size());
+    for (InFlightTaskListener task : tasks.values()) {
+      snapshot.add(task.toInFlightTask(now));
+    }
+    snapshot.sort(Comparator.comparing(InFlightTask::getAge).reversed());
+    return snapshot;
+  }
+
+  /**
+   * Log the tasks that run longer than the long-running threshold, each task is logged once.
+   *
+   * @return The number of tasks logged.
+   */
+  int logLongRunningTasks() {
+    long now = clock.getAsLong();
+    long threshold = longRunningThreshold.toNanos();
+    int count = 0;
+    for (InFlightTaskListener task : tasks.values()) {
+      Execution execution = task.execution.get();
+      if (execution != null
+          && now - execution.startTime > threshold
+          && task.logged.compareAndSet(false, true)) {
+        LOGGER.warn(
+            "Task '{}' with id '{}' is running for '{}' on thread '{}', calls in progress '{}'.",
+            task.sharedTaskContext.getTaskName(),
+            task.sharedTaskContext.getTaskId(),
+            Duration.ofNanos(now - execution.startTime),
+            execution.threadName,
+            getTaskAbortStrategyTypes(task.sharedTaskContext));
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private void checkLongRunningTasks() {
+    try {
+      logLongRunningTasks();
+    } catch (RuntimeException exception) {
+      // An exception would cancel the periodic task.
+      LOGGER.warn("Unable to check for long-running tasks.", exception);
+    }
+  }
+
+  private static List<String> getTaskAbortStrategyTypes(SharedTaskContext sharedTaskContext) {
+    List<String> types = new ArrayList<>();
+    for (TaskAbortStrategy taskAbortStrategy : sharedTaskContext.getTaskAbortStrategies()) {
+      types.add(taskAbortStrategy.getClass().getSimpleName());
+    }
+    return types;
+  }
+
+  @Override
+  public void start() {
+    running.set(true);
+    if (longRunningThreshold == null) {
+      return;
+    }
+    ScheduledExecutorService scheduler =
+        beanFactory.getBean(ASYNC_TIMEOUT_EXECUTOR, ScheduledExecutorService.class);
+    long interval = checkInterval.toNanos();
+    scheduled.set(
+        scheduler.scheduleWithFixedDelay(
+            this::checkLongRunningTasks, interval, interval, TimeUnit.NANOSECONDS));
+    LOGGER.info(
+        "Logging tasks running longer than '{}', checked every '{}'.",
+        longRunningThreshold,
+        checkInterval);
+  }
+
+  @Override
+  public void stop() {
+    running.set(false);
+    ScheduledFuture<?> future = scheduled.getAndSet(null);
+    if (future != null) {
+      future.cancel(false);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running.get();
+  }
+
+  /** The start of a task's execution. */
+  private static final class Execution {
+
+    /** The start time, in nanoseconds. */
+    private final long startTime;
+
+    /** The name of the thread running the task. */
+    private final String threadName;
+
+    private Execution(long startTime, String threadName) {
+      this.startTime = startTime;
+      this.threadName = threadName;
+    }
+  }
+
+  /** Registers a task while it is in flight. */
+  private final class InFlightTaskListener implements TaskListener {
+
+    /** The shared task context. */
+    private SharedTaskContext sharedTaskContext;
+
+    /** The time the task was submitted, in nanoseconds. */
+    private long submitTime;
+
+    /** The start of the task's execution, {@code null} while queued. */
+    private final AtomicReference<Execution> execution = new AtomicReference<>();
+
+    /** Flag to indicate the task has been logged as long-running. */
+    private final AtomicBoolean logged = new AtomicBoolean();
+
+    @Override
+    public int getOrder() {
+      // Registered first and, since listeners finish in reverse order, removed last.
+      return HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+      this.sharedTaskContext = sharedTaskContext;
+      this.submitTime = clock.getAsLong();
+      tasks.put(sharedTaskContext.getTaskId(), this);
+    }
+
+    @Override
+    public void startExecution() {
+      // The timeout guard runs the task's lifecycle as well, the worker is the one that started.
+      if (!sharedTaskContext.isTimeoutGuardThread()) {
+        execution.compareAndSet(
+            null, new Execution(clock.getAsLong(), Thread.currentThread().getName()));
+      }
+    }
+
+    @Override
+    public void finish() {
+      // A task that times out keeps running until the worker finishes it, unless it was removed.
+      if (!sharedTaskContext.isTimeoutGuardThread() || sharedTaskContext.isRemoved()) {
+        unregister();
+      }
+    }
+
+    @Override
+    public void timeout() {
+      if (sharedTaskContext.isRemoved()) {
+        unregister();
+      }
+    }
+
+    @Override
+    public void rejected() {
+      unregister();
+    }
+
+    @Override
+    public void cancelled() {
+      if (sharedTaskContext.isRemoved()) {
+        unregister();
+      }
+    }
+
+    private void unregister() {
+      tasks.remove(sharedTaskContext.getTaskId(), this);
+    }
+
+    private InFlightTask toInFlightTask(long now) {
+      Execution started = execution.get();
+      return new InFlightTask(
+          sharedTaskContext.getTaskId(),
+          sharedTaskContext.getTaskName(),
+          sharedTaskContext.getExecutorName(),
+          started == null ? State.QUEUED : State.RUNNING,
+          Duration.ofNanos(now - submitTime),
+          started == null ? null : Duration.ofNanos(now - started.startTime),
+          started == null ? null : started.threadName,
+          getTaskAbortStrategyTypes(sharedTaskContext));
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.inflight;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint listing the in-flight tasks, see {@link InFlightTaskRegistry}.
+ *
+ * <p>A {@code GET} of {@code /actuator/inflighttasks} responds with the queued and running tasks,
+ * the oldest first.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+@Endpoint(id = "inflighttasks")
+public class InFlightTasksEndpoint {
+
+  /** The registry. */
+  private final InFlightTaskRegistry registry;
+
+  /**
+   * The constructor.
+   *
+   * @param registry The registry.
+   */
+  public InFlightTasksEndpoint(InFlightTaskRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * List the in-flight tasks.
+   *
+   * @return the in-flight tasks
+   */
+  @ReadOperation
+  public List<InFlightTask> inFlightTasks() {
+    return registry.getInFlightTasks();
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for the concurrency limiters, it keeps track of the tasks in flight.
+ *
+ * <p>Sub classes only calculate a new limit from the samples.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public abstract class AbstractConcurrencyLimiter implements ConcurrencyLimiter {
+
+  /** The minimum limit. */
+  private final int minLimit;
+
+  /** The maximum limit. */
+  private final int maxLimit;
+
+  /** The current limit. */
+  private final AtomicInteger limit;
+
+  /** The number of tasks holding a permit. */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /**
+   * Construct an instance.
+   *
+   * @param initialLimit the initial limit
+   * @param minLimit the minimum limit
+   * @param maxLimit the maximum limit
+   */
+  protected AbstractConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException(
+          String.format("Invalid limits, min '%s' and max '%s'.", minLimit, maxLimit));
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = new AtomicInteger(clamp(initialLimit));
+  }
+
+  @Override
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit.get()) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  @Override
+  public void onSuccess(long totalTimeNanos) {
+    int current = inFlight.getAndDecrement();
+    limit.set(clamp(limitOnSuccess(limit.get(), current, totalTimeNanos)));
+  }
+
+  @Override
+  public void onDropped() {
+    inFlight.decrementAndGet();
+    limit.set(clamp(limitOnDropped(limit.get())));
+  }
+
+  @Override
+  public void onIgnore() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Calculate the new limit after a task completed in time.
+   *
+   * @param currentLimit the current limit
+   * @param inFlight the number of tasks in flight, including the completed task
+   * @param totalTimeNanos the time the task took, in nanoseconds
+   * @return the new limit, it is clamped between the minimum and maximum limit
+   */
+  protected abstract int limitOnSuccess(int currentLimit, int inFlight, long totalTimeNanos);
+
+  /**
+   * Calculate the new limit after a task timed out.
+   *
+   * @param currentLimit the current limit
+   * @return the new limit, it is clamped between the minimum and maximum limit
+   */
+  protected abstract int limitOnDropped(int currentLimit);
+
+  /**
+   * Clamp a value between the minimum and maximum limit.
+   *
+   * @param value the value
+   * @return the clamped value
+   */
+  protected double clamp(double value) {
+    return Math.max(minLimit, Math.min(maxLimit, value));
+  }
+
+  private int clamp(int value) {
+    return Math.max(minLimit, Math.min(maxLimit, value));
+  }
+
+  @Override
+  public int getLimit() {
+    return limit.get();
+  }
+
+  @Override
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
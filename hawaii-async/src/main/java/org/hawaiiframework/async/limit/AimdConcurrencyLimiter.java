@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+/**
+ * Additive increase, multiplicative decrease concurrency limiter.
+ *
+ * <p>The limit is increased by one for each task that completes in time while at least half of the
+ * limit is in use. The limit is multiplied by the backoff ratio for each task that times out.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class AimdConcurrencyLimiter extends AbstractConcurrencyLimiter {
+
+  /** The factor the limit is multiplied with when a task times out. */
+  private final double backoffRatio;
+
+  /**
+   * Construct an instance.
+   *
+   * @param initialLimit the initial limit
+   * @param minLimit the minimum limit
+   * @param maxLimit the maximum limit
+   * @param backoffRatio the factor the limit is multiplied with when a task times out
+   */
+  public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+    super(initialLimit, minLimit, maxLimit);
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException(
+          String.format("Backoff ratio '%s' must be between 0 and 1.", backoffRatio));
+    }
+    this.backoffRatio = backoffRatio;
+  }
+
+  @Override
+  protected int limitOnSuccess(int currentLimit, int inFlight, long totalTimeNanos) {
+    // Only grow if the limit is actually used, otherwise an idle task grows without bounds.
+    if (inFlight * 2 >= currentLimit) {
+      return currentLimit + 1;
+    }
+    return currentLimit;
+  }
+
+  @Override
+  protected int limitOnDropped(int currentLimit) {
+    return (int) (currentLimit * backoffRatio);
+  }
+}
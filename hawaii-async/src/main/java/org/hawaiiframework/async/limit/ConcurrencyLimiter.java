@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+/**
+ * Limits the number of tasks that are in flight, queued or running, for a single task name.
+ *
+ * <p>The limit is not configured as a fixed number, but is adjusted from the observed task times.
+ * Once a task has acquired a permit, exactly one of {@link #onSuccess(long)}, {@link #onDropped()}
+ * or {@link #onIgnore()} must be invoked to release it again.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public interface ConcurrencyLimiter {
+
+  /**
+   * Try to acquire a permit for a new task.
+   *
+   * @return {@code true} if the task may be submitted, {@code false} if the limit has been reached
+   */
+  boolean tryAcquire();
+
+  /**
+   * Release a permit of a task that completed in time.
+   *
+   * @param totalTimeNanos the time the task took from submission to completion, in nanoseconds
+   */
+  void onSuccess(long totalTimeNanos);
+
+  /** Release a permit of a task that timed out, this is taken as a sign of overload. */
+  void onDropped();
+
+  /** Release a permit without adjusting the limit, for instance for a rejected task. */
+  void onIgnore();
+
+  /**
+   * Get the current limit.
+   *
+   * @return the limit
+   */
+  int getLimit();
+
+  /**
+   * Get the number of tasks currently holding a permit.
+   *
+   * @return the number of tasks in flight
+   */
+  int getInFlight();
+}
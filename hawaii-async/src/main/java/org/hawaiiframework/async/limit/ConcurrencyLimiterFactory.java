@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+import org.hawaiiframework.async.model.LimiterProperties;
+
+/**
+ * Creates the {@link ConcurrencyLimiter} for a {@link LimiterProperties} configuration.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class ConcurrencyLimiterFactory {
+
+  private ConcurrencyLimiterFactory() {
+    // Utility class.
+  }
+
+  /**
+   * Create a concurrency limiter.
+   *
+   * @param properties the limiter configuration, may be {@code null}
+   * @return the limiter, or {@code null} if {@code properties} is {@code null}
+   */
+  public static ConcurrencyLimiter create(LimiterProperties properties) {
+    if (properties == null) {
+      return null;
+    }
+    return switch (properties.getLimiterType()) {
+      case AIMD ->
+          new AimdConcurrencyLimiter(
+              properties.getInitialLimit(),
+              properties.getMinLimit(),
+              properties.getMaxLimit(),
+              properties.getBackoffRatio());
+      case GRADIENT ->
+          new GradientConcurrencyLimiter(
+              properties.getInitialLimit(),
+              properties.getMinLimit(),
+              properties.getMaxLimit(),
+              properties.getSmoothing());
+    };
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+
+/**
+ * Task listener that releases the {@link ConcurrencyLimiter} permit of a task.
+ *
+ * <p>The permit is released exactly once: on a timeout the limiter is told the task was dropped,
+ * on finish the task's total time is sampled and on a rejection or cancel the permit is released
+ * without a sample. Ordered last, so on finish it is the first listener to be called.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class ConcurrencyLimiterTaskListener implements TaskListener {
+
+  /** The limiter the permit was acquired from. */
+  private final ConcurrencyLimiter limiter;
+
+  /** Flag to indicate the permit has been released. */
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  /** The shared task context. */
+  private SharedTaskContext sharedTaskContext;
+
+  /**
+   * Construct an instance for an acquired permit.
+   *
+   * @param limiter the limiter the permit was acquired from
+   */
+  public ConcurrencyLimiterTaskListener(ConcurrencyLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  @Override
+  public int getOrder() {
+    return LOWEST_PRECEDENCE;
+  }
+
+  @Override
+  public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+    this.sharedTaskContext = sharedTaskContext;
+  }
+
+  @Override
+  public void timeout() {
+    if (released.compareAndSet(false, true)) {
+      limiter.onDropped();
+    }
+  }
+
+  @Override
+  public void finish() {
+    if (released.compareAndSet(false, true)) {
+      if (sharedTaskContext.isCancelled()) {
+        limiter.onIgnore();
+      } else if (sharedTaskContext.isTimedOut()) {
+        limiter.onDropped();
+      } else {
+        limiter.onSuccess(sharedTaskContext.getTaskStatistics().getTotalTime());
+      }
+    }
+  }
+
+  @Override
+  public void cancelled() {
+    if (sharedTaskContext.isRemoved()) {
+      rejected();
+    }
+  }
+
+  @Override
+  public void rejected() {
+    if (released.compareAndSet(false, true)) {
+      limiter.onIgnore();
+    }
+  }
+}
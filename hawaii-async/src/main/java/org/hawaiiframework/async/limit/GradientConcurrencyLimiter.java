@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limiter that follows the gradient of the long term and the current task times.
+ *
+ * <p>The long term task time is an exponentially weighted moving average. If a task takes longer
+ * than the long term average, tasks are queueing up and the limit is decreased proportionally. If
+ * a task is as fast as the average, the limit grows with the square root of the limit, which
+ * leaves room for some queueing. New limits are smoothed with the current limit.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class GradientConcurrencyLimiter extends AbstractConcurrencyLimiter {
+
+  /** The weight of a sample in the long term average, roughly the last 600 samples. */
+  private static final double LONG_TERM_WEIGHT = 2.0 / 601;
+
+  /** The lowest gradient, the limit never drops by more than half for a single sample. */
+  private static final double MIN_GRADIENT = 0.5;
+
+  /** The weight of a new limit, relative to the current limit. */
+  private final double smoothing;
+
+  /** Guards the estimator state. */
+  private final Lock lock = new ReentrantLock();
+
+  /** The long term task time, in nanoseconds, {@code 0} until the first sample. */
+  private double longTermNanos;
+
+  /** The unrounded limit, to allow growth in steps smaller than one. */
+  private double estimatedLimit;
+
+  /**
+   * Construct an instance.
+   *
+   * @param initialLimit the initial limit
+   * @param minLimit the minimum limit
+   * @param maxLimit the maximum limit
+   * @param smoothing the weight of a new limit, relative to the current limit
+   */
+  public GradientConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, double smoothing) {
+    super(initialLimit, minLimit, maxLimit);
+    if (smoothing <= 0 || smoothing > 1) {
+      throw new IllegalArgumentException(
+          String.format("Smoothing '%s' must be larger than 0 and at most 1.", smoothing));
+    }
+    this.smoothing = smoothing;
+    this.estimatedLimit = getLimit();
+  }
+
+  @Override
+  protected int limitOnSuccess(int currentLimit, int inFlight, long totalTimeNanos) {
+    lock.lock();
+    try {
+      if (longTermNanos == 0) {
+        longTermNanos = totalTimeNanos;
+      } else {
+        longTermNanos += (totalTimeNanos - longTermNanos) * LONG_TERM_WEIGHT;
+      }
+      if (inFlight * 2 < currentLimit) {
+        // The limit is not used, so the sample says nothing about the limit.
+        return currentLimit;
+      }
+      double gradient =
+          Math.max(MIN_GRADIENT, Math.min(1.0, longTermNanos / Math.max(1, totalTimeNanos)));
+      double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+      estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+      return (int) estimatedLimit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  protected int limitOnDropped(int currentLimit) {
+    lock.lock();
+    try {
+      estimatedLimit = clamp(estimatedLimit * (1 - smoothing * MIN_GRADIENT));
+      return (int) estimatedLimit;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
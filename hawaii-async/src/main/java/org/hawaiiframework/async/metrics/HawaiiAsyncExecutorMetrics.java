@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.lang.NonNull;
+
+/**
+ * Binds gauges for the async executors and the timeout scheduler.
+ *
+ * <p>For each executor, tagged with the executor's name, the pool size, the max pool size, the
+ * number of active threads, the number of queued tasks and the number of completed tasks are
+ * registered. For the timeout scheduler the number of armed, cancelled and fired timeouts.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HawaiiAsyncExecutorMetrics implements MeterBinder {
+
+  /** The tag holding the executor name. */
+  public static final String EXECUTOR_TAG = "executor";
+
+  /** The bean factory holding the executors. */
+  private final ListableBeanFactory beanFactory;
+
+  /**
+   * Construct an instance.
+   *
+   * @param beanFactory the bean factory holding the executors.
+   */
+  public HawaiiAsyncExecutorMetrics(ListableBeanFactory beanFactory) {
+    this.beanFactory = beanFactory;
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    Map<String, HawaiiTaskExecutor> executors =
+        beanFactory.getBeansOfType(HawaiiTaskExecutor.class);
+    executors.forEach((name, executor) -> bindExecutor(name, executor, registry));
+    beanFactory
+        .getBeansOfType(TimeoutScheduler.class)
+        .values()
+        .forEach(timeoutScheduler -> bindTimeoutScheduler(timeoutScheduler, registry));
+  }
+
+  private static void bindExecutor(
+      String name, HawaiiTaskExecutor executor, MeterRegistry registry) {
+    Gauge.builder("hawaii.async.executor.pool.size", executor, HawaiiTaskExecutor::getPoolSize)
+        .description("The current number of threads in the pool.")
+        .tag(EXECUTOR_TAG, name)
+        .register(registry);
+    Gauge.builder("hawaii.async.executor.pool.max", executor, HawaiiTaskExecutor::getMaxPoolSize)
+        .description("The maximum number of threads in the pool.")
+        .tag(EXECUTOR_TAG, name)
+        .register(registry);
+    Gauge.builder("hawaii.async.executor.active", executor, HawaiiTaskExecutor::getActiveCount)
+        .description("The number of running tasks.")
+        .tag(EXECUTOR_TAG, name)
+        .register(registry);
+    Gauge.builder("hawaii.async.executor.queued", executor, HawaiiTaskExecutor::getQueueSize)
+        .description("The number of queued tasks.")
+        .tag(EXECUTOR_TAG, name)
+        .register(registry);
+    FunctionCounter.builder(
+            "hawaii.async.executor.completed", executor, HawaiiTaskExecutor::getCompletedTaskCount)
+        .description("The number of completed tasks.")
+        .tag(EXECUTOR_TAG, name)
+        .register(registry);
+  }
+
+  private static void bindTimeoutScheduler(
+      TimeoutScheduler timeoutScheduler, MeterRegistry registry) {
+    FunctionCounter.builder(
+            "hawaii.async.timeout.armed",
+            timeoutScheduler,
+            scheduler -> scheduler.getStatistics().getArmedCount())
+        .description("The number of scheduled timeout guard tasks.")
+        .register(registry);
+    FunctionCounter.builder(
+            "hawaii.async.timeout.cancelled",
+            timeoutScheduler,
+            scheduler -> scheduler.getStatistics().getCancelledCount())
+        .description("The number of timeout guard tasks cancelled before they fired.")
+        .register(registry);
+    FunctionCounter.builder(
+            "hawaii.async.timeout.fired",
+            timeoutScheduler,
+            scheduler -> scheduler.getStatistics().getFiredCount())
+        .description("The number of timeout guard tasks that fired.")
+        .register(registry);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.TaskMeters;
+import org.hawaiiframework.async.statistics.TaskStatistics;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+
+/**
+ * Task listener that records the task's queue time, execution time, timeout, abort and rejection
+ * in Micrometer meters, tagged with the task name.
+ *
+ * <p>The times are only recorded for tasks that did not time out, the timeout guard task runs the
+ * task's lifecycle as well, which would record the times twice. Timed out tasks are counted
+ * instead.
+ *
+ * <p>Ordered at '100', so the times are recorded before the other listeners finish.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class MicrometerTaskListener implements TaskListener {
+
+  /** The factory, holding the meters. */
+  private final MicrometerTaskListenerFactory factory;
+
+  /** The shared task context. */
+  private SharedTaskContext sharedTaskContext;
+
+  /**
+   * Construct an instance.
+   *
+   * @param factory the factory, holding the meters.
+   */
+  MicrometerTaskListener(MicrometerTaskListenerFactory factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  public int getOrder() {
+    return 100;
+  }
+
+  @Override
+  public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+    this.sharedTaskContext = sharedTaskContext;
+  }
+
+  @Override
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public void finish() {
+    if (sharedTaskContext.isTimedOut()) {
+      return;
+    }
+    TaskMeters meters = getTaskMeters();
+    TaskStatistics taskStatistics = sharedTaskContext.getTaskStatistics();
+    meters.getQueueTime().record(taskStatistics.getQueueTime(), TimeUnit.NANOSECONDS);
+    meters.getExecutionTime().record(taskStatistics.getExecutionTime(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public void timeout() {
+    TaskMeters meters = getTaskMeters();
+    meters.getTimeouts().increment();
+    if (sharedTaskContext.isRemoved() || sharedTaskContext.isAborted()) {
+      meters.getAborts().increment();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public void cancelled() {
+    getTaskMeters().getAborts().increment();
+  }
+
+  @Override
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public void rejected() {
+    getTaskMeters().getRejections().increment();
+  }
+
+  private TaskMeters getTaskMeters() {
+    return factory.getTaskMeters(sharedTaskContext.getTaskName());
+  }
+}
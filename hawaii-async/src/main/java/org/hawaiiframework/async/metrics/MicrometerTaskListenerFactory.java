@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.task.listener.TaskListenerFactory;
+
+/**
+ * Factory for the {@link MicrometerTaskListener}, it holds the meters per task name.
+ *
+ * <p>The listener factories are created while the async executors are set up, which is before the
+ * meter registry should be created. Therefore the registry is resolved from the {@code
+ * meterRegistrySupplier} when the first task is submitted. As long as there is no registry, tasks
+ * are not measured.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class MicrometerTaskListenerFactory implements TaskListenerFactory {
+
+  /** The name of the queue time timer. */
+  public static final String QUEUE_TIME = "hawaii.async.task.queue.time";
+
+  /** The name of the execution time timer. */
+  public static final String EXECUTION_TIME = "hawaii.async.task.execution.time";
+
+  /** The name of the timeout counter. */
+  public static final String TIMEOUTS = "hawaii.async.task.timeouts";
+
+  /** The name of the abort counter. */
+  public static final String ABORTS = "hawaii.async.task.aborts";
+
+  /** The name of the rejection counter. */
+  public static final String REJECTIONS = "hawaii.async.task.rejections";
+
+  /** The tag holding the task name. */
+  public static final String TASK_TAG = "task";
+
+  /** Listener used as long as there is no meter registry, it only has an order. */
+  private static final TaskListener NO_OP_LISTENER = () -> 0;
+
+  /** Supplies the meter registry, returns {@code null} if there is none. */
+  private final Supplier<MeterRegistry> meterRegistrySupplier;
+
+  /** The resolved meter registry. */
+  private final AtomicReference<MeterRegistry> meterRegistry = new AtomicReference<>();
+
+  /** The meters, per task name. */
+  private final Map<String, TaskMeters> taskMeters = new ConcurrentHashMap<>();
+
+  /**
+   * Construct an instance.
+   *
+   * @param meterRegistrySupplier supplies the meter registry, returns {@code null} if there is
+   *     none.
+   */
+  public MicrometerTaskListenerFactory(Supplier<MeterRegistry> meterRegistrySupplier) {
+    this.meterRegistrySupplier = requireNonNull(meterRegistrySupplier);
+  }
+
+  @Override
+  public TaskListener create() {
+    MeterRegistry registry = getMeterRegistry();
+    if (registry == null) {
+      return NO_OP_LISTENER;
+    }
+    return new MicrometerTaskListener(this);
+  }
+
+  private MeterRegistry getMeterRegistry() {
+    MeterRegistry registry = meterRegistry.get();
+    if (registry == null) {
+      registry = meterRegistrySupplier.get();
+      if (registry != null && !meterRegistry.compareAndSet(null, registry)) {
+        registry = meterRegistry.get();
+      }
+    }
+    return registry;
+  }
+
+  /**
+   * Get the meters for a task.
+   *
+   * @param taskName the task name.
+   * @return the meters, created on first use.
+   */
+  TaskMeters getTaskMeters(String taskName) {
+    TaskMeters meters = taskMeters.get(taskName);
+    if (meters == null) {
+      meters =
+          taskMeters.computeIfAbsent(taskName, name -> new TaskMeters(meterRegistry.get(), name));
+    }
+    return meters;
+  }
+
+  /** The meters of a single task. */
+  static final class TaskMeters {
+
+    /** The queue time timer. */
+    private final Timer queueTime;
+
+    /** The execution time timer. */
+    private final Timer executionTime;
+
+    /** The timeout counter. */
+    private final Counter timeouts;
+
+    /** The abort counter. */
+    private final Counter aborts;
+
+    /** The rejection counter. */
+    private final Counter rejections;
+
+    private TaskMeters(MeterRegistry registry, String taskName) {
+      queueTime =
+          timer(QUEUE_TIME, "Time tasks waited in the executor's queue.", taskName, registry);
+      executionTime = timer(EXECUTION_TIME, "Time tasks were running.", taskName, registry);
+      timeouts = counter(TIMEOUTS, "Number of tasks that timed out.", taskName, registry);
+      aborts =
+          counter(ABORTS, "Number of tasks removed or aborted.", taskName, registry);
+      rejections =
+          counter(REJECTIONS, "Number of tasks rejected by the executor.", taskName, registry);
+    }
+
+    private static Timer timer(
+        String name, String description, String taskName, MeterRegistry registry) {
+      return Timer.builder(name)
+          .description(description)
+          .tag(TASK_TAG, taskName)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .publishPercentileHistogram()
+          .register(registry);
+    }
+
+    private static Counter counter(
+        String name, String description, String taskName, MeterRegistry registry) {
+      return Counter.builder(name)
+          .description(description)
+          .tag(TASK_TAG, taskName)
+          .register(registry);
+    }
+
+    Timer getQueueTime() {
+      return queueTime;
+    }
+
+    Timer getExecutionTime() {
+      return executionTime;
+    }
+
+    Counter getTimeouts() {
+      return timeouts;
+    }
+
+    Counter getAborts() {
+      return aborts;
+    }
+
+    Counter getRejections() {
+      return rejections;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.model;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the auto-tuning of an executor's pool size.
+ *
+ * <p>Every {@link #interval} the arrival rate and the service time of the executor's tasks are
+ * sampled. By Little's law the number of busy threads is the arrival rate times the service time,
+ * the pool size is set to that number divided by the {@link #targetUtilization}, within the {@link
+ * #minPoolSize} and {@link #maxPoolSize}.
+ *
+ * @since 6.0.0
+ * @author Rutger Lubbers
+ */
+@SuppressWarnings("PMD.DataClass")
+public class AutoTuneProperties {
+
+  /** The interval between two adjustments. */
+  private Duration interval = Duration.ofSeconds(10);
+
+  /** The lower bound of the pool size. */
+  private Integer minPoolSize = 1;
+
+  /** The upper bound of the pool size, defaults to the executor's max pool size. */
+  private Integer maxPoolSize;
+
+  /** The fraction of the pool that is busy at the observed load, for instance {@code 0.75}. */
+  private Double targetUtilization = 0.75;
+
+  /**
+   * Getter for the interval.
+   *
+   * @return the interval
+   */
+  public Duration getInterval() {
+    return interval;
+  }
+
+  /**
+   * Setter for the interval.
+   *
+   * @param interval the interval
+   */
+  public void setInterval(Duration interval) {
+    this.interval = interval;
+  }
+
+  /**
+   * Getter for the min pool size.
+   *
+   * @return the min pool size
+   */
+  public Integer getMinPoolSize() {
+    return minPoolSize;
+  }
+
+  /**
+   * Setter for the min pool size.
+   *
+   * @param minPoolSize the min pool size
+   */
+  public void setMinPoolSize(Integer minPoolSize) {
+    this.minPoolSize = minPoolSize;
+  }
+
+  /**
+   * Getter for the max pool size.
+   *
+   * @return the max pool size, or {@code null} if not configured
+   */
+  public Integer getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /**
+   * Setter for the max pool size.
+   *
+   * @param maxPoolSize the max pool size
+   */
+  public void setMaxPoolSize(Integer maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  /**
+   * Getter for the target utilization.
+   *
+   * @return the target utilization
+   */
+  public Double getTargetUtilization() {
+    return targetUtilization;
+  }
+
+  /**
+   * Setter for the target utilization.
+   *
+   * @param targetUtilization the target utilization, between 0 (exclusive) and 1 (inclusive)
+   */
+  public void setTargetUtilization(Double targetUtilization) {
+    this.targetUtilization = targetUtilization;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "AutoTuneProperties{interval='%s', minPoolSize='%s', maxPoolSize='%s', "
+            + "targetUtilization='%s'}",
+        interval, minPoolSize, maxPoolSize, targetUtilization);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the circuit breaker of a system.
+ *
+ * <p>The circuit breaker opens if the rate of timed-out tasks of the system reaches the threshold.
+ * While open, tasks of the system are rejected. After the wait duration a limited number of trial
+ * tasks is let through, if these complete in time the circuit breaker closes again.
+ *
+ * @since 6.0.0
+ * @author Rutger Lubbers
+ */
+@SuppressWarnings("PMD.DataClass")
+public class CircuitBreakerProperties {
+
+  /** The percentage of timed-out tasks at which the circuit breaker opens. */
+  private Integer failureRateThreshold = 50;
+
+  /** The number of most recent tasks the failure rate is calculated over. */
+  private Integer slidingWindowSize = 100;
+
+  /** The minimum number of tasks before the failure rate is calculated. */
+  private Integer minimumNumberOfCalls = 20;
+
+  /**
+   * The time the circuit breaker stays open, for instance {@code 500ms} or {@code 30s}. A plain
+   * number is in seconds.
+   */
+  private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+  /** The number of trial tasks let through once the wait duration has passed. */
+  private Integer permittedCallsInHalfOpenState = 5;
+
+  /**
+   * Getter for the failure rate threshold.
+   *
+   * @return the failure rate threshold, in percent
+   */
+  public Integer getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  /**
+   * Setter for the failure rate threshold.
+   *
+   * @param failureRateThreshold the failure rate threshold, in percent
+   */
+  public void setFailureRateThreshold(Integer failureRateThreshold) {
+    this.failureRateThreshold = failureRateThreshold;
+  }
+
+  /**
+   * Getter for the sliding window size.
+   *
+   * @return the sliding window size
+   */
+  public Integer getSlidingWindowSize() {
+    return slidingWindowSize;
+  }
+
+  /**
+   * Setter for the sliding window size.
+   *
+   * @param slidingWindowSize the sliding window size
+   */
+  public void setSlidingWindowSize(Integer slidingWindowSize) {
+    this.slidingWindowSize = slidingWindowSize;
+  }
+
+  /**
+   * Getter for the minimum number of calls.
+   *
+   * @return the minimum number of calls
+   */
+  public Integer getMinimumNumberOfCalls() {
+    return minimumNumberOfCalls;
+  }
+
+  /**
+   * Setter for the minimum number of calls.
+   *
+   * @param minimumNumberOfCalls the minimum number of calls
+   */
+  public void setMinimumNumberOfCalls(Integer minimumNumberOfCalls) {
+    this.minimumNumberOfCalls = minimumNumberOfCalls;
+  }
+
+  /**
+   * Getter for the wait duration in open state.
+   *
+   * @return the wait duration
+   */
+  public Duration getWaitDurationInOpenState() {
+    return waitDurationInOpenState;
+  }
+
+  /**
+   * Setter for the wait duration in open state.
+   *
+   * @param waitDurationInOpenState the wait duration
+   */
+  public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+    this.waitDurationInOpenState = waitDurationInOpenState;
+  }
+
+  /**
+   * Setter for the wait duration in open state, in seconds.
+   *
+   * @param waitDurationInOpenState the wait duration, in seconds
+   */
+  public void setWaitDurationInOpenState(Integer waitDurationInOpenState) {
+    this.waitDurationInOpenState =
+        waitDurationInOpenState == null ? null : Duration.ofSeconds(waitDurationInOpenState);
+  }
+
+  /**
+   * Getter for the permitted calls in half open state.
+   *
+   * @return the permitted calls in half open state
+   */
+  public Integer getPermittedCallsInHalfOpenState() {
+    return permittedCallsInHalfOpenState;
+  }
+
+  /**
+   * Setter for the permitted calls in half open state.
+   *
+   * @param permittedCallsInHalfOpenState the permitted calls in half open state
+   */
+  public void setPermittedCallsInHalfOpenState(Integer permittedCallsInHalfOpenState) {
+    this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "CircuitBreakerProperties{failureRateThreshold='%s', slidingWindowSize='%s', "
+            + "minimumNumberOfCalls='%s', waitDurationInOpenState='%s', "
+            + "permittedCallsInHalfOpenState='%s'}",
+        failureRateThreshold,
+        slidingWindowSize,
+        minimumNumberOfCalls,
+        waitDurationInOpenState,
+        permittedCallsInHalfOpenState);
+  }
+}
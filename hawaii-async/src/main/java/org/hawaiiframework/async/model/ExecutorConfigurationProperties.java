@@ -16,6 +16,7 @@
 
 package org.hawaiiframework.async.model;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -60,11 +61,23 @@ public class ExecutorConfigurationProperties {
    *
    * <p>This is the fallback in case no timeout is specified on either system or call.
    */
-  private Integer defaultTimeout = 10;
+  private Duration defaultTimeout = Duration.ofSeconds(10);
 
   /** The (core) pool size of the async task timeout executor. */
   private Integer asyncTimeoutExecutorPoolSize = 4;
 
+  /**
+   * The scheduler for the timeout guard tasks, either {@code executor} (default) or {@code
+   * hashed-wheel}.
+   */
+  private String asyncTimeoutScheduler;
+
+  /** The tick duration of the hashed wheel timeout scheduler, in milliseconds. */
+  private Integer asyncTimeoutWheelTickDuration = 10;
+
+  /** The number of buckets of the hashed wheel timeout scheduler. */
+  private Integer asyncTimeoutWheelSize = 512;
+
   /** The configured executors. */
   private List<ExecutorProperties> executors = new ArrayList<>();
 
@@ -94,7 +107,7 @@ public class ExecutorConfigurationProperties {
    *
    * @return the default timeout
    */
-  public Integer getDefaultTimeout() {
+  public Duration getDefaultTimeout() {
     return defaultTimeout;
   }
 
@@ -103,10 +116,19 @@ public class ExecutorConfigurationProperties {
    *
    * @param defaultTimeout the default timeout
    */
-  public void setDefaultTimeout(Integer defaultTimeout) {
+  public void setDefaultTimeout(Duration defaultTimeout) {
     this.defaultTimeout = defaultTimeout;
   }
 
+  /**
+   * Setter for the default timeout, in seconds.
+   *
+   * @param defaultTimeout the default timeout, in seconds
+   */
+  public void setDefaultTimeout(Integer defaultTimeout) {
+    this.defaultTimeout = defaultTimeout == null ? null : Duration.ofSeconds(defaultTimeout);
+  }
+
   /**
    * Getter for the async task timeout executor pool size.
    *
@@ -125,6 +147,69 @@ public class ExecutorConfigurationProperties {
     this.asyncTimeoutExecutorPoolSize = asyncTimeoutExecutorPoolSize;
   }
 
+  /**
+   * Getter for the async timeout scheduler.
+   *
+   * @return the async timeout scheduler.
+   */
+  public String getAsyncTimeoutScheduler() {
+    return asyncTimeoutScheduler;
+  }
+
+  /**
+   * Setter for the async timeout scheduler.
+   *
+   * @param asyncTimeoutScheduler the async timeout scheduler to set.
+   */
+  public void setAsyncTimeoutScheduler(String asyncTimeoutScheduler) {
+    this.asyncTimeoutScheduler = asyncTimeoutScheduler;
+  }
+
+  /**
+   * Get the type of the async timeout scheduler.
+   *
+   * @return the timeout scheduler type, defaults to {@link TimeoutSchedulerType#EXECUTOR}.
+   */
+  public TimeoutSchedulerType getTimeoutSchedulerType() {
+    return TimeoutSchedulerType.fromValue(asyncTimeoutScheduler);
+  }
+
+  /**
+   * Getter for the tick duration of the hashed wheel timeout scheduler.
+   *
+   * @return the tick duration, in milliseconds.
+   */
+  public Integer getAsyncTimeoutWheelTickDuration() {
+    return asyncTimeoutWheelTickDuration;
+  }
+
+  /**
+   * Setter for the tick duration of the hashed wheel timeout scheduler.
+   *
+   * @param asyncTimeoutWheelTickDuration the tick duration to set, in milliseconds.
+   */
+  public void setAsyncTimeoutWheelTickDuration(Integer asyncTimeoutWheelTickDuration) {
+    this.asyncTimeoutWheelTickDuration = asyncTimeoutWheelTickDuration;
+  }
+
+  /**
+   * Getter for the number of buckets of the hashed wheel timeout scheduler.
+   *
+   * @return the wheel size.
+   */
+  public Integer getAsyncTimeoutWheelSize() {
+    return asyncTimeoutWheelSize;
+  }
+
+  /**
+   * Setter for the number of buckets of the hashed wheel timeout scheduler.
+   *
+   * @param asyncTimeoutWheelSize the wheel size to set.
+   */
+  public void setAsyncTimeoutWheelSize(Integer asyncTimeoutWheelSize) {
+    this.asyncTimeoutWheelSize = asyncTimeoutWheelSize;
+  }
+
   /**
    * Getter for the executors.
    *
@@ -196,12 +281,12 @@ public class ExecutorConfigurationProperties {
    * @return the timeout, or null if the task or system doesn't exist
    */
   @SuppressWarnings("PMD.LawOfDemeter")
-  public Integer getTaskTimeout(String taskName) {
+  public Duration getTaskTimeout(String taskName) {
     String[] parts = taskName.split(SEPARATOR);
 
     SystemProperties systemProperties = getSystemPropertiesForName(parts[0]);
 
-    Integer timeout = null;
+    Duration timeout = null;
 
     if (systemProperties != null) {
       TaskProperties taskProperties = systemProperties.getTaskPropertiesForName(parts[1]);
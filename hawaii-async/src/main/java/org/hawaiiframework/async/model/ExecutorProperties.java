@@ -16,6 +16,8 @@
 
 package org.hawaiiframework.async.model;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for a single executor.
  *
@@ -34,6 +36,18 @@ public class ExecutorProperties {
    */
   private String name;
 
+  /**
+   * The executor type, either {@code thread-pool} (default) or {@code virtual}.
+   *
+   * <p>For a {@code virtual} executor each task runs on its own virtual thread. The {@link
+   * #maxPoolSize} then limits the number of concurrently running tasks and {@link
+   * #maxPendingRequests} limits the number of tasks waiting for a permit. The {@link #corePoolSize}
+   * and {@link #keepAliveTime} are ignored.
+   *
+   * @see ExecutorType
+   */
+  private String type;
+
   /** The core pool size. */
   private Integer corePoolSize;
 
@@ -58,6 +72,31 @@ public class ExecutorProperties {
    */
   private Integer maxPoolSize;
 
+  /**
+   * Whether the queued tasks are run in order of their priority instead of FIFO, see {@link
+   * TaskProperties#getPriority()}.
+   *
+   * <p>Only applies to {@code thread-pool} executors with a queue.
+   */
+  private Boolean prioritized;
+
+  /**
+   * The aging of the queued tasks of a prioritized executor: the time a task is moved ahead in the
+   * queue per priority. A task is not overtaken by tasks of a higher priority that arrive after it
+   * has waited this time per difference in priority.
+   */
+  private Duration priorityAging = Duration.ofSeconds(1);
+
+  /**
+   * The auto-tuning of the pool size, {@code null} if the pool size is fixed.
+   *
+   * <p>For a {@code thread-pool} executor the core pool size is tuned, for a {@code virtual}
+   * executor the concurrency limit.
+   *
+   * @see org.hawaiiframework.async.tuning.ExecutorAutoTuner
+   */
+  private AutoTuneProperties autoTune;
+
   /**
    * Getter for name.
    *
@@ -76,6 +115,33 @@ public class ExecutorProperties {
     this.name = name;
   }
 
+  /**
+   * Getter for the executor type.
+   *
+   * @return the executor type
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Setter for the executor type.
+   *
+   * @param type the executor type
+   */
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  /**
+   * Get the parsed executor type.
+   *
+   * @return the executor type, defaults to {@link ExecutorType#THREAD_POOL}
+   */
+  public ExecutorType getExecutorType() {
+    return ExecutorType.fromValue(type);
+  }
+
   /**
    * Getter for core pool size.
    *
@@ -148,11 +214,66 @@ public class ExecutorProperties {
     this.maxPoolSize = maxPoolSize;
   }
 
+  /**
+   * Getter for prioritized.
+   *
+   * @return whether the queued tasks are run in order of their priority, may be {@code null}
+   */
+  public Boolean getPrioritized() {
+    return prioritized;
+  }
+
+  /**
+   * Setter for prioritized.
+   *
+   * @param prioritized whether the queued tasks are run in order of their priority
+   */
+  public void setPrioritized(Boolean prioritized) {
+    this.prioritized = prioritized;
+  }
+
+  /**
+   * Getter for the priority aging.
+   *
+   * @return the priority aging
+   */
+  public Duration getPriorityAging() {
+    return priorityAging;
+  }
+
+  /**
+   * Setter for the priority aging.
+   *
+   * @param priorityAging the priority aging
+   */
+  public void setPriorityAging(Duration priorityAging) {
+    this.priorityAging = priorityAging;
+  }
+
+  /**
+   * Getter for the auto-tuning.
+   *
+   * @return the auto-tuning, or {@code null} if the pool size is fixed
+   */
+  public AutoTuneProperties getAutoTune() {
+    return autoTune;
+  }
+
+  /**
+   * Setter for the auto-tuning.
+   *
+   * @param autoTune the auto-tuning
+   */
+  public void setAutoTune(AutoTuneProperties autoTune) {
+    this.autoTune = autoTune;
+  }
+
   @Override
   public String toString() {
     return String.format(
-        "%s (core size '%s', max size '%s', max pending '%s', keep alive '%s')",
+        "%s (type '%s', core size '%s', max size '%s', max pending '%s', keep alive '%s')",
         getName(),
+        getExecutorType(),
         getCorePoolSize(),
         getMaxPoolSize(),
         getMaxPendingRequests(),
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+import org.hawaiiframework.exception.HawaiiException;
+
+/**
+ * The type of executor to create for an {@link ExecutorProperties} definition.
+ *
+ * @since 6.0.0
+ */
+public enum ExecutorType {
+
+  /**
+   * A bounded pool of platform threads with a queue, see {@link
+   * org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor}.
+   */
+  THREAD_POOL,
+
+  /**
+   * One virtual thread per task, with the number of concurrently running tasks limited by a
+   * semaphore. Requires Java 21 or newer at runtime.
+   */
+  VIRTUAL;
+
+  /**
+   * Parse the configured executor type.
+   *
+   * <p>The value is matched case-insensitive, dashes are treated as underscores, so {@code
+   * thread-pool} and {@code THREAD_POOL} are equivalent. A blank value results in {@link
+   * #THREAD_POOL}.
+   *
+   * @param value the configured value
+   * @return the executor type
+   */
+  public static ExecutorType fromValue(String value) {
+    if (StringUtils.isBlank(value)) {
+      return THREAD_POOL;
+    }
+    String normalized = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    for (ExecutorType type : values()) {
+      if (type.name().equals(normalized)) {
+        return type;
+      }
+    }
+    throw new HawaiiException(String.format("Unknown executor type '%s'.", value));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.model;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the hedging policy of a task.
+ *
+ * <p>If a task has not completed after the hedge delay, another attempt is submitted. The first
+ * attempt to complete wins, the others are cancelled. Only configure hedging for idempotent tasks.
+ *
+ * <p>The delay is either fixed, or the observed {@link #percentile} of the task's latency. Until
+ * {@link #minimumNumberOfCalls} latencies have been observed, the fixed {@link #delay} is used, if
+ * configured.
+ *
+ * @since 6.0.0
+ * @author Rutger Lubbers
+ */
+@SuppressWarnings("PMD.DataClass")
+public class HedgeProperties {
+
+  /** The fixed delay after which another attempt is submitted, for instance {@code 50ms}. */
+  private Duration delay;
+
+  /** The percentile of the observed latencies to use as delay, for instance {@code 95}. */
+  private Double percentile;
+
+  /** The number of most recent latencies the percentile is calculated over. */
+  private Integer slidingWindowSize = 100;
+
+  /** The minimum number of observed latencies before the percentile is used. */
+  private Integer minimumNumberOfCalls = 20;
+
+  /** The maximum number of attempts, including the first. */
+  private Integer maxAttempts = 2;
+
+  /**
+   * Getter for the delay.
+   *
+   * @return the fixed delay, or {@code null} if not configured
+   */
+  public Duration getDelay() {
+    return delay;
+  }
+
+  /**
+   * Setter for the delay.
+   *
+   * @param delay the fixed delay
+   */
+  public void setDelay(Duration delay) {
+    this.delay = delay;
+  }
+
+  /**
+   * Getter for the percentile.
+   *
+   * @return the percentile, or {@code null} if not configured
+   */
+  public Double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Setter for the percentile.
+   *
+   * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+   */
+  public void setPercentile(Double percentile) {
+    this.percentile = percentile;
+  }
+
+  /**
+   * Getter for the sliding window size.
+   *
+   * @return the sliding window size
+   */
+  public Integer getSlidingWindowSize() {
+    return slidingWindowSize;
+  }
+
+  /**
+   * Setter for the sliding window size.
+   *
+   * @param slidingWindowSize the sliding window size
+   */
+  public void setSlidingWindowSize(Integer slidingWindowSize) {
+    this.slidingWindowSize = slidingWindowSize;
+  }
+
+  /**
+   * Getter for the minimum number of calls.
+   *
+   * @return the minimum number of calls
+   */
+  public Integer getMinimumNumberOfCalls() {
+    return minimumNumberOfCalls;
+  }
+
+  /**
+   * Setter for the minimum number of calls.
+   *
+   * @param minimumNumberOfCalls the minimum number of calls
+   */
+  public void setMinimumNumberOfCalls(Integer minimumNumberOfCalls) {
+    this.minimumNumberOfCalls = minimumNumberOfCalls;
+  }
+
+  /**
+   * Getter for the maximum number of attempts.
+   *
+   * @return the maximum number of attempts
+   */
+  public Integer getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Setter for the maximum number of attempts.
+   *
+   * @param maxAttempts the maximum number of attempts, including the first
+   */
+  public void setMaxAttempts(Integer maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "HedgeProperties{delay='%s', percentile='%s', maxAttempts='%s'}",
+        delay, percentile, maxAttempts);
+  }
+}
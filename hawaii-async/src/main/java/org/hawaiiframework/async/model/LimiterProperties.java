@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+/**
+ * Configuration of an adaptive concurrency limiter for a system or task.
+ *
+ * <p>The limiter estimates the number of tasks that can be in flight (queued or running) from the
+ * observed task times. Tasks submitted beyond this limit are rejected immediately, instead of being
+ * queued until they time out.
+ *
+ * @since 6.0.0
+ * @author Rutger Lubbers
+ */
+@SuppressWarnings("PMD.DataClass")
+public class LimiterProperties {
+
+  /** The limiter type, either {@code aimd} (default) or {@code gradient}. */
+  private String type;
+
+  /** The initial limit. */
+  private Integer initialLimit = 20;
+
+  /** The minimum limit. */
+  private Integer minLimit = 1;
+
+  /** The maximum limit. */
+  private Integer maxLimit = 1000;
+
+  /** The factor the {@code aimd} limit is multiplied with when a task times out. */
+  private Double backoffRatio = 0.9;
+
+  /** The weight of a new {@code gradient} limit, relative to the current limit. */
+  private Double smoothing = 0.2;
+
+  /**
+   * Getter for the type.
+   *
+   * @return the type
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Setter for the type.
+   *
+   * @param type the type
+   */
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  /**
+   * Get the limiter type.
+   *
+   * @return the limiter type, defaults to {@link LimiterType#AIMD}.
+   */
+  public LimiterType getLimiterType() {
+    return LimiterType.fromValue(type);
+  }
+
+  /**
+   * Getter for the initial limit.
+   *
+   * @return the initial limit
+   */
+  public Integer getInitialLimit() {
+    return initialLimit;
+  }
+
+  /**
+   * Setter for the initial limit.
+   *
+   * @param initialLimit the initial limit
+   */
+  public void setInitialLimit(Integer initialLimit) {
+    this.initialLimit = initialLimit;
+  }
+
+  /**
+   * Getter for the minimum limit.
+   *
+   * @return the minimum limit
+   */
+  public Integer getMinLimit() {
+    return minLimit;
+  }
+
+  /**
+   * Setter for the minimum limit.
+   *
+   * @param minLimit the minimum limit
+   */
+  public void setMinLimit(Integer minLimit) {
+    this.minLimit = minLimit;
+  }
+
+  /**
+   * Getter for the maximum limit.
+   *
+   * @return the maximum limit
+   */
+  public Integer getMaxLimit() {
+    return maxLimit;
+  }
+
+  /**
+   * Setter for the maximum limit.
+   *
+   * @param maxLimit the maximum limit
+   */
+  public void setMaxLimit(Integer maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  /**
+   * Getter for the backoff ratio.
+   *
+   * @return the backoff ratio
+   */
+  public Double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * Setter for the backoff ratio.
+   *
+   * @param backoffRatio the backoff ratio
+   */
+  public void setBackoffRatio(Double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+  }
+
+  /**
+   * Getter for the smoothing.
+   *
+   * @return the smoothing
+   */
+  public Double getSmoothing() {
+    return smoothing;
+  }
+
+  /**
+   * Setter for the smoothing.
+   *
+   * @param smoothing the smoothing
+   */
+  public void setSmoothing(Double smoothing) {
+    this.smoothing = smoothing;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "LimiterProperties{type='%s', initialLimit='%s', minLimit='%s', maxLimit='%s'}",
+        type, initialLimit, minLimit, maxLimit);
+  }
+}
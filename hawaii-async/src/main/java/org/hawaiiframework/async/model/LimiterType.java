@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+import org.hawaiiframework.exception.HawaiiException;
+
+/**
+ * The type of adaptive concurrency limiter, see {@link LimiterProperties#getType()}.
+ *
+ * @since 6.0.0
+ */
+public enum LimiterType {
+
+  /**
+   * Additive increase, multiplicative decrease, see {@link
+   * org.hawaiiframework.async.limit.AimdConcurrencyLimiter}.
+   */
+  AIMD,
+
+  /**
+   * Gradient of the long term and the current task times, see {@link
+   * org.hawaiiframework.async.limit.GradientConcurrencyLimiter}.
+   */
+  GRADIENT;
+
+  /**
+   * Parse the configured limiter type.
+   *
+   * <p>The value is matched case-insensitive. A blank value results in {@link #AIMD}.
+   *
+   * @param value the configured value
+   * @return the limiter type
+   */
+  public static LimiterType fromValue(String value) {
+    if (StringUtils.isBlank(value)) {
+      return AIMD;
+    }
+    String normalized = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    for (LimiterType type : values()) {
+      if (type.name().equals(normalized)) {
+        return type;
+      }
+    }
+    throw new HawaiiException(String.format("Unknown limiter type '%s'.", value));
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the retry policy of a task.
+ *
+ * <p>A failed attempt is retried after an exponential backoff with jitter. The backoff is scheduled
+ * on the timeout scheduler, so no executor thread is held while waiting.
+ *
+ * @since 6.0.0
+ * @author Rutger Lubbers
+ */
+@SuppressWarnings("PMD.DataClass")
+public class RetryProperties {
+
+  /** The maximum number of attempts, including the first. */
+  private Integer maxAttempts = 3;
+
+  /** The backoff before the first retry. */
+  private Duration initialBackoff = Duration.ofMillis(100);
+
+  /** The factor the backoff is multiplied with for each next retry. */
+  private Double multiplier = 2.0;
+
+  /** The maximum backoff. */
+  private Duration maxBackoff = Duration.ofSeconds(2);
+
+  /** The jitter, the fraction of the backoff it is randomly varied with, between 0 and 1. */
+  private Double jitter = 0.5;
+
+  /**
+   * The fully qualified class names of the exceptions to retry on, subclasses included.
+   *
+   * <p>If empty, all exceptions are retried.
+   */
+  private List<String> retryOn = new ArrayList<>();
+
+  /**
+   * Getter for the maximum number of attempts.
+   *
+   * @return the maximum number of attempts
+   */
+  public Integer getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Setter for the maximum number of attempts.
+   *
+   * @param maxAttempts the maximum number of attempts, including the first
+   */
+  public void setMaxAttempts(Integer maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Getter for the initial backoff.
+   *
+   * @return the backoff before the first retry
+   */
+  public Duration getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  /**
+   * Setter for the initial backoff.
+   *
+   * @param initialBackoff the backoff before the first retry
+   */
+  public void setInitialBackoff(Duration initialBackoff) {
+    this.initialBackoff = initialBackoff;
+  }
+
+  /**
+   * Getter for the multiplier.
+   *
+   * @return the multiplier
+   */
+  public Double getMultiplier() {
+    return multiplier;
+  }
+
+  /**
+   * Setter for the multiplier.
+   *
+   * @param multiplier the multiplier
+   */
+  public void setMultiplier(Double multiplier) {
+    this.multiplier = multiplier;
+  }
+
+  /**
+   * Getter for the maximum backoff.
+   *
+   * @return the maximum backoff
+   */
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  /**
+   * Setter for the maximum backoff.
+   *
+   * @param maxBackoff the maximum backoff
+   */
+  public void setMaxBackoff(Duration maxBackoff) {
+    this.maxBackoff = maxBackoff;
+  }
+
+  /**
+   * Getter for the jitter.
+   *
+   * @return the jitter
+   */
+  public Double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * Setter for the jitter.
+   *
+   * @param jitter the jitter, between 0 and 1
+   */
+  public void setJitter(Double jitter) {
+    this.jitter = jitter;
+  }
+
+  /**
+   * Getter for the exceptions to retry on.
+   *
+   * @return the fully qualified class names
+   */
+  public List<String> getRetryOn() {
+    return retryOn;
+  }
+
+  /**
+   * Setter for the exceptions to retry on.
+   *
+   * @param retryOn the fully qualified class names
+   */
+  public void setRetryOn(List<String> retryOn) {
+    this.retryOn = retryOn;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "RetryProperties{maxAttempts='%s', initialBackoff='%s', multiplier='%s', maxBackoff='%s',"
+            + " jitter='%s', retryOn='%s'}",
+        maxAttempts, initialBackoff, multiplier, maxBackoff, jitter, retryOn);
+  }
+}
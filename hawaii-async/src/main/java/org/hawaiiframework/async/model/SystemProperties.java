@@ -16,6 +16,7 @@
 
 package org.hawaiiframework.async.model;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,7 +41,26 @@ public class SystemProperties {
   private String defaultExecutor;
 
   /** The default timeout. */
-  private Integer defaultTimeout;
+  private Duration defaultTimeout;
+
+  /**
+   * The default adaptive concurrency limiter, optional.
+   *
+   * <p>Each task of the system gets its own limiter with this configuration, unless the task
+   * configures a limiter itself.
+   */
+  private LimiterProperties limiter;
+
+  /**
+   * The maximum number of tasks of this system in flight (queued or running), optional.
+   *
+   * <p>This bulkhead is shared by all tasks of the system and is independent of the executors'
+   * pool sizes, so a slow system cannot take all threads of a shared executor.
+   */
+  private Integer maxConcurrentTasks;
+
+  /** The circuit breaker of this system, optional. */
+  private CircuitBreakerProperties circuitBreaker;
 
   /** The tasks. */
   private List<TaskProperties> tasks = new ArrayList<>();
@@ -86,7 +106,7 @@ public class SystemProperties {
    *
    * @return the default timeout
    */
-  public Integer getDefaultTimeout() {
+  public Duration getDefaultTimeout() {
     return defaultTimeout;
   }
 
@@ -95,10 +115,73 @@ public class SystemProperties {
    *
    * @param defaultTimeout the default timeout
    */
-  public void setDefaultTimeout(Integer defaultTimeout) {
+  public void setDefaultTimeout(Duration defaultTimeout) {
     this.defaultTimeout = defaultTimeout;
   }
 
+  /**
+   * Setter for the default timeout, in seconds.
+   *
+   * @param defaultTimeout the default timeout, in seconds
+   */
+  public void setDefaultTimeout(Integer defaultTimeout) {
+    this.defaultTimeout = defaultTimeout == null ? null : Duration.ofSeconds(defaultTimeout);
+  }
+
+  /**
+   * Getter for the limiter.
+   *
+   * @return the limiter, or {@code null} if not configured
+   */
+  public LimiterProperties getLimiter() {
+    return limiter;
+  }
+
+  /**
+   * Setter for the limiter.
+   *
+   * @param limiter the limiter
+   */
+  public void setLimiter(LimiterProperties limiter) {
+    this.limiter = limiter;
+  }
+
+  /**
+   * Getter for the maximum number of concurrent tasks.
+   *
+   * @return the maximum number of concurrent tasks, or {@code null} if not configured
+   */
+  public Integer getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  /**
+   * Setter for the maximum number of concurrent tasks.
+   *
+   * @param maxConcurrentTasks the maximum number of concurrent tasks
+   */
+  public void setMaxConcurrentTasks(Integer maxConcurrentTasks) {
+    this.maxConcurrentTasks = maxConcurrentTasks;
+  }
+
+  /**
+   * Getter for the circuit breaker.
+   *
+   * @return the circuit breaker, or {@code null} if not configured
+   */
+  public CircuitBreakerProperties getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Setter for the circuit breaker.
+   *
+   * @param circuitBreaker the circuit breaker
+   */
+  public void setCircuitBreaker(CircuitBreakerProperties circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
   /**
    * Getter for the tasks.
    *
@@ -16,6 +16,8 @@
 
 package org.hawaiiframework.async.model;
 
+import java.time.Duration;
+
 /**
  * Properties representing configuration for an individual task.
  *
@@ -33,11 +35,54 @@ public class TaskProperties {
   private String executor;
 
   /**
-   * The timeout for this task in seconds.
+   * The timeout for this task, for instance {@code 250ms} or {@code 2s}. A plain number is in
+   * seconds.
    *
    * <p>Overrides the system timeout, see {@link SystemProperties#defaultTimeout}.
    */
-  private Integer timeout;
+  private Duration timeout;
+
+  /**
+   * The adaptive concurrency limiter for this task, optional.
+   *
+   * <p>Overrides the system limiter, see {@link SystemProperties#getLimiter()}.
+   */
+  private LimiterProperties limiter;
+
+  /**
+   * Whether concurrent invocations of this task with equal arguments share one execution.
+   *
+   * <p>Only applies to {@code @Async} methods that return a {@link
+   * java.util.concurrent.CompletableFuture}, see {@link
+   * org.hawaiiframework.async.coalesce.SingleFlightInterceptor}.
+   */
+  private Boolean singleFlight;
+
+  /**
+   * The hedging policy of this task, optional. Only configure hedging for idempotent tasks.
+   *
+   * <p>Only applies to {@code @Async} methods that return a {@link
+   * java.util.concurrent.CompletableFuture}, see {@link
+   * org.hawaiiframework.async.hedge.HedgingInterceptor}.
+   */
+  private HedgeProperties hedge;
+
+  /**
+   * The retry policy of this task, optional.
+   *
+   * <p>Only applies to {@code @Async} methods that return a {@link
+   * java.util.concurrent.CompletableFuture}, see {@link
+   * org.hawaiiframework.async.retry.RetryInterceptor}.
+   */
+  private RetryProperties retry;
+
+  /**
+   * The priority of this task, optional, defaults to {@code 0}.
+   *
+   * <p>Only applies to executors with a priority queue, see {@link
+   * ExecutorProperties#getPrioritized()}. Queued tasks with a higher priority are run first.
+   */
+  private Integer priority;
 
   /**
    * Getter for method name.
@@ -80,7 +125,7 @@ public class TaskProperties {
    *
    * @return the timeout
    */
-  public Integer getTimeout() {
+  public Duration getTimeout() {
     return timeout;
   }
 
@@ -89,10 +134,109 @@ public class TaskProperties {
    *
    * @param timeout the timeout
    */
-  public void setTimeout(Integer timeout) {
+  public void setTimeout(Duration timeout) {
     this.timeout = timeout;
   }
 
+  /**
+   * Setter for timeout, in seconds.
+   *
+   * @param timeout the timeout, in seconds
+   */
+  public void setTimeout(Integer timeout) {
+    this.timeout = timeout == null ? null : Duration.ofSeconds(timeout);
+  }
+
+  /**
+   * Getter for the limiter.
+   *
+   * @return the limiter, or {@code null} if not configured
+   */
+  public LimiterProperties getLimiter() {
+    return limiter;
+  }
+
+  /**
+   * Setter for the limiter.
+   *
+   * @param limiter the limiter
+   */
+  public void setLimiter(LimiterProperties limiter) {
+    this.limiter = limiter;
+  }
+
+  /**
+   * Getter for single flight.
+   *
+   * @return the single flight setting, or {@code null} if not configured
+   */
+  public Boolean getSingleFlight() {
+    return singleFlight;
+  }
+
+  /**
+   * Setter for single flight.
+   *
+   * @param singleFlight whether concurrent invocations with equal arguments share one execution
+   */
+  public void setSingleFlight(Boolean singleFlight) {
+    this.singleFlight = singleFlight;
+  }
+
+  /**
+   * Getter for the hedging policy.
+   *
+   * @return the hedging policy, or {@code null} if not configured
+   */
+  public HedgeProperties getHedge() {
+    return hedge;
+  }
+
+  /**
+   * Setter for the hedging policy.
+   *
+   * @param hedge the hedging policy
+   */
+  public void setHedge(HedgeProperties hedge) {
+    this.hedge = hedge;
+  }
+
+  /**
+   * Getter for the retry policy.
+   *
+   * @return the retry policy, or {@code null} if not configured
+   */
+  public RetryProperties getRetry() {
+    return retry;
+  }
+
+  /**
+   * Setter for the retry policy.
+   *
+   * @param retry the retry policy
+   */
+  public void setRetry(RetryProperties retry) {
+    this.retry = retry;
+  }
+
+  /**
+   * Getter for the priority.
+   *
+   * @return the priority, or {@code null} if not configured
+   */
+  public Integer getPriority() {
+    return priority;
+  }
+
+  /**
+   * Setter for the priority.
+   *
+   * @param priority the priority, higher priorities are run first
+   */
+  public void setPriority(Integer priority) {
+    this.priority = priority;
+  }
+
   /**
    * Determine if this TaskProperties' name matches the given name.
    *
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+import java.time.Duration;
+import org.hawaiiframework.async.resilience.SystemGuard;
+
+/**
+ * The resolved configuration of a single task, as compiled into the {@link TaskRoutingTable}.
+ *
+ * <p>The values are resolved once, at startup, from the task, its system and the global defaults,
+ * so reading them while submitting a task is a plain field read.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class TaskRoute {
+
+  /** The task name, formatted as {@code {system}.{task}}. */
+  private final String taskName;
+
+  /** The name of the executor that runs the task. */
+  private final String executorName;
+
+  /** The timeout of the task. */
+  private final Duration timeout;
+
+  /** The concurrency limiter configuration of the task, {@code null} if not limited. */
+  private final LimiterProperties limiter;
+
+  /** The bulkhead and circuit breaker of the task's system, {@code null} if not configured. */
+  private final SystemGuard systemGuard;
+
+  /** Whether concurrent invocations with equal arguments share one execution. */
+  private final boolean singleFlight;
+
+  /** The hedging policy of the task, {@code null} if not hedged. */
+  private final HedgeProperties hedge;
+
+  /** The retry policy of the task, {@code null} if not retried. */
+  private final RetryProperties retry;
+
+  /** The priority of the task in the executor's queue. */
+  private final int priority;
+
+  private TaskRoute(Builder builder) {
+    this.taskName = builder.taskName;
+    this.executorName = builder.executorName;
+    this.timeout = builder.timeout;
+    this.limiter = builder.limiter;
+    this.systemGuard = builder.systemGuard;
+    this.singleFlight = builder.singleFlight;
+    this.hedge = builder.hedge;
+    this.retry = builder.retry;
+    this.priority = builder.priority;
+  }
+
+  /**
+   * Create a builder for a route, without a limiter, system guard and policies.
+   *
+   * @param taskName the task name
+   * @param executorName the name of the executor that runs the task
+   * @param timeout the timeout of the task
+   * @return the builder
+   */
+  public static Builder builder(String taskName, String executorName, Duration timeout) {
+    return new Builder(taskName, executorName, timeout);
+  }
+
+  /**
+   * Getter for the task name.
+   *
+   * @return the task name
+   */
+  public String getTaskName() {
+    return taskName;
+  }
+
+  /**
+   * Getter for the executor name.
+   *
+   * @return the name of the executor that runs the task
+   */
+  public String getExecutorName() {
+    return executorName;
+  }
+
+  /**
+   * Getter for the timeout.
+   *
+   * @return the timeout of the task
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Getter for the limiter.
+   *
+   * @return the concurrency limiter configuration, or {@code null} if the task is not limited
+   */
+  public LimiterProperties getLimiter() {
+    return limiter;
+  }
+
+  /**
+   * Getter for the system guard.
+   *
+   * @return the bulkhead and circuit breaker of the task's system, or {@code null} if the system
+   *     is not guarded
+   */
+  public SystemGuard getSystemGuard() {
+    return systemGuard;
+  }
+
+  /**
+   * Whether the task is a single flight task.
+   *
+   * @return {@code true} if concurrent invocations with equal arguments share one execution
+   */
+  public boolean isSingleFlight() {
+    return singleFlight;
+  }
+
+  /**
+   * Getter for the hedging policy.
+   *
+   * @return the hedging policy, or {@code null} if the task is not hedged
+   */
+  public HedgeProperties getHedge() {
+    return hedge;
+  }
+
+  /**
+   * Getter for the retry policy.
+   *
+   * @return the retry policy, or {@code null} if the task is not retried
+   */
+  public RetryProperties getRetry() {
+    return retry;
+  }
+
+  /**
+   * Getter for the priority.
+   *
+   * @return the priority of the task in the executor's queue, higher priorities are run first
+   */
+  public int getPriority() {
+    return priority;
+  }
+
+  /**
+   * Return a copy of this route, with another executor and timeout.
+   *
+   * <p>This is used when the async configuration is reloaded, the other settings of the route keep
+   * their state and are not reloaded.
+   *
+   * @param executorName the name of the executor that runs the task
+   * @param timeout the timeout of the task
+   * @return the new route
+   */
+  public TaskRoute withExecutorAndTimeout(String executorName, Duration timeout) {
+    return builder(taskName, executorName, timeout)
+        .withLimiter(limiter)
+        .withSystemGuard(systemGuard)
+        .withSingleFlight(singleFlight)
+        .withHedge(hedge)
+        .withRetry(retry)
+        .withPriority(priority)
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "TaskRoute{taskName='%s', executorName='%s', timeout='%s', limiter='%s', "
+            + "singleFlight='%s', hedge='%s', retry='%s', priority='%s'}",
+        taskName, executorName, timeout, limiter, singleFlight, hedge, retry, priority);
+  }
+
+  /** Builder for a {@link TaskRoute}, the optional settings default to not configured. */
+  public static final class Builder {
+
+    /** The task name. */
+    private final String taskName;
+
+    /** The name of the executor that runs the task. */
+    private final String executorName;
+
+    /** The timeout of the task. */
+    private final Duration timeout;
+
+    /** The concurrency limiter configuration. */
+    private LimiterProperties limiter;
+
+    /** The guard of the task's system. */
+    private SystemGuard systemGuard;
+
+    /** Whether concurrent invocations with equal arguments share one execution. */
+    private boolean singleFlight;
+
+    /** The hedging policy. */
+    private HedgeProperties hedge;
+
+    /** The retry policy. */
+    private RetryProperties retry;
+
+    /** The priority of the task in the executor's queue. */
+    private int priority;
+
+    private Builder(String taskName, String executorName, Duration timeout) {
+      this.taskName = taskName;
+      this.executorName = executorName;
+      this.timeout = timeout;
+    }
+
+    /**
+     * Set the concurrency limiter configuration.
+     *
+     * @param limiter the limiter configuration, may be {@code null}
+     * @return this builder
+     */
+    public Builder withLimiter(LimiterProperties limiter) {
+      this.limiter = limiter;
+      return this;
+    }
+
+    /**
+     * Set the guard of the task's system.
+     *
+     * @param systemGuard the bulkhead and circuit breaker of the system, may be {@code null}
+     * @return this builder
+     */
+    public Builder withSystemGuard(SystemGuard systemGuard) {
+      this.systemGuard = systemGuard;
+      return this;
+    }
+
+    /**
+     * Set whether the task is a single flight task.
+     *
+     * @param singleFlight whether concurrent invocations with equal arguments share one execution
+     * @return this builder
+     */
+    public Builder withSingleFlight(boolean singleFlight) {
+      this.singleFlight = singleFlight;
+      return this;
+    }
+
+    /**
+     * Set the hedging policy.
+     *
+     * @param hedge the hedging policy, may be {@code null}
+     * @return this builder
+     */
+    public Builder withHedge(HedgeProperties hedge) {
+      this.hedge = hedge;
+      return this;
+    }
+
+    /**
+     * Set the retry policy.
+     *
+     * @param retry the retry policy, may be {@code null}
+     * @return this builder
+     */
+    public Builder withRetry(RetryProperties retry) {
+      this.retry = retry;
+      return this;
+    }
+
+    /**
+     * Set the priority of the task in the executor's queue.
+     *
+     * @param priority the priority, higher priorities are run first
+     * @return this builder
+     */
+    public Builder withPriority(int priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    /**
+     * Build the route.
+     *
+     * @return the route
+     */
+    public TaskRoute build() {
+      return new TaskRoute(this);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.hawaiiframework.async.resilience.SystemGuard;
+
+/**
+ * The immutable routing table of the configured tasks, compiled from the {@link
+ * ExecutorConfigurationProperties} at startup.
+ *
+ * <p>For every configured task the table holds a {@link TaskRoute}, indexed by the task name. This
+ * avoids splitting the task name and scanning the configured systems and tasks every time a task is
+ * submitted, see {@link ExecutorConfigurationProperties#getTaskTimeout(String)}.
+ *
+ * <p>The {@link SystemGuard} of a system is created here as well, so all tasks of the system share
+ * the same bulkhead and circuit breaker.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class TaskRoutingTable {
+
+  /** The configuration properties, used for tasks that are not configured. */
+  private final ExecutorConfigurationProperties properties;
+
+  /** The routes, keyed by task name. */
+  private final Map<String, TaskRoute> routes;
+
+  /**
+   * Compile the routing table from the configuration properties.
+   *
+   * @param properties the configuration properties
+   */
+  public TaskRoutingTable(ExecutorConfigurationProperties properties) {
+    this.properties = properties;
+    this.routes = compile(properties);
+  }
+
+  @SuppressWarnings("PMD.LawOfDemeter")
+  private static Map<String, TaskRoute> compile(ExecutorConfigurationProperties properties) {
+    Map<String, TaskRoute> compiled = new HashMap<>();
+    for (SystemProperties systemProperties : properties.getSystems()) {
+      String systemExecutor =
+          defaultIfBlank(systemProperties.getDefaultExecutor(), properties.getDefaultExecutor());
+      SystemGuard systemGuard = createSystemGuard(systemProperties);
+      for (TaskProperties taskProperties : systemProperties.getTasks()) {
+        String taskName =
+            String.format("%s.%s", systemProperties.getName(), taskProperties.getMethod());
+        // Like the properties, the first definition of a task wins.
+        compiled.computeIfAbsent(
+            taskName,
+            name ->
+                TaskRoute.builder(
+                        name,
+                        defaultIfBlank(taskProperties.getExecutor(), systemExecutor),
+                        properties.getTaskTimeout(name))
+                    .withLimiter(
+                        defaultIfNull(taskProperties.getLimiter(), systemProperties.getLimiter()))
+                    .withSystemGuard(systemGuard)
+                    .withSingleFlight(Boolean.TRUE.equals(taskProperties.getSingleFlight()))
+                    .withHedge(taskProperties.getHedge())
+                    .withRetry(taskProperties.getRetry())
+                    .withPriority(defaultIfNull(taskProperties.getPriority(), 0))
+                    .build());
+      }
+    }
+    return Map.copyOf(compiled);
+  }
+
+  private static SystemGuard createSystemGuard(SystemProperties systemProperties) {
+    if (systemProperties.getMaxConcurrentTasks() == null
+        && systemProperties.getCircuitBreaker() == null) {
+      return null;
+    }
+    return new SystemGuard(
+        systemProperties.getName(),
+        systemProperties.getMaxConcurrentTasks(),
+        systemProperties.getCircuitBreaker());
+  }
+
+  /**
+   * Get the route for a task.
+   *
+   * <p>For a task that is not configured, for instance the default executor, a route is created to
+   * the default executor with the timeout as resolved by the configuration properties.
+   *
+   * @param taskName the task name
+   * @return the route, never {@code null}
+   */
+  public TaskRoute getRoute(String taskName) {
+    TaskRoute route = routes.get(taskName);
+    if (route == null) {
+      route =
+          TaskRoute.builder(
+                  taskName, properties.getDefaultExecutor(), properties.getTaskTimeout(taskName))
+              .build();
+    }
+    return route;
+  }
+
+  /**
+   * Whether any of the configured tasks is a single flight task.
+   *
+   * @return {@code true} if at least one task has single flight enabled
+   */
+  public boolean hasSingleFlightRoutes() {
+    return routes.values().stream().anyMatch(TaskRoute::isSingleFlight);
+  }
+
+  /**
+   * Whether any of the configured tasks is hedged.
+   *
+   * @return {@code true} if at least one task has a hedging policy
+   */
+  public boolean hasHedgedRoutes() {
+    return routes.values().stream().anyMatch(route -> route.getHedge() != null);
+  }
+
+  /**
+   * Whether any of the configured tasks is retried.
+   *
+   * @return {@code true} if at least one task has a retry policy
+   */
+  public boolean hasRetriedRoutes() {
+    return routes.values().stream().anyMatch(route -> route.getRetry() != null);
+  }
+
+  /**
+   * Get the routes of all configured tasks.
+   *
+   * @return the routes
+   */
+  public Collection<TaskRoute> getRoutes() {
+    return routes.values();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.model;
+
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+import org.hawaiiframework.exception.HawaiiException;
+
+/**
+ * The type of scheduler used to schedule the timeout guard tasks, see {@link
+ * ExecutorConfigurationProperties#getAsyncTimeoutScheduler()}.
+ *
+ * @since 6.0.0
+ */
+public enum TimeoutSchedulerType {
+
+  /**
+   * Schedule the timeout guard tasks directly on the async timeout executor, see {@link
+   * org.hawaiiframework.async.timeout.ScheduledExecutorTimeoutScheduler}.
+   */
+  EXECUTOR,
+
+  /**
+   * Schedule the timeout guard tasks on a hashed wheel, see {@link
+   * org.hawaiiframework.async.timeout.HashedWheelTimeoutScheduler}.
+   */
+  HASHED_WHEEL;
+
+  /**
+   * Parse the configured timeout scheduler type.
+   *
+   * <p>The value is matched case-insensitive, dashes are treated as underscores, so {@code
+   * hashed-wheel} and {@code HASHED_WHEEL} are equivalent. A blank value results in {@link
+   * #EXECUTOR}.
+   *
+   * @param value the configured value
+   * @return the timeout scheduler type
+   */
+  public static TimeoutSchedulerType fromValue(String value) {
+    if (StringUtils.isBlank(value)) {
+      return EXECUTOR;
+    }
+    String normalized = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    for (TimeoutSchedulerType type : values()) {
+      if (type.name().equals(normalized)) {
+        return type;
+      }
+    }
+    throw new HawaiiException(String.format("Unknown timeout scheduler type '%s'.", value));
+  }
+}
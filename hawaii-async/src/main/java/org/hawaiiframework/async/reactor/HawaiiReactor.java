@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.reactor;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Callable;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Adapters to run async tasks from Reactor.
+ *
+ * <p>The tasks are run by the task's {@link DelegatingExecutor}, with the task's timeout, abort
+ * strategies, listeners and statistics. So a blocking call can be bridged to Reactor on the
+ * hawaii executor itself, instead of on an extra thread of, for instance, Reactor's bounded
+ * elastic scheduler.
+ *
+ * <pre>{@code
+ * Mono<Espresso> espresso = HawaiiReactor.mono(serveEspressoExecutor, barista::brew);
+ * }</pre>
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class HawaiiReactor {
+
+  /** The constructor. */
+  private HawaiiReactor() {
+    // Util constructor.
+  }
+
+  /**
+   * Create a {@link Mono} that calls the {@code callable} as task of the {@code executor}, once
+   * subscribed.
+   *
+   * <p>The mono emits the callable's answer, or completes empty if the answer is {@code null}.
+   *
+   * <p>If the task times out, before or while it runs, the mono fails with a {@link
+   * org.hawaiiframework.async.exception.TaskTimeoutException} right away, the subscriber does not
+   * wait for the running task to be aborted. If the executor rejects the task, the mono fails with
+   * the {@link TaskRejectedException}. Cancelling the subscription cancels the task, see {@link
+   * org.hawaiiframework.async.timeout.SharedTaskContext#cancel()}.
+   *
+   * @param executor The task's executor.
+   * @param callable The callable.
+   * @param <T> The return type.
+   * @return The mono.
+   */
+  public static <T> Mono<T> mono(
+      @NonNull DelegatingExecutor executor, @NonNull Callable<? extends T> callable) {
+    requireNonNull(executor);
+    requireNonNull(callable);
+    return Mono.create(
+        sink -> {
+          MonoTask<T> task = new MonoTask<>(callable, sink);
+          sink.onCancel(task::cancel);
+          try {
+            executor.execute(task, task);
+          } catch (TaskRejectedException exception) {
+            task.terminate(exception);
+          }
+        });
+  }
+
+  /**
+   * Create a {@link Flux} of the elements returned by the {@code callable}, called as task of the
+   * {@code executor} once subscribed.
+   *
+   * <p>See {@link #mono(DelegatingExecutor, Callable)}.
+   *
+   * @param executor The task's executor.
+   * @param callable The callable.
+   * @param <T> The element type.
+   * @return The flux.
+   */
+  public static <T> Flux<T> flux(
+      @NonNull DelegatingExecutor executor,
+      @NonNull Callable<? extends Iterable<? extends T>> callable) {
+    return HawaiiReactor.<Iterable<? extends T>>mono(executor, callable)
+        .flatMapIterable(elements -> elements);
+  }
+
+  /**
+   * Create a {@link Scheduler} that runs each scheduled task as task of the {@code executor}.
+   *
+   * <p>See {@link HawaiiScheduler}.
+   *
+   * @param executor The task's executor.
+   * @return The scheduler.
+   */
+  public static Scheduler scheduler(@NonNull DelegatingExecutor executor) {
+    return new HawaiiScheduler(requireNonNull(executor));
+  }
+}
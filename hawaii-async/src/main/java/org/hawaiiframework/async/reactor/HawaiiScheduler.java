@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.reactor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * A Reactor {@link Scheduler} that runs each scheduled task as task of a {@link
+ * DelegatingExecutor}.
+ *
+ * <p>Each scheduled task gets its own {@link SharedTaskContext}, so it runs with the task's
+ * timeout, abort strategies, listeners and statistics. Disposing a scheduled task cancels it, see
+ * {@link SharedTaskContext#cancel()}. A task the executor rejects is rejected with a {@link
+ * java.util.concurrent.RejectedExecutionException}, as Reactor expects.
+ *
+ * <p>Like Reactor's non-trampolining executor scheduler, the tasks of a worker are not run one
+ * after the other, but may run concurrently. This is what operators such as {@code publishOn} and
+ * {@code subscribeOn} expect, these serialize their own tasks. The scheduler does not support
+ * delayed or periodic tasks.
+ *
+ * <p>The executor is managed by Spring, disposing the scheduler does not shut it down.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HawaiiScheduler implements Scheduler {
+
+  /** The executor. */
+  private final DelegatingExecutor executor;
+
+  /**
+   * The constructor.
+   *
+   * @param executor The executor.
+   */
+  public HawaiiScheduler(DelegatingExecutor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public Disposable schedule(Runnable task) {
+    ScheduledTask scheduledTask = new ScheduledTask(task, null);
+    executor.execute(scheduledTask, scheduledTask);
+    return scheduledTask;
+  }
+
+  @Override
+  public Worker createWorker() {
+    return new HawaiiWorker();
+  }
+
+  /** A worker, its tasks are cancelled when the worker is disposed. */
+  private final class HawaiiWorker implements Worker {
+
+    /** The tasks that have been scheduled and have not completed. */
+    private final Disposable.Composite tasks = Disposables.composite();
+
+    @Override
+    public Disposable schedule(Runnable task) {
+      ScheduledTask scheduledTask = new ScheduledTask(task, tasks);
+      if (!tasks.add(scheduledTask)) {
+        throw Exceptions.failWithRejected();
+      }
+      try {
+        executor.execute(scheduledTask, scheduledTask);
+      } catch (RuntimeException exception) {
+        tasks.remove(scheduledTask);
+        throw exception;
+      }
+      return scheduledTask;
+    }
+
+    @Override
+    public void dispose() {
+      tasks.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return tasks.isDisposed();
+    }
+  }
+
+  /** A scheduled task, it is both the runnable handed to the executor and the task's listener. */
+  private static final class ScheduledTask implements Runnable, TaskListener, Disposable {
+
+    /** The task. */
+    private final Runnable task;
+
+    /** The tasks of the worker, {@code null} if not scheduled by a worker. */
+    private final Disposable.Composite tasks;
+
+    /** Flag to indicate the task has been disposed. */
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    /** The shared task context, set when the task is submitted. */
+    private final AtomicReference<SharedTaskContext> sharedTaskContext = new AtomicReference<>();
+
+    private ScheduledTask(Runnable task, Disposable.Composite tasks) {
+      this.task = task;
+      this.tasks = tasks;
+    }
+
+    @Override
+    public void run() {
+      if (!disposed.get()) {
+        task.run();
+      }
+    }
+
+    @Override
+    public int getOrder() {
+      return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+      this.sharedTaskContext.set(sharedTaskContext);
+    }
+
+    @Override
+    public void finish() {
+      done();
+    }
+
+    @Override
+    public void timeout() {
+      if (sharedTaskContext.get().isRemoved()) {
+        done();
+      }
+    }
+
+    @Override
+    public void cancelled() {
+      if (sharedTaskContext.get().isRemoved()) {
+        done();
+      }
+    }
+
+    private void done() {
+      disposed.set(true);
+      if (tasks != null) {
+        tasks.remove(this);
+      }
+    }
+
+    @Override
+    public void dispose() {
+      if (disposed.compareAndSet(false, true)) {
+        SharedTaskContext context = sharedTaskContext.get();
+        if (context != null) {
+          context.cancel();
+        }
+        if (tasks != null) {
+          tasks.remove(this);
+        }
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed.get();
+    }
+  }
+}
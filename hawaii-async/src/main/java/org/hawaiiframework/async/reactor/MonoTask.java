@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.reactor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * The task of a {@link HawaiiReactor#mono(org.hawaiiframework.async.DelegatingExecutor, Callable)}.
+ *
+ * <p>It is both the runnable handed to the executor and the listener of the task, so it can fail
+ * the mono if the task times out or is cancelled, also if it was removed from the queue and never
+ * runs. The mono is terminated once, by whichever comes first.
+ *
+ * @param <T> the return type.
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+class MonoTask<T> implements Runnable, TaskListener {
+
+  /** The callable. */
+  private final Callable<? extends T> callable;
+
+  /** The sink of the mono. */
+  private final MonoSink<T> sink;
+
+  /** Flag to indicate the mono has been terminated, or the subscription cancelled. */
+  private final AtomicBoolean terminated = new AtomicBoolean();
+
+  /** The shared task context, set when the task is submitted. */
+  private final AtomicReference<SharedTaskContext> sharedTaskContext = new AtomicReference<>();
+
+  /**
+   * The constructor.
+   *
+   * @param callable The callable.
+   * @param sink The sink of the mono.
+   */
+  MonoTask(Callable<? extends T> callable, MonoSink<T> sink) {
+    this.callable = callable;
+    this.sink = sink;
+  }
+
+  @Override
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  public void run() {
+    if (terminated.get()) {
+      return;
+    }
+    T value;
+    try {
+      value = callable.call();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      terminate(exception);
+      return;
+    } catch (Exception exception) {
+      terminate(exception);
+      return;
+    }
+    if (terminated.compareAndSet(false, true)) {
+      sink.success(value);
+    }
+  }
+
+  /**
+   * Fail the mono, unless it has already been terminated.
+   *
+   * @param exception The exception.
+   */
+  void terminate(Exception exception) {
+    if (terminated.compareAndSet(false, true)) {
+      sink.error(exception);
+    }
+  }
+
+  /** Cancel the task, since the subscription has been cancelled. */
+  void cancel() {
+    SharedTaskContext context = sharedTaskContext.get();
+    if (terminated.compareAndSet(false, true) && context != null) {
+      context.cancel();
+    }
+  }
+
+  @Override
+  public int getOrder() {
+    return LOWEST_PRECEDENCE;
+  }
+
+  @Override
+  public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+    this.sharedTaskContext.set(sharedTaskContext);
+  }
+
+  @Override
+  public void timeout() {
+    SharedTaskContext context = sharedTaskContext.get();
+    terminate(
+        new TaskTimeoutException(
+            String.format(
+                "Task '%s' with id '%s' did not complete within '%s'.",
+                context.getTaskName(), context.getTaskId(), context.getTimeout())));
+  }
+
+  @Override
+  public void cancelled() {
+    SharedTaskContext context = sharedTaskContext.get();
+    terminate(
+        new CancellationException(
+            String.format(
+                "Task '%s' with id '%s' has been cancelled.",
+                context.getTaskName(), context.getTaskId())));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of tasks of a system that are in flight, queued or running.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class Bulkhead {
+
+  /** The maximum number of tasks in flight. */
+  private final int maxConcurrentTasks;
+
+  /** The number of tasks in flight. */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /**
+   * Construct an instance.
+   *
+   * @param maxConcurrentTasks the maximum number of tasks in flight
+   */
+  public Bulkhead(int maxConcurrentTasks) {
+    if (maxConcurrentTasks < 1) {
+      throw new IllegalArgumentException(
+          String.format("Max concurrent tasks '%s' must be positive.", maxConcurrentTasks));
+    }
+    this.maxConcurrentTasks = maxConcurrentTasks;
+  }
+
+  /**
+   * Try to acquire a place in the bulkhead.
+   *
+   * @return {@code true} if acquired, {@code false} if the bulkhead is full
+   */
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= maxConcurrentTasks) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /** Release a place acquired with {@link #tryAcquire()}. */
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Get the maximum number of tasks in flight.
+   *
+   * @return the maximum number of tasks in flight
+   */
+  public int getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  /**
+   * Get the number of tasks in flight.
+   *
+   * @return the number of tasks in flight
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
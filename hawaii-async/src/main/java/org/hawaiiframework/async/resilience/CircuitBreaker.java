@@ -0,0 +1,309 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+import static org.hawaiiframework.async.resilience.CircuitBreakerState.CLOSED;
+import static org.hawaiiframework.async.resilience.CircuitBreakerState.HALF_OPEN;
+import static org.hawaiiframework.async.resilience.CircuitBreakerState.OPEN;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.hawaiiframework.async.model.CircuitBreakerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker for the tasks of a system, it opens on the rate of timed-out tasks.
+ *
+ * <p>While closed, the outcome of the most recent tasks is kept in a sliding window. Once the
+ * failure rate in the window reaches the threshold the circuit breaker opens and all tasks are
+ * rejected. After the wait duration, the circuit breaker is half open and lets a number of trial
+ * tasks through. A single failed trial task opens the circuit breaker again, if all trial tasks
+ * succeed the circuit breaker closes.
+ *
+ * <p>Each task that is let through holds a {@link Permit}, so only the trial tasks of the current
+ * half open period count towards closing or reopening the circuit breaker, and only these return
+ * their permit if they do not run.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class CircuitBreaker {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  /** The permit of the tasks let through while closed. */
+  private static final Permit CLOSED_PERMIT = new Permit(false, 0);
+
+  /** The name of the system, for logging. */
+  private final String name;
+
+  /** The failure rate threshold, in percent. */
+  private final int failureRateThreshold;
+
+  /** The minimum number of outcomes before the failure rate is calculated. */
+  private final int minimumNumberOfCalls;
+
+  /** The time, in nanoseconds, the circuit breaker stays open. */
+  private final long waitDurationNanos;
+
+  /** The number of trial tasks in half open state. */
+  private final int permittedCallsInHalfOpenState;
+
+  /** The clock, in nanoseconds. */
+  private final LongSupplier clock;
+
+  /** The state. */
+  private final AtomicReference<CircuitBreakerState> state = new AtomicReference<>(CLOSED);
+
+  /** The time, in nanoseconds, the circuit breaker opened. */
+  private final AtomicLong openedAt = new AtomicLong();
+
+  /** The permit shared by the trial tasks of the current half open period, if any. */
+  private final AtomicReference<Permit> trialPermit = new AtomicReference<>();
+
+  /** Guards the sliding window. */
+  private final Lock lock = new ReentrantLock();
+
+  /** The outcomes in the sliding window, {@code true} for a failure. */
+  private final boolean[] window;
+
+  /** The index in the window of the next outcome. */
+  private int windowIndex;
+
+  /** The number of outcomes in the window. */
+  private int calls;
+
+  /** The number of failures in the window. */
+  private int failures;
+
+  /**
+   * Construct an instance.
+   *
+   * @param name the name of the system
+   * @param properties the configuration
+   */
+  public CircuitBreaker(String name, CircuitBreakerProperties properties) {
+    this(name, properties, System::nanoTime);
+  }
+
+  /**
+   * Construct an instance with the given clock.
+   *
+   * @param name the name of the system
+   * @param properties the configuration
+   * @param clock the clock, in nanoseconds
+   */
+  CircuitBreaker(String name, CircuitBreakerProperties properties, LongSupplier clock) {
+    this.name = name;
+    this.failureRateThreshold = properties.getFailureRateThreshold();
+    this.minimumNumberOfCalls = properties.getMinimumNumberOfCalls();
+    this.waitDurationNanos = properties.getWaitDurationInOpenState().toNanos();
+    this.permittedCallsInHalfOpenState = properties.getPermittedCallsInHalfOpenState();
+    this.window = new boolean[properties.getSlidingWindowSize()];
+    this.clock = clock;
+  }
+
+  /**
+   * Try to let a task through.
+   *
+   * @return the permit of the task, or {@code null} if the circuit breaker is open
+   */
+  public Permit tryAcquire() {
+    CircuitBreakerState current = state.get();
+    if (current == OPEN) {
+      if (clock.getAsLong() - openedAt.get() < waitDurationNanos) {
+        return null;
+      }
+      halfOpen();
+      current = state.get();
+    }
+    if (current == HALF_OPEN) {
+      Permit trial = trialPermit.get();
+      return trial != null && trial.take() ? trial : null;
+    }
+    return current == CLOSED ? CLOSED_PERMIT : null;
+  }
+
+  /**
+   * Record a task that completed in time.
+   *
+   * @param permit the permit of the task
+   */
+  public void onSuccess(Permit permit) {
+    CircuitBreakerState current = state.get();
+    if (current == HALF_OPEN) {
+      if (permit == trialPermit.get()
+          && permit.successes.incrementAndGet() >= permittedCallsInHalfOpenState) {
+        transition(HALF_OPEN, CLOSED);
+      }
+    } else if (current == CLOSED) {
+      record(false);
+    }
+  }
+
+  /**
+   * Record a task that timed out.
+   *
+   * @param permit the permit of the task
+   */
+  public void onFailure(Permit permit) {
+    CircuitBreakerState current = state.get();
+    if (current == HALF_OPEN) {
+      if (permit == trialPermit.get()) {
+        open(HALF_OPEN);
+      }
+    } else if (current == CLOSED && record(true)) {
+      open(CLOSED);
+    }
+  }
+
+  /**
+   * Return the permit of a task that was not run, without recording an outcome.
+   *
+   * @param permit the permit of the task
+   */
+  public void onIgnore(Permit permit) {
+    if (permit.trial) {
+      permit.available.incrementAndGet();
+    }
+  }
+
+  /**
+   * Record an outcome in the sliding window.
+   *
+   * @param failure {@code true} for a failure
+   * @return {@code true} if the failure rate reached the threshold
+   */
+  private boolean record(boolean failure) {
+    lock.lock();
+    try {
+      if (calls == window.length) {
+        if (window[windowIndex]) {
+          failures--;
+        }
+      } else {
+        calls++;
+      }
+      window[windowIndex] = failure;
+      if (failure) {
+        failures++;
+      }
+      windowIndex = (windowIndex + 1) % window.length;
+      return calls >= minimumNumberOfCalls && failures * 100 >= failureRateThreshold * calls;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void open(CircuitBreakerState from) {
+    trialPermit.set(null);
+    openedAt.set(clock.getAsLong());
+    if (transition(from, OPEN)) {
+      LOGGER.warn("Circuit breaker of system '{}' opened.", name);
+    }
+  }
+
+  private void halfOpen() {
+    // Only the thread that makes the transition hands out the permits, threads that see the half
+    // open state before that are rejected.
+    if (transition(OPEN, HALF_OPEN)) {
+      trialPermit.set(new Permit(true, permittedCallsInHalfOpenState));
+    }
+  }
+
+  private boolean transition(CircuitBreakerState from, CircuitBreakerState to) {
+    if (!state.compareAndSet(from, to)) {
+      return false;
+    }
+    if (to == CLOSED) {
+      resetWindow();
+      LOGGER.info("Circuit breaker of system '{}' closed.", name);
+    } else if (to == HALF_OPEN) {
+      LOGGER.info("Circuit breaker of system '{}' is half open.", name);
+    }
+    return true;
+  }
+
+  private void resetWindow() {
+    lock.lock();
+    try {
+      calls = 0;
+      failures = 0;
+      windowIndex = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Get the state.
+   *
+   * @return the state
+   */
+  public CircuitBreakerState getState() {
+    return state.get();
+  }
+
+  /**
+   * The permit of a task let through by the circuit breaker.
+   *
+   * <p>The trial tasks of a half open period share a permit, which keeps the number of trial tasks
+   * that may still be let through and the number of trial tasks that succeeded.
+   */
+  public static final class Permit {
+
+    /** Flag to indicate this is the permit of the trial tasks of a half open period. */
+    private final boolean trial;
+
+    /** The number of trial tasks that may still be let through. */
+    private final AtomicInteger available;
+
+    /** The number of trial tasks that succeeded. */
+    private final AtomicInteger successes = new AtomicInteger();
+
+    private Permit(boolean trial, int available) {
+      this.trial = trial;
+      this.available = new AtomicInteger(available);
+    }
+
+    private boolean take() {
+      int current = available.get();
+      while (current > 0) {
+        if (available.compareAndSet(current, current - 1)) {
+          return true;
+        }
+        current = available.get();
+      }
+      return false;
+    }
+
+    /**
+     * Check whether this is the permit of a trial task.
+     *
+     * @return {@code true} if the task is a trial task of a half open period
+     */
+    public boolean isTrial() {
+      return trial;
+    }
+  }
+}
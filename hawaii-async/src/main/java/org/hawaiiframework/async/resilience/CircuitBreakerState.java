@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+/**
+ * The state of a {@link CircuitBreaker}.
+ *
+ * @since 6.0.0
+ */
+public enum CircuitBreakerState {
+
+  /** Tasks are let through and their outcome is recorded. */
+  CLOSED,
+
+  /** Tasks are rejected. */
+  OPEN,
+
+  /** A limited number of trial tasks is let through. */
+  HALF_OPEN
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+import org.hawaiiframework.async.exception.BulkheadFullException;
+import org.hawaiiframework.async.exception.CircuitBreakerOpenException;
+import org.hawaiiframework.async.model.CircuitBreakerProperties;
+
+/**
+ * The bulkhead and circuit breaker of a system, shared by all tasks of the system.
+ *
+ * <p>A task acquires a permit from the guard before it is submitted. Once acquired, exactly one of
+ * {@link #onSuccess(CircuitBreaker.Permit)}, {@link #onFailure(CircuitBreaker.Permit)}
+ * or {@link #onIgnore(CircuitBreaker.Permit)} must be invoked to release it.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class SystemGuard {
+
+  /** The system name. */
+  private final String systemName;
+
+  /** The bulkhead, {@code null} if not configured. */
+  private final Bulkhead bulkhead;
+
+  /** The circuit breaker, {@code null} if not configured. */
+  private final CircuitBreaker circuitBreaker;
+
+  /**
+   * Construct an instance.
+   *
+   * @param systemName the system name
+   * @param maxConcurrentTasks the maximum number of tasks in flight, may be {@code null}
+   * @param circuitBreakerProperties the circuit breaker configuration, may be {@code null}
+   */
+  public SystemGuard(
+      String systemName,
+      Integer maxConcurrentTasks,
+      CircuitBreakerProperties circuitBreakerProperties) {
+    this.systemName = systemName;
+    this.bulkhead = maxConcurrentTasks == null ? null : new Bulkhead(maxConcurrentTasks);
+    this.circuitBreaker =
+        circuitBreakerProperties == null
+            ? null
+            : new CircuitBreaker(systemName, circuitBreakerProperties);
+  }
+
+  /**
+   * Acquire a permit for a task.
+   *
+   * @param taskName the task name, for the exception message
+   * @return the circuit breaker permit of the task, or {@code null} if no circuit breaker is
+   *     configured
+   * @throws CircuitBreakerOpenException if the circuit breaker is open
+   * @throws BulkheadFullException if the bulkhead is full
+   */
+  public CircuitBreaker.Permit acquire(String taskName) {
+    CircuitBreaker.Permit permit = null;
+    if (circuitBreaker != null) {
+      permit = circuitBreaker.tryAcquire();
+      if (permit == null) {
+        throw new CircuitBreakerOpenException(
+            String.format(
+                "Task '%s' rejected, the circuit breaker of system '%s' is open.",
+                taskName, systemName));
+      }
+    }
+    if (bulkhead != null && !bulkhead.tryAcquire()) {
+      if (circuitBreaker != null) {
+        circuitBreaker.onIgnore(permit);
+      }
+      throw new BulkheadFullException(
+          String.format(
+              "Task '%s' rejected, system '%s' has '%s' tasks in flight.",
+              taskName, systemName, bulkhead.getMaxConcurrentTasks()));
+    }
+    return permit;
+  }
+
+  /**
+   * Release the permit of a task that completed in time.
+   *
+   * @param permit the circuit breaker permit returned by {@link #acquire(String)}
+   */
+  public void onSuccess(CircuitBreaker.Permit permit) {
+    release();
+    if (circuitBreaker != null) {
+      circuitBreaker.onSuccess(permit);
+    }
+  }
+
+  /**
+   * Release the permit of a task that timed out.
+   *
+   * @param permit the circuit breaker permit returned by {@link #acquire(String)}
+   */
+  public void onFailure(CircuitBreaker.Permit permit) {
+    release();
+    if (circuitBreaker != null) {
+      circuitBreaker.onFailure(permit);
+    }
+  }
+
+  /**
+   * Release the permit of a task that did not run, without recording an outcome.
+   *
+   * @param permit the circuit breaker permit returned by {@link #acquire(String)}
+   */
+  public void onIgnore(CircuitBreaker.Permit permit) {
+    release();
+    if (circuitBreaker != null) {
+      circuitBreaker.onIgnore(permit);
+    }
+  }
+
+  private void release() {
+    if (bulkhead != null) {
+      bulkhead.release();
+    }
+  }
+
+  /**
+   * Get the system name.
+   *
+   * @return the system name
+   */
+  public String getSystemName() {
+    return systemName;
+  }
+
+  /**
+   * Get the bulkhead.
+   *
+   * @return the bulkhead, or {@code null} if not configured
+   */
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  /**
+   * Get the circuit breaker.
+   *
+   * @return the circuit breaker, or {@code null} if not configured
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+
+/**
+ * Task listener that releases the {@link SystemGuard} permit of a task.
+ *
+ * <p>The permit is released exactly once: a timeout is recorded as a failure, a task that finishes
+ * in time as a success and a rejected or cancelled task is not recorded at all. A task that times
+ * out holds its permit until the worker finishes it, so the bulkhead keeps counting the tasks that
+ * still occupy a thread.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class SystemGuardTaskListener implements TaskListener {
+
+  /** The guard the permit was acquired from. */
+  private final SystemGuard systemGuard;
+
+  /** The circuit breaker permit of the task, {@code null} if no circuit breaker is configured. */
+  private final CircuitBreaker.Permit permit;
+
+  /** Flag to indicate the permit has been released. */
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  /** The shared task context. */
+  private SharedTaskContext sharedTaskContext;
+
+  /**
+   * Construct an instance for an acquired permit.
+   *
+   * @param systemGuard the guard the permit was acquired from
+   * @param permit the circuit breaker permit returned by the guard
+   */
+  public SystemGuardTaskListener(SystemGuard systemGuard, CircuitBreaker.Permit permit) {
+    this.systemGuard = systemGuard;
+    this.permit = permit;
+  }
+
+  @Override
+  public int getOrder() {
+    return LOWEST_PRECEDENCE;
+  }
+
+  @Override
+  public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+    this.sharedTaskContext = sharedTaskContext;
+  }
+
+  @Override
+  public void finish() {
+    // The timeout guard finishes a task that may still be running, unless it was removed.
+    if (sharedTaskContext.isTimeoutGuardThread() && !sharedTaskContext.isRemoved()) {
+      return;
+    }
+    if (released.compareAndSet(false, true)) {
+      if (sharedTaskContext.isCancelled()) {
+        systemGuard.onIgnore(permit);
+      } else if (sharedTaskContext.isTimedOut()) {
+        systemGuard.onFailure(permit);
+      } else {
+        systemGuard.onSuccess(permit);
+      }
+    }
+  }
+
+  @Override
+  public void cancelled() {
+    if (sharedTaskContext.isRemoved()) {
+      rejected();
+    }
+  }
+
+  @Override
+  public void rejected() {
+    if (released.compareAndSet(false, true)) {
+      systemGuard.onIgnore(permit);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.retry;
+
+import static org.hawaiiframework.async.config.AsyncTaskNameResolver.getMostSpecificMethod;
+import static org.hawaiiframework.async.config.AsyncTaskNameResolver.resolveCompletableRoute;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.lang.NonNull;
+
+/**
+ * Interceptor that retries failed invocations of tasks with a retry policy.
+ *
+ * <p>A failed attempt is resubmitted after a backoff, see {@link RetryingInvocation}. The
+ * interceptor must wrap Spring's async interceptor, so each attempt submits its own task. It only
+ * applies to {@code @Async("system.task")} methods that return a {@link
+ * java.util.concurrent.CompletableFuture} and of which the task is configured with a {@code retry}.
+ * Other invocations proceed as usual.
+ *
+ * <p>Retries are submitted from the timeout scheduler's thread, with the log fields and the
+ * contexts of the {@link ContextPropagator}s of the thread that invoked the task.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class RetryInterceptor implements MethodInterceptor {
+
+  /** The routing table. */
+  private final TaskRoutingTable routingTable;
+
+  /** The scheduler for the retries. */
+  private final TimeoutScheduler scheduler;
+
+  /** The propagators of the caller's contexts. */
+  private final List<ContextPropagator<?>> propagators;
+
+  /** The retry policy per task name, created at startup to validate the configuration. */
+  private final Map<String, RetryPolicy> taskPolicies = new HashMap<>();
+
+  /** The retry policy per method, empty if the method is not retried. */
+  private final Map<Method, Optional<RetryPolicy>> policies = new ConcurrentHashMap<>();
+
+  /**
+   * Construct an instance.
+   *
+   * @param routingTable the routing table, to look up the task's configuration
+   * @param scheduler the scheduler for the retries
+   * @param propagators the propagators of the caller's contexts
+   */
+  public RetryInterceptor(
+      TaskRoutingTable routingTable,
+      TimeoutScheduler scheduler,
+      List<ContextPropagator<?>> propagators) {
+    this.routingTable = routingTable;
+    this.scheduler = scheduler;
+    this.propagators = propagators;
+    for (TaskRoute route : routingTable.getRoutes()) {
+      if (route.getRetry() != null) {
+        taskPolicies.put(route.getTaskName(), new RetryPolicy(route.getRetry()));
+      }
+    }
+  }
+
+  @Override
+  public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+    Optional<RetryPolicy> policy =
+        policies.computeIfAbsent(getMostSpecificMethod(invocation), this::resolvePolicy);
+    if (policy.isEmpty()
+        || policy.get().getMaxAttempts() < 2
+        || !(invocation instanceof ProxyMethodInvocation)) {
+      return invocation.proceed();
+    }
+    return new RetryingInvocation(
+            (ProxyMethodInvocation) invocation, policy.get(), scheduler, propagators)
+        .start();
+  }
+
+  private Optional<RetryPolicy> resolvePolicy(Method method) {
+    TaskRoute route = resolveCompletableRoute(method, routingTable);
+    return route == null
+        ? Optional.empty()
+        : Optional.ofNullable(taskPolicies.get(route.getTaskName()));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.retry;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.hawaiiframework.async.model.RetryProperties;
+import org.hawaiiframework.exception.HawaiiException;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The retry policy of a task: how often to retry, on which exceptions, and how long to back off.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class RetryPolicy {
+
+  /** The maximum number of attempts, including the first. */
+  private final int maxAttempts;
+
+  /** The backoff before the first retry, in nanoseconds. */
+  private final long initialBackoffNanos;
+
+  /** The factor the backoff is multiplied with for each next retry. */
+  private final double multiplier;
+
+  /** The maximum backoff, in nanoseconds. */
+  private final long maxBackoffNanos;
+
+  /** The fraction of the backoff it is randomly varied with. */
+  private final double jitter;
+
+  /** The exceptions to retry on, empty to retry on all exceptions. */
+  private final List<Class<?>> retryOn = new ArrayList<>();
+
+  /**
+   * Construct an instance.
+   *
+   * @param properties the retry configuration
+   * @throws HawaiiException if one of the exception classes to retry on does not exist
+   */
+  public RetryPolicy(RetryProperties properties) {
+    this.maxAttempts = defaultIfNull(properties.getMaxAttempts(), 3);
+    this.initialBackoffNanos =
+        defaultIfNull(properties.getInitialBackoff(), Duration.ofMillis(100)).toNanos();
+    this.multiplier = defaultIfNull(properties.getMultiplier(), 2.0);
+    this.maxBackoffNanos =
+        defaultIfNull(properties.getMaxBackoff(), Duration.ofSeconds(2)).toNanos();
+    this.jitter = Math.min(Math.max(defaultIfNull(properties.getJitter(), 0.5), 0.0), 1.0);
+    if (properties.getRetryOn() != null) {
+      for (String className : properties.getRetryOn()) {
+        retryOn.add(resolveClass(className));
+      }
+    }
+  }
+
+  private static Class<?> resolveClass(String className) {
+    try {
+      return ClassUtils.forName(className, RetryPolicy.class.getClassLoader());
+    } catch (ClassNotFoundException | LinkageError exception) {
+      throw new HawaiiException(
+          String.format("Unknown exception class '%s' to retry on.", className), exception);
+    }
+  }
+
+  /**
+   * Get the maximum number of attempts.
+   *
+   * @return the maximum number of attempts, including the first
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Whether an attempt that failed with the {@code throwable} should be retried.
+   *
+   * <p>Completion and execution exceptions are unwrapped first.
+   *
+   * @param throwable the failure
+   * @return {@code true} if the failure is retryable
+   */
+  public boolean isRetryable(Throwable throwable) {
+    Throwable cause = unwrap(throwable);
+    if (retryOn.isEmpty()) {
+      return cause instanceof Exception;
+    }
+    for (Class<?> retryable : retryOn) {
+      if (retryable.isInstance(cause)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get the backoff before the next retry.
+   *
+   * @param attempt the number of the attempt that failed, starting at 1
+   * @return the backoff, in nanoseconds
+   */
+  public long getBackoffNanos(int attempt) {
+    double backoff =
+        Math.min(initialBackoffNanos * Math.pow(multiplier, attempt - 1.0), maxBackoffNanos);
+    double randomized =
+        backoff * (1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble());
+    return Math.max((long) randomized, 0L);
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    Throwable cause = throwable;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+}
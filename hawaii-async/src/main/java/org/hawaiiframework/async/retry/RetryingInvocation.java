@@ -0,0 +1,216 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.retry;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.context.CallerContext;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.task.TaskScope;
+import org.hawaiiframework.async.timeout.ScheduledTimeout;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.TaskTimeoutOverride;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+
+/**
+ * A single invocation of a retried task, with all its attempts.
+ *
+ * <p>Each attempt submits a new task, and so gets a new {@link SharedTaskContext}. The backoff
+ * between attempts is scheduled on the timeout scheduler, so no executor thread is held while
+ * waiting. The attempts share the deadline of the first attempt: a retry gets the time left as its
+ * timeout, and is not scheduled if the backoff would pass the deadline. Cancelling the result
+ * cancels the running attempt and the scheduled retry.
+ *
+ * <p>The retries are submitted from the timeout scheduler's thread, with the {@link CallerContext}
+ * of the thread that invoked the task.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+final class RetryingInvocation {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RetryingInvocation.class);
+
+  /** The invocation, cloned for every attempt. */
+  private final ProxyMethodInvocation invocation;
+
+  /** The retry policy of the task. */
+  private final RetryPolicy policy;
+
+  /** The scheduler for the retries. */
+  private final TimeoutScheduler scheduler;
+
+  /** The propagators of the caller's contexts. */
+  private final List<ContextPropagator<?>> propagators;
+
+  /** The contexts of the thread that invoked the task, captured by {@link #start()}. */
+  private CallerContext callerContext;
+
+  /** The result, completed by the last attempt. */
+  private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+  /** The number of attempts submitted. */
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  /** The context of the first task submitted, which holds the deadline of all attempts. */
+  private final AtomicReference<SharedTaskContext> firstTaskContext = new AtomicReference<>();
+
+  /** The contexts of the tasks submitted by the current attempt. */
+  private final AtomicReference<List<SharedTaskContext>> currentTaskContexts =
+      new AtomicReference<>(List.of());
+
+  /** The scheduled retry. */
+  private final AtomicReference<ScheduledTimeout> nextAttempt = new AtomicReference<>();
+
+  /**
+   * Construct an instance.
+   *
+   * <p>The {@code invocation} must not have proceeded yet, it is cloned for each attempt.
+   *
+   * @param invocation the invocation of the {@code @Async} method
+   * @param policy the retry policy of the task
+   * @param scheduler the scheduler for the retries
+   * @param propagators the propagators of the caller's contexts
+   */
+  RetryingInvocation(
+      ProxyMethodInvocation invocation,
+      RetryPolicy policy,
+      TimeoutScheduler scheduler,
+      List<ContextPropagator<?>> propagators) {
+    this.invocation = invocation;
+    this.policy = policy;
+    this.scheduler = scheduler;
+    this.propagators = propagators;
+  }
+
+  /**
+   * Submit the first attempt.
+   *
+   * @return the result
+   * @throws Throwable if the first attempt could not be submitted
+   */
+  @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+  CompletableFuture<Object> start() throws Throwable {
+    callerContext = CallerContext.capture(propagators);
+    result.whenComplete((value, throwable) -> cancel());
+    submit();
+    return result;
+  }
+
+  private void submit() throws Throwable {
+    int attempt = attempts.incrementAndGet();
+    CompletableFuture<?> future;
+    try (TaskScope scope = TaskScope.open()) {
+      future = (CompletableFuture<?>) invocation.invocableClone().proceed();
+      List<SharedTaskContext> taskContexts = scope.getTaskContexts();
+      currentTaskContexts.set(taskContexts);
+      if (!taskContexts.isEmpty()) {
+        firstTaskContext.compareAndSet(null, taskContexts.get(0));
+      }
+    }
+    future.whenComplete(
+        (value, throwable) -> {
+          if (throwable == null) {
+            complete(value);
+          } else {
+            onFailure(throwable, attempt);
+          }
+        });
+  }
+
+  private void complete(Object value) {
+    // The attempt has completed, so there is nothing left to cancel.
+    currentTaskContexts.set(List.of());
+    result.complete(value);
+  }
+
+  private void completeExceptionally(Throwable throwable) {
+    currentTaskContexts.set(List.of());
+    result.completeExceptionally(throwable);
+  }
+
+  private void onFailure(Throwable throwable, int attempt) {
+    if (result.isDone()) {
+      return;
+    }
+    if (attempt >= policy.getMaxAttempts() || !policy.isRetryable(throwable)) {
+      completeExceptionally(throwable);
+      return;
+    }
+    long backoffNanos = policy.getBackoffNanos(attempt);
+    Duration remaining = getRemainingTime();
+    if (remaining != null && remaining.toNanos() <= backoffNanos) {
+      LOGGER.debug("Not retrying attempt '{}', only '{}' left.", attempt, remaining);
+      completeExceptionally(throwable);
+      return;
+    }
+    LOGGER.debug("Attempt '{}' failed, retrying in '{}' ns.", attempt, backoffNanos, throwable);
+    nextAttempt.set(scheduler.schedule(this::retry, backoffNanos, NANOSECONDS));
+    if (result.isDone()) {
+      // Cancelled while the retry was scheduled.
+      cancel();
+    }
+  }
+
+  @SuppressWarnings({"PMD.AvoidCatchingThrowable", "java:S1181"})
+  private void retry() {
+    if (result.isDone()) {
+      return;
+    }
+    Duration remaining = getRemainingTime();
+    CallerContext previous = callerContext.restore();
+    // Without a task context there is no deadline to keep, the task's own timeout applies.
+    TaskTimeoutOverride override = remaining == null ? null : TaskTimeoutOverride.of(remaining);
+    try {
+      submit();
+    } catch (Throwable throwable) {
+      // For instance rejected by a bulkhead, which counts as a failed attempt.
+      onFailure(throwable, attempts.get());
+    } finally {
+      if (override != null) {
+        override.close();
+      }
+      previous.restore();
+    }
+  }
+
+  private Duration getRemainingTime() {
+    SharedTaskContext taskContext = firstTaskContext.get();
+    return taskContext == null ? null : taskContext.getRemainingTime();
+  }
+
+  /** Cancel the scheduled retry and the tasks of the current attempt, if not finished. */
+  private void cancel() {
+    ScheduledTimeout scheduled = nextAttempt.get();
+    if (scheduled != null) {
+      scheduled.cancel();
+    }
+    for (SharedTaskContext taskContext : currentTaskContexts.get()) {
+      taskContext.cancel();
+    }
+  }
+}
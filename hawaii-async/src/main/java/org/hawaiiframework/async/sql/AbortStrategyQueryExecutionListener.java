@@ -16,10 +16,14 @@
 
 package org.hawaiiframework.async.sql;
 
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.List;
 import net.ttddyy.dsproxy.ExecutionInfo;
 import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
 import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
 import org.hawaiiframework.async.timeout.TaskAbortStrategy;
 import org.hawaiiframework.sql.OrderedQueryExecutionListener;
@@ -28,7 +32,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.stereotype.Component;
 
-/** Query execution listener that registers an abort strategy for a task. */
+/**
+ * Query execution listener that registers an abort strategy for a task.
+ *
+ * <p>The abort strategy is registered before the query is executed and unregistered afterwards, so
+ * statements that run in parallel for the same task are all cancelled on a timeout.
+ *
+ * <p>It also limits the statement's query timeout to the time left until the task's deadline. A
+ * query is not executed at all if the deadline has already passed.
+ */
 @ConditionalOnClass(QueryExecutionListener.class)
 @Component
 public class AbortStrategyQueryExecutionListener implements OrderedQueryExecutionListener {
@@ -39,13 +51,39 @@ public class AbortStrategyQueryExecutionListener implements OrderedQueryExecutio
 
   @Override
   public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    applyDeadline(execInfo.getStatement());
     LOGGER.trace("Registering abort strategy.");
-    SharedTaskContextHolder.setTaskAbortStrategy(createAbortStrategy(execInfo));
+    SharedTaskContextHolder.registerTaskAbortStrategy(createAbortStrategy(execInfo));
+  }
+
+  private static void applyDeadline(Statement statement) {
+    Duration remaining = SharedTaskContextHolder.getRemainingTime();
+    if (remaining == null) {
+      return;
+    }
+    if (remaining.isZero()) {
+      throw new TaskTimeoutException(
+          String.format(
+              "Task '%s' has passed its deadline, not executing query.",
+              SharedTaskContextHolder.getTaskId()));
+    }
+
+    // The query timeout is in whole seconds, round up so a query is never cut off early.
+    int seconds = (int) Math.min(Integer.MAX_VALUE, remaining.plusNanos(999_999_999).toSeconds());
+    try {
+      int queryTimeout = statement.getQueryTimeout();
+      if (queryTimeout == 0 || queryTimeout > seconds) {
+        statement.setQueryTimeout(seconds);
+      }
+    } catch (SQLException exception) {
+      LOGGER.warn("Could not set the query timeout.", exception);
+    }
   }
 
   @Override
   public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
-    // Do nothing.
+    LOGGER.trace("Unregistering abort strategy.");
+    SharedTaskContextHolder.unregisterTaskAbortStrategy(createAbortStrategy(execInfo));
   }
 
   private static TaskAbortStrategy createAbortStrategy(ExecutionInfo execInfo) {
@@ -11,6 +11,9 @@ import org.slf4j.LoggerFactory;
  *
  * <p>The {@link QueryTaskAbortStrategy} will call {@link Statement#cancel()} in order to stop a
  * query. It depends on the JDBC driver and database whether the cancel request is honoured.
+ *
+ * <p>Strategies for the same statement are equal, so the strategy can be unregistered once the
+ * statement has been executed.
  */
 public class QueryTaskAbortStrategy implements TaskAbortStrategy {
 
@@ -40,4 +43,14 @@ public class QueryTaskAbortStrategy implements TaskAbortStrategy {
     }
     return false;
   }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof QueryTaskAbortStrategy strategy && strategy.statement == statement;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(statement);
+  }
 }
@@ -17,7 +17,7 @@
 package org.hawaiiframework.async.statistics;
 
 import java.util.concurrent.atomic.AtomicLong;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
 
 /**
  * Executor statistics.
@@ -25,23 +25,29 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * <p>The executor statistics contain the number of threads used, the maximum number configured, the
  * queued task count, the executed task count and the aborted task count.
  *
+ * <p>It also keeps a moving average of the time the tasks spent in the executor's queue, each new
+ * queue time has a weight of 1/8, like TCP's smoothed round trip time.
+ *
  * @author Rutger Lubbers
  * @since 2.0.0
  */
 public class ExecutorStatistics {
 
-  /** The thread pool task executor we're interested in. */
-  private final ThreadPoolTaskExecutor executor;
+  /** The executor we're interested in. */
+  private final HawaiiTaskExecutor executor;
 
   /** The number of aborted tasks. */
   private final AtomicLong abortedTaskCount = new AtomicLong(0L);
 
+  /** The moving average of the queue time in nanoseconds, negative until a task has started. */
+  private final AtomicLong averageQueueTime = new AtomicLong(-1L);
+
   /**
    * Create a new statistics instance for the {@code executor}.
    *
    * @param executor The executor we're holding the statistics for.
    */
-  public ExecutorStatistics(ThreadPoolTaskExecutor executor) {
+  public ExecutorStatistics(HawaiiTaskExecutor executor) {
     this.executor = executor;
   }
 
@@ -50,6 +56,17 @@ public class ExecutorStatistics {
     abortedTaskCount.incrementAndGet();
   }
 
+  /**
+   * Record the time a task spent in the executor's queue before it started.
+   *
+   * @param queueTime The queue time, in nanoseconds.
+   */
+  public void recordQueueTime(long queueTime) {
+    long sample = Math.max(0L, queueTime);
+    averageQueueTime.updateAndGet(
+        average -> average < 0 ? sample : average + (sample - average) / 8);
+  }
+
   /**
    * Get the executor's pool size.
    *
@@ -73,9 +90,8 @@ public class ExecutorStatistics {
    *
    * @return The number of queued tasks.
    */
-  @SuppressWarnings("PMD.LawOfDemeter")
   public Integer getQueueSize() {
-    return executor.getThreadPoolExecutor().getQueue().size();
+    return executor.getQueueSize();
   }
 
   /**
@@ -84,7 +100,7 @@ public class ExecutorStatistics {
    * @return The executor's completed task count.
    */
   public Long getCompletedTaskCount() {
-    return executor.getThreadPoolExecutor().getCompletedTaskCount();
+    return executor.getCompletedTaskCount();
   }
 
   /**
@@ -95,4 +111,13 @@ public class ExecutorStatistics {
   public Long getAbortedTaskCount() {
     return abortedTaskCount.get();
   }
+
+  /**
+   * Get the moving average of the time tasks spent in the executor's queue.
+   *
+   * @return The average queue time in nanoseconds, zero if no task has started yet.
+   */
+  public Long getAverageQueueTime() {
+    return Math.max(0L, averageQueueTime.get());
+  }
 }
@@ -35,6 +35,9 @@ public class ExecutorStatisticsView {
   /** The number of aborted tasks. */
   private final Long abortedTaskCount;
 
+  /** The average queue time, in nanoseconds. */
+  private final Long averageQueueTime;
+
   /**
    * Create a view on {@link ExecutorStatistics}.
    *
@@ -46,6 +49,7 @@ public class ExecutorStatisticsView {
     this.queueSize = statistics.getQueueSize();
     this.completedTaskCount = statistics.getCompletedTaskCount();
     this.abortedTaskCount = statistics.getAbortedTaskCount();
+    this.averageQueueTime = statistics.getAverageQueueTime();
   }
 
   /**
@@ -92,4 +96,13 @@ public class ExecutorStatisticsView {
   public Long getAbortedTaskCount() {
     return abortedTaskCount;
   }
+
+  /**
+   * Get the moving average of the time tasks spent in the executor's queue.
+   *
+   * @return The average queue time in nanoseconds.
+   */
+  public Long getAverageQueueTime() {
+    return averageQueueTime;
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.statistics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A sliding window of the most recent task latencies, to calculate percentiles over.
+ *
+ * <p>Recording a latency is lock-free. Calculating a percentile copies and sorts the window, so the
+ * window should be kept small, a few hundred samples at most.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class LatencyWindow {
+
+  /** The latencies, in nanoseconds, used as a ring buffer. */
+  private final AtomicLongArray samples;
+
+  /** The number of latencies recorded. */
+  private final AtomicLong count = new AtomicLong();
+
+  /**
+   * Construct an instance.
+   *
+   * @param size the number of most recent latencies to keep
+   */
+  public LatencyWindow(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Window size '%s' must be positive.", size));
+    }
+    this.samples = new AtomicLongArray(size);
+  }
+
+  /**
+   * Record a latency.
+   *
+   * @param nanos the latency, in nanoseconds
+   */
+  public void record(long nanos) {
+    long index = count.getAndIncrement();
+    samples.set((int) (index % samples.length()), nanos);
+  }
+
+  /**
+   * Get the number of latencies in the window.
+   *
+   * @return the number of latencies, at most the window size
+   */
+  public int getSampleCount() {
+    return (int) Math.min(count.get(), samples.length());
+  }
+
+  /**
+   * Get a percentile of the latencies in the window.
+   *
+   * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+   * @return the latency, in nanoseconds, or {@code -1} if no latencies have been recorded
+   */
+  public long getPercentile(double percentile) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new IllegalArgumentException(
+          String.format("Percentile '%s' must be between 0 and 100.", percentile));
+    }
+    int sampleCount = getSampleCount();
+    if (sampleCount == 0) {
+      return -1L;
+    }
+    long[] sorted = new long[sampleCount];
+    for (int i = 0; i < sampleCount; i++) {
+      sorted[i] = samples.get(i);
+    }
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sampleCount);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+}
@@ -28,13 +28,13 @@ package org.hawaiiframework.async.statistics;
 public final class TaskStatistics {
 
   /** The timestamp the task is put into the executor's queue. */
-  private Long queueStart;
+  private long queueStart;
 
   /** The timestamp the task is picked up by a thread and is run. */
-  private Long execStart;
+  private long execStart;
 
   /** The timestamp the task's execution has ended. */
-  private Long execEnd;
+  private long execEnd;
 
   /** The constructor, sets the queue start time. */
   public TaskStatistics() {
@@ -85,7 +85,7 @@ public final class TaskStatistics {
     return diff(queueStart, execEnd);
   }
 
-  private static Long diff(Long queueStart, Long execEnd) {
+  private static Long diff(long queueStart, long execEnd) {
     return execEnd - queueStart;
   }
 }
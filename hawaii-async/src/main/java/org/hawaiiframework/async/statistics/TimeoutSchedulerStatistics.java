@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timeout scheduler statistics.
+ *
+ * <p>Counts the number of timeouts armed (scheduled), cancelled (the guarded task finished in time)
+ * and fired (the guarded task timed out).
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class TimeoutSchedulerStatistics {
+
+  /** The number of armed timeouts. */
+  private final LongAdder armedCount = new LongAdder();
+
+  /** The number of cancelled timeouts. */
+  private final LongAdder cancelledCount = new LongAdder();
+
+  /** The number of fired timeouts. */
+  private final LongAdder firedCount = new LongAdder();
+
+  /** Increase the number of armed timeouts. */
+  public void incrementArmedCount() {
+    armedCount.increment();
+  }
+
+  /** Increase the number of cancelled timeouts. */
+  public void incrementCancelledCount() {
+    cancelledCount.increment();
+  }
+
+  /** Increase the number of fired timeouts. */
+  public void incrementFiredCount() {
+    firedCount.increment();
+  }
+
+  /**
+   * Get the number of armed timeouts.
+   *
+   * @return the number of timeouts that have been scheduled.
+   */
+  public long getArmedCount() {
+    return armedCount.sum();
+  }
+
+  /**
+   * Get the number of cancelled timeouts.
+   *
+   * @return the number of timeouts that have been cancelled before firing.
+   */
+  public long getCancelledCount() {
+    return cancelledCount.sum();
+  }
+
+  /**
+   * Get the number of fired timeouts.
+   *
+   * @return the number of timeouts that have fired.
+   */
+  public long getFiredCount() {
+    return firedCount.sum();
+  }
+
+  /**
+   * Get the number of pending timeouts.
+   *
+   * @return the number of timeouts that have neither been cancelled nor fired.
+   */
+  public long getPendingCount() {
+    return getArmedCount() - getCancelledCount() - getFiredCount();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "armed '%s', cancelled '%s', fired '%s'",
+        getArmedCount(), getCancelledCount(), getFiredCount());
+  }
+}
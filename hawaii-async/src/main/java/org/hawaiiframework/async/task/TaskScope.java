@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+
+/**
+ * A scope that collects the tasks submitted by the current thread, so they can be cancelled as a
+ * whole.
+ *
+ * <p>While a scope is open, every task submitted through a {@link
+ * org.hawaiiframework.async.DelegatingExecutor} by the thread that opened the scope is registered
+ * with it. If one of these tasks fails, the caller can {@link #cancelAll() cancel} the others,
+ * which removes them from their executor's queue or aborts them, see {@link
+ * SharedTaskContext#cancel()}. Scopes can be nested, a task is registered with all open scopes.
+ *
+ * <pre>{@code
+ * try (TaskScope scope = TaskScope.open()) {
+ *   List<CompletableFuture<Result>> futures = AsyncUtil.asyncMap(inputs, service::call);
+ *   return AsyncUtil.awaitAllOrCancel(scope, futures, 5L, TimeUnit.SECONDS);
+ * }
+ * }</pre>
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class TaskScope implements AutoCloseable {
+
+  /** The innermost open scope of the current thread. */
+  private static final ThreadLocal<TaskScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+  /** The enclosing scope, {@code null} if this is the outermost scope. */
+  private final TaskScope parent;
+
+  /** The contexts of the tasks submitted in this scope. */
+  private final Queue<SharedTaskContext> taskContexts = new ConcurrentLinkedQueue<>();
+
+  private TaskScope(TaskScope parent) {
+    this.parent = parent;
+  }
+
+  /**
+   * Open a new scope for the current thread.
+   *
+   * <p>The scope must be closed by the same thread, preferably with try-with-resources.
+   *
+   * @return the scope
+   */
+  public static TaskScope open() {
+    TaskScope scope = new TaskScope(CURRENT_SCOPE.get());
+    CURRENT_SCOPE.set(scope);
+    return scope;
+  }
+
+  /**
+   * Register a task with the open scopes of the current thread, if any.
+   *
+   * @param sharedTaskContext the context of the submitted task
+   */
+  public static void register(SharedTaskContext sharedTaskContext) {
+    for (TaskScope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+      scope.taskContexts.add(sharedTaskContext);
+    }
+  }
+
+  /**
+   * Cancel all tasks registered with this scope that have not finished yet.
+   *
+   * @return the number of tasks that were removed from the queue or aborted
+   */
+  public int cancelAll() {
+    int count = 0;
+    for (SharedTaskContext sharedTaskContext : taskContexts) {
+      if (sharedTaskContext.cancel()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get the contexts of the tasks registered with this scope.
+   *
+   * @return the contexts, in submission order
+   */
+  public List<SharedTaskContext> getTaskContexts() {
+    return new ArrayList<>(taskContexts);
+  }
+
+  /** Close the scope, the enclosing scope (if any) becomes the current scope again. */
+  @Override
+  public void close() {
+    if (parent == null) {
+      CURRENT_SCOPE.remove();
+    } else {
+      CURRENT_SCOPE.set(parent);
+    }
+  }
+}
@@ -25,6 +25,12 @@ import org.springframework.core.Ordered;
  * <p>The setSharedTaskContext method is called before the task is being run. Then the
  * startExecution method is called (prior to starting the task). Optionally the timeout method is
  * called. Then the finish is called last.
+ *
+ * <p>If the executor rejects the task, only the rejected method is called.
+ *
+ * <p>If the caller is no longer interested in the task's result, the task is cancelled and the
+ * cancelled method is called. If the task was still queued, it will not run and finish is not
+ * called.
  */
 public interface TaskListener extends Ordered {
 
@@ -51,4 +57,14 @@ public interface TaskListener extends Ordered {
   default void timeout() {
     // Default empty implementation.
   }
+
+  /** Called when the executor rejected the task, the task will not run. */
+  default void rejected() {
+    // Default empty implementation.
+  }
+
+  /** Called when the task has been cancelled, either removed from the queue or aborted. */
+  default void cancelled() {
+    // Default empty implementation.
+  }
 }
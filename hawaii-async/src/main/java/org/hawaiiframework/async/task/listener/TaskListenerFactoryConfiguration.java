@@ -1,5 +1,8 @@
 package org.hawaiiframework.async.task.listener;
 
+import org.hawaiiframework.async.context.ContextPropagationTaskListenerFactory;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -26,4 +29,16 @@ public class TaskListenerFactoryConfiguration {
   public LoggingTaskListenerFactory loggingTaskListenerFactory() {
     return new LoggingTaskListenerFactory();
   }
+
+  /**
+   * Context propagation listener, propagates the contexts of the {@link ContextPropagator} beans.
+   *
+   * @param propagators the context propagators.
+   * @return The bean.
+   */
+  @Bean
+  public ContextPropagationTaskListenerFactory contextPropagationTaskListenerFactory(
+      ObjectProvider<ContextPropagator<?>> propagators) {
+    return new ContextPropagationTaskListenerFactory(propagators.orderedStream().toList());
+  }
 }
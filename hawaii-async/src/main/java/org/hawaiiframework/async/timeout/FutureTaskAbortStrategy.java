@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.timeout;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+/**
+ * Strategy to abort a task by cancelling the future of the asynchronous call it waits for.
+ *
+ * <p>This is used for clients that return a future, for instance the JDK's {@link
+ * java.net.http.HttpClient}, which aborts the exchange and releases the connection if the future
+ * of {@code sendAsync()} is cancelled.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class FutureTaskAbortStrategy implements TaskAbortStrategy {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(FutureTaskAbortStrategy.class);
+
+  /** The future we may have to cancel. */
+  private final Future<?> future;
+
+  /**
+   * Construct a new instance with the {@code future} we may have to cancel.
+   *
+   * @param future The future of the call (which we have to guard).
+   */
+  public FutureTaskAbortStrategy(@NonNull Future<?> future) {
+    this.future = requireNonNull(future);
+  }
+
+  @Override
+  public boolean invoke() {
+    LOGGER.trace("Invoking Future#cancel().");
+    return future.cancel(true);
+  }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hawaiiframework.async.statistics.TimeoutSchedulerStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Timeout scheduler based on a hashed wheel, as described by Varghese and Lauck in "Hashed and
+ * Hierarchical Timing Wheels".
+ *
+ * <p>Scheduling and cancelling a task are O(1): a scheduled task is added to a lock-free queue, a
+ * cancelled task is marked as cancelled and added to another lock-free queue. A single worker
+ * thread advances the wheel every {@code tickDuration}, moves the newly scheduled tasks into the
+ * wheel's buckets, unlinks the cancelled tasks and fires the tasks in the current bucket. Fired
+ * tasks are handed over to the {@code executor}, so a slow task does not delay the wheel.
+ *
+ * <p>The trade-off is precision: a task fires within one {@code tickDuration} after its delay
+ * has lapsed. For timeout guards, with timeouts of tens of milliseconds or more, a tick of a few
+ * milliseconds is fine.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class HashedWheelTimeoutScheduler implements TimeoutScheduler, DisposableBean {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimeoutScheduler.class);
+
+  /** The maximum number of newly scheduled tasks moved into the wheel per tick. */
+  private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+  /** The executor that runs the fired tasks. */
+  private final Executor executor;
+
+  /** The duration of a tick, in nanoseconds. */
+  private final long tickDuration;
+
+  /** The wheel, the tasks are distributed over the buckets by their deadline. */
+  private final Bucket[] wheel;
+
+  /** The mask to get the bucket index from a tick, the wheel size is a power of two. */
+  private final int mask;
+
+  /** The tasks scheduled since the last tick. */
+  private final Queue<WheelTimeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+
+  /** The tasks cancelled since the last tick. */
+  private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+  /** The scheduler's statistics. */
+  private final TimeoutSchedulerStatistics statistics = new TimeoutSchedulerStatistics();
+
+  /** Flag to indicate the scheduler has been stopped. */
+  private final AtomicBoolean stopped = new AtomicBoolean();
+
+  /** The start time of the wheel, deadlines are relative to this time. */
+  private final long startTime;
+
+  /** The worker thread that advances the wheel. */
+  private final Thread worker;
+
+  /**
+   * Construct an instance and start the worker thread.
+   *
+   * @param executor the executor that runs the fired tasks.
+   * @param tickDuration the duration of a tick.
+   * @param wheelSize the number of buckets in the wheel, rounded up to a power of two.
+   */
+  public HashedWheelTimeoutScheduler(Executor executor, Duration tickDuration, int wheelSize) {
+    this.executor = requireNonNull(executor);
+    this.tickDuration = requireNonNull(tickDuration).toNanos();
+    if (this.tickDuration <= 0) {
+      throw new IllegalArgumentException("The tick duration must be positive.");
+    }
+    if (wheelSize <= 0 || wheelSize > 1 << 30) {
+      throw new IllegalArgumentException("The wheel size must be between 1 and 2^30.");
+    }
+    this.wheel = createWheel(wheelSize);
+    this.mask = wheel.length - 1;
+    this.startTime = System.nanoTime();
+    this.worker = new Thread(this::run, "hawaii-timeout-wheel");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  private Bucket[] createWheel(int wheelSize) {
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    Bucket[] buckets = new Bucket[size];
+    for (int i = 0; i < size; i++) {
+      buckets[i] = new Bucket();
+    }
+    return buckets;
+  }
+
+  @Override
+  public ScheduledTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+    requireNonNull(task);
+    if (stopped.get()) {
+      throw new RejectedExecutionException("The timeout scheduler has been stopped.");
+    }
+    long deadline = System.nanoTime() + Math.max(0, unit.toNanos(delay)) - startTime;
+    WheelTimeout timeout = new WheelTimeout(task, deadline);
+    scheduledTimeouts.add(timeout);
+    statistics.incrementArmedCount();
+    return timeout;
+  }
+
+  @Override
+  public TimeoutSchedulerStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Stops the worker thread, pending tasks will not fire.
+   */
+  @Override
+  public void destroy() {
+    if (stopped.compareAndSet(false, true)) {
+      worker.interrupt();
+    }
+  }
+
+  private void run() {
+    long tick = 0;
+    while (!stopped.get()) {
+      long deadline = tickDuration * (tick + 1);
+      if (!waitUntil(deadline)) {
+        break;
+      }
+      removeCancelledTimeouts();
+      transferScheduledTimeouts(tick);
+      wheel[(int) (tick & mask)].expireTimeouts(deadline);
+      tick++;
+    }
+    LOGGER.debug("Timeout wheel stopped, '{}' timeouts pending.", statistics.getPendingCount());
+  }
+
+  private boolean waitUntil(long deadline) {
+    long sleepTime = deadline - (System.nanoTime() - startTime);
+    while (sleepTime > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(sleepTime);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+      sleepTime = deadline - (System.nanoTime() - startTime);
+    }
+    return true;
+  }
+
+  private void removeCancelledTimeouts() {
+    WheelTimeout timeout = cancelledTimeouts.poll();
+    while (timeout != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+      timeout = cancelledTimeouts.poll();
+    }
+  }
+
+  private void transferScheduledTimeouts(long tick) {
+    for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+      WheelTimeout timeout = scheduledTimeouts.poll();
+      if (timeout == null) {
+        break;
+      }
+      if (timeout.isCancelled()) {
+        continue;
+      }
+      long calculated = timeout.deadline / tickDuration;
+      timeout.remainingRounds = (calculated - tick) / wheel.length;
+      // Schedule timeouts that are already due in the current tick.
+      long ticks = Math.max(calculated, tick);
+      wheel[(int) (ticks & mask)].add(timeout);
+    }
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private void fire(WheelTimeout timeout) {
+    if (!timeout.state.compareAndSet(WheelTimeout.SCHEDULED, WheelTimeout.FIRED)) {
+      return;
+    }
+    statistics.incrementFiredCount();
+    try {
+      executor.execute(timeout.task);
+    } catch (RuntimeException e) {
+      // An exception would stop the worker thread, and no other task would fire.
+      LOGGER.warn("Could not execute timeout task '{}'.", timeout.task, e);
+    }
+  }
+
+  /** A scheduled task. The wheel related fields are only accessed by the worker thread. */
+  private final class WheelTimeout implements ScheduledTimeout {
+
+    /** The state of a scheduled task. */
+    private static final int SCHEDULED = 0;
+
+    /** The state of a cancelled task. */
+    private static final int CANCELLED = 1;
+
+    /** The state of a fired task. */
+    private static final int FIRED = 2;
+
+    /** The task to run. */
+    private final Runnable task;
+
+    /** The deadline, in nanoseconds relative to the start of the wheel. */
+    private final long deadline;
+
+    /** The state of this timeout. */
+    private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+
+    /** The number of wheel rotations left before the task fires. */
+    private long remainingRounds;
+
+    /** The bucket this timeout is in. */
+    private Bucket bucket;
+
+    /** The next timeout in the bucket. */
+    private WheelTimeout next;
+
+    /** The previous timeout in the bucket. */
+    private WheelTimeout prev;
+
+    private WheelTimeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean cancel() {
+      if (!state.compareAndSet(SCHEDULED, CANCELLED)) {
+        return false;
+      }
+      statistics.incrementCancelledCount();
+      cancelledTimeouts.add(this);
+      return true;
+    }
+
+    private boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+  }
+
+  /** A bucket of the wheel, a doubly linked list of timeouts, only accessed by the worker. */
+  private final class Bucket {
+
+    /** The first timeout. */
+    private WheelTimeout head;
+
+    /** The last timeout. */
+    private WheelTimeout tail;
+
+    private void add(WheelTimeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+      }
+      tail = timeout;
+    }
+
+    private void expireTimeouts(long deadline) {
+      WheelTimeout timeout = head;
+      while (timeout != null) {
+        WheelTimeout next = timeout.next;
+        if (timeout.isCancelled()) {
+          remove(timeout);
+        } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+          remove(timeout);
+          fire(timeout);
+        } else {
+          timeout.remainingRounds--;
+        }
+        timeout = next;
+      }
+    }
+
+    private void remove(WheelTimeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+      WheelTimeout next = timeout.next;
+      if (timeout.prev != null) {
+        timeout.prev.next = next;
+      }
+      if (next != null) {
+        next.prev = timeout.prev;
+      }
+      if (timeout == head) {
+        head = next;
+      }
+      if (timeout == tail) {
+        tail = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.statistics.TimeoutSchedulerStatistics;
+
+/**
+ * Timeout scheduler that schedules the tasks on a {@link ScheduledThreadPoolExecutor}.
+ *
+ * <p>A cancelled task is removed from the executor's queue.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class ScheduledExecutorTimeoutScheduler implements TimeoutScheduler {
+
+  /** The executor that runs the scheduled tasks. */
+  private final ScheduledThreadPoolExecutor executor;
+
+  /** The scheduler's statistics. */
+  private final TimeoutSchedulerStatistics statistics = new TimeoutSchedulerStatistics();
+
+  /**
+   * Construct an instance.
+   *
+   * @param executor the executor that runs the scheduled tasks.
+   */
+  public ScheduledExecutorTimeoutScheduler(ScheduledThreadPoolExecutor executor) {
+    this.executor = requireNonNull(executor);
+  }
+
+  @Override
+  public ScheduledTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+    RunnableScheduledFuture<?> scheduledTask =
+        (RunnableScheduledFuture<?>) executor.schedule(() -> fire(task), delay, unit);
+    statistics.incrementArmedCount();
+    return () -> cancel(scheduledTask);
+  }
+
+  private void fire(Runnable task) {
+    statistics.incrementFiredCount();
+    task.run();
+  }
+
+  private boolean cancel(RunnableScheduledFuture<?> scheduledTask) {
+    boolean removed = executor.remove(scheduledTask);
+    if (removed) {
+      statistics.incrementCancelledCount();
+    }
+    return removed;
+  }
+
+  @Override
+  public TimeoutSchedulerStatistics getStatistics() {
+    return statistics;
+  }
+}
@@ -16,11 +16,15 @@
 
 package org.hawaiiframework.async.timeout;
 
-import static java.util.Collections.reverseOrder;
-import static java.util.UUID.randomUUID;
-
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
-import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.model.TaskRoute;
 import org.hawaiiframework.async.statistics.ExecutorStatistics;
 import org.hawaiiframework.async.statistics.TaskStatistics;
 import org.hawaiiframework.async.task.listener.TaskListener;
@@ -34,6 +38,16 @@ import org.springframework.core.OrderComparator;
  * <p>This class is called shared since it is shared by the guarded task and the guard task in order
  * to communicate the task abort strategy.
  *
+ * <p>The context also carries the task's deadline. A task submitted from within another task
+ * inherits its parent's deadline, if that is earlier than its own. The remaining time can be used
+ * to limit the time spent on HTTP calls and queries, see {@link
+ * SharedTaskContextHolder#getRemainingTime()}.
+ *
+ * <p>A task can have several abort strategies registered at the same time, for instance for
+ * statements executed in parallel or an HTTP call that is still being read while a query runs. An
+ * abort strategy is registered when the call starts and unregistered when it completes, on a
+ * timeout or cancel all registered strategies are invoked.
+ *
  * @author Rutger Lubbers
  * @author Paul Klos
  * @since 2.0.0
@@ -48,27 +62,30 @@ public class SharedTaskContext {
   /** The registered task removal strategy. */
   private TaskRemoveStrategy taskRemoveStrategy;
 
-  /** The registered task abort strategy. */
-  private TaskAbortStrategy taskAbortStrategy;
+  /** The registered task abort strategies, of the calls that are in progress. */
+  private final Set<TaskAbortStrategy> taskAbortStrategies = ConcurrentHashMap.newKeySet();
 
-  /** The registered timeout guard task removal strategy. */
-  private TaskRemoveStrategy timeoutGuardTaskRemoveStrategy;
+  /** The number of task abort strategies registered during the task's lifetime. */
+  private final AtomicInteger registeredTaskAbortStrategyCount = new AtomicInteger();
 
-  /** The task name. */
-  private final String taskName;
+  /** Flag to indicate that the task must be aborted, strategies registered later are invoked. */
+  private final AtomicBoolean abortRequested = new AtomicBoolean();
 
-  /** The task's id. */
-  private final String taskId;
+  /** The registered timeout guard task removal strategy. */
+  private TaskRemoveStrategy timeoutGuardTaskRemoveStrategy;
 
   /**
-   * The executor configuration properties.
+   * The task's route.
    *
-   * <p>Used to determine the timeout for {@link #taskName}.
+   * <p>Holds the task name and the timeout.
    */
-  private final ExecutorConfigurationProperties executorConfigurationProperties;
+  private final TaskRoute taskRoute;
+
+  /** The task's id. */
+  private final String taskId;
 
-  /** The set of task contexts, shared data between caller and async task. */
-  private final List<TaskListener> taskListeners;
+  /** The task listeners, shared data between caller and async task, sorted by their order. */
+  private final TaskListener[] taskListeners;
 
   /** The executor's statistics. */
   private final ExecutorStatistics executorStatistics;
@@ -76,30 +93,80 @@ public class SharedTaskContext {
   /** Flag to indicate that the task has been aborted. */
   private boolean aborted;
 
+  /** Flag to indicate that the task has been removed from the executor's queue. */
+  private boolean removed;
+
+  /** Flag to indicate that the task has timed out. */
+  private final AtomicBoolean timedOut = new AtomicBoolean();
+
+  /** Flag to indicate that the task has been cancelled. */
+  private final AtomicBoolean cancelled = new AtomicBoolean();
+
+  /** Flag to indicate that the task has finished. */
+  private final AtomicBoolean finished = new AtomicBoolean();
+
+  /** Flag to indicate that the worker has started the task. */
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  /** The thread running the timeout guard task, {@code null} until the guard task runs. */
+  private final AtomicReference<Thread> timeoutGuardThread = new AtomicReference<>();
+
   /** The task's statistics. */
   private final TaskStatistics taskStatistics;
 
+  /** The context of the task that submitted this task, {@code null} if not submitted by a task. */
+  private final SharedTaskContext parent;
+
+  /** The task's timeout, either configured or overridden. */
+  private final Duration timeout;
+
+  /** The task's deadline, in {@link System#nanoTime()} nanoseconds. */
+  private final long deadline;
+
   /**
    * Construct an instance.
    *
-   * @param taskName the task name
-   * @param executorConfigurationProperties the executor configuration properties
+   * @param taskRoute the task's route
    * @param executorStatistics executor statisctics.
-   * @param taskListeners task listeners.
+   * @param taskListeners task listeners, the array is sorted in place.
    */
   public SharedTaskContext(
-      String taskName,
-      ExecutorConfigurationProperties executorConfigurationProperties,
-      ExecutorStatistics executorStatistics,
-      List<TaskListener> taskListeners) {
-    this.taskName = taskName;
-    this.executorConfigurationProperties = executorConfigurationProperties;
+      TaskRoute taskRoute, ExecutorStatistics executorStatistics, TaskListener... taskListeners) {
+    this.taskRoute = taskRoute;
     this.taskListeners = taskListeners;
-    this.taskId = randomUUID().toString();
+    this.taskId = TaskIdGenerator.nextId();
     this.taskStatistics = new TaskStatistics();
     this.executorStatistics = executorStatistics;
+    this.parent = SharedTaskContextHolder.get();
+    this.timeout = TaskTimeoutOverride.resolve(taskRoute.getTimeout());
+    this.deadline = calculateDeadline(timeout, parent);
+
+    // Sort once, instead of for every lifecycle event. For a handful of listeners this is an
+    // insertion sort, which does not allocate.
+    Arrays.sort(taskListeners, ORDER_COMPARATOR);
+    for (TaskListener taskListener : taskListeners) {
+      taskListener.setSharedTaskContext(this);
+    }
+  }
+
+  /**
+   * The deadline is the task's own timeout from now, or the parent's deadline if that is earlier.
+   */
+  private static long calculateDeadline(Duration timeout, SharedTaskContext parent) {
+    long now = System.nanoTime();
+    long budget = timeout == null ? Long.MAX_VALUE / 2 : toNanos(timeout);
+    if (parent != null) {
+      budget = Math.min(budget, parent.getRemainingNanos());
+    }
+    return now + budget;
+  }
 
-    taskListeners.forEach(context -> context.setSharedTaskContext(this));
+  private static long toNanos(Duration timeout) {
+    try {
+      return timeout.toNanos();
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE / 2;
+    }
   }
 
   /**
@@ -121,31 +188,151 @@ public class SharedTaskContext {
   }
 
   /**
-   * Register the task abort strategy.
+   * Register a task abort strategy.
+   *
+   * <p>This is the same as {@link #registerTaskAbortStrategy(TaskAbortStrategy)}, the strategy is
+   * added to the strategies already registered.
    *
    * @param taskAbortStrategy The {@link TaskAbortStrategy} to share.
    */
   public void setTaskAbortStrategy(TaskAbortStrategy taskAbortStrategy) {
-    this.taskAbortStrategy = taskAbortStrategy;
+    registerTaskAbortStrategy(taskAbortStrategy);
   }
 
-  /** Invoke the {@code taskAbortStrategy}. */
-  public void abortBusinessTask() {
+  /**
+   * Register the task abort strategy of a call that is about to start.
+   *
+   * <p>If the task has already been aborted, the strategy is invoked immediately.
+   *
+   * @param taskAbortStrategy The {@link TaskAbortStrategy} to share.
+   */
+  public void registerTaskAbortStrategy(TaskAbortStrategy taskAbortStrategy) {
+    if (taskAbortStrategy == null || !taskAbortStrategies.add(taskAbortStrategy)) {
+      return;
+    }
+    registeredTaskAbortStrategyCount.incrementAndGet();
+    if (abortRequested.get() && taskAbortStrategies.remove(taskAbortStrategy)) {
+      LOGGER.debug("Task '{}' has been aborted, aborting new call.", getTaskId());
+      invoke(taskAbortStrategy);
+    }
+  }
+
+  /**
+   * Unregister the task abort strategy of a call that has completed.
+   *
+   * @param taskAbortStrategy The {@link TaskAbortStrategy} to remove.
+   */
+  public void unregisterTaskAbortStrategy(TaskAbortStrategy taskAbortStrategy) {
     if (taskAbortStrategy != null) {
-      taskAbortStrategy.invoke();
-      executorStatistics.incrementAbortedTaskCount();
-      aborted = true;
+      taskAbortStrategies.remove(taskAbortStrategy);
+    }
+  }
+
+  /**
+   * Get the number of task abort strategies currently registered, these are the calls in progress.
+   *
+   * @return the number of registered task abort strategies
+   */
+  public int getActiveTaskAbortStrategyCount() {
+    return taskAbortStrategies.size();
+  }
+
+  /**
+   * Get the task abort strategies currently registered, these are the calls in progress.
+   *
+   * @return a copy of the registered task abort strategies
+   */
+  public List<TaskAbortStrategy> getTaskAbortStrategies() {
+    return List.copyOf(taskAbortStrategies);
+  }
+
+  /**
+   * Get the number of task abort strategies registered during the task's lifetime.
+   *
+   * @return the number of task abort strategies registered so far
+   */
+  public int getRegisteredTaskAbortStrategyCount() {
+    return registeredTaskAbortStrategyCount.get();
+  }
+
+  /**
+   * Invoke all registered task abort strategies.
+   *
+   * <p>Strategies registered after this call are invoked as soon as they are registered.
+   */
+  public void abortBusinessTask() {
+    abortRequested.set(true);
+    if (taskAbortStrategies.isEmpty()) {
+      return;
+    }
+    int count = 0;
+    for (TaskAbortStrategy taskAbortStrategy : taskAbortStrategies) {
+      if (taskAbortStrategies.remove(taskAbortStrategy) && invoke(taskAbortStrategy)) {
+        count++;
+      }
+    }
+    LOGGER.debug("Aborted '{}' call(s) of task '{}'.", count, getTaskId());
+    executorStatistics.incrementAbortedTaskCount();
+    aborted = true;
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private boolean invoke(TaskAbortStrategy taskAbortStrategy) {
+    try {
+      return taskAbortStrategy.invoke();
+    } catch (RuntimeException exception) {
+      LOGGER.warn("Could not abort call of task '{}'.", getTaskId(), exception);
+      return false;
     }
   }
 
   /**
    * Get the timeout for the task this strategy is for.
    *
+   * <p>This is the configured timeout, unless it was overridden when the task was submitted.
+   *
    * @return the timeout
-   * @see ExecutorConfigurationProperties#getTaskTimeout(String)
+   * @see TaskRoute#getTimeout()
+   * @see TaskTimeoutOverride
    */
-  public Integer getTimeout() {
-    return executorConfigurationProperties.getTaskTimeout(taskName);
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Get the context of the task that submitted this task.
+   *
+   * @return the parent context, or {@code null} if this task was not submitted by a task
+   */
+  public SharedTaskContext getParent() {
+    return parent;
+  }
+
+  /**
+   * Get the time left until the task's deadline, in nanoseconds.
+   *
+   * @return the remaining time, zero or negative if the deadline has passed
+   */
+  public long getRemainingNanos() {
+    return deadline - System.nanoTime();
+  }
+
+  /**
+   * Get the time left until the task's deadline.
+   *
+   * @return the remaining time, {@link Duration#ZERO} if the deadline has passed
+   */
+  public Duration getRemainingTime() {
+    return Duration.ofNanos(Math.max(0, getRemainingNanos()));
+  }
+
+  /**
+   * Whether the task's deadline has passed.
+   *
+   * @return {@code true} if the deadline has passed.
+   */
+  public boolean isDeadlineExpired() {
+    return getRemainingNanos() <= 0;
   }
 
   /**
@@ -163,7 +350,25 @@ public class SharedTaskContext {
    * @return The task's name.
    */
   public String getTaskName() {
-    return taskName;
+    return taskRoute.getTaskName();
+  }
+
+  /**
+   * Retrieve the name of the executor the task is submitted to.
+   *
+   * @return The executor's name.
+   */
+  public String getExecutorName() {
+    return taskRoute.getExecutorName();
+  }
+
+  /**
+   * Retrieve the task's priority in the executor's queue.
+   *
+   * @return The task's priority.
+   */
+  public int getPriority() {
+    return taskRoute.getPriority();
   }
 
   /**
@@ -175,14 +380,95 @@ public class SharedTaskContext {
     return aborted;
   }
 
+  /**
+   * Whether the task has been removed from the executor's queue, before it started.
+   *
+   * @return {@code true} if the task has been removed.
+   */
+  public boolean isRemoved() {
+    return removed;
+  }
+
+  /**
+   * Whether the task has timed out.
+   *
+   * @return {@code true} if the task's timeout has lapsed.
+   */
+  public boolean isTimedOut() {
+    return timedOut.get();
+  }
+
+  /**
+   * Register the current thread as the thread that runs the task's timeout guard task.
+   *
+   * <p>The timeout guard task runs the task's lifecycle on its own thread, while the task itself
+   * may still be running. Listeners use {@link #isTimeoutGuardThread()} to tell the two apart.
+   */
+  void enterTimeoutGuard() {
+    timeoutGuardThread.set(Thread.currentThread());
+  }
+
+  /**
+   * Whether the current thread runs the task's timeout guard task.
+   *
+   * @return {@code true} if the lifecycle event is fired by the timeout guard task.
+   */
+  public boolean isTimeoutGuardThread() {
+    return timeoutGuardThread.get() == Thread.currentThread();
+  }
+
+  /**
+   * Whether the task has been cancelled.
+   *
+   * @return {@code true} if the task has been cancelled.
+   */
+  public boolean isCancelled() {
+    return cancelled.get();
+  }
+
+  /**
+   * Cancel the task, because the caller is no longer interested in its result.
+   *
+   * <p>Like a timeout, the task is removed from the executor's queue, or else aborted. Unlike a
+   * timeout, the listeners are informed with {@link TaskListener#cancelled()}, and the timeout
+   * guard task is removed. A task that was removed from the queue will not run.
+   *
+   * @return {@code true} if the task was removed or aborted by this call.
+   */
+  public boolean cancel() {
+    if (finished.get() || !cancelled.compareAndSet(false, true)) {
+      return false;
+    }
+    LOGGER.debug("Cancelling task '{}' with id '{}'.", getTaskName(), getTaskId());
+    if (taskRemoveStrategy != null && taskRemoveStrategy.invoke()) {
+      removed = true;
+      executorStatistics.incrementAbortedTaskCount();
+    } else if (getActiveTaskAbortStrategyCount() > 0) {
+      abortBusinessTask();
+    } else {
+      abortRequested.set(true);
+      return false;
+    }
+    if (timeoutGuardTaskRemoveStrategy != null) {
+      timeoutGuardTaskRemoveStrategy.invoke();
+    }
+    for (TaskListener taskListener : taskListeners) {
+      taskListener.cancelled();
+    }
+    return true;
+  }
+
   /** Remove the guarded task from the queue, or else abort the running guarded task. */
   public void timeout() {
+    timedOut.set(true);
     if (isNotRemovedFromExecutor()) {
       LOGGER.debug("Aborting task '{}' with id '{}.", getTaskName(), getTaskId());
       abortBusinessTask();
     }
 
-    taskListeners.stream().sorted(ORDER_COMPARATOR).forEach(TaskListener::timeout);
+    for (TaskListener taskListener : taskListeners) {
+      taskListener.timeout();
+    }
   }
 
   /**
@@ -197,6 +483,7 @@ public class SharedTaskContext {
 
     boolean isRemoved = taskRemoveStrategy.invoke();
     if (isRemoved) {
+      removed = true;
       executorStatistics.incrementAbortedTaskCount();
       LOGGER.debug("Removed task '{}' from the executors queue.", getTaskId());
     }
@@ -204,16 +491,41 @@ public class SharedTaskContext {
     return !isRemoved;
   }
 
-  /** Signal the start of the task's execution. */
+  /**
+   * Signal that the executor rejected the task.
+   *
+   * <p>The task will not run, so its timeout guard task is removed and the listeners are informed.
+   */
+  public void rejected() {
+    LOGGER.debug("Task '{}' with id '{}' was rejected.", getTaskName(), getTaskId());
+    if (timeoutGuardTaskRemoveStrategy != null) {
+      timeoutGuardTaskRemoveStrategy.invoke();
+    }
+    for (TaskListener taskListener : taskListeners) {
+      taskListener.rejected();
+    }
+  }
+
+  /**
+   * Signal the start of the task's execution.
+   *
+   * <p>The queue time is recorded once, when the worker starts the task. The timeout guard only
+   * starts the statistics of a task that has not started, so a task that timed out in the queue
+   * still has its statistics.
+   */
   public void startExecution() {
-    taskStatistics.startExecution();
-    taskListeners.stream()
-        .sorted(ORDER_COMPARATOR)
-        .forEach(
-            listener -> {
-              logListener(listener, "startExecution()");
-              listener.startExecution();
-            });
+    if (!isTimeoutGuardThread()) {
+      if (started.compareAndSet(false, true)) {
+        taskStatistics.startExecution();
+        executorStatistics.recordQueueTime(taskStatistics.getQueueTime());
+      }
+    } else if (!started.get()) {
+      taskStatistics.startExecution();
+    }
+    for (TaskListener taskListener : taskListeners) {
+      logListener(taskListener, "startExecution()");
+      taskListener.startExecution();
+    }
   }
 
   /**
@@ -223,26 +535,29 @@ public class SharedTaskContext {
    */
   @SuppressWarnings({"java:S1181", "PMD.AvoidCatchingThrowable"})
   public void finish() {
+    finished.set(true);
+    taskAbortStrategies.clear();
     if (!isAborted()) {
       timeoutGuardTaskRemoveStrategy.invoke();
     }
     taskStatistics.stopExecution();
-    taskListeners.stream()
-        .sorted(reverseOrder(ORDER_COMPARATOR))
-        .forEach(
-            listener -> {
-              logListener(listener, "finish()");
-              try {
-                listener.finish();
-              } catch (Throwable ignored) {
-                // Do nothing.
-              }
-            });
+    // In reverse order.
+    for (int i = taskListeners.length - 1; i >= 0; i--) {
+      TaskListener taskListener = taskListeners[i];
+      logListener(taskListener, "finish()");
+      try {
+        taskListener.finish();
+      } catch (Throwable ignored) {
+        // Do nothing.
+      }
+    }
     SharedTaskContextHolder.remove();
   }
 
   private static void logListener(TaskListener listener, String method) {
-    LOGGER.trace("Calling listener '{}#{}'.", listener.getClass().getSimpleName(), method);
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("Calling listener '{}#{}'.", listener.getClass().getSimpleName(), method);
+    }
   }
 
   /**
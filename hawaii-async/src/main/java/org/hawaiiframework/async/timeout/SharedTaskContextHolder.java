@@ -16,6 +16,7 @@
 
 package org.hawaiiframework.async.timeout;
 
+import java.time.Duration;
 import org.hawaiiframework.async.http.HawaiiHttpComponentsClientHttpRequestFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,10 +65,28 @@ public final class SharedTaskContextHolder {
     threadLocalStore.remove();
   }
 
+  /**
+   * Removes the {@code sharedTaskContext} of a task that has been submitted by this thread.
+   *
+   * <p>If the task was submitted from within another task, the submitting task's context becomes
+   * the current context again.
+   *
+   * @param sharedTaskContext the context of the submitted task.
+   */
+  public static void unregister(SharedTaskContext sharedTaskContext) {
+    SharedTaskContext parent = sharedTaskContext == null ? null : sharedTaskContext.getParent();
+    if (parent == null) {
+      threadLocalStore.remove();
+    } else {
+      threadLocalStore.set(parent);
+    }
+  }
+
   /**
    * Set the current thread's {@code taskAbortStrategy}.
    *
-   * <p>This sets the {@code taskAbortStrategy} into the thread's {@link SharedTaskContext}.
+   * <p>This registers the {@code taskAbortStrategy} in the thread's {@link SharedTaskContext}, see
+   * {@link #registerTaskAbortStrategy(TaskAbortStrategy)}.
    *
    * @param taskAbortStrategy The strategy to set.
    */
@@ -80,6 +99,37 @@ public final class SharedTaskContextHolder {
     }
   }
 
+  /**
+   * Register the current thread's {@code taskAbortStrategy} for a call that is about to start.
+   *
+   * <p>The strategy should be unregistered when the call completes, see {@link
+   * #unregisterTaskAbortStrategy(TaskAbortStrategy)}.
+   *
+   * @param taskAbortStrategy The strategy to register.
+   */
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public static void registerTaskAbortStrategy(TaskAbortStrategy taskAbortStrategy) {
+    SharedTaskContext sharedTaskContext = get();
+    if (sharedTaskContext != null) {
+      LOGGER.trace("Registering task abort strategy.");
+      sharedTaskContext.registerTaskAbortStrategy(taskAbortStrategy);
+    }
+  }
+
+  /**
+   * Unregister the current thread's {@code taskAbortStrategy} for a call that has completed.
+   *
+   * @param taskAbortStrategy The strategy to unregister.
+   */
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public static void unregisterTaskAbortStrategy(TaskAbortStrategy taskAbortStrategy) {
+    SharedTaskContext sharedTaskContext = get();
+    if (sharedTaskContext != null) {
+      LOGGER.trace("Unregistering task abort strategy.");
+      sharedTaskContext.unregisterTaskAbortStrategy(taskAbortStrategy);
+    }
+  }
+
   /**
    * Getter for #sharedTaskAbortStrategy.
    *
@@ -89,6 +139,22 @@ public final class SharedTaskContextHolder {
     return threadLocalStore.get();
   }
 
+  /**
+   * Return the time left until the current thread's task's deadline.
+   *
+   * <p>It delegates to the thread local {@link SharedTaskContext#getRemainingTime()}.
+   *
+   * @return The remaining time, or {@code null} if the current thread is not running a task.
+   */
+  @SuppressWarnings("PMD.LawOfDemeter")
+  public static Duration getRemainingTime() {
+    SharedTaskContext sharedTaskContext = get();
+    if (sharedTaskContext == null) {
+      return null;
+    }
+    return sharedTaskContext.getRemainingTime();
+  }
+
   /**
    * Return the task id for the current thread's task.
    *
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the task ids.
+ *
+ * <p>A task id consists of a random prefix, generated once per JVM, and a counter. The prefix keeps
+ * the ids of different instances apart in the logging, the counter makes generating an id a single
+ * atomic increment instead of a call to {@link java.util.UUID#randomUUID()}.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+final class TaskIdGenerator {
+
+  /** The per JVM prefix. */
+  private static final String PREFIX =
+      String.format(Locale.ROOT, "%016x-", new SecureRandom().nextLong());
+
+  /** The counter. */
+  private static final AtomicLong COUNTER = new AtomicLong();
+
+  private TaskIdGenerator() {
+    // Utility without constructor.
+  }
+
+  /**
+   * Generate the next task id.
+   *
+   * @return the task id.
+   */
+  static String nextId() {
+    return PREFIX + Long.toHexString(COUNTER.incrementAndGet());
+  }
+}
@@ -17,6 +17,8 @@
 package org.hawaiiframework.async.timeout;
 
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Predicate;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,8 +34,8 @@ public class TaskRemoveStrategy implements TaskAbortStrategy {
   /** The logger to use. */
   private static final Logger LOGGER = LoggerFactory.getLogger(TaskRemoveStrategy.class);
 
-  /** The executor holding the timeout guard tasks. */
-  private final ThreadPoolExecutor executor;
+  /** Removes the task from the executor holding it. */
+  private final Predicate<Runnable> remover;
 
   /** The timeout guard task for this task. */
   private final Runnable task;
@@ -54,7 +56,34 @@ public class TaskRemoveStrategy implements TaskAbortStrategy {
    */
   public TaskRemoveStrategy(
       ThreadPoolExecutor executor, Runnable task, String taskType, String taskId) {
-    this.executor = executor;
+    this(executor::remove, task, taskType, taskId);
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param executor The executor executing or queueing the {@code task}.
+   * @param task The task.
+   * @param taskType The type of the task.
+   * @param taskId The task id.
+   */
+  public TaskRemoveStrategy(
+      HawaiiTaskExecutor executor, Runnable task, String taskType, String taskId) {
+    this(executor::remove, task, taskType, taskId);
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param remover The function that removes the {@code task}, it returns {@code true} if the task
+   *     was removed before it started.
+   * @param task The task.
+   * @param taskType The type of the task.
+   * @param taskId The task id.
+   */
+  public TaskRemoveStrategy(
+      Predicate<Runnable> remover, Runnable task, String taskType, String taskId) {
+    this.remover = remover;
     this.task = task;
     this.taskType = taskType;
     this.taskId = taskId;
@@ -63,7 +92,7 @@ public class TaskRemoveStrategy implements TaskAbortStrategy {
   @Override
   public boolean invoke() {
     LOGGER.trace("Removing {} task with id '{}'.", taskType, taskId);
-    boolean wasRemoved = executor.remove(task);
+    boolean wasRemoved = remover.test(task);
     LOGGER.trace("Removal was {}successful.", wasRemoved ? "" : "not ");
 
     return wasRemoved;
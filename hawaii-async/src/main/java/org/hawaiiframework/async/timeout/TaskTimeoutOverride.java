@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.lang.NonNull;
+
+/**
+ * Overrides the configured timeout of the tasks submitted by the current thread.
+ *
+ * <p>The override applies to all tasks submitted while it is open, for instance by calling an
+ * {@code @Async} method. The timeout guard task and the task's deadline use the override instead
+ * of the timeout configured for the task. Overrides can be nested.
+ *
+ * <pre>{@code
+ * try (TaskTimeoutOverride ignored = TaskTimeoutOverride.of(Duration.ofMillis(150))) {
+ *   future = service.getPrices(request);
+ * }
+ * }</pre>
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public final class TaskTimeoutOverride implements AutoCloseable {
+
+  /** The innermost open override of the current thread. */
+  private static final ThreadLocal<TaskTimeoutOverride> CURRENT_OVERRIDE = new ThreadLocal<>();
+
+  /** The timeout. */
+  private final Duration timeout;
+
+  /** The enclosing override, {@code null} if this is the outermost override. */
+  private final TaskTimeoutOverride previous;
+
+  private TaskTimeoutOverride(Duration timeout, TaskTimeoutOverride previous) {
+    this.timeout = timeout;
+    this.previous = previous;
+  }
+
+  /**
+   * Open a timeout override for the current thread.
+   *
+   * <p>The override must be closed by the same thread, preferably with try-with-resources.
+   *
+   * @param timeout the timeout for the tasks submitted while the override is open
+   * @return the override
+   */
+  public static TaskTimeoutOverride of(@NonNull Duration timeout) {
+    requireNonNull(timeout);
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("Timeout '%s' must not be negative.", timeout));
+    }
+    TaskTimeoutOverride override = new TaskTimeoutOverride(timeout, CURRENT_OVERRIDE.get());
+    CURRENT_OVERRIDE.set(override);
+    return override;
+  }
+
+  /**
+   * Call the {@code supplier} with a timeout override.
+   *
+   * @param timeout the timeout for the tasks submitted by the supplier
+   * @param supplier the supplier, for instance a call to an {@code @Async} method
+   * @param <T> the return type
+   * @return the supplier's return value
+   */
+  public static <T> T call(@NonNull Duration timeout, @NonNull Supplier<T> supplier) {
+    TaskTimeoutOverride override = of(timeout);
+    try {
+      return supplier.get();
+    } finally {
+      override.close();
+    }
+  }
+
+  /**
+   * Resolve the timeout of a task submitted by the current thread.
+   *
+   * @param configuredTimeout the timeout configured for the task
+   * @return the override, if open, or else the {@code configuredTimeout}
+   */
+  public static Duration resolve(Duration configuredTimeout) {
+    TaskTimeoutOverride override = CURRENT_OVERRIDE.get();
+    return override == null ? configuredTimeout : override.timeout;
+  }
+
+  /**
+   * Get the timeout.
+   *
+   * @return the timeout
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /** Close the override, the enclosing override (if any) applies again. */
+  @Override
+  public void close() {
+    if (previous == null) {
+      CURRENT_OVERRIDE.remove();
+    } else {
+      CURRENT_OVERRIDE.set(previous);
+    }
+  }
+}
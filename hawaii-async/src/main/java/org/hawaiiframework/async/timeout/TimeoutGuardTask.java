@@ -47,6 +47,12 @@ public class TimeoutGuardTask extends HawaiiAsyncRunnable {
     super(sharedTaskContext);
   }
 
+  @Override
+  public void run() {
+    sharedTaskContext.enterTimeoutGuard();
+    super.run();
+  }
+
   @Override
   protected void doRun() {
     LOGGER.trace("Executing guard task.");
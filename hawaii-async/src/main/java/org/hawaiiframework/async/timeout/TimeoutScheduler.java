@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.statistics.TimeoutSchedulerStatistics;
+
+/**
+ * Schedules the {@link TimeoutGuardTask}s.
+ *
+ * <p>Each task submitted to a hawaii executor arms a timeout guard task, which is cancelled again
+ * once the task finishes. So at least two scheduler operations are performed per task, and most of
+ * the scheduled tasks never run.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ * @see ScheduledExecutorTimeoutScheduler
+ * @see HashedWheelTimeoutScheduler
+ */
+public interface TimeoutScheduler {
+
+  /**
+   * Schedule the {@code task} to run after the given {@code delay}.
+   *
+   * @param task the task to run.
+   * @param delay the delay.
+   * @param unit the unit of the delay.
+   * @return the handle to cancel the task.
+   */
+  ScheduledTimeout schedule(Runnable task, long delay, TimeUnit unit);
+
+  /**
+   * Get the scheduler's statistics.
+   *
+   * @return the statistics.
+   */
+  TimeoutSchedulerStatistics getStatistics();
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.tuning;
+
+import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiThreadPoolTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiVirtualThreadTaskExecutor;
+import org.hawaiiframework.async.model.ExecutorProperties;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.task.listener.TaskListenerFactory;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.exception.HawaiiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Tunes the pool sizes of the executors configured with {@code autoTune}.
+ *
+ * <p>As a {@link TaskListenerFactory} it records the arrivals and service times of the tasks per
+ * executor. Once started, each executor's {@link PoolSizeTuner} is run at the executor's interval
+ * on the async timeout executor. For a {@code thread-pool} executor the core pool size is tuned,
+ * the max pool size is raised if the core pool size exceeds it. For a {@code virtual} executor the
+ * concurrency limit is tuned.
+ *
+ * <p>The bounds of a tuner are fixed when it is started, from the {@code autoTune} configuration
+ * and the executor's max pool size at that moment. The {@link
+ * org.hawaiiframework.async.config.AsyncConfigurationReloader} therefore does not apply new pool
+ * sizes to auto-tuned executors, it reports these as requiring a restart.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class ExecutorAutoTuner implements TaskListenerFactory, SmartLifecycle {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorAutoTuner.class);
+
+  /** Spring's bean factory, holding the executors. */
+  private final ListableBeanFactory beanFactory;
+
+  /** The configuration of the executors to tune. */
+  private final List<ExecutorProperties> executors;
+
+  /** The tuners, keyed by executor name. */
+  private final Map<String, PoolSizeTuner> tuners = new ConcurrentHashMap<>();
+
+  /** The scheduled tuning tasks, {@code null} while not running. */
+  private final AtomicReference<List<ScheduledFuture<?>>> scheduled = new AtomicReference<>();
+
+  /**
+   * The constructor.
+   *
+   * @param beanFactory Spring's bean factory, holding the executors.
+   * @param executors The configuration of the executors, those without {@code autoTune} are
+   *     ignored.
+   */
+  public ExecutorAutoTuner(ListableBeanFactory beanFactory, List<ExecutorProperties> executors) {
+    this.beanFactory = beanFactory;
+    this.executors =
+        executors.stream().filter(executor -> executor.getAutoTune() != null).toList();
+  }
+
+  /**
+   * Whether any of the executors is to be tuned.
+   *
+   * @param executors The configuration of the executors.
+   * @return {@code true} if at least one executor has {@code autoTune} configured.
+   */
+  public static boolean hasAutoTunedExecutors(List<ExecutorProperties> executors) {
+    return executors.stream().anyMatch(executor -> executor.getAutoTune() != null);
+  }
+
+  @Override
+  public TaskListener create() {
+    return new AutoTuneTaskListener();
+  }
+
+  @Override
+  public void start() {
+    ScheduledExecutorService scheduler =
+        beanFactory.getBean(ASYNC_TIMEOUT_EXECUTOR, ScheduledExecutorService.class);
+    List<ScheduledFuture<?>> futures = new ArrayList<>();
+    for (ExecutorProperties executorProperties : executors) {
+      PoolSizeTuner tuner = createTuner(executorProperties);
+      tuners.put(executorProperties.getName(), tuner);
+      long interval = executorProperties.getAutoTune().getInterval().toNanos();
+      futures.add(
+          scheduler.scheduleWithFixedDelay(
+              () -> tune(executorProperties.getName(), tuner),
+              interval,
+              interval,
+              TimeUnit.NANOSECONDS));
+      LOGGER.info(
+          "Auto-tuning executor '{}' with '{}'.",
+          executorProperties.getName(),
+          executorProperties.getAutoTune());
+    }
+    scheduled.set(futures);
+  }
+
+  private PoolSizeTuner createTuner(ExecutorProperties executorProperties) {
+    String name = executorProperties.getName();
+    HawaiiTaskExecutor executor = beanFactory.getBean(name, HawaiiTaskExecutor.class);
+    return new PoolSizeTuner(
+        name,
+        createPool(name, executor),
+        executorProperties.getAutoTune(),
+        executor.getMaxPoolSize(),
+        System::nanoTime);
+  }
+
+  private static PoolSizeTuner.Pool createPool(String name, HawaiiTaskExecutor executor) {
+    if (executor instanceof HawaiiThreadPoolTaskExecutor threadPoolTaskExecutor) {
+      return new ThreadPool(threadPoolTaskExecutor);
+    }
+    if (executor instanceof HawaiiVirtualThreadTaskExecutor virtualThreadTaskExecutor) {
+      return new VirtualThreadPool(virtualThreadTaskExecutor);
+    }
+    throw new HawaiiException(String.format("Executor '%s' cannot be auto-tuned.", name));
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private static void tune(String name, PoolSizeTuner tuner) {
+    try {
+      tuner.tune();
+    } catch (RuntimeException exception) {
+      // An exception would cancel the periodic task.
+      LOGGER.warn("Unable to auto-tune executor '{}'.", name, exception);
+    }
+  }
+
+  @Override
+  public void stop() {
+    List<ScheduledFuture<?>> futures = scheduled.getAndSet(null);
+    if (futures != null) {
+      futures.forEach(future -> future.cancel(false));
+    }
+    tuners.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduled.get() != null;
+  }
+
+  /** Records the arrival and the completion of a task with the tuner of the task's executor. */
+  private final class AutoTuneTaskListener implements TaskListener {
+
+    /** The tuner of the task's executor, {@code null} if the executor is not tuned. */
+    private PoolSizeTuner tuner;
+
+    /** The shared task context. */
+    private SharedTaskContext sharedTaskContext;
+
+    /** Flag to indicate the worker has started the task. */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /** Flag to indicate the completion of the task has been recorded. */
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    @Override
+    public int getOrder() {
+      return 0;
+    }
+
+    @Override
+    public void setSharedTaskContext(SharedTaskContext sharedTaskContext) {
+      this.sharedTaskContext = sharedTaskContext;
+      this.tuner = tuners.get(sharedTaskContext.getExecutorName());
+      if (tuner != null) {
+        tuner.recordArrival();
+      }
+    }
+
+    @Override
+    public void startExecution() {
+      // The timeout guard runs the task's lifecycle as well, only the worker's counts.
+      if (!sharedTaskContext.isTimeoutGuardThread()) {
+        started.set(true);
+      }
+    }
+
+    @Override
+    public void finish() {
+      if (tuner == null
+          || sharedTaskContext.isTimeoutGuardThread()
+          || !started.get()
+          || sharedTaskContext.isRemoved()
+          || sharedTaskContext.isCancelled()) {
+        return;
+      }
+      if (recorded.compareAndSet(false, true)) {
+        tuner.recordCompletion(
+            sharedTaskContext.getTaskStatistics().getQueueTime(),
+            sharedTaskContext.getTaskStatistics().getExecutionTime());
+      }
+    }
+  }
+
+  /** The core pool size of a thread pool executor. */
+  private static final class ThreadPool implements PoolSizeTuner.Pool {
+
+    /** The executor. */
+    private final HawaiiThreadPoolTaskExecutor executor;
+
+    private ThreadPool(HawaiiThreadPoolTaskExecutor executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public int getSize() {
+      return executor.getCorePoolSize();
+    }
+
+    @Override
+    public void setSize(int size) {
+      executor.setPoolSizes(size, Math.max(size, executor.getMaxPoolSize()));
+    }
+
+    @Override
+    public int getQueueSize() {
+      return executor.getQueueSize();
+    }
+  }
+
+  /** The concurrency limit of a virtual thread executor. */
+  private static final class VirtualThreadPool implements PoolSizeTuner.Pool {
+
+    /** The executor. */
+    private final HawaiiVirtualThreadTaskExecutor executor;
+
+    private VirtualThreadPool(HawaiiVirtualThreadTaskExecutor executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public int getSize() {
+      return executor.getMaxPoolSize();
+    }
+
+    @Override
+    public void setSize(int size) {
+      executor.setConcurrencyLimit(size);
+    }
+
+    @Override
+    public int getQueueSize() {
+      return executor.getQueueSize();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.tuning;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.hawaiiframework.async.model.AutoTuneProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tunes the pool size of a single executor from its observed load.
+ *
+ * <p>The arrivals and the service (execution) times of the executor's tasks are recorded, on each
+ * {@link #tune()} these are sampled and reset. By Little's law the number of busy threads is the
+ * arrival rate times the average service time. Tasks that are queued at the time of the sample are
+ * added as a backlog that is to be drained within the next interval. The pool size is set to the
+ * number of busy threads divided by the target utilization, within the configured bounds.
+ *
+ * <p>The pool grows in one step, but shrinks by at most a quarter per interval, so a short lull in
+ * the load does not throw away the threads needed when the load returns.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+final class PoolSizeTuner {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(PoolSizeTuner.class);
+
+  /** The name of the executor. */
+  private final String executorName;
+
+  /** The pool to tune. */
+  private final Pool pool;
+
+  /** The lower bound of the pool size. */
+  private final int minPoolSize;
+
+  /** The upper bound of the pool size. */
+  private final int maxPoolSize;
+
+  /** The fraction of the pool that is busy at the observed load. */
+  private final double targetUtilization;
+
+  /** The clock, in nanoseconds. */
+  private final LongSupplier clock;
+
+  /** The number of tasks submitted since the last sample. */
+  private final LongAdder arrivals = new LongAdder();
+
+  /** The number of tasks completed since the last sample. */
+  private final LongAdder completions = new LongAdder();
+
+  /** The sum of the service times of the tasks completed since the last sample, in nanoseconds. */
+  private final LongAdder serviceTime = new LongAdder();
+
+  /** The sum of the queue times of the tasks completed since the last sample, in nanoseconds. */
+  private final LongAdder queueTime = new LongAdder();
+
+  /** The average service time of the last sample with completed tasks, negative until then. */
+  private final AtomicLong averageServiceTime = new AtomicLong(-1L);
+
+  /** The time of the last sample. */
+  private final AtomicLong lastSample;
+
+  /**
+   * Construct an instance.
+   *
+   * @param executorName the name of the executor
+   * @param pool the pool to tune
+   * @param properties the auto-tuning configuration
+   * @param maxPoolSize the upper bound of the pool size if not configured in the {@code properties}
+   * @param clock the clock, in nanoseconds
+   */
+  PoolSizeTuner(
+      String executorName,
+      Pool pool,
+      AutoTuneProperties properties,
+      int maxPoolSize,
+      LongSupplier clock) {
+    this.executorName = executorName;
+    this.pool = pool;
+    this.minPoolSize = Math.max(1, properties.getMinPoolSize());
+    this.maxPoolSize =
+        Math.max(
+            minPoolSize,
+            properties.getMaxPoolSize() == null ? maxPoolSize : properties.getMaxPoolSize());
+    this.targetUtilization = properties.getTargetUtilization();
+    if (targetUtilization <= 0 || targetUtilization > 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Target utilization '%s' of executor '%s' must be between 0 and 1.",
+              targetUtilization, executorName));
+    }
+    this.clock = clock;
+    this.lastSample = new AtomicLong(clock.getAsLong());
+  }
+
+  /** Record the submission of a task. */
+  void recordArrival() {
+    arrivals.increment();
+  }
+
+  /**
+   * Record the completion of a task.
+   *
+   * @param taskQueueTime the time the task spent in the queue, in nanoseconds
+   * @param taskServiceTime the time the task was running, in nanoseconds
+   */
+  void recordCompletion(long taskQueueTime, long taskServiceTime) {
+    completions.increment();
+    queueTime.add(Math.max(0L, taskQueueTime));
+    serviceTime.add(Math.max(0L, taskServiceTime));
+  }
+
+  /**
+   * Sample the load since the previous sample and adjust the pool size.
+   *
+   * @return the pool size after the adjustment
+   */
+  int tune() {
+    long now = clock.getAsLong();
+    long elapsed = now - lastSample.getAndSet(now);
+    long arrivalCount = arrivals.sumThenReset();
+    long completionCount = completions.sumThenReset();
+    long totalServiceTime = serviceTime.sumThenReset();
+    long totalQueueTime = queueTime.sumThenReset();
+    if (completionCount > 0) {
+      averageServiceTime.set(totalServiceTime / completionCount);
+    }
+    long service = averageServiceTime.get();
+    int current = pool.getSize();
+    if (elapsed <= 0 || service < 0) {
+      return current;
+    }
+
+    int queueSize = pool.getQueueSize();
+    double busyThreads = ((double) arrivalCount + queueSize) * service / elapsed;
+    int target = clamp((int) Math.ceil(busyThreads / targetUtilization));
+    if (target < current) {
+      target = Math.max(target, current - Math.max(1, current / 4));
+    }
+    if (target != current) {
+      pool.setSize(target);
+      long averageQueueTime = completionCount == 0 ? 0 : totalQueueTime / completionCount;
+      LOGGER.info(
+          "Auto-tuned executor '{}' from '{}' to '{}' threads, arrival rate '{}/s', "
+              + "service time '{}ms', queue time '{}ms', queue size '{}'.",
+          executorName,
+          current,
+          target,
+          String.format("%.1f", arrivalCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsed),
+          TimeUnit.NANOSECONDS.toMillis(service),
+          TimeUnit.NANOSECONDS.toMillis(averageQueueTime),
+          queueSize);
+    }
+    return target;
+  }
+
+  private int clamp(int size) {
+    return Math.min(maxPoolSize, Math.max(minPoolSize, size));
+  }
+
+  /** The pool size of an executor. */
+  interface Pool {
+
+    /**
+     * Get the pool size.
+     *
+     * @return the pool size
+     */
+    int getSize();
+
+    /**
+     * Set the pool size.
+     *
+     * @param size the new pool size
+     */
+    void setSize(int size);
+
+    /**
+     * Get the number of queued tasks.
+     *
+     * @return the queue size
+     */
+    int getQueueSize();
+  }
+}
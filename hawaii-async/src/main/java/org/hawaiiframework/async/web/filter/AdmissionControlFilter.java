@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * A filter that rejects requests for endpoints whose async executors are saturated.
+ *
+ * <p>Without admission control a request is accepted even if the executors it depends on are
+ * saturated, its tasks queue in the executor and time out, after holding a servlet thread for the
+ * full timeout. This filter rejects such a request up front with a {@code 503 Service Unavailable}
+ * and a {@code Retry-After} header, protecting the latency of the requests that are accepted.
+ *
+ * <p>The first {@link AdmissionRule} that matches the request decides, requests that match no rule
+ * are always admitted.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+  /** The admission rules. */
+  private final List<AdmissionRule> rules;
+
+  /** The value of the {@code Retry-After} header, in seconds. */
+  private final String retryAfter;
+
+  /** The number of rejected requests. */
+  private final AtomicLong rejectedRequestCount = new AtomicLong();
+
+  /**
+   * The constructor.
+   *
+   * @param rules The admission rules.
+   * @param retryAfter The time after which the client may retry a rejected request.
+   */
+  public AdmissionControlFilter(List<AdmissionRule> rules, Duration retryAfter) {
+    super();
+    this.rules = List.copyOf(rules);
+    // Retry-After is in whole seconds, round up so the client does not retry too soon.
+    this.retryAfter = String.valueOf(Math.max(1L, retryAfter.plusNanos(999_999_999).toSeconds()));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    AdmissionRule rule = getRule(request);
+    if (rule == null || rule.admits()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    rejectedRequestCount.incrementAndGet();
+    LOGGER.info(
+        "Rejecting request '{} {}', executors of {} are saturated.",
+        request.getMethod(),
+        request.getServletPath(),
+        rule);
+    response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service is saturated.");
+  }
+
+  private AdmissionRule getRule(HttpServletRequest request) {
+    String method = request.getMethod();
+    String path = request.getServletPath();
+    for (AdmissionRule rule : rules) {
+      if (rule.matches(method, path)) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the number of requests rejected by this filter.
+   *
+   * @return the number of rejected requests
+   */
+  public long getRejectedRequestCount() {
+    return rejectedRequestCount.get();
+  }
+}
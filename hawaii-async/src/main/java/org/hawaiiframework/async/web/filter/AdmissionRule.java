@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.web.filter;
+
+import java.time.Duration;
+import java.util.List;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.statistics.ExecutorStatisticsView;
+import org.hawaiiframework.logging.model.PathDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An admission rule of the {@link AdmissionControlFilter}.
+ *
+ * <p>The rule maps an endpoint to the executors of the tasks the endpoint depends on. A request is
+ * not admitted if one of the executors has more than {@code maxQueueSize} tasks queued, or if tasks
+ * are queued and the average queue time exceeds {@code maxQueueTime}. The queue time is only taken
+ * into account while tasks are queued, so an executor that has drained its queue admits requests
+ * again, even if no task has been run since.
+ *
+ * @author Rutger Lubbers
+ * @since 6.0.0
+ */
+public class AdmissionRule {
+
+  /** The logger to use. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionRule.class);
+
+  /** The endpoint the rule applies to. */
+  private final PathDefinition endpoint;
+
+  /** The executors of the tasks the endpoint depends on. */
+  private final List<DelegatingExecutor> executors;
+
+  /** The maximum queue size, {@code null} if the queue size is not checked. */
+  private final Integer maxQueueSize;
+
+  /** The maximum average queue time in nanoseconds, {@code null} if not checked. */
+  private final Long maxQueueTime;
+
+  /**
+   * Construct an instance.
+   *
+   * @param endpoint the endpoint the rule applies to
+   * @param executors the executors of the tasks the endpoint depends on
+   * @param maxQueueSize the maximum queue size, {@code null} to not check the queue size
+   * @param maxQueueTime the maximum average queue time, {@code null} to not check the queue time
+   */
+  public AdmissionRule(
+      PathDefinition endpoint,
+      List<DelegatingExecutor> executors,
+      Integer maxQueueSize,
+      Duration maxQueueTime) {
+    this.endpoint = endpoint;
+    this.executors = List.copyOf(executors);
+    this.maxQueueSize = maxQueueSize;
+    this.maxQueueTime = maxQueueTime == null ? null : maxQueueTime.toNanos();
+  }
+
+  /**
+   * Whether the rule applies to a request.
+   *
+   * @param method the request's method
+   * @param path the request's path
+   * @return {@code true} if the request is for this rule's endpoint
+   */
+  public boolean matches(String method, String path) {
+    return endpoint.matches(method, path);
+  }
+
+  /**
+   * Whether a request can be admitted, given the current state of the executors.
+   *
+   * @return {@code true} if none of the executors is saturated
+   */
+  public boolean admits() {
+    for (DelegatingExecutor executor : executors) {
+      if (isSaturated(executor.getExecutorStatistics())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isSaturated(ExecutorStatisticsView statistics) {
+    int queueSize = statistics.getQueueSize();
+    if (maxQueueSize != null && queueSize > maxQueueSize) {
+      LOGGER.debug("Endpoint '{}' saturated, '{}' tasks queued.", endpoint, queueSize);
+      return true;
+    }
+    long queueTime = statistics.getAverageQueueTime();
+    if (maxQueueTime != null && queueSize > 0 && queueTime > maxQueueTime) {
+      LOGGER.debug(
+          "Endpoint '{}' saturated, average queue time is '{}' ms.",
+          endpoint,
+          queueTime / 1_000_000);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "AdmissionRule{endpoint=%s, executors=%s, maxQueueSize=%s, maxQueueTime=%s}",
+        endpoint.getPattern(), executors.size(), maxQueueSize, maxQueueTime);
+  }
+}
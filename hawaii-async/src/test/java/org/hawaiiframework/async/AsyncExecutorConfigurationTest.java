@@ -21,10 +21,14 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.hawaiiframework.async.config.AsyncConfigurationReloader;
+import org.hawaiiframework.async.model.AutoTuneProperties;
 import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
 import org.hawaiiframework.async.model.ExecutorProperties;
 import org.hawaiiframework.async.model.SystemProperties;
@@ -33,12 +37,14 @@ import org.hawaiiframework.async.statistics.ExecutorStatisticsView;
 import org.hawaiiframework.async.task.listener.KibanaLogFieldsTaskListenerFactory;
 import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
 import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.hawaiiframework.exception.HawaiiException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -238,16 +244,44 @@ public class AsyncExecutorConfigurationTest {
       int maxPoolSize,
       int maxPendingRequests,
       int keepAliveSeconds) {
+    ExecutorProperties executorProperties =
+        createExecutorProperties(
+            executorName, corePoolSize, maxPoolSize, maxPendingRequests, keepAliveSeconds);
+    properties.addExecutor(executorProperties);
+    return executorProperties;
+  }
+
+  private static ExecutorProperties createExecutorProperties(
+      String executorName,
+      int corePoolSize,
+      int maxPoolSize,
+      int maxPendingRequests,
+      int keepAliveSeconds) {
     ExecutorProperties executorProperties = new ExecutorProperties();
     executorProperties.setName(executorName);
     executorProperties.setCorePoolSize(corePoolSize);
     executorProperties.setMaxPoolSize(maxPoolSize);
     executorProperties.setMaxPendingRequests(maxPendingRequests);
     executorProperties.setKeepAliveTime(keepAliveSeconds);
-    properties.addExecutor(executorProperties);
     return executorProperties;
   }
 
+  private static SystemProperties createSystemProperties(String executorName, Integer timeout) {
+    SystemProperties systemProperties = new SystemProperties();
+    systemProperties.setName("coffee-bar");
+    TaskProperties taskProperties = new TaskProperties();
+    taskProperties.setMethod("serve-espresso");
+    taskProperties.setExecutor(executorName);
+    taskProperties.setTimeout(timeout);
+    systemProperties.addTask(taskProperties);
+    return systemProperties;
+  }
+
+  private AsyncConfigurationReloader getReloader() {
+    return beanFactory.getBean(
+        AsyncExecutorConfiguration.ASYNC_CONFIGURATION_RELOADER, AsyncConfigurationReloader.class);
+  }
+
   @Test
   public void testTaskTimeoutGuardIsRemovedUponNormalExecution() throws Exception {
     SystemProperties systemProperties = new SystemProperties();
@@ -447,4 +481,110 @@ public class AsyncExecutorConfigurationTest {
     ExecutorStatisticsView executorStatistics = waterTaskExecutor.getExecutorStatistics();
     assertEquals((Long) 1L, executorStatistics.getAbortedTaskCount());
   }
+
+  @Test
+  public void thatReloadResizesExecutorsAndReroutesTasks() throws Exception {
+    addExecutorProperties("coffee-bar-executor", 1, 1, 1, 60);
+    properties.addSystem(createSystemProperties(null, null));
+    doIt();
+
+    ExecutorConfigurationProperties reloaded = new ExecutorConfigurationProperties();
+    reloaded.setDefaultExecutor(defaultExecutorProperties.getName());
+    ExecutorProperties resized =
+        createExecutorProperties(defaultExecutorProperties.getName(), 20, 20, 5, 60);
+    reloaded.addExecutor(resized);
+    reloaded.addExecutor(createExecutorProperties("coffee-bar-executor", 1, 1, 1, 60));
+    reloaded.addSystem(createSystemProperties("coffee-bar-executor", 5));
+    when(loader.loadProperties()).thenReturn(reloaded);
+
+    AsyncConfigurationReloader reloader = getReloader();
+    assertEquals(
+        List.of(
+            "Executor 'default' is resized: " + resized + ".",
+            "Task 'coffee-bar.serve-espresso' is routed to executor 'coffee-bar-executor' "
+                + "with timeout 'PT5S'."),
+        reloader.reload());
+
+    ThreadPoolTaskExecutor defaultExecutor =
+        (ThreadPoolTaskExecutor) beanFactory.getBean(defaultExecutorProperties.getName());
+    assertEquals(20, defaultExecutor.getCorePoolSize());
+    assertEquals(20, defaultExecutor.getMaxPoolSize());
+
+    DelegatingExecutor taskExecutor =
+        (DelegatingExecutor) beanFactory.getBean("coffee-bar.serve-espresso");
+    assertTrue(
+        taskExecutor.hasDelegate((TaskExecutor) beanFactory.getBean("coffee-bar-executor")));
+    assertEquals(Duration.ofSeconds(5), taskExecutor.getTaskRoute().getTimeout());
+  }
+
+  @Test
+  public void thatInvalidReloadIsNotApplied() throws Exception {
+    properties.addSystem(createSystemProperties(null, null));
+    doIt();
+
+    ExecutorConfigurationProperties reloaded = new ExecutorConfigurationProperties();
+    reloaded.setDefaultExecutor(defaultExecutorProperties.getName());
+    reloaded.addExecutor(
+        createExecutorProperties(defaultExecutorProperties.getName(), 20, 20, 5, 60));
+    reloaded.addSystem(createSystemProperties("tea-executor", 5));
+    when(loader.loadProperties()).thenReturn(reloaded);
+
+    AsyncConfigurationReloader reloader = getReloader();
+    HawaiiException exception = assertThrows(HawaiiException.class, reloader::reload);
+    assertEquals(
+        "Executor 'tea-executor' of 'task coffee-bar.serve-espresso' does not exist, "
+            + "it can only be added on a restart.",
+        exception.getMessage());
+
+    ThreadPoolTaskExecutor defaultExecutor =
+        (ThreadPoolTaskExecutor) beanFactory.getBean(defaultExecutorProperties.getName());
+    assertEquals(10, defaultExecutor.getCorePoolSize());
+  }
+
+  @Test
+  public void thatReloadDoesNotResizeAutoTunedExecutors() throws Exception {
+    addExecutorProperties("coffee-bar-executor", 2, 4, 1, 60).setAutoTune(new AutoTuneProperties());
+    properties.addSystem(createSystemProperties("coffee-bar-executor", null));
+    doIt();
+
+    ExecutorConfigurationProperties reloaded = new ExecutorConfigurationProperties();
+    reloaded.setDefaultExecutor(defaultExecutorProperties.getName());
+    reloaded.addExecutor(defaultExecutorProperties);
+    ExecutorProperties resized = createExecutorProperties("coffee-bar-executor", 8, 8, 5, 60);
+    resized.setAutoTune(new AutoTuneProperties());
+    reloaded.addExecutor(resized);
+    reloaded.addSystem(createSystemProperties("coffee-bar-executor", null));
+    when(loader.loadProperties()).thenReturn(reloaded);
+
+    assertEquals(
+        List.of(
+            "Pool size of executor 'coffee-bar-executor' is auto-tuned, "
+                + "a new size requires a restart.",
+            "Executor 'coffee-bar-executor' is resized: " + resized + "."),
+        getReloader().reload());
+
+    ThreadPoolTaskExecutor executor =
+        (ThreadPoolTaskExecutor) beanFactory.getBean("coffee-bar-executor");
+    assertEquals(2, executor.getCorePoolSize());
+    assertEquals(4, executor.getMaxPoolSize());
+  }
+
+  @Test
+  public void thatReloadReportsChangedAutoTune() throws Exception {
+    addExecutorProperties("coffee-bar-executor", 2, 4, 1, 60).setAutoTune(new AutoTuneProperties());
+    properties.addSystem(createSystemProperties("coffee-bar-executor", null));
+    doIt();
+
+    ExecutorConfigurationProperties reloaded = new ExecutorConfigurationProperties();
+    reloaded.setDefaultExecutor(defaultExecutorProperties.getName());
+    reloaded.addExecutor(defaultExecutorProperties);
+    reloaded.addExecutor(createExecutorProperties("coffee-bar-executor", 2, 4, 1, 60));
+    reloaded.addSystem(createSystemProperties("coffee-bar-executor", null));
+    when(loader.loadProperties()).thenReturn(reloaded);
+
+    assertEquals(
+        List.of(
+            "Auto-tuning of executor 'coffee-bar-executor' is changed, this requires a restart."),
+        getReloader().reload());
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import org.hawaiiframework.async.model.SystemProperties;
+import org.hawaiiframework.exception.HawaiiException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncPropertiesLoaderTest {
+
+  private Path configFile;
+
+  private AsyncPropertiesLoader loader;
+
+  @Before
+  public void setup() throws IOException {
+    configFile = Files.createTempFile("async-config", ".yml");
+    loader = new AsyncPropertiesLoader(configFile.toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(configFile);
+  }
+
+  @Test
+  public void thatConfigurationIsLoaded() throws IOException {
+    write("defaultExecutor: default\n");
+
+    ExecutorConfigurationProperties properties = loader.loadProperties();
+
+    assertNotNull(properties);
+  }
+
+  @Test
+  public void thatDurationsAreParsed() throws IOException {
+    write(
+        String.join(
+            "\n",
+            "defaultTimeout: 250ms",
+            "systems:",
+            "  - name: system",
+            "    defaultTimeout: PT0.5S",
+            "    tasks:",
+            "      - method: task",
+            "        timeout: 3",
+            ""));
+
+    ExecutorConfigurationProperties properties = loader.loadProperties();
+
+    SystemProperties system = properties.getSystems().get(0);
+    assertEquals(Duration.ofMillis(250), properties.getDefaultTimeout());
+    assertEquals(Duration.ofMillis(500), system.getDefaultTimeout());
+    assertEquals(Duration.ofSeconds(3), system.getTasks().get(0).getTimeout());
+  }
+
+  @Test
+  public void thatEmptyConfigurationIsRejected() throws IOException {
+    write("");
+
+    assertThrows(HawaiiException.class, loader::loadProperties);
+  }
+
+  @Test
+  public void thatMissingConfigurationIsRejected() throws IOException {
+    Files.delete(configFile);
+
+    assertThrows(HawaiiException.class, loader::loadProperties);
+  }
+
+  private void write(String yaml) throws IOException {
+    Files.write(configFile, yaml.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.task.TaskScope;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.exception.HawaiiException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncUtilTest {
+
+  @Mock private SharedTaskContext sharedTaskContext;
+
+  @Test
+  public void thatAwaitAllOrCancelReturnsResultsInOrder() {
+    try (TaskScope scope = TaskScope.open()) {
+      TaskScope.register(sharedTaskContext);
+      CompletableFuture<String> slow = new CompletableFuture<>();
+      CompletableFuture<String> fast = CompletableFuture.completedFuture("fast");
+      CompletableFuture.delayedExecutor(20, MILLISECONDS)
+          .execute(() -> slow.complete("slow"));
+
+      List<String> results = AsyncUtil.awaitAllOrCancel(scope, List.of(slow, fast), 1L, SECONDS);
+
+      assertEquals(List.of("slow", "fast"), results);
+      verify(sharedTaskContext, never()).cancel();
+    }
+  }
+
+  @Test
+  public void thatAwaitAllOrCancelCancelsSiblingsOnFirstFailure() {
+    when(sharedTaskContext.cancel()).thenReturn(true);
+    HawaiiException failure = new HawaiiException("failed");
+    try (TaskScope scope = TaskScope.open()) {
+      TaskScope.register(sharedTaskContext);
+      CompletableFuture<String> pending = new CompletableFuture<>();
+      CompletableFuture<String> failed = CompletableFuture.failedFuture(failure);
+
+      HawaiiException thrown =
+          assertThrows(
+              HawaiiException.class,
+              () -> AsyncUtil.awaitAllOrCancel(scope, List.of(pending, failed), 1L, SECONDS));
+
+      assertSame(failure, thrown);
+      assertTrue(pending.isCancelled());
+      verify(sharedTaskContext).cancel();
+    }
+  }
+
+  @Test
+  public void thatAwaitAllOrCancelCancelsTasksOnTimeout() {
+    try (TaskScope scope = TaskScope.open()) {
+      TaskScope.register(sharedTaskContext);
+      CompletableFuture<String> pending = new CompletableFuture<>();
+
+      assertThrows(
+          TaskTimeoutException.class,
+          () -> AsyncUtil.awaitAllOrCancel(scope, List.of(pending), 10L, MILLISECONDS));
+
+      assertTrue(pending.isCancelled());
+      verify(sharedTaskContext).cancel();
+    }
+  }
+
+  @Test
+  public void thatTasksAreOnlyRegisteredWhileScopeIsOpen() {
+    try (TaskScope outer = TaskScope.open()) {
+      try (TaskScope inner = TaskScope.open()) {
+        TaskScope.register(sharedTaskContext);
+        assertEquals(1, inner.getTaskContexts().size());
+      }
+      TaskScope.register(sharedTaskContext);
+      assertEquals(2, outer.getTaskContexts().size());
+    }
+  }
+
+  @Test
+  public void thatAsyncStreamAndMapInCompletionOrderLimitsCallsInFlight() {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    try {
+      List<Integer> results =
+          AsyncUtil.asyncStreamAndMapInCompletionOrder(
+              range(100),
+              input ->
+                  CompletableFuture.supplyAsync(
+                      () -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        sleep();
+                        inFlight.decrementAndGet();
+                        return input;
+                      },
+                      executor),
+              3);
+
+      assertEquals(100, results.size());
+      assertTrue(results.containsAll(range(100)));
+      assertTrue(maxInFlight.get() <= 3);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void thatAsyncStreamAndMapInCompletionOrderStopsOnFirstFailure() {
+    AtomicInteger calls = new AtomicInteger();
+    HawaiiException failure = new HawaiiException("failed");
+
+    HawaiiException thrown =
+        assertThrows(
+            HawaiiException.class,
+            () ->
+                AsyncUtil.asyncStreamAndMapInCompletionOrder(
+                    range(100),
+                    input -> {
+                      calls.incrementAndGet();
+                      return input == 1
+                          ? CompletableFuture.<Integer>failedFuture(failure)
+                          : CompletableFuture.completedFuture(input);
+                    },
+                    2));
+
+    assertSame(failure, thrown);
+    assertTrue(calls.get() <= 3);
+  }
+
+  @Test
+  public void thatAsyncStreamAndMapInCompletionOrderReturnsEmptyListForEmptyInput() {
+    Function<Integer, CompletableFuture<Integer>> function = CompletableFuture::completedFuture;
+
+    assertSame(
+        AsyncUtil.asyncMap(List.of(), function),
+        AsyncUtil.asyncStreamAndMapInCompletionOrder(List.of(), function, 2));
+  }
+
+  @Test
+  public void thatAsyncStreamAndMapInBatchesCallsFunctionPerBatch() {
+    AtomicInteger calls = new AtomicInteger();
+
+    List<Integer> results =
+        AsyncUtil.asyncStreamAndMapInBatches(
+            range(10),
+            4,
+            batch -> {
+              calls.incrementAndGet();
+              return CompletableFuture.completedFuture(batch);
+            },
+            2);
+
+    assertEquals(range(10), results);
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void thatInCompletionOrderReturnsResultsAsTheyComplete() {
+    CompletableFuture<String> slow = new CompletableFuture<>();
+    CompletableFuture<String> fast = new CompletableFuture<>();
+    CompletableFuture.delayedExecutor(40, MILLISECONDS).execute(() -> slow.complete("slow"));
+    CompletableFuture.delayedExecutor(10, MILLISECONDS).execute(() -> fast.complete("fast"));
+
+    List<String> results =
+        AsyncUtil.inCompletionOrder(List.of(slow, fast)).collect(Collectors.toList());
+
+    assertEquals(List.of("fast", "slow"), results);
+  }
+
+  @Test
+  public void thatClosingInCompletionOrderStreamCancelsIncompleteFutures() {
+    CompletableFuture<String> incomplete = new CompletableFuture<>();
+    CompletableFuture<String> completed = CompletableFuture.completedFuture("completed");
+
+    try (Stream<String> results = AsyncUtil.inCompletionOrder(List.of(incomplete, completed))) {
+      assertEquals("completed", results.findFirst().orElseThrow());
+    }
+
+    assertTrue(incomplete.isCancelled());
+    assertFalse(completed.isCancelled());
+  }
+
+  @Test
+  public void thatInCompletionOrderTimesOut() {
+    CompletableFuture<String> incomplete = new CompletableFuture<>();
+
+    assertThrows(
+        TaskTimeoutException.class,
+        () -> AsyncUtil.inCompletionOrder(List.of(incomplete), 10L, MILLISECONDS).count());
+
+    assertTrue(incomplete.isCancelled());
+  }
+
+  @Test
+  public void thatAwaitInCompletionOrderCancelsIncompleteFuturesOnFailure() {
+    CompletableFuture<String> incomplete = new CompletableFuture<>();
+    CompletableFuture<String> failed =
+        CompletableFuture.failedFuture(new HawaiiException("failed"));
+    List<String> results = new ArrayList<>();
+
+    assertThrows(
+        HawaiiException.class,
+        () -> AsyncUtil.awaitInCompletionOrder(List.of(incomplete, failed), results::add));
+
+    assertTrue(results.isEmpty());
+    assertTrue(incomplete.isCancelled());
+  }
+
+  @Test
+  public void thatClosingInCompletionOrderStreamCancelsTasksOfScope() {
+    try (TaskScope scope = TaskScope.open()) {
+      TaskScope.register(sharedTaskContext);
+      CompletableFuture<String> incomplete = new CompletableFuture<>();
+
+      AsyncUtil.inCompletionOrder(scope, List.of(incomplete)).close();
+
+      assertTrue(incomplete.isCancelled());
+      verify(sharedTaskContext).cancel();
+    }
+  }
+
+  @Test
+  public void thatAwaitInCompletionOrderCancelsTasksOfScopeOnFailure() {
+    try (TaskScope scope = TaskScope.open()) {
+      TaskScope.register(sharedTaskContext);
+      CompletableFuture<String> incomplete = new CompletableFuture<>();
+      CompletableFuture<String> failed =
+          CompletableFuture.failedFuture(new HawaiiException("failed"));
+
+      assertThrows(
+          HawaiiException.class,
+          () -> AsyncUtil.awaitInCompletionOrder(scope, List.of(incomplete, failed), result -> {}));
+
+      assertTrue(incomplete.isCancelled());
+      verify(sharedTaskContext).cancel();
+    }
+  }
+
+  private static List<Integer> range(int size) {
+    return IntStream.range(0, size).boxed().collect(Collectors.toList());
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.coalesce;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.task.TaskScope;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SingleFlightTest {
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  public void thatConcurrentCallsWithEqualKeyShareOneCall() {
+    CompletableFuture<String> source = new CompletableFuture<>();
+
+    CompletableFuture<String> first = singleFlight.execute("key", () -> call(source));
+    CompletableFuture<String> second = singleFlight.execute("key", () -> call(source));
+    source.complete("result");
+
+    assertEquals(1, calls.get());
+    assertNotSame(first, second);
+    assertEquals("result", first.join());
+    assertEquals("result", second.join());
+    assertEquals(0, singleFlight.getInFlightCount());
+  }
+
+  @Test
+  public void thatCallsWithDifferentKeysAreNotShared() {
+    singleFlight.execute("key", () -> call(new CompletableFuture<>()));
+    singleFlight.execute("other", () -> call(new CompletableFuture<>()));
+
+    assertEquals(2, calls.get());
+    assertEquals(2, singleFlight.getInFlightCount());
+  }
+
+  @Test
+  public void thatCompletedCallIsNotReused() {
+    singleFlight.execute("key", () -> call(CompletableFuture.completedFuture("first")));
+    CompletableFuture<String> second =
+        singleFlight.execute("key", () -> call(CompletableFuture.completedFuture("second")));
+
+    assertEquals(2, calls.get());
+    assertEquals("second", second.join());
+  }
+
+  @Test
+  public void thatCancellingOneCallerKeepsTheCallRunning() {
+    SharedTaskContext taskContext = createContext(executor);
+    CompletableFuture<String> source = new CompletableFuture<>();
+
+    CompletableFuture<String> first =
+        singleFlight.execute("key", () -> submit(taskContext, source));
+    CompletableFuture<String> second =
+        singleFlight.execute("key", () -> submit(taskContext, source));
+    first.cancel(false);
+    source.complete("result");
+
+    assertFalse(taskContext.isCancelled());
+    assertEquals("result", second.join());
+  }
+
+  @Test
+  public void thatLastCallerGoingAwayCancelsTheTask() {
+    SharedTaskContext taskContext = createContext(executor);
+    CompletableFuture<String> source = new CompletableFuture<>();
+
+    CompletableFuture<String> first =
+        singleFlight.execute("key", () -> submit(taskContext, source));
+    CompletableFuture<String> second =
+        singleFlight.execute("key", () -> submit(taskContext, source));
+    first.cancel(false);
+    second.cancel(false);
+
+    assertTrue(taskContext.isCancelled());
+    assertEquals(0, singleFlight.getInFlightCount());
+  }
+
+  @Test
+  public void thatFailedCallFailsAllCallers() {
+    CompletableFuture<String> source = new CompletableFuture<>();
+
+    CompletableFuture<String> first = singleFlight.execute("key", () -> call(source));
+    CompletableFuture<String> second = singleFlight.execute("key", () -> call(source));
+    source.completeExceptionally(new IllegalStateException("failed"));
+
+    assertTrue(first.isCompletedExceptionally());
+    assertTrue(second.isCompletedExceptionally());
+  }
+
+  private CompletableFuture<String> call(CompletableFuture<String> source) {
+    calls.incrementAndGet();
+    return source;
+  }
+
+  private CompletableFuture<String> submit(
+      SharedTaskContext taskContext, CompletableFuture<String> source) {
+    TaskScope.register(taskContext);
+    return call(source);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.config;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncConfigurationWatcherTest {
+
+  @Mock private AsyncConfigurationReloader reloader;
+
+  private Path directory;
+
+  private Path configFile;
+
+  private AsyncConfigurationWatcher watcher;
+
+  @Before
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("async-config");
+    configFile = directory.resolve("async-config.yml");
+    when(reloader.getConfigFile()).thenReturn(configFile.toString());
+    watcher = new AsyncConfigurationWatcher(reloader);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    watcher.stop();
+    Files.deleteIfExists(configFile);
+    Files.deleteIfExists(directory);
+  }
+
+  @Test
+  public void thatWatcherKeepsWatchingAfterFailedReload() throws Exception {
+    CountDownLatch reloaded = new CountDownLatch(1);
+    when(reloader.reload())
+        .thenThrow(new IllegalStateException("Invalid configuration."))
+        .thenAnswer(
+            invocation -> {
+              reloaded.countDown();
+              return emptyList();
+            });
+    watcher.start();
+
+    write("defaultExecutor: first\n");
+    Thread.sleep(500);
+    write("defaultExecutor: second\n");
+
+    assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+  }
+
+  private void write(String yaml) throws IOException {
+    Files.write(configFile, yaml.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.context;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.task.listener.TaskListener;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.TaskRemoveStrategy;
+import org.hawaiiframework.async.timeout.TimeoutGuardTask;
+import org.junit.After;
+import org.junit.Test;
+
+public class ContextPropagationTaskListenerFactoryTest {
+
+  private static final ThreadLocal<Map<String, String>> CONTEXT = new ThreadLocal<>();
+
+  private final ContextPropagationTaskListenerFactory factory =
+      new ContextPropagationTaskListenerFactory(List.of(new TestContextPropagator()));
+
+  @After
+  public void tearDown() {
+    CONTEXT.remove();
+  }
+
+  @Test
+  public void thatContextIsRestoredWhileTaskRuns() {
+    Map<String, String> submitter = Map.of("user", "submitter");
+    CONTEXT.set(submitter);
+    TaskListener listener = factory.create();
+
+    Map<String, String> worker = Map.of("user", "worker");
+    CONTEXT.set(worker);
+    listener.startExecution();
+    assertSame(submitter, CONTEXT.get());
+
+    listener.finish();
+    assertSame(worker, CONTEXT.get());
+  }
+
+  @Test
+  public void thatContextIsClearedAfterTaskIfThreadHadNone() {
+    CONTEXT.set(Map.of("user", "submitter"));
+    TaskListener listener = factory.create();
+
+    CONTEXT.remove();
+    listener.startExecution();
+    listener.finish();
+
+    assertNull(CONTEXT.get());
+  }
+
+  @Test
+  public void thatTasksShareCapturedContext() {
+    Map<String, String> submitter = Map.of("user", "submitter");
+    CONTEXT.set(submitter);
+    List<TaskListener> listeners = List.of(factory.create(), factory.create());
+
+    for (TaskListener listener : listeners) {
+      CONTEXT.remove();
+      listener.startExecution();
+      assertSame(submitter, CONTEXT.get());
+      listener.finish();
+    }
+  }
+
+  @Test
+  public void thatTimeoutOfRunningTaskDoesNotTouchContexts() throws InterruptedException {
+    Map<String, String> submitter = Map.of("user", "submitter");
+    CONTEXT.set(submitter);
+    SharedTaskContext context = createContext(mock(HawaiiTaskExecutor.class), factory.create());
+    TaskRemoveStrategy notRemoved = new TaskRemoveStrategy(task -> false, () -> {}, "task", "1");
+    context.setTaskRemoveStrategy(notRemoved);
+    context.setTimeoutGuardTaskRemoveStrategy(notRemoved);
+
+    Map<String, String> worker = Map.of("user", "worker");
+    CONTEXT.set(worker);
+    context.startExecution();
+
+    Map<String, String> timeoutThread = Map.of("user", "timeout");
+    AtomicReference<Map<String, String>> afterTimeout = new AtomicReference<>();
+    Thread guard =
+        new Thread(
+            () -> {
+              CONTEXT.set(timeoutThread);
+              new TimeoutGuardTask(context).run();
+              afterTimeout.set(CONTEXT.get());
+            });
+    guard.start();
+    guard.join();
+
+    assertSame(timeoutThread, afterTimeout.get());
+    assertSame(submitter, CONTEXT.get());
+
+    context.finish();
+    assertSame(worker, CONTEXT.get());
+  }
+
+  @Test
+  public void thatListenerIsOrderedBeforeOtherListeners() {
+    assertEquals(-200, factory.create().getOrder());
+    assertEquals(-200, new ContextPropagationTaskListenerFactory(List.of()).create().getOrder());
+  }
+
+  private static class TestContextPropagator implements ContextPropagator<Map<String, String>> {
+
+    @Override
+    public Map<String, String> capture() {
+      return CONTEXT.get();
+    }
+
+    @Override
+    public void restore(Map<String, String> context) {
+      if (context == null) {
+        CONTEXT.remove();
+      } else {
+        CONTEXT.set(context);
+      }
+    }
+  }
+}
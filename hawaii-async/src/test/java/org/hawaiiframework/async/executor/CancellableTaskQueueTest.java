@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hawaiiframework.async.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class CancellableTaskQueueTest {
+
+  private final CancellableTaskQueue queue = new CancellableTaskQueue(2);
+
+  private final Runnable first = () -> {};
+
+  private final Runnable second = () -> {};
+
+  private final Runnable third = () -> {};
+
+  @Test
+  public void thatQueueIsBounded() {
+    assertTrue(queue.offer(first));
+    assertTrue(queue.offer(second));
+    assertFalse(queue.offer(third));
+    assertEquals(0, queue.remainingCapacity());
+  }
+
+  @Test
+  public void thatRemovedTaskIsSkipped() {
+    queue.offer(first);
+    queue.offer(second);
+
+    assertTrue(queue.remove(first));
+    assertFalse(queue.remove(first));
+    assertEquals(1, queue.size());
+    assertSame(second, queue.peek());
+    assertSame(second, queue.poll());
+    assertNull(queue.poll());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void thatRemovedTaskReleasesCapacity() {
+    queue.offer(first);
+    queue.offer(second);
+    queue.remove(second);
+
+    assertTrue(queue.offer(third));
+    assertSame(first, queue.poll());
+    assertSame(third, queue.poll());
+  }
+
+  @Test
+  public void thatTakenTaskCannotBeRemoved() throws Exception {
+    queue.offer(first);
+
+    assertSame(first, queue.take());
+    assertFalse(queue.remove(first));
+  }
+
+  @Test
+  public void thatTaskQueuedTwiceCanBeRemovedTwice() {
+    queue.offer(first);
+    queue.offer(first);
+
+    assertTrue(queue.remove(first));
+    assertTrue(queue.remove(first));
+    assertFalse(queue.remove(first));
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void thatCapacityCanBeIncreased() {
+    queue.offer(first);
+    queue.offer(second);
+    queue.setCapacity(3);
+
+    assertTrue(queue.offer(third));
+    assertEquals(0, queue.remainingCapacity());
+  }
+
+  @Test
+  public void thatQueuedTasksAreKeptWhenCapacityIsDecreased() {
+    queue.offer(first);
+    queue.offer(second);
+    queue.setCapacity(1);
+
+    assertEquals(2, queue.size());
+    assertSame(first, queue.poll());
+    assertFalse(queue.offer(third));
+    assertSame(second, queue.poll());
+    assertTrue(queue.offer(third));
+  }
+
+  @Test
+  public void thatPrioritizedQueueRunsHigherPriorityFirst() {
+    CancellableTaskQueue prioritized = new CancellableTaskQueue(10, Duration.ofHours(1));
+    Runnable low = new Task(-1);
+    Runnable normal = new Task(0);
+    Runnable high = new Task(1);
+    prioritized.offer(low);
+    prioritized.offer(first);
+    prioritized.offer(normal);
+    prioritized.offer(high);
+
+    assertSame(high, prioritized.poll());
+    assertSame(first, prioritized.poll());
+    assertSame(normal, prioritized.poll());
+    assertSame(low, prioritized.poll());
+  }
+
+  @Test
+  public void thatPrioritizedQueueAgesQueuedTasks() throws Exception {
+    CancellableTaskQueue prioritized = new CancellableTaskQueue(10, Duration.ofNanos(1));
+    Runnable low = new Task(0);
+    Runnable high = new Task(1);
+    prioritized.offer(low);
+    Thread.sleep(1);
+    prioritized.offer(high);
+
+    assertSame(low, prioritized.poll());
+    assertSame(high, prioritized.poll());
+  }
+
+  @Test
+  public void thatRemovedTaskIsSkippedInPrioritizedQueue() {
+    CancellableTaskQueue prioritized = new CancellableTaskQueue(10, Duration.ofHours(1));
+    Runnable high = new Task(1);
+    prioritized.offer(first);
+    prioritized.offer(high);
+
+    assertTrue(prioritized.remove(high));
+    assertSame(first, prioritized.peek());
+    assertEquals(1, prioritized.size());
+  }
+
+  @Test
+  public void thatDrainSkipsRemovedTasks() {
+    queue.offer(first);
+    queue.offer(second);
+    queue.remove(first);
+    List<Runnable> drained = new ArrayList<>();
+
+    assertEquals(1, queue.drainTo(drained));
+    assertEquals(List.of(second), drained);
+  }
+
+  private static final class Task implements Runnable, PrioritizedTask {
+
+    private final int priority;
+
+    private Task(int priority) {
+      this.priority = priority;
+    }
+
+    @Override
+    public int getPriority() {
+      return priority;
+    }
+
+    @Override
+    public void run() {
+      // Nothing to do.
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+public class HawaiiVirtualThreadTaskExecutorTest {
+
+  private final HawaiiVirtualThreadTaskExecutor executor = new HawaiiVirtualThreadTaskExecutor();
+
+  private final CountDownLatch started = new CountDownLatch(1);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private final Runnable blockingTask =
+      () -> {
+        started.countDown();
+        await(release);
+      };
+
+  @Before
+  public void setUp() {
+    executor.setConcurrencyLimit(1);
+    executor.setQueueCapacity(1);
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+  }
+
+  @Test
+  public void thatExecuteBeforeInitializeIsRejected() {
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> executor.execute(() -> {}));
+
+    assertEquals("Executor 'virtual-' has not been initialized.", exception.getMessage());
+  }
+
+  @Test
+  public void thatTasksBeyondQueueCapacityAreRejected() {
+    initialize();
+    executor.execute(blockingTask);
+    await(started);
+    executor.execute(() -> {});
+
+    assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+    assertEquals(1, executor.getQueueSize());
+  }
+
+  @Test
+  public void thatConcurrencyLimitBoundsRunningTasks() {
+    initialize();
+    executor.execute(blockingTask);
+    await(started);
+    CountDownLatch queuedTaskRan = new CountDownLatch(1);
+    executor.execute(queuedTaskRan::countDown);
+
+    assertEquals(1, executor.getActiveCount());
+    assertEquals(1, executor.getQueueSize());
+    assertFalse(isReleased(queuedTaskRan, 50));
+
+    release.countDown();
+
+    assertTrue(isReleased(queuedTaskRan, 1000));
+    assertEquals(0, executor.getQueueSize());
+  }
+
+  @Test
+  public void thatRaisedConcurrencyLimitStartsQueuedTask() {
+    initialize();
+    executor.execute(blockingTask);
+    await(started);
+    CountDownLatch queuedTaskRan = new CountDownLatch(1);
+    executor.execute(queuedTaskRan::countDown);
+
+    executor.setConcurrencyLimit(2);
+
+    assertTrue(isReleased(queuedTaskRan, 1000));
+    assertEquals(2, executor.getMaxPoolSize());
+  }
+
+  @Test
+  public void thatRemovedQueuedTaskDoesNotRun() {
+    initialize();
+    executor.execute(blockingTask);
+    await(started);
+    AtomicBoolean ran = new AtomicBoolean();
+    Runnable queuedTask = () -> ran.set(true);
+    executor.execute(queuedTask);
+
+    assertTrue(executor.remove(queuedTask));
+    assertFalse(executor.remove(queuedTask));
+    assertEquals(0, executor.getQueueSize());
+
+    release.countDown();
+    CountDownLatch nextTaskRan = new CountDownLatch(1);
+    executor.execute(nextTaskRan::countDown);
+
+    assertTrue(isReleased(nextTaskRan, 1000));
+    assertFalse(ran.get());
+  }
+
+  @Test
+  public void thatShutdownExecutorRejectsTasks() {
+    initialize();
+    executor.destroy();
+
+    assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+    assertEquals(0, executor.getQueueSize());
+  }
+
+  private void initialize() {
+    // Platform threads, the executor's permits and queue behave the same as with virtual threads.
+    executor.initialize(Thread::new);
+  }
+
+  private static boolean isReleased(CountDownLatch latch, long millis) {
+    try {
+      return latch.await(millis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    isReleased(latch, 5000);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.hedge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.model.HedgeProperties;
+import org.hawaiiframework.async.timeout.ManualTimeoutScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.aop.ProxyMethodInvocation;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgedInvocationTest {
+
+  private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+  @Mock private ProxyMethodInvocation invocation;
+
+  private final List<CompletableFuture<Object>> attempts = new ArrayList<>();
+
+  private final List<String> attemptContexts = new ArrayList<>();
+
+  private final ManualTimeoutScheduler scheduler = new ManualTimeoutScheduler();
+
+  private HedgingPolicy policy;
+
+  @Before
+  public void setUp() throws Throwable {
+    HedgeProperties properties = new HedgeProperties();
+    properties.setDelay(Duration.ofMillis(50));
+    policy = new HedgingPolicy(properties);
+
+    when(invocation.invocableClone())
+        .thenAnswer(
+            ignored -> {
+              ProxyMethodInvocation clone = mock(ProxyMethodInvocation.class);
+              CompletableFuture<Object> attempt = new CompletableFuture<>();
+              attempts.add(attempt);
+              when(clone.proceed())
+                  .thenAnswer(
+                      invoked -> {
+                        attemptContexts.add(CONTEXT.get());
+                        return attempt;
+                      });
+              return clone;
+            });
+  }
+
+  @After
+  public void tearDown() {
+    CONTEXT.remove();
+  }
+
+  @Test
+  public void thatFastAttemptIsNotHedged() throws Throwable {
+    CompletableFuture<Object> result = start();
+    attempts.get(0).complete("first");
+
+    assertEquals("first", result.join());
+    assertTrue(scheduler.isCancelled());
+    assertEquals(1, attempts.size());
+  }
+
+  @Test
+  public void thatSlowAttemptIsHedgedAndFirstResultWins() throws Throwable {
+    CompletableFuture<Object> result = start();
+    scheduler.runScheduled();
+
+    assertEquals(2, attempts.size());
+    attempts.get(1).complete("second");
+    attempts.get(0).complete("first");
+
+    assertEquals("second", result.join());
+  }
+
+  @Test
+  public void thatFailedAttemptWaitsForOtherAttempt() throws Throwable {
+    CompletableFuture<Object> result = start();
+    scheduler.runScheduled();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    assertFalse(result.isDone());
+    attempts.get(1).complete("second");
+    assertEquals("second", result.join());
+  }
+
+  @Test
+  public void thatFailedAttemptFailsResultIfNoOtherAttemptIsRunning() throws Throwable {
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    assertTrue(result.isCompletedExceptionally());
+    assertTrue(scheduler.isCancelled());
+  }
+
+  @Test
+  public void thatNoMoreThanMaxAttemptsAreSubmitted() throws Throwable {
+    start();
+    scheduler.runScheduled();
+
+    assertEquals(2, attempts.size());
+    assertEquals(1, scheduler.getScheduledCount());
+  }
+
+  @Test
+  public void thatObservedLatencyIsRecorded() throws Throwable {
+    HedgeProperties properties = new HedgeProperties();
+    properties.setPercentile(50.0);
+    properties.setMinimumNumberOfCalls(1);
+    policy = new HedgingPolicy(properties);
+    assertEquals(-1L, policy.getDelayNanos());
+
+    CompletableFuture<Object> result = start();
+    attempts.get(0).complete("first");
+
+    assertNotNull(result.join());
+    assertTrue(policy.getDelayNanos() >= 0);
+  }
+
+  @Test
+  public void thatNextAttemptIsSubmittedWithCallerContexts() throws Throwable {
+    CONTEXT.set("caller");
+    CompletableFuture<Object> result = start();
+
+    AtomicReference<String> contextAfterAttempt = new AtomicReference<>("not run");
+    Thread timeoutThread =
+        new Thread(
+            () -> {
+              scheduler.runScheduled();
+              contextAfterAttempt.set(CONTEXT.get());
+            });
+    timeoutThread.start();
+    timeoutThread.join();
+
+    assertEquals(List.of("caller", "caller"), attemptContexts);
+    assertNull(contextAfterAttempt.get());
+    attempts.get(1).complete("second");
+    assertEquals("second", result.join());
+  }
+
+  private CompletableFuture<Object> start() throws Throwable {
+    List<ContextPropagator<?>> propagators = List.of(new TestContextPropagator());
+    HedgedInvocation hedgedInvocation =
+        new HedgedInvocation(invocation, policy, scheduler, propagators);
+    return hedgedInvocation.start(Duration.ofMillis(50).toNanos());
+  }
+
+  /** Propagates the test's thread local. */
+  private static final class TestContextPropagator implements ContextPropagator<String> {
+
+    @Override
+    public String capture() {
+      return CONTEXT.get();
+    }
+
+    @Override
+    public void restore(String context) {
+      if (context == null) {
+        CONTEXT.remove();
+      } else {
+        CONTEXT.set(context);
+      }
+    }
+  }
+}
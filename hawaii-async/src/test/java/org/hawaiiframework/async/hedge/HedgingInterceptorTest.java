@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.hedge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import org.hawaiiframework.async.model.HedgeProperties;
+import org.hawaiiframework.async.model.SystemProperties;
+import org.hawaiiframework.async.model.TaskProperties;
+import org.hawaiiframework.async.model.TaskRoutingTable;
+import org.hawaiiframework.async.timeout.ManualTimeoutScheduler;
+import org.hawaiiframework.exception.HawaiiException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.scheduling.annotation.Async;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgingInterceptorTest {
+
+  @Mock private ProxyMethodInvocation invocation;
+
+  private final ManualTimeoutScheduler scheduler = new ManualTimeoutScheduler();
+
+  private final HedgeProperties hedge = new HedgeProperties();
+
+  @Before
+  public void setUp() {
+    hedge.setPercentile(50.0);
+    hedge.setMinimumNumberOfCalls(1);
+  }
+
+  @Test
+  public void thatPercentileOnlyHedgeStartsAfterObservingUnhedgedInvocations() throws Throwable {
+    HedgingInterceptor interceptor = createInterceptor();
+    CompletableFuture<Object> first = CompletableFuture.completedFuture("first");
+    when(invocation.proceed()).thenReturn(first);
+
+    assertSame(first, interceptor.invoke(invocation));
+    assertEquals(0, scheduler.getScheduledCount());
+
+    ProxyMethodInvocation clone = mock(ProxyMethodInvocation.class);
+    when(clone.proceed()).thenReturn(new CompletableFuture<>());
+    when(invocation.invocableClone()).thenReturn(clone);
+    CompletableFuture<?> second = (CompletableFuture<?>) interceptor.invoke(invocation);
+
+    assertFalse(second.isDone());
+    assertEquals(1, scheduler.getScheduledCount());
+  }
+
+  @Test
+  public void thatFailedInvocationIsNotObserved() throws Throwable {
+    HedgingInterceptor interceptor = createInterceptor();
+    when(invocation.proceed())
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("failed")));
+
+    interceptor.invoke(invocation);
+    interceptor.invoke(invocation);
+
+    assertEquals(0, scheduler.getScheduledCount());
+  }
+
+  @Test(expected = HawaiiException.class)
+  public void thatInvalidPercentileFailsAtStartup() throws NoSuchMethodException {
+    hedge.setPercentile(0.0);
+    createInterceptor();
+  }
+
+  private HedgingInterceptor createInterceptor() throws NoSuchMethodException {
+    TaskProperties task = new TaskProperties();
+    task.setMethod("getProduct");
+    task.setTimeout(Duration.ofSeconds(10));
+    task.setHedge(hedge);
+    SystemProperties system = new SystemProperties();
+    system.setName("backend");
+    system.setTasks(List.of(task));
+    ExecutorConfigurationProperties properties = new ExecutorConfigurationProperties();
+    properties.addSystem(system);
+    HedgingInterceptor interceptor =
+        new HedgingInterceptor(new TaskRoutingTable(properties), scheduler, List.of());
+    when(invocation.getMethod()).thenReturn(Backend.class.getMethod("getProduct"));
+    return interceptor;
+  }
+
+  /** A hedged task. */
+  private interface Backend {
+
+    @Async("backend.getProduct")
+    CompletableFuture<String> getProduct();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.hedge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import org.hawaiiframework.async.model.HedgeProperties;
+import org.hawaiiframework.exception.HawaiiException;
+import org.junit.Test;
+
+public class HedgingPolicyTest {
+
+  @Test
+  public void thatFixedDelayIsUsedUntilEnoughLatenciesAreObserved() {
+    HedgeProperties properties = new HedgeProperties();
+    properties.setDelay(Duration.ofMillis(50));
+    properties.setPercentile(50.0);
+    properties.setMinimumNumberOfCalls(2);
+    HedgingPolicy policy = new HedgingPolicy(properties);
+
+    policy.recordLatency(Duration.ofMillis(10).toNanos());
+    assertEquals(Duration.ofMillis(50).toNanos(), policy.getDelayNanos());
+
+    policy.recordLatency(Duration.ofMillis(10).toNanos());
+    assertTrue(policy.getDelayNanos() < Duration.ofMillis(50).toNanos());
+  }
+
+  @Test
+  public void thatPercentileOnlyPolicyHedgesAfterEnoughLatenciesAreObserved() {
+    HedgeProperties properties = new HedgeProperties();
+    properties.setPercentile(95.0);
+    properties.setMinimumNumberOfCalls(1);
+    HedgingPolicy policy = new HedgingPolicy(properties);
+    assertEquals(-1L, policy.getDelayNanos());
+
+    policy.recordLatency(Duration.ofMillis(10).toNanos());
+    assertTrue(policy.getDelayNanos() >= 0);
+  }
+
+  @Test(expected = HawaiiException.class)
+  public void thatZeroPercentileIsRejected() {
+    HedgeProperties properties = new HedgeProperties();
+    properties.setPercentile(0.0);
+    new HedgingPolicy(properties);
+  }
+
+  @Test(expected = HawaiiException.class)
+  public void thatPercentileAboveHundredIsRejected() {
+    HedgeProperties properties = new HedgeProperties();
+    properties.setPercentile(100.5);
+    new HedgingPolicy(properties);
+  }
+}
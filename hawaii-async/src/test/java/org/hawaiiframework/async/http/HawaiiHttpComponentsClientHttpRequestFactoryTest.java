@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.http;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HawaiiHttpComponentsClientHttpRequestFactoryTest {
+
+  private static final URI REQUEST_URI = URI.create("http://localhost/");
+
+  @Mock private HttpClient httpClient;
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  @Mock private ClassicHttpResponse response;
+
+  private HawaiiHttpComponentsClientHttpRequestFactory requestFactory;
+
+  private SharedTaskContext context;
+
+  @Before
+  public void setUp() {
+    requestFactory = new HawaiiHttpComponentsClientHttpRequestFactory();
+    requestFactory.setHttpClient(httpClient);
+    context = createContext(executor);
+    SharedTaskContextHolder.register(context);
+  }
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatAbortStrategyIsUnregisteredWhenResponseIsClosed() throws Exception {
+    when(httpClient.executeOpen(isNull(), any(), any())).thenReturn(response);
+    ClientHttpRequest request = requestFactory.createRequest(REQUEST_URI, HttpMethod.GET);
+    assertEquals(1, context.getActiveTaskAbortStrategyCount());
+
+    ClientHttpResponse clientHttpResponse = request.execute();
+    assertEquals(1, context.getActiveTaskAbortStrategyCount());
+
+    clientHttpResponse.close();
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+    assertEquals(1, context.getRegisteredTaskAbortStrategyCount());
+  }
+
+  @Test
+  public void thatAbortStrategyIsUnregisteredWhenExecutionFails() throws Exception {
+    when(httpClient.executeOpen(isNull(), any(), any())).thenThrow(new IOException("failed"));
+    ClientHttpRequest request = requestFactory.createRequest(REQUEST_URI, HttpMethod.GET);
+
+    assertThrows(IOException.class, request::execute);
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+    assertEquals(1, context.getRegisteredTaskAbortStrategyCount());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.http;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HawaiiJdkHttpClientTest {
+
+  private static final HttpRequest REQUEST =
+      HttpRequest.newBuilder(URI.create("http://localhost/"))
+          .timeout(Duration.ofMinutes(1))
+          .build();
+
+  @Mock private HttpClient delegate;
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  @Mock private HttpResponse<String> response;
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatRequestOutsideOfTaskIsPassedOn() throws Exception {
+    when(delegate.<String>send(any(), any())).thenReturn(response);
+    HttpClient client = new HawaiiJdkHttpClient(delegate);
+
+    assertSame(response, client.send(REQUEST, BodyHandlers.ofString()));
+  }
+
+  @Test
+  public void thatRequestTimeoutIsLimitedToDeadline() throws Exception {
+    SharedTaskContext context = register(Duration.ofSeconds(10));
+    CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+    ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+    when(delegate.<String>sendAsync(request.capture(), any(), isNull())).thenReturn(future);
+    HttpClient client = new HawaiiJdkHttpClient(delegate);
+
+    client.sendAsync(REQUEST, BodyHandlers.ofString());
+
+    Duration timeout = request.getValue().timeout().orElseThrow();
+    assertTrue(timeout.compareTo(Duration.ofSeconds(10)) <= 0);
+    assertEquals(REQUEST.uri(), request.getValue().uri());
+
+    context.abortBusinessTask();
+    assertTrue(future.isCancelled());
+  }
+
+  @Test(expected = TaskTimeoutException.class)
+  public void thatRequestIsNotSentAfterDeadline() throws Exception {
+    register(Duration.ZERO);
+    HttpClient client = new HawaiiJdkHttpClient(delegate);
+
+    try {
+      client.send(REQUEST, BodyHandlers.ofString());
+    } finally {
+      verify(delegate, never()).sendAsync(any(), any(), any());
+    }
+  }
+
+  private SharedTaskContext register(Duration timeout) {
+    SharedTaskContext context = createContext(executor, timeout);
+    SharedTaskContextHolder.register(context);
+    return context;
+  }
+}
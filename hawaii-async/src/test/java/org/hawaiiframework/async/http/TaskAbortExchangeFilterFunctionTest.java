@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.http;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskAbortExchangeFilterFunctionTest {
+
+  private static final ClientRequest REQUEST =
+      ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/")).build();
+
+  private final TaskAbortExchangeFilterFunction filter = new TaskAbortExchangeFilterFunction();
+
+  @Mock private ExchangeFunction next;
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  @Mock private ClientResponse response;
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatExchangeOutsideOfTaskIsPassedOn() {
+    when(next.exchange(REQUEST)).thenReturn(Mono.just(response));
+
+    assertSame(response, filter.filter(REQUEST, next).block());
+  }
+
+  @Test
+  public void thatPendingExchangeIsAbortedThroughTheTask() throws Exception {
+    SharedTaskContext context = register(Duration.ofSeconds(10));
+    when(next.exchange(REQUEST)).thenReturn(Mono.never());
+
+    CompletableFuture<ClientResponse> exchange = filter.filter(REQUEST, next).toFuture();
+    assertEquals(1, context.getActiveTaskAbortStrategyCount());
+    assertFalse(exchange.isDone());
+
+    context.abortBusinessTask();
+
+    ExecutionException exception = assertThrows(ExecutionException.class, exchange::get);
+    assertTrue(exception.getCause() instanceof TaskTimeoutException);
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+  }
+
+  @Test
+  public void thatAbortStrategyIsUnregisteredOnCompletion() {
+    SharedTaskContext context = register(Duration.ofSeconds(10));
+    when(next.exchange(REQUEST)).thenReturn(Mono.just(response));
+
+    assertSame(response, filter.filter(REQUEST, next).block());
+
+    assertEquals(1, context.getRegisteredTaskAbortStrategyCount());
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+  }
+
+  @Test
+  public void thatAbortStrategyIsUnregisteredOnError() {
+    SharedTaskContext context = register(Duration.ofSeconds(10));
+    when(next.exchange(REQUEST)).thenReturn(Mono.error(new IllegalStateException("Failed.")));
+
+    Mono<ClientResponse> exchange = filter.filter(REQUEST, next);
+    assertThrows(IllegalStateException.class, exchange::block);
+
+    assertEquals(1, context.getRegisteredTaskAbortStrategyCount());
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+  }
+
+  @Test
+  public void thatExchangeIsNotStartedAfterDeadline() {
+    SharedTaskContext context = register(Duration.ZERO);
+
+    Mono<ClientResponse> exchange = filter.filter(REQUEST, next);
+    assertThrows(TaskTimeoutException.class, exchange::block);
+
+    verify(next, never()).exchange(any());
+    assertEquals(0, context.getRegisteredTaskAbortStrategyCount());
+  }
+
+  private SharedTaskContext register(Duration timeout) {
+    SharedTaskContext context = createContext(executor, timeout);
+    SharedTaskContextHolder.register(context);
+    return context;
+  }
+}
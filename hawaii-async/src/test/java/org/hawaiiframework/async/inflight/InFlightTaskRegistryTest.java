@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.inflight;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.inflight.InFlightTask.State;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.async.timeout.TaskAbortStrategy;
+import org.hawaiiframework.async.timeout.TaskRemoveStrategy;
+import org.hawaiiframework.async.timeout.TimeoutGuardTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InFlightTaskRegistryTest {
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private InFlightTaskRegistry registry;
+
+  @Before
+  public void setup() {
+    registry = new InFlightTaskRegistry(null, Duration.ofSeconds(1), null, clock::get);
+  }
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatTaskIsRegisteredUntilItFinishes() {
+    SharedTaskContext context = createInFlightContext();
+    clock.addAndGet(Duration.ofMillis(300).toNanos());
+
+    InFlightTask queued = registry.getInFlightTasks().get(0);
+    assertEquals(context.getTaskId(), queued.getTaskId());
+    assertEquals("system.task", queued.getTaskName());
+    assertEquals(State.QUEUED, queued.getState());
+    assertEquals(Duration.ofMillis(300), queued.getAge());
+    assertNull(queued.getRunningTime());
+
+    context.startExecution();
+    context.registerTaskAbortStrategy(new TestAbortStrategy());
+    clock.addAndGet(Duration.ofMillis(200).toNanos());
+
+    InFlightTask running = registry.getInFlightTasks().get(0);
+    assertEquals(State.RUNNING, running.getState());
+    assertEquals(Duration.ofMillis(500), running.getAge());
+    assertEquals(Duration.ofMillis(200), running.getRunningTime());
+    assertEquals(Thread.currentThread().getName(), running.getThreadName());
+    assertEquals(List.of("TestAbortStrategy"), running.getTaskAbortStrategies());
+
+    context.finish();
+
+    assertTrue(registry.getInFlightTasks().isEmpty());
+  }
+
+  @Test
+  public void thatTasksAreListedOldestFirst() {
+    SharedTaskContext oldest = createInFlightContext();
+    clock.addAndGet(Duration.ofMillis(100).toNanos());
+    SharedTaskContext newest = createInFlightContext();
+
+    List<InFlightTask> tasks = registry.getInFlightTasks();
+
+    assertEquals(2, tasks.size());
+    assertEquals(oldest.getTaskId(), tasks.get(0).getTaskId());
+    assertEquals(newest.getTaskId(), tasks.get(1).getTaskId());
+  }
+
+  @Test
+  public void thatQueuedTaskIsUnregisteredWhenRemovedFromTheQueue() {
+    SharedTaskContext context = createInFlightContext();
+    Runnable task = () -> {};
+    context.setTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, task, "guarded", context.getTaskId()));
+    when(executor.remove(task)).thenReturn(true);
+
+    assertTrue(context.cancel());
+
+    assertTrue(registry.getInFlightTasks().isEmpty());
+  }
+
+  @Test
+  public void thatRunningTaskThatTimesOutIsRegisteredUntilWorkerFinishes()
+      throws InterruptedException {
+    SharedTaskContext context = createInFlightContext();
+    context.setTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, () -> {}, "guarded", context.getTaskId()));
+    context.startExecution();
+
+    Thread timeoutGuard = new Thread(() -> new TimeoutGuardTask(context).run());
+    timeoutGuard.start();
+    timeoutGuard.join();
+
+    assertTrue(context.isTimedOut());
+    InFlightTask running = registry.getInFlightTasks().get(0);
+    assertEquals(State.RUNNING, running.getState());
+    assertEquals(Thread.currentThread().getName(), running.getThreadName());
+
+    context.finish();
+
+    assertTrue(registry.getInFlightTasks().isEmpty());
+  }
+
+  @Test
+  public void thatLongRunningTaskIsLoggedOnce() {
+    SharedTaskContext context = createInFlightContext();
+    context.startExecution();
+    clock.addAndGet(Duration.ofMillis(500).toNanos());
+
+    assertEquals(0, registry.logLongRunningTasks());
+
+    clock.addAndGet(Duration.ofMillis(600).toNanos());
+
+    assertEquals(1, registry.logLongRunningTasks());
+    assertEquals(0, registry.logLongRunningTasks());
+  }
+
+  private SharedTaskContext createInFlightContext() {
+    SharedTaskContext context = createContext(executor, registry.create());
+    Runnable timeoutGuardTask = () -> {};
+    context.setTimeoutGuardTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, timeoutGuardTask, "timeout guard", context.getTaskId()));
+    return context;
+  }
+
+  private static class TestAbortStrategy implements TaskAbortStrategy {
+
+    @Override
+    public boolean invoke() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest {
+
+  private static final long TASK_TIME = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  public void thatTasksBeyondTheLimitAreNotAcquired() {
+    ConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 1, 10, 0.5);
+
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    assertEquals(2, limiter.getInFlight());
+
+    limiter.onIgnore();
+    assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void thatAimdLimitGrowsOnSuccessAndBacksOffOnDrop() {
+    ConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 5, 0.5);
+
+    for (int i = 0; i < 4; i++) {
+      assertTrue(limiter.tryAcquire());
+    }
+    limiter.onSuccess(TASK_TIME);
+    assertEquals(5, limiter.getLimit());
+    limiter.onSuccess(TASK_TIME);
+    assertEquals("limit is capped at the maximum", 5, limiter.getLimit());
+
+    limiter.onDropped();
+    assertEquals(2, limiter.getLimit());
+    limiter.onDropped();
+    assertEquals(1, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void thatAimdLimitDoesNotGrowWhenUnused() {
+    ConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 1, 100, 0.9);
+
+    assertTrue(limiter.tryAcquire());
+    limiter.onSuccess(TASK_TIME);
+
+    assertEquals(10, limiter.getLimit());
+  }
+
+  @Test
+  public void thatGradientLimitShrinksWhenTasksSlowDown() {
+    ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100, 0.5);
+    for (int i = 0; i < 100; i++) {
+      fill(limiter);
+      limiter.onSuccess(TASK_TIME);
+      drain(limiter);
+    }
+    int limit = limiter.getLimit();
+
+    for (int i = 0; i < 10; i++) {
+      fill(limiter);
+      limiter.onSuccess(TASK_TIME * 10);
+      drain(limiter);
+    }
+
+    assertTrue(limiter.getLimit() < limit);
+  }
+
+  private static void fill(ConcurrencyLimiter limiter) {
+    while (limiter.tryAcquire()) {
+      // Acquire up to the limit.
+    }
+  }
+
+  private static void drain(ConcurrencyLimiter limiter) {
+    while (limiter.getInFlight() > 0) {
+      limiter.onIgnore();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.metrics;
+
+import static org.hawaiiframework.async.metrics.HawaiiAsyncExecutorMetrics.EXECUTOR_TAG;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.statistics.TimeoutSchedulerStatistics;
+import org.hawaiiframework.async.timeout.TimeoutScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.beans.factory.ListableBeanFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HawaiiAsyncExecutorMetricsTest {
+
+  @Mock private ListableBeanFactory beanFactory;
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  @Mock private TimeoutScheduler timeoutScheduler;
+
+  private MeterRegistry registry;
+
+  @Before
+  public void setUp() {
+    when(beanFactory.getBeansOfType(HawaiiTaskExecutor.class))
+        .thenReturn(Map.of("default", executor));
+    when(beanFactory.getBeansOfType(TimeoutScheduler.class))
+        .thenReturn(Map.of("timeoutScheduler", timeoutScheduler));
+    registry = new SimpleMeterRegistry();
+    new HawaiiAsyncExecutorMetrics(beanFactory).bindTo(registry);
+  }
+
+  @Test
+  public void thatExecutorGaugesAreTaggedWithExecutorName() {
+    when(executor.getPoolSize()).thenReturn(2);
+    when(executor.getMaxPoolSize()).thenReturn(4);
+    when(executor.getActiveCount()).thenReturn(1);
+    when(executor.getQueueSize()).thenReturn(3);
+    when(executor.getCompletedTaskCount()).thenReturn(5L);
+
+    assertEquals(2, gauge("hawaii.async.executor.pool.size"), 0);
+    assertEquals(4, gauge("hawaii.async.executor.pool.max"), 0);
+    assertEquals(1, gauge("hawaii.async.executor.active"), 0);
+    assertEquals(3, gauge("hawaii.async.executor.queued"), 0);
+    assertEquals(
+        5,
+        registry
+            .get("hawaii.async.executor.completed")
+            .tag(EXECUTOR_TAG, "default")
+            .functionCounter()
+            .count(),
+        0);
+  }
+
+  @Test
+  public void thatTimeoutSchedulerCountersFollowStatistics() {
+    TimeoutSchedulerStatistics statistics = new TimeoutSchedulerStatistics();
+    when(timeoutScheduler.getStatistics()).thenReturn(statistics);
+    statistics.incrementArmedCount();
+    statistics.incrementArmedCount();
+    statistics.incrementCancelledCount();
+    statistics.incrementFiredCount();
+
+    assertEquals(2, registry.get("hawaii.async.timeout.armed").functionCounter().count(), 0);
+    assertEquals(1, registry.get("hawaii.async.timeout.cancelled").functionCounter().count(), 0);
+    assertEquals(1, registry.get("hawaii.async.timeout.fired").functionCounter().count(), 0);
+  }
+
+  private double gauge(String name) {
+    return registry.get(name).tag(EXECUTOR_TAG, "default").gauge().value();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.metrics;
+
+import static org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.ABORTS;
+import static org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.EXECUTION_TIME;
+import static org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.QUEUE_TIME;
+import static org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.REJECTIONS;
+import static org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.TASK_TAG;
+import static org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory.TIMEOUTS;
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.TASK_NAME;
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.async.timeout.TaskRemoveStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MicrometerTaskListenerTest {
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  private MeterRegistry registry;
+
+  private MicrometerTaskListenerFactory factory;
+
+  @Before
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    factory = new MicrometerTaskListenerFactory(() -> registry);
+  }
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatSuccessfulTaskRecordsQueueAndExecutionTime() {
+    SharedTaskContext context = createContext(executor, factory.create());
+    context.setTimeoutGuardTaskRemoveStrategy(createRemoveStrategy(true));
+
+    context.startExecution();
+    context.finish();
+
+    assertEquals(1, registry.get(QUEUE_TIME).tag(TASK_TAG, TASK_NAME).timer().count());
+    assertEquals(1, registry.get(EXECUTION_TIME).tag(TASK_TAG, TASK_NAME).timer().count());
+    assertEquals(0, count(TIMEOUTS), 0);
+    assertEquals(0, count(ABORTS), 0);
+    assertEquals(0, count(REJECTIONS), 0);
+  }
+
+  @Test
+  public void thatTimedOutQueuedTaskIsCountedAsTimeoutAndAbort() {
+    SharedTaskContext context = createContext(executor, factory.create());
+    context.setTaskRemoveStrategy(createRemoveStrategy(true));
+
+    context.timeout();
+
+    assertEquals(1, count(TIMEOUTS), 0);
+    assertEquals(1, count(ABORTS), 0);
+  }
+
+  @Test
+  public void thatTimedOutTaskDoesNotRecordTimes() {
+    SharedTaskContext context = createContext(executor, factory.create());
+    context.setTaskRemoveStrategy(createRemoveStrategy(false));
+    context.setTimeoutGuardTaskRemoveStrategy(createRemoveStrategy(false));
+
+    context.startExecution();
+    context.timeout();
+    context.finish();
+
+    assertEquals(1, count(TIMEOUTS), 0);
+    assertEquals(0, registry.get(EXECUTION_TIME).tag(TASK_TAG, TASK_NAME).timer().count());
+  }
+
+  @Test
+  public void thatRejectedTaskIsCounted() {
+    SharedTaskContext context = createContext(executor, factory.create());
+
+    context.rejected();
+
+    assertEquals(1, count(REJECTIONS), 0);
+    assertEquals(0, count(TIMEOUTS), 0);
+  }
+
+  @Test
+  public void thatCancelledTaskIsCountedAsAbort() {
+    SharedTaskContext context = createContext(executor, factory.create());
+    context.setTaskRemoveStrategy(createRemoveStrategy(true));
+
+    assertTrue(context.cancel());
+
+    assertEquals(1, count(ABORTS), 0);
+    assertEquals(0, count(TIMEOUTS), 0);
+  }
+
+  @Test
+  public void thatTasksAreNotMeasuredWithoutRegistry() {
+    factory = new MicrometerTaskListenerFactory(() -> null);
+    SharedTaskContext context = createContext(executor, factory.create());
+
+    context.rejected();
+
+    assertTrue(registry.getMeters().isEmpty());
+  }
+
+  private double count(String name) {
+    return registry.get(name).tag(TASK_TAG, TASK_NAME).counter().count();
+  }
+
+  private static TaskRemoveStrategy createRemoveStrategy(boolean removed) {
+    return new TaskRemoveStrategy(task -> removed, () -> {}, "guarded", "1");
+  }
+}
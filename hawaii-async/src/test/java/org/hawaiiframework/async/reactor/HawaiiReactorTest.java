@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.reactor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.AsyncExecutorConfiguration;
+import org.hawaiiframework.async.AsyncPropertiesLoader;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.exception.TaskTimeoutException;
+import org.hawaiiframework.async.model.ExecutorConfigurationProperties;
+import org.hawaiiframework.async.model.ExecutorProperties;
+import org.hawaiiframework.async.model.SystemProperties;
+import org.hawaiiframework.async.model.TaskProperties;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Mono;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HawaiiReactorTest {
+
+  @Mock private AsyncPropertiesLoader loader;
+
+  private DelegatingExecutor executor;
+
+  @Before
+  public void setup() {
+    ExecutorProperties executorProperties = new ExecutorProperties();
+    executorProperties.setName("default");
+    executorProperties.setCorePoolSize(2);
+    executorProperties.setMaxPoolSize(2);
+    executorProperties.setMaxPendingRequests(10);
+    executorProperties.setKeepAliveTime(60);
+
+    TaskProperties taskProperties = new TaskProperties();
+    taskProperties.setMethod("serve-espresso");
+    taskProperties.setTimeout(Duration.ofMillis(100));
+    SystemProperties systemProperties = new SystemProperties();
+    systemProperties.setName("coffee-bar");
+    systemProperties.addTask(taskProperties);
+
+    ExecutorConfigurationProperties properties = new ExecutorConfigurationProperties();
+    properties.addExecutor(executorProperties);
+    properties.setDefaultExecutor("default");
+    properties.setAsyncTimeoutExecutorPoolSize(1);
+    properties.addSystem(systemProperties);
+    when(loader.loadProperties()).thenReturn(properties);
+
+    AsyncExecutorConfiguration configuration = new AsyncExecutorConfiguration();
+    configuration.setAsyncPropertiesLoader(loader);
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    configuration.postProcessBeanDefinitionRegistry(beanFactory);
+    configuration.postProcessBeanFactory(beanFactory);
+    executor = beanFactory.getBean("coffee-bar.serve-espresso", DelegatingExecutor.class);
+  }
+
+  @Test
+  public void thatMonoEmitsAnswerOfTask() {
+    String taskName =
+        HawaiiReactor.mono(executor, () -> SharedTaskContextHolder.get().getTaskName()).block();
+
+    assertEquals("coffee-bar.serve-espresso", taskName);
+  }
+
+  @Test
+  public void thatMonoFailsWhenTaskTimesOut() {
+    CountDownLatch latch = new CountDownLatch(1);
+    Mono<Boolean> mono = HawaiiReactor.mono(executor, () -> latch.await(5, TimeUnit.SECONDS));
+
+    long start = System.nanoTime();
+    assertThrows(TaskTimeoutException.class, mono::block);
+
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+    latch.countDown();
+  }
+
+  @Test
+  public void thatFluxEmitsElementsOfTask() {
+    List<String> elements =
+        HawaiiReactor.flux(executor, () -> List.of("espresso", "lungo")).collectList().block();
+
+    assertEquals(List.of("espresso", "lungo"), elements);
+  }
+
+  @Test
+  public void thatSchedulerRunsTasksOnExecutor() {
+    String taskName =
+        Mono.fromCallable(() -> SharedTaskContextHolder.get().getTaskName())
+            .subscribeOn(HawaiiReactor.scheduler(executor))
+            .block();
+
+    assertEquals("coffee-bar.serve-espresso", taskName);
+  }
+}
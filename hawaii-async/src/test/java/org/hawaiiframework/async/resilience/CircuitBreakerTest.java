@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hawaiiframework.async.model.CircuitBreakerProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircuitBreakerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private CircuitBreaker circuitBreaker;
+
+  @Before
+  public void setup() {
+    CircuitBreakerProperties properties = new CircuitBreakerProperties();
+    properties.setFailureRateThreshold(50);
+    properties.setSlidingWindowSize(10);
+    properties.setMinimumNumberOfCalls(4);
+    properties.setWaitDurationInOpenState(Duration.ofSeconds(10));
+    properties.setPermittedCallsInHalfOpenState(2);
+    circuitBreaker = new CircuitBreaker("system", properties, clock::get);
+  }
+
+  @Test
+  public void thatCircuitBreakerStaysClosedBelowMinimumNumberOfCalls() {
+    circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+    circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+    circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+
+    assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+    assertNotNull(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void thatCircuitBreakerOpensOnFailureRate() {
+    circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+    circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+    circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+    assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+
+    circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+
+    assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+    assertNull(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void thatCircuitBreakerClosesAfterSuccessfulTrialCalls() {
+    open();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    CircuitBreaker.Permit first = circuitBreaker.tryAcquire();
+    CircuitBreaker.Permit second = circuitBreaker.tryAcquire();
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNull(circuitBreaker.tryAcquire());
+    assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+
+    circuitBreaker.onSuccess(first);
+    circuitBreaker.onSuccess(second);
+
+    assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+    assertNotNull(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void thatCircuitBreakerReopensOnFailedTrialCall() {
+    open();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    CircuitBreaker.Permit trial = circuitBreaker.tryAcquire();
+    assertNotNull(trial);
+
+    circuitBreaker.onFailure(trial);
+
+    assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+    assertNull(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void thatCircuitBreakerRecoversAfterIgnoredTrialCalls() {
+    open();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    for (int i = 0; i < 3; i++) {
+      CircuitBreaker.Permit first = circuitBreaker.tryAcquire();
+      CircuitBreaker.Permit second = circuitBreaker.tryAcquire();
+      assertTrue(first.isTrial());
+      assertTrue(second.isTrial());
+      assertNull(circuitBreaker.tryAcquire());
+      assertNull(circuitBreaker.tryAcquire());
+
+      circuitBreaker.onIgnore(first);
+      circuitBreaker.onIgnore(second);
+    }
+
+    circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+    circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+
+    assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  public void thatIgnoredPermitOfClosedCircuitBreakerIsNoTrialPermit() {
+    CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+    assertFalse(permit.isTrial());
+    open();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertNotNull(circuitBreaker.tryAcquire());
+    assertNotNull(circuitBreaker.tryAcquire());
+
+    circuitBreaker.onIgnore(permit);
+
+    assertNull(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void thatSuccessOfClosedPermitDoesNotCloseHalfOpenCircuitBreaker() {
+    CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+    open();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    CircuitBreaker.Permit trial = circuitBreaker.tryAcquire();
+
+    circuitBreaker.onSuccess(permit);
+    circuitBreaker.onSuccess(trial);
+
+    assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+  }
+
+  @Test
+  public void thatFailureOfClosedPermitDoesNotReopenHalfOpenCircuitBreaker() {
+    CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+    open();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    CircuitBreaker.Permit trial = circuitBreaker.tryAcquire();
+
+    circuitBreaker.onFailure(permit);
+    assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+
+    circuitBreaker.onSuccess(trial);
+    circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+    assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+  }
+
+  private void open() {
+    for (int i = 0; i < 4; i++) {
+      circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+    }
+    assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.resilience;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.TASK_NAME;
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.hawaiiframework.async.exception.BulkheadFullException;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.model.CircuitBreakerProperties;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.async.timeout.TaskRemoveStrategy;
+import org.hawaiiframework.async.timeout.TimeoutGuardTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SystemGuardTaskListenerTest {
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  private final Runnable task = () -> {};
+
+  private SystemGuard systemGuard;
+
+  @Before
+  public void setUp() {
+    CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+    circuitBreaker.setMinimumNumberOfCalls(1);
+    systemGuard = new SystemGuard("system", 1, circuitBreaker);
+  }
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatRunningTaskThatTimesOutHoldsItsPermitUntilTheWorkerFinishes()
+      throws InterruptedException {
+    SharedTaskContext context = createGuardedContext();
+    context.startExecution();
+
+    timeout(context);
+
+    assertThrows(BulkheadFullException.class, () -> systemGuard.acquire(TASK_NAME));
+    assertEquals(CircuitBreakerState.CLOSED, systemGuard.getCircuitBreaker().getState());
+
+    context.finish();
+
+    assertEquals(CircuitBreakerState.OPEN, systemGuard.getCircuitBreaker().getState());
+    assertTrue(systemGuard.getBulkhead().tryAcquire());
+  }
+
+  @Test
+  public void thatQueuedTaskThatTimesOutReleasesItsPermit() throws InterruptedException {
+    SharedTaskContext context = createGuardedContext();
+    when(executor.remove(task)).thenReturn(true);
+
+    timeout(context);
+
+    assertEquals(CircuitBreakerState.OPEN, systemGuard.getCircuitBreaker().getState());
+    assertTrue(systemGuard.getBulkhead().tryAcquire());
+  }
+
+  @Test
+  public void thatTaskThatFinishesInTimeIsRecordedAsSuccess() {
+    SharedTaskContext context = createGuardedContext();
+    context.startExecution();
+    context.finish();
+
+    assertEquals(CircuitBreakerState.CLOSED, systemGuard.getCircuitBreaker().getState());
+    systemGuard.acquire(TASK_NAME);
+  }
+
+  private SharedTaskContext createGuardedContext() {
+    CircuitBreaker.Permit permit = systemGuard.acquire(TASK_NAME);
+    SharedTaskContext context =
+        createContext(executor, new SystemGuardTaskListener(systemGuard, permit));
+    context.setTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, task, "guarded", context.getTaskId()));
+    context.setTimeoutGuardTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, () -> {}, "timeout guard", context.getTaskId()));
+    return context;
+  }
+
+  private static void timeout(SharedTaskContext context) throws InterruptedException {
+    Thread timeoutGuard = new Thread(() -> new TimeoutGuardTask(context).run());
+    timeoutGuard.start();
+    timeoutGuard.join();
+  }
+}
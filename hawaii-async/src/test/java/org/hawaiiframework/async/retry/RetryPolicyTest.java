@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.retry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import org.hawaiiframework.async.model.RetryProperties;
+import org.hawaiiframework.exception.HawaiiException;
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+  @Test
+  public void thatBackoffGrowsExponentiallyUpToTheMaximum() {
+    RetryProperties properties = new RetryProperties();
+    properties.setInitialBackoff(Duration.ofMillis(100));
+    properties.setMaxBackoff(Duration.ofMillis(300));
+    properties.setJitter(0.0);
+    RetryPolicy policy = new RetryPolicy(properties);
+
+    assertEquals(Duration.ofMillis(100).toNanos(), policy.getBackoffNanos(1));
+    assertEquals(Duration.ofMillis(200).toNanos(), policy.getBackoffNanos(2));
+    assertEquals(Duration.ofMillis(300).toNanos(), policy.getBackoffNanos(3));
+  }
+
+  @Test
+  public void thatJitterVariesTheBackoffWithinBounds() {
+    RetryProperties properties = new RetryProperties();
+    properties.setInitialBackoff(Duration.ofMillis(100));
+    properties.setJitter(0.5);
+    RetryPolicy policy = new RetryPolicy(properties);
+
+    for (int i = 0; i < 100; i++) {
+      long backoff = policy.getBackoffNanos(1);
+      assertTrue(backoff >= Duration.ofMillis(50).toNanos());
+      assertTrue(backoff <= Duration.ofMillis(150).toNanos());
+    }
+  }
+
+  @Test
+  public void thatAllExceptionsAreRetriedByDefault() {
+    RetryPolicy policy = new RetryPolicy(new RetryProperties());
+
+    assertTrue(policy.isRetryable(new IllegalStateException()));
+    assertFalse(policy.isRetryable(new AssertionError()));
+  }
+
+  @Test
+  public void thatOnlyConfiguredExceptionsAreRetried() {
+    RetryProperties properties = new RetryProperties();
+    properties.setRetryOn(List.of(IOException.class.getName()));
+    RetryPolicy policy = new RetryPolicy(properties);
+
+    assertTrue(policy.isRetryable(new CompletionException(new IOException())));
+    assertFalse(policy.isRetryable(new UncheckedIOException(new IOException())));
+  }
+
+  @Test(expected = HawaiiException.class)
+  public void thatUnknownExceptionClassIsRejected() {
+    RetryProperties properties = new RetryProperties();
+    properties.setRetryOn(List.of("org.example.NoSuchException"));
+    new RetryPolicy(properties);
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.retry;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hawaiiframework.async.context.ContextPropagator;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.model.RetryProperties;
+import org.hawaiiframework.async.task.TaskScope;
+import org.hawaiiframework.async.timeout.ManualTimeoutScheduler;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.task.TaskRejectedException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RetryingInvocationTest {
+
+  private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+  @Mock private ProxyMethodInvocation invocation;
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  private final List<CompletableFuture<Object>> attempts = new ArrayList<>();
+
+  private final List<String> attemptContexts = new ArrayList<>();
+
+  private final List<SharedTaskContext> attemptParents = new ArrayList<>();
+
+  private final ManualTimeoutScheduler scheduler = new ManualTimeoutScheduler();
+
+  private final RetryProperties properties = new RetryProperties();
+
+  private Duration attemptTimeout;
+
+  @Before
+  public void setUp() throws Throwable {
+    properties.setInitialBackoff(Duration.ofMillis(100));
+    properties.setJitter(0.0);
+
+    when(invocation.invocableClone()).thenAnswer(ignored -> createAttempt());
+  }
+
+  @After
+  public void tearDown() {
+    CONTEXT.remove();
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatFailedAttemptIsRetriedAfterBackoff() throws Throwable {
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    assertEquals(List.of(Duration.ofMillis(100).toNanos()), scheduler.getDelays());
+    assertEquals(1, attempts.size());
+
+    scheduler.runScheduled();
+    attempts.get(1).complete("second");
+
+    assertEquals("second", result.join());
+  }
+
+  @Test
+  public void thatBackoffGrowsPerAttempt() throws Throwable {
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+    scheduler.runScheduled();
+    attempts.get(1).completeExceptionally(new IllegalStateException("failed"));
+    scheduler.runScheduled();
+    attempts.get(2).completeExceptionally(new IllegalStateException("failed"));
+
+    assertEquals(
+        List.of(Duration.ofMillis(100).toNanos(), Duration.ofMillis(200).toNanos()),
+        scheduler.getDelays());
+    assertTrue(result.isCompletedExceptionally());
+  }
+
+  @Test
+  public void thatRetryIsSubmittedWithCallerContexts() throws Throwable {
+    SharedTaskContext parent = createContext(executor);
+    SharedTaskContextHolder.register(parent);
+    CONTEXT.set("caller");
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    AtomicReference<String> contextAfterRetry = new AtomicReference<>("not run");
+    AtomicReference<SharedTaskContext> parentAfterRetry = new AtomicReference<>(parent);
+    Thread timeoutThread =
+        new Thread(
+            () -> {
+              scheduler.runScheduled();
+              contextAfterRetry.set(CONTEXT.get());
+              parentAfterRetry.set(SharedTaskContextHolder.get());
+            });
+    timeoutThread.start();
+    timeoutThread.join();
+
+    assertEquals(List.of("caller", "caller"), attemptContexts);
+    assertEquals(List.of(parent, parent), attemptParents);
+    assertNull(contextAfterRetry.get());
+    assertNull(parentAfterRetry.get());
+    attempts.get(1).complete("second");
+    assertEquals("second", result.join());
+  }
+
+  @Test
+  public void thatRetryIsNotScheduledPastDeadline() throws Throwable {
+    attemptTimeout = Duration.ofMillis(50);
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    assertTrue(result.isCompletedExceptionally());
+    assertEquals(0, scheduler.getScheduledCount());
+  }
+
+  @Test
+  public void thatRejectedRetryCountsAsFailedAttempt() throws Throwable {
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    ProxyMethodInvocation rejected = mock(ProxyMethodInvocation.class);
+    when(rejected.proceed()).thenThrow(new TaskRejectedException("rejected"));
+    doReturn(rejected).doAnswer(ignored -> createAttempt()).when(invocation).invocableClone();
+    scheduler.runScheduled();
+
+    assertEquals(2, scheduler.getScheduledCount());
+    assertEquals(Duration.ofMillis(200).toNanos(), (long) scheduler.getDelays().get(1));
+
+    scheduler.runScheduled();
+    attempts.get(1).complete("third");
+    assertEquals("third", result.join());
+  }
+
+  @Test
+  public void thatCancellingResultCancelsScheduledRetry() throws Throwable {
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    result.cancel(false);
+    scheduler.runScheduled();
+
+    assertTrue(scheduler.isCancelled());
+    assertEquals(1, attempts.size());
+  }
+
+  @Test
+  public void thatNonRetryableFailureIsNotRetried() throws Throwable {
+    properties.setRetryOn(List.of(TaskRejectedException.class.getName()));
+    CompletableFuture<Object> result = start();
+    attempts.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+    assertTrue(result.isCompletedExceptionally());
+    assertFalse(scheduler.isCancelled());
+    assertEquals(0, scheduler.getScheduledCount());
+  }
+
+  private CompletableFuture<Object> start() throws Throwable {
+    RetryPolicy policy = new RetryPolicy(properties);
+    List<ContextPropagator<?>> propagators = List.of(new TestContextPropagator());
+    return new RetryingInvocation(invocation, policy, scheduler, propagators).start();
+  }
+
+  private ProxyMethodInvocation createAttempt() throws Throwable {
+    ProxyMethodInvocation clone = mock(ProxyMethodInvocation.class);
+    CompletableFuture<Object> attempt = new CompletableFuture<>();
+    when(clone.proceed())
+        .thenAnswer(
+            ignored -> {
+              attempts.add(attempt);
+              attemptContexts.add(CONTEXT.get());
+              attemptParents.add(SharedTaskContextHolder.get());
+              if (attemptTimeout != null) {
+                TaskScope.register(createContext(executor, attemptTimeout));
+              }
+              return attempt;
+            });
+    return clone;
+  }
+
+  /** Propagates the test's thread local. */
+  private static final class TestContextPropagator implements ContextPropagator<String> {
+
+    @Override
+    public String capture() {
+      return CONTEXT.get();
+    }
+
+    @Override
+    public void restore(String context) {
+      if (context == null) {
+        CONTEXT.remove();
+      } else {
+        CONTEXT.set(context);
+      }
+    }
+  }
+}
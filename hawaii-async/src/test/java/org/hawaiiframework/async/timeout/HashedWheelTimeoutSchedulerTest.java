@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hawaiiframework.async.timeout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashedWheelTimeoutSchedulerTest {
+
+  private HashedWheelTimeoutScheduler scheduler;
+
+  @Before
+  public void setup() {
+    scheduler = new HashedWheelTimeoutScheduler(Runnable::run, Duration.ofMillis(1), 8);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.destroy();
+  }
+
+  @Test
+  public void thatScheduledTaskFires() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    ScheduledTimeout timeout = scheduler.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertFalse(timeout.cancel());
+    assertEquals(1, scheduler.getStatistics().getArmedCount());
+    assertEquals(1, scheduler.getStatistics().getFiredCount());
+    assertEquals(0, scheduler.getStatistics().getCancelledCount());
+  }
+
+  @Test
+  public void thatTaskWithDelayBeyondOneRotationFires() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+    scheduler.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void thatFailingTaskDoesNotStopTheWheel() throws Exception {
+    scheduler.schedule(
+        () -> {
+          throw new IllegalStateException("Failed.");
+        },
+        10,
+        TimeUnit.MILLISECONDS);
+    CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertEquals(2, scheduler.getStatistics().getFiredCount());
+  }
+
+  @Test
+  public void thatCancelledTaskDoesNotFire() throws Exception {
+    AtomicBoolean fired = new AtomicBoolean();
+    ScheduledTimeout timeout =
+        scheduler.schedule(() -> fired.set(true), 20, TimeUnit.MILLISECONDS);
+    CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+
+    assertTrue(timeout.cancel());
+    assertFalse(timeout.cancel());
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertFalse(fired.get());
+    assertEquals(1, scheduler.getStatistics().getCancelledCount());
+    assertEquals(1, scheduler.getStatistics().getFiredCount());
+    assertEquals(0, scheduler.getStatistics().getPendingCount());
+  }
+}
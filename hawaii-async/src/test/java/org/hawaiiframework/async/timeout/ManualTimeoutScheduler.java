@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.statistics.TimeoutSchedulerStatistics;
+
+/** Timeout scheduler that runs the scheduled tasks on request, for tests. */
+public final class ManualTimeoutScheduler implements TimeoutScheduler {
+
+  /** The scheduled tasks, in scheduling order. */
+  private final List<Runnable> scheduled = new ArrayList<>();
+
+  /** The delays of the scheduled tasks, in nanoseconds. */
+  private final List<Long> delays = new ArrayList<>();
+
+  /** The number of scheduled tasks that have been run. */
+  private int run;
+
+  /** Whether a scheduled task has been cancelled. */
+  private boolean cancelled;
+
+  @Override
+  public ScheduledTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+    scheduled.add(task);
+    delays.add(unit.toNanos(delay));
+    return () -> {
+      cancelled = true;
+      return true;
+    };
+  }
+
+  @Override
+  public TimeoutSchedulerStatistics getStatistics() {
+    return null;
+  }
+
+  /**
+   * Run the scheduled tasks that have not been run yet, on the current thread.
+   *
+   * <p>Tasks scheduled by these tasks are left for the next call.
+   */
+  public void runScheduled() {
+    int end = scheduled.size();
+    while (run < end) {
+      scheduled.get(run++).run();
+    }
+  }
+
+  /**
+   * Get the number of scheduled tasks.
+   *
+   * @return the number of tasks scheduled so far
+   */
+  public int getScheduledCount() {
+    return scheduled.size();
+  }
+
+  /**
+   * Get the delays of the scheduled tasks.
+   *
+   * @return the delays, in nanoseconds
+   */
+  public List<Long> getDelays() {
+    return delays;
+  }
+
+  /**
+   * Whether a scheduled task has been cancelled.
+   *
+   * @return {@code true} if {@link ScheduledTimeout#cancel()} was called
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+}
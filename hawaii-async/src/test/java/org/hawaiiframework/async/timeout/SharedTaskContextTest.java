@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedTaskContextTest {
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatDeadlineIsTheTaskTimeout() {
+    SharedTaskContext context = createContext(executor);
+
+    Duration remaining = context.getRemainingTime();
+    assertTrue(remaining.compareTo(Duration.ofSeconds(10)) <= 0);
+    assertTrue(remaining.compareTo(Duration.ofSeconds(9)) > 0);
+    assertFalse(context.isDeadlineExpired());
+    assertNull(context.getParent());
+  }
+
+  @Test
+  public void thatNestedTaskInheritsEarlierParentDeadline() {
+    SharedTaskContext parent = createContext(executor, Duration.ofSeconds(1));
+    SharedTaskContextHolder.register(parent);
+
+    SharedTaskContext child = createContext(executor);
+
+    assertSame(parent, child.getParent());
+    assertTrue(child.getRemainingTime().compareTo(Duration.ofSeconds(1)) <= 0);
+  }
+
+  @Test
+  public void thatNestedTaskKeepsEarlierOwnDeadline() {
+    SharedTaskContextHolder.register(createContext(executor));
+
+    SharedTaskContext child = createContext(executor, Duration.ofSeconds(1));
+
+    assertTrue(child.getRemainingTime().compareTo(Duration.ofSeconds(1)) <= 0);
+  }
+
+  @Test
+  public void thatUnregisterRestoresParentContext() {
+    SharedTaskContext parent = createContext(executor);
+    SharedTaskContextHolder.register(parent);
+    SharedTaskContext child = createContext(executor);
+    SharedTaskContextHolder.register(child);
+
+    SharedTaskContextHolder.unregister(child);
+
+    assertSame(parent, SharedTaskContextHolder.get());
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  public void thatTimeoutOverrideReplacesConfiguredTimeout() {
+    try (TaskTimeoutOverride ignored = TaskTimeoutOverride.of(Duration.ofMillis(150))) {
+      SharedTaskContext context = createContext(executor);
+
+      assertEquals(Duration.ofMillis(150), context.getTimeout());
+      assertTrue(context.getRemainingTime().compareTo(Duration.ofMillis(150)) <= 0);
+    }
+    assertEquals(Duration.ofSeconds(10), createContext(executor).getTimeout());
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  public void thatClosingNestedTimeoutOverrideRestoresEnclosingOverride() {
+    try (TaskTimeoutOverride ignored = TaskTimeoutOverride.of(Duration.ofMillis(500))) {
+      TaskTimeoutOverride.call(
+          Duration.ofMillis(100),
+          () -> {
+            assertEquals(Duration.ofMillis(100), TaskTimeoutOverride.resolve(null));
+            return null;
+          });
+
+      assertEquals(Duration.ofMillis(500), TaskTimeoutOverride.resolve(null));
+    }
+    assertNull(TaskTimeoutOverride.resolve(null));
+  }
+
+  @Test
+  public void thatAbortInvokesAllRegisteredAbortStrategies() {
+    SharedTaskContext context = createContext(executor);
+    TaskAbortStrategy query = mock(TaskAbortStrategy.class);
+    TaskAbortStrategy request = mock(TaskAbortStrategy.class);
+    TaskAbortStrategy completed = mock(TaskAbortStrategy.class);
+    context.registerTaskAbortStrategy(query);
+    context.registerTaskAbortStrategy(request);
+    context.registerTaskAbortStrategy(completed);
+    context.unregisterTaskAbortStrategy(completed);
+
+    assertEquals(2, context.getActiveTaskAbortStrategyCount());
+    assertEquals(3, context.getRegisteredTaskAbortStrategyCount());
+
+    context.abortBusinessTask();
+
+    verify(query).invoke();
+    verify(request).invoke();
+    verify(completed, never()).invoke();
+    assertTrue(context.isAborted());
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+  }
+
+  @Test
+  public void thatAbortStrategyRegisteredAfterAbortIsInvoked() {
+    SharedTaskContext context = createContext(executor);
+    TaskAbortStrategy query = mock(TaskAbortStrategy.class);
+
+    context.abortBusinessTask();
+    context.registerTaskAbortStrategy(query);
+
+    verify(query).invoke();
+    assertEquals(0, context.getActiveTaskAbortStrategyCount());
+  }
+
+  @Test
+  public void thatQueueTimeIsOnlyRecordedByWorkersFirstStart() throws InterruptedException {
+    SharedTaskContext context = createContext(executor);
+    context.startExecution();
+    long queueTime = context.getTaskStatistics().getQueueTime();
+
+    Thread timeoutGuard =
+        new Thread(
+            () -> {
+              context.enterTimeoutGuard();
+              context.startExecution();
+            });
+    timeoutGuard.start();
+    timeoutGuard.join();
+    context.startExecution();
+
+    assertEquals(queueTime, (long) context.getTaskStatistics().getQueueTime());
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.timeout;
+
+import java.time.Duration;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.model.TaskRoute;
+import org.hawaiiframework.async.statistics.ExecutorStatistics;
+import org.hawaiiframework.async.task.listener.TaskListener;
+
+/** Creates shared task contexts for a single task route, for tests. */
+public final class TestSharedTaskContexts {
+
+  /** The name of the task the contexts are created for. */
+  public static final String TASK_NAME = "system.task";
+
+  /** The timeout of the task route. */
+  public static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private TestSharedTaskContexts() {}
+
+  /**
+   * Create a context for {@link #TASK_NAME} on the {@code default} executor, with {@link #TIMEOUT}.
+   *
+   * @param executor the executor whose statistics the context reports
+   * @param taskListeners the task's listeners
+   * @return the context
+   */
+  public static SharedTaskContext createContext(
+      HawaiiTaskExecutor executor, TaskListener... taskListeners) {
+    return createContext(executor, TIMEOUT, taskListeners);
+  }
+
+  /**
+   * Create a context for {@link #TASK_NAME} on the {@code default} executor.
+   *
+   * <p>An open {@link TaskTimeoutOverride} replaces the {@code timeout}, as for a real task.
+   *
+   * @param executor the executor whose statistics the context reports
+   * @param timeout the timeout of the task route
+   * @param taskListeners the task's listeners
+   * @return the context
+   */
+  public static SharedTaskContext createContext(
+      HawaiiTaskExecutor executor, Duration timeout, TaskListener... taskListeners) {
+    TaskRoute route = TaskRoute.builder(TASK_NAME, "default", timeout).build();
+    return new SharedTaskContext(route, new ExecutorStatistics(executor), taskListeners);
+  }
+}
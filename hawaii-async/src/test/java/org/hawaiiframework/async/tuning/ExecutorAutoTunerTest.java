@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.tuning;
+
+import static org.hawaiiframework.async.AsyncExecutorConfiguration.ASYNC_TIMEOUT_EXECUTOR;
+import static org.hawaiiframework.async.timeout.TestSharedTaskContexts.createContext;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.executor.HawaiiThreadPoolTaskExecutor;
+import org.hawaiiframework.async.model.AutoTuneProperties;
+import org.hawaiiframework.async.model.ExecutorProperties;
+import org.hawaiiframework.async.timeout.SharedTaskContext;
+import org.hawaiiframework.async.timeout.SharedTaskContextHolder;
+import org.hawaiiframework.async.timeout.TaskRemoveStrategy;
+import org.hawaiiframework.async.timeout.TimeoutGuardTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.beans.factory.ListableBeanFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExecutorAutoTunerTest {
+
+  private static final String EXECUTOR_NAME = "default";
+
+  @Mock private ListableBeanFactory beanFactory;
+
+  @Mock private ScheduledExecutorService scheduler;
+
+  @Mock private HawaiiThreadPoolTaskExecutor executor;
+
+  private ExecutorAutoTuner autoTuner;
+
+  private Runnable tuning;
+
+  @Before
+  public void setUp() {
+    AutoTuneProperties autoTune = new AutoTuneProperties();
+    autoTune.setInterval(Duration.ofSeconds(1));
+    ExecutorProperties executorProperties = new ExecutorProperties();
+    executorProperties.setName(EXECUTOR_NAME);
+    executorProperties.setAutoTune(autoTune);
+
+    when(beanFactory.getBean(ASYNC_TIMEOUT_EXECUTOR, ScheduledExecutorService.class))
+        .thenReturn(scheduler);
+    when(beanFactory.getBean(EXECUTOR_NAME, HawaiiTaskExecutor.class))
+        .thenReturn(executor);
+    when(scheduler.scheduleWithFixedDelay(any(), anyLong(), anyLong(), any(TimeUnit.class)))
+        .thenAnswer(
+            invocation -> {
+              tuning = invocation.getArgument(0);
+              return null;
+            });
+    when(executor.getMaxPoolSize()).thenReturn(20);
+    when(executor.getCorePoolSize()).thenReturn(4);
+
+    autoTuner = new ExecutorAutoTuner(beanFactory, List.of(executorProperties));
+    autoTuner.start();
+  }
+
+  @After
+  public void tearDown() {
+    SharedTaskContextHolder.remove();
+  }
+
+  @Test
+  public void thatCompletedTaskIsRecorded() {
+    SharedTaskContext context = createGuardedContext();
+    context.startExecution();
+    context.finish();
+
+    tuning.run();
+
+    // The pool shrinks by a quarter at most, to the load of a single short task.
+    verify(executor).setPoolSizes(3, 20);
+  }
+
+  @Test
+  public void thatRunningTaskThatTimesOutIsRecordedOnceWhenTheWorkerFinishes()
+      throws InterruptedException {
+    SharedTaskContext context = createGuardedContext();
+    context.startExecution();
+
+    Thread timeoutGuard = new Thread(() -> new TimeoutGuardTask(context).run());
+    timeoutGuard.start();
+    timeoutGuard.join();
+    assertTrue(context.isTimedOut());
+
+    tuning.run();
+    verify(executor, never()).setPoolSizes(3, 20);
+
+    context.finish();
+    tuning.run();
+    verify(executor).setPoolSizes(3, 20);
+  }
+
+  @Test
+  public void thatCancelledTaskIsNotRecorded() {
+    SharedTaskContext context = createGuardedContext();
+    context.startExecution();
+    context.cancel();
+    context.finish();
+
+    tuning.run();
+
+    verify(executor, never()).setPoolSizes(3, 20);
+  }
+
+  private SharedTaskContext createGuardedContext() {
+    SharedTaskContext context = createContext(executor, autoTuner.create());
+    context.setTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, () -> {}, "guarded", context.getTaskId()));
+    context.setTimeoutGuardTaskRemoveStrategy(
+        new TaskRemoveStrategy(executor, () -> {}, "timeout guard", context.getTaskId()));
+    return context;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.tuning;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hawaiiframework.async.model.AutoTuneProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PoolSizeTunerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final TestPool pool = new TestPool();
+
+  private PoolSizeTuner tuner;
+
+  @Before
+  public void setup() {
+    AutoTuneProperties properties = new AutoTuneProperties();
+    properties.setMinPoolSize(2);
+    properties.setTargetUtilization(0.8);
+    tuner = new PoolSizeTuner("executor", pool, properties, 20, clock::get);
+  }
+
+  @Test
+  public void thatPoolSizeFollowsLittlesLaw() {
+    pool.size = 2;
+    // 100 tasks per second, of 40ms each, keep 4 threads busy.
+    load(100, 40);
+
+    assertEquals(5, tuner.tune());
+    assertEquals(5, pool.size);
+  }
+
+  @Test
+  public void thatPoolSizeIsKeptUntilTasksHaveCompleted() {
+    pool.size = 3;
+    for (int i = 0; i < 10; i++) {
+      tuner.recordArrival();
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertEquals(3, tuner.tune());
+  }
+
+  @Test
+  public void thatQueuedTasksAreDrained() {
+    pool.size = 2;
+    pool.queueSize = 50;
+    load(50, 40);
+
+    assertEquals(5, tuner.tune());
+  }
+
+  @Test
+  public void thatPoolSizeIsBounded() {
+    pool.size = 10;
+    load(1000, 100);
+
+    assertEquals(20, tuner.tune());
+  }
+
+  @Test
+  public void thatPoolShrinksGradually() {
+    pool.size = 20;
+    load(100, 10);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertEquals(15, tuner.tune());
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertEquals(12, tuner.tune());
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertEquals(9, tuner.tune());
+  }
+
+  private void load(int tasks, long serviceMillis) {
+    for (int i = 0; i < tasks; i++) {
+      tuner.recordArrival();
+      tuner.recordCompletion(0L, TimeUnit.MILLISECONDS.toNanos(serviceMillis));
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private static final class TestPool implements PoolSizeTuner.Pool {
+
+    private int size;
+
+    private int queueSize;
+
+    @Override
+    public int getSize() {
+      return size;
+    }
+
+    @Override
+    public void setSize(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public int getQueueSize() {
+      return queueSize;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hawaiiframework.async.web.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AdmissionControlFilterTest {
+
+  @Mock private AdmissionRule rule;
+
+  @Mock private HttpServletRequest request;
+
+  @Mock private HttpServletResponse response;
+
+  @Mock private FilterChain filterChain;
+
+  private AdmissionControlFilter filter;
+
+  @Before
+  public void setUp() {
+    filter = new AdmissionControlFilter(List.of(rule), Duration.ofMillis(1500));
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getServletPath()).thenReturn("/products/1");
+  }
+
+  @Test
+  public void thatRequestIsAdmittedIfExecutorsAreNotSaturated() throws Exception {
+    when(rule.matches("GET", "/products/1")).thenReturn(true);
+    when(rule.admits()).thenReturn(true);
+
+    filter.doFilterInternal(request, response, filterChain);
+
+    verify(filterChain).doFilter(request, response);
+    verify(response, never()).sendError(anyInt(), any());
+    assertEquals(0, filter.getRejectedRequestCount());
+  }
+
+  @Test
+  public void thatRequestIsRejectedIfExecutorsAreSaturated() throws Exception {
+    when(rule.matches("GET", "/products/1")).thenReturn(true);
+    when(rule.admits()).thenReturn(false);
+
+    filter.doFilterInternal(request, response, filterChain);
+
+    verify(response).setHeader(HttpHeaders.RETRY_AFTER, "2");
+    verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service is saturated.");
+    verify(filterChain, never()).doFilter(request, response);
+    assertEquals(1, filter.getRejectedRequestCount());
+  }
+
+  @Test
+  public void thatRequestWithoutRuleIsAdmitted() throws Exception {
+    when(rule.matches("GET", "/products/1")).thenReturn(false);
+
+    filter.doFilterInternal(request, response, filterChain);
+
+    verify(filterChain).doFilter(request, response);
+    assertEquals(0, filter.getRejectedRequestCount());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hawaiiframework.async.web.filter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.hawaiiframework.async.DelegatingExecutor;
+import org.hawaiiframework.async.executor.HawaiiTaskExecutor;
+import org.hawaiiframework.async.statistics.ExecutorStatistics;
+import org.hawaiiframework.async.statistics.ExecutorStatisticsView;
+import org.hawaiiframework.logging.model.PathDefinition;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AdmissionRuleTest {
+
+  @Mock private HawaiiTaskExecutor executor;
+
+  @Mock private DelegatingExecutor delegatingExecutor;
+
+  private ExecutorStatistics statistics;
+
+  private AdmissionRule rule;
+
+  @Before
+  public void setUp() {
+    statistics = new ExecutorStatistics(executor);
+    rule =
+        new AdmissionRule(
+            new PathDefinition("GET", "/products/**"),
+            List.of(delegatingExecutor),
+            10,
+            Duration.ofMillis(200));
+  }
+
+  @Test
+  public void thatRuleMatchesEndpoint() {
+    assertTrue(rule.matches("GET", "/products/1"));
+    assertFalse(rule.matches("POST", "/products/1"));
+    assertFalse(rule.matches("GET", "/orders/1"));
+  }
+
+  @Test
+  public void thatRequestIsRejectedIfQueueIsFull() {
+    givenQueueSize(10);
+    assertTrue(rule.admits());
+
+    givenQueueSize(11);
+    assertFalse(rule.admits());
+  }
+
+  @Test
+  public void thatRequestIsRejectedIfQueueTimeIsTooLongWhileTasksAreQueued() {
+    statistics.recordQueueTime(Duration.ofMillis(500).toNanos());
+
+    givenQueueSize(1);
+    assertFalse(rule.admits());
+
+    givenQueueSize(0);
+    assertTrue(rule.admits());
+  }
+
+  private void givenQueueSize(int queueSize) {
+    when(executor.getQueueSize()).thenReturn(queueSize);
+    when(delegatingExecutor.getExecutorStatistics())
+        .thenReturn(new ExecutorStatisticsView(statistics));
+  }
+}
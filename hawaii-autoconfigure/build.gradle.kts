@@ -10,10 +10,13 @@ dependencies {
     compileOnly(project(":hawaii-logging"))
     compileOnly(project(":hawaii-cache"))
     compileOnly("com.fasterxml.jackson.core:jackson-databind")
+    compileOnly("io.micrometer:micrometer-core")
     compileOnly("com.fasterxml.jackson.datatype:jackson-datatype-json-org")
     compileOnly("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
     compileOnly("jakarta.servlet:jakarta.servlet-api")
     compileOnly("org.springframework:spring-webmvc")
+    compileOnly("org.springframework:spring-webflux")
+    compileOnly("org.springframework.boot:spring-boot-actuator")
     compileOnly("org.springframework.data:spring-data-redis")
     compileOnly("org.springframework.security:spring-security-core")
     compileOnly("jakarta.validation:jakarta.validation-api:${project.extra["validationApiVersion"]}")
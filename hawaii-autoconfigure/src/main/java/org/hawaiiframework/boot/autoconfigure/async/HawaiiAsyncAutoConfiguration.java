@@ -16,9 +16,26 @@
 
 package org.hawaiiframework.boot.autoconfigure.async;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hawaiiframework.async.AsyncExecutorConfiguration;
+import org.hawaiiframework.async.config.AsyncConfigurationEndpoint;
+import org.hawaiiframework.async.config.AsyncConfigurationReloader;
+import org.hawaiiframework.async.config.filter.AdmissionControlFilterConfiguration;
+import org.hawaiiframework.async.context.SecurityContextPropagator;
+import org.hawaiiframework.async.http.TaskAbortExchangeFilterFunction;
+import org.hawaiiframework.async.inflight.InFlightTaskRegistry;
+import org.hawaiiframework.async.inflight.InFlightTasksEndpoint;
+import org.hawaiiframework.async.metrics.HawaiiAsyncExecutorMetrics;
+import org.hawaiiframework.async.metrics.MicrometerTaskListenerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnResource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -32,4 +49,120 @@ import org.springframework.context.annotation.Import;
 @ConditionalOnClass(AsyncExecutorConfiguration.class)
 @ConditionalOnResource(resources = "${hawaii.async.configuration}")
 @Import(AsyncExecutorConfiguration.class)
-public class HawaiiAsyncAutoConfiguration {}
+public class HawaiiAsyncAutoConfiguration {
+
+  /**
+   * Micrometer metrics for the async executors and tasks, registered if Micrometer is on the
+   * classpath. The meters are only recorded if there is a {@link MeterRegistry} bean.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+  static class HawaiiAsyncMetricsConfiguration {
+
+    /**
+     * Task listener that records the task metrics.
+     *
+     * <p>The method is static and the registry is looked up lazily, since the task listeners are
+     * created while the bean factory is post processed.
+     *
+     * @param meterRegistry the meter registry.
+     * @return The bean.
+     */
+    @Bean
+    static MicrometerTaskListenerFactory micrometerTaskListenerFactory(
+        ObjectProvider<MeterRegistry> meterRegistry) {
+      return new MicrometerTaskListenerFactory(meterRegistry::getIfAvailable);
+    }
+
+    /**
+     * Binder for the executor and timeout scheduler metrics.
+     *
+     * @param beanFactory the bean factory holding the executors.
+     * @return The bean.
+     */
+    @Bean
+    HawaiiAsyncExecutorMetrics hawaiiAsyncExecutorMetrics(ListableBeanFactory beanFactory) {
+      return new HawaiiAsyncExecutorMetrics(beanFactory);
+    }
+  }
+
+  /**
+   * Abort strategy for {@code WebClient} exchanges, registered if Spring WebFlux is on the
+   * classpath.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "org.springframework.web.reactive.function.client.WebClient")
+  static class HawaiiAsyncWebClientConfiguration {
+
+    /**
+     * Customizer that adds the {@link TaskAbortExchangeFilterFunction} to the auto configured
+     * {@code WebClient.Builder}.
+     *
+     * @return The bean.
+     */
+    @Bean
+    WebClientCustomizer taskAbortWebClientCustomizer() {
+      return builder -> builder.filter(new TaskAbortExchangeFilterFunction());
+    }
+  }
+
+  /**
+   * Propagation of Spring Security's security context to the async tasks, registered if Spring
+   * Security is on the classpath.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "org.springframework.security.core.context.SecurityContextHolder")
+  static class HawaiiAsyncSecurityContextConfiguration {
+
+    /**
+     * Propagator of the security context.
+     *
+     * @return The bean.
+     */
+    @Bean
+    SecurityContextPropagator securityContextPropagator() {
+      return new SecurityContextPropagator();
+    }
+  }
+
+  /**
+   * Actuator endpoints to reload the async configuration and to list the in-flight tasks,
+   * registered if Spring Boot Actuator is on the classpath.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+  @ConditionalOnProperty(prefix = "hawaii.async", name = "enabled", matchIfMissing = true)
+  static class HawaiiAsyncEndpointConfiguration {
+
+    /**
+     * Endpoint to reload the async configuration.
+     *
+     * @param reloader the reloader registered by the {@link AsyncExecutorConfiguration}.
+     * @return The bean.
+     */
+    @Bean
+    AsyncConfigurationEndpoint asyncConfigurationEndpoint(AsyncConfigurationReloader reloader) {
+      return new AsyncConfigurationEndpoint(reloader);
+    }
+
+    /**
+     * Endpoint to list the in-flight tasks.
+     *
+     * @param registry the registry registered by the {@link AsyncExecutorConfiguration}.
+     * @return The bean.
+     */
+    @Bean
+    InFlightTasksEndpoint inFlightTasksEndpoint(InFlightTaskRegistry registry) {
+      return new InFlightTasksEndpoint(registry);
+    }
+  }
+
+  /**
+   * Admission control for servlet web applications, see {@link
+   * AdmissionControlFilterConfiguration}.
+   */
+  @Configuration
+  @ConditionalOnWebApplication(type = Type.SERVLET)
+  @Import(AdmissionControlFilterConfiguration.class)
+  static class HawaiiAsyncAdmissionControlConfiguration {}
+}
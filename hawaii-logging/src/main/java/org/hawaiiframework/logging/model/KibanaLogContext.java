@@ -1,27 +1,44 @@
 package org.hawaiiframework.logging.model;
 
-import java.util.HashMap;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import java.util.Collections;
 import java.util.Map;
 import org.slf4j.MDC;
+import org.springframework.util.ClassUtils;
 
-/** Utility to copy the Kibana Log Fields. */
+/**
+ * Utility to copy the Kibana Log Fields.
+ *
+ * <p>The context holds an immutable snapshot of the MDC. With Logback, this is Logback's read-only
+ * copy of the MDC, which Logback keeps until the MDC changes. So the contexts taken from an
+ * unchanged MDC, for instance for a fan-out of many async tasks, share one map instead of each
+ * copying the MDC.
+ */
 public final class KibanaLogContext {
 
+  /** Flag to indicate Logback is on the classpath. */
+  private static final boolean LOGBACK_PRESENT =
+      ClassUtils.isPresent(
+          "ch.qos.logback.classic.util.LogbackMDCAdapter", KibanaLogContext.class.getClassLoader());
+
   /** The MDC map. */
-  private final Map<String, String> contextMap = new HashMap<>();
+  private final Map<String, String> contextMap;
 
-  /** Create a new instance, copying the MDC (context map). */
+  /** Create a new instance, taking a snapshot of the MDC (context map). */
   public KibanaLogContext() {
+    Map<String, String> snapshot = LOGBACK_PRESENT ? LogbackSnapshot.get() : null;
+    contextMap = snapshot == null ? copyOfContextMap() : snapshot;
+  }
+
+  private static Map<String, String> copyOfContextMap() {
     Map<String, String> copyContextMap = MDC.getCopyOfContextMap();
-    if (copyContextMap != null) {
-      contextMap.putAll(copyContextMap);
-    }
+    return copyContextMap == null ? Map.of() : Collections.unmodifiableMap(copyContextMap);
   }
 
   /**
    * Returns the copied context map.
    *
-   * @return The context map.
+   * @return The context map, unmodifiable.
    */
   public Map<String, String> getContextMap() {
     return contextMap;
@@ -35,4 +52,25 @@ public final class KibanaLogContext {
   public void registerKibanaLogFieldsInThisThread() {
     KibanaLogFields.populateFromContext(this);
   }
+
+  /** Takes Logback's read-only MDC map, only loaded if Logback is on the classpath. */
+  private static final class LogbackSnapshot {
+
+    private LogbackSnapshot() {
+      // Utility constructor.
+    }
+
+    /**
+     * Get Logback's read-only MDC map.
+     *
+     * @return The map, or {@code null} if Logback is not the MDC implementation.
+     */
+    private static Map<String, String> get() {
+      if (MDC.getMDCAdapter() instanceof LogbackMDCAdapter adapter) {
+        Map<String, String> propertyMap = adapter.getPropertyMap();
+        return propertyMap == null ? Map.of() : propertyMap;
+      }
+      return null;
+    }
+  }
 }
@@ -19,6 +19,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hawaiiframework.logging.model.KibanaLogFieldNames.TASK_ID;
 import static org.hawaiiframework.logging.model.KibanaLogFieldNames.USER_NAME;
 
 import java.util.List;
@@ -65,6 +67,25 @@ public class KibanaLogFieldsTest {
         is("['a', 'b', 'c']"));
   }
 
+  @Test
+  public void thatContextIsSnapshotOfLogFields() {
+    KibanaLogFields.tag(USER_NAME, "user");
+    KibanaLogContext context = KibanaLogFields.getContext();
+    KibanaLogFields.tag(TASK_ID, "task");
+    KibanaLogFields.clear();
+
+    KibanaLogFields.populateFromContext(context);
+
+    assertThat(
+        "Kibana log field should be restored from the context",
+        KibanaLogFields.get(USER_NAME),
+        is("user"));
+    assertThat(
+        "Kibana log field tagged after taking the context should not be restored",
+        KibanaLogFields.get(TASK_ID),
+        nullValue());
+  }
+
   @After
   public void tearDown() {
     KibanaLogFields.clear();